@@ -0,0 +1,137 @@
+package com.irusso.demoserver.db.dao;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares per-call SQL assembly (the StandardDao behaviour before StatementPlan)
+ * with the precompiled plan for the insert and update paths.
+ *
+ * Each operation produces the SQL string and binds every column value, which is the
+ * work StandardDao does before handing the statement to JDBI.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="StatementPlanBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatementPlanBenchmark {
+
+    // Roughly the width of the cities and users tables
+    private static final int COLUMN_COUNT = 16;
+
+    private TableDefinition<Object[]> table;
+    private StatementPlan<Object[]> plan;
+    private Object[] entity;
+
+    @Setup
+    public void setup() {
+        TableDefinition.Builder<Object[]> builder = TableDefinition.<Object[]>builder()
+            .tableName("benchmark_table");
+        entity = new Object[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            int index = i;
+            builder.addColumn(ColumnDefinition.<Object[]>builder()
+                .columnName("column_number_" + i)
+                .javaType(String.class)
+                .getter(e -> e[index])
+                .build());
+            entity[i] = "value" + i;
+        }
+        table = builder.build();
+        plan = StatementPlan.compile(table);
+    }
+
+    @Benchmark
+    public void insertLegacy(Blackhole sink) {
+        String sql = String.format(
+            "INSERT INTO %s (%s) VALUES (%s) RETURNING %s",
+            table.getTableName(),
+            legacyInsertable().stream()
+                .map(ColumnDefinition::getColumnName)
+                .collect(Collectors.joining(", ")),
+            legacyInsertable().stream()
+                .map(col -> ":" + col.getJavaPropertyName())
+                .collect(Collectors.joining(", ")),
+            table.getIdColumn()
+        );
+        sink.consume(sql);
+        for (ColumnDefinition<Object[]> column : legacyInsertable()) {
+            sink.consume(column.getJavaPropertyName());
+            sink.consume(column.getValue(entity));
+        }
+    }
+
+    @Benchmark
+    public void insertPlan(Blackhole sink) {
+        ColumnDefinition<Object[]>[] columns = plan.getInsertColumns();
+        String[] parameters = plan.getInsertParameters();
+        sink.consume(plan.getInsertSql());
+        for (int i = 0; i < columns.length; i++) {
+            sink.consume(parameters[i]);
+            sink.consume(columns[i].getValue(entity));
+        }
+    }
+
+    @Benchmark
+    public void updateLegacy(Blackhole sink) {
+        String sql = String.format(
+            "UPDATE %s SET %s WHERE %s = :id",
+            table.getTableName(),
+            legacyUpdatable().stream()
+                .map(col -> col.getColumnName() + " = :" + col.getJavaPropertyName())
+                .collect(Collectors.joining(", ")),
+            table.getIdColumn()
+        );
+        sink.consume(sql);
+        for (ColumnDefinition<Object[]> column : legacyUpdatable()) {
+            sink.consume(column.getJavaPropertyName());
+            sink.consume(column.getValue(entity));
+        }
+    }
+
+    @Benchmark
+    public void updatePlan(Blackhole sink) {
+        ColumnDefinition<Object[]>[] columns = plan.getUpdateColumns();
+        String[] parameters = plan.getUpdateParameters();
+        sink.consume(plan.getUpdateSql());
+        for (int i = 0; i < columns.length; i++) {
+            sink.consume(parameters[i]);
+            sink.consume(columns[i].getValue(entity));
+        }
+    }
+
+    @Benchmark
+    public String findByIdLegacy() {
+        return String.format("SELECT * FROM %s WHERE %s = :id",
+            table.getTableName(), table.getIdColumn());
+    }
+
+    @Benchmark
+    public String findByIdPlan() {
+        return plan.getFindByIdSql();
+    }
+
+    // TableDefinition used to filter its columns on every call
+    private List<ColumnDefinition<Object[]>> legacyInsertable() {
+        return table.getColumnDefinitions().stream()
+            .filter(ColumnDefinition::isInsertable)
+            .collect(Collectors.toList());
+    }
+
+    private List<ColumnDefinition<Object[]>> legacyUpdatable() {
+        return table.getColumnDefinitions().stream()
+            .filter(ColumnDefinition::isUpdatable)
+            .collect(Collectors.toList());
+    }
+}
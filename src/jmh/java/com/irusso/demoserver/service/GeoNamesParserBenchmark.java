@@ -0,0 +1,181 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.db.model.City;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the String-based GeoNames line parsing (the CityImportPipeline behaviour
+ * before GeoNamesParser: decode the line, split on tabs, trim and box every column)
+ * with GeoNamesParser working on the raw UTF-8 bytes.
+ *
+ * Each operation parses one line of the bundled GeoNames extract into a City, cycling
+ * through the whole file, so the score is lines per second. Add "-prof gc" for the
+ * allocation rate (gc.alloc.rate.norm is bytes allocated per line).
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="GeoNamesParserBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GeoNamesParserBenchmark {
+
+    @Param("data/cities15000.tar")
+    public String archive;
+
+    private byte[] content;
+    private int[] lineStarts;
+    private int[] lineEnds;
+    private int next;
+
+    private GeoNamesParser parser;
+    private GeoNamesRow row;
+
+    @Setup
+    public void setup() throws IOException {
+        content = readCityFile(Path.of(archive));
+
+        int lines = 0;
+        for (byte b : content) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        lineStarts = new int[lines];
+        lineEnds = new int[lines];
+        int start = 0;
+        int line = 0;
+        for (int i = 0; i < content.length && line < lines; i++) {
+            if (content[i] == '\n') {
+                lineStarts[line] = start;
+                lineEnds[line] = i;
+                line++;
+                start = i + 1;
+            }
+        }
+
+        parser = new GeoNamesParser();
+        row = new GeoNamesRow();
+    }
+
+    @Benchmark
+    public City parseLegacy() {
+        int line = nextLine();
+        String text = new String(content, lineStarts[line], lineEnds[line] - lineStarts[line], StandardCharsets.UTF_8);
+        String[] fields = text.split("\t", -1);
+        return fields.length < GeoNamesParser.FIELD_COUNT ? null : legacyParseCity(fields);
+    }
+
+    @Benchmark
+    public City parseBytes() {
+        int line = nextLine();
+        return parser.parse(content, lineStarts[line], lineEnds[line], row) ? row.toCity() : null;
+    }
+
+    private int nextLine() {
+        int line = next;
+        next = line + 1 == lineStarts.length ? 0 : line + 1;
+        return line;
+    }
+
+    private static byte[] readCityFile(Path path) throws IOException {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+             TarArchiveInputStream tar = new TarArchiveInputStream(new GzipCompressorInputStream(file))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextEntry()) != null) {
+                String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                if (!entry.isDirectory() && name.endsWith(".txt") && !name.startsWith("._")) {
+                    return tar.readAllBytes();
+                }
+            }
+        }
+        throw new IOException("No GeoNames .txt file in " + path);
+    }
+
+    // The parser used before GeoNamesParser, kept here as the baseline
+    private static City legacyParseCity(String[] fields) {
+        City city = new City();
+        city.setGeonameId(legacyParseLong(fields[0]));
+        city.setName(fields[1]);
+        city.setAsciiName(fields[2]);
+        city.setLatitude(legacyParseBigDecimal(fields[4]));
+        city.setLongitude(legacyParseBigDecimal(fields[5]));
+        city.setFeatureClass(fields[6]);
+        city.setFeatureCode(fields[7]);
+        city.setCountryCode(fields[8]);
+        city.setCc2(fields[9]);
+        city.setAdmin1Code(fields[10]);
+        city.setAdmin2Code(fields[11]);
+        city.setAdmin3Code(fields[12]);
+        city.setAdmin4Code(fields[13]);
+        city.setPopulation(legacyParseLong(fields[14]));
+        city.setElevation(legacyParseInteger(fields[15]));
+        city.setDem(legacyParseInteger(fields[16]));
+        city.setTimezone(fields[17]);
+        city.setModificationDate(legacyParseDate(fields[18]));
+        return city;
+    }
+
+    private static Long legacyParseLong(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Integer legacyParseInteger(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal legacyParseBigDecimal(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Date legacyParseDate(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Date.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
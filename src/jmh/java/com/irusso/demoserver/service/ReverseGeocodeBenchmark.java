@@ -0,0 +1,135 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.db.dao.CityDao;
+import com.irusso.demoserver.db.model.NearbyCity;
+import com.irusso.demoserver.search.CityLocationIndex;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.jdbi.v3.core.Jdbi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reverse geocoding through the in-memory CityLocationIndex with the PostGIS
+ * KNN query behind /api/cities/nearby (CityDao.findNearby with a limit of 1).
+ *
+ * Each operation finds the city nearest to one of a fixed set of random points. The
+ * index is built from the bundled GeoNames extract; the PostGIS benchmark queries the
+ * cities table of the configured database, so import the same extract first and pass
+ * other connection settings with e.g. -p jdbcUrl=... if needed.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReverseGeocodeBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReverseGeocodeBenchmark {
+
+    private static final int QUERY_COUNT = 4096;
+
+    @Param("data/cities15000.tar")
+    public String archive;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    private CityLocationIndex index;
+
+    @Setup
+    public void setup() throws IOException {
+        CityLocationIndex.Builder builder = CityLocationIndex.builder();
+        GeoNamesParser parser = new GeoNamesParser();
+        GeoNamesRow row = new GeoNamesRow();
+        byte[] content = readCityFile(Path.of(archive));
+        int start = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == '\n') {
+                if (parser.parse(content, start, i, row)) {
+                    builder.add(row.toCity());
+                }
+                start = i + 1;
+            }
+        }
+        index = builder.build();
+
+        // Uniform over the sphere, so oceans and sparse regions are represented too
+        Random random = new Random(42);
+        latitudes = new double[QUERY_COUNT];
+        longitudes = new double[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            latitudes[i] = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            longitudes[i] = random.nextDouble() * 360 - 180;
+        }
+    }
+
+    /**
+     * Connection to the database holding the imported cities; only set up for the PostGIS benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Database {
+        @Param("jdbc:postgresql://localhost:5432/gainfully_db")
+        public String jdbcUrl;
+
+        @Param("gainfully_user")
+        public String user;
+
+        @Param("gainfully_password")
+        public String password;
+
+        private CityDao cityDao;
+
+        @Setup
+        public void setup() {
+            cityDao = new CityDao(Jdbi.create(jdbcUrl, user, password));
+        }
+    }
+
+    @Benchmark
+    public CityLocationIndex.Match kdTree() {
+        int query = nextQuery();
+        return index.nearest(latitudes[query], longitudes[query]);
+    }
+
+    @Benchmark
+    public List<NearbyCity> postgisKnn(Database database) {
+        int query = nextQuery();
+        return database.cityDao.findNearby(latitudes[query], longitudes[query], null, null, null, 1);
+    }
+
+    private int nextQuery() {
+        int query = next;
+        next = query + 1 == QUERY_COUNT ? 0 : query + 1;
+        return query;
+    }
+
+    private static byte[] readCityFile(Path path) throws IOException {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+             TarArchiveInputStream tar = new TarArchiveInputStream(new GzipCompressorInputStream(file))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextEntry()) != null) {
+                String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                if (!entry.isDirectory() && name.endsWith(".txt") && !name.startsWith("._")) {
+                    return tar.readAllBytes();
+                }
+            }
+        }
+        throw new IOException("No GeoNames .txt file in " + path);
+    }
+}
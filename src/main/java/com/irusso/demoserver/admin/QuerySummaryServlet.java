@@ -0,0 +1,68 @@
+package com.irusso.demoserver.admin;
+
+import com.codahale.metrics.Snapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irusso.demoserver.db.dao.QueryMetrics;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin servlet that reports the statements recorded by QueryMetrics, most total time first.
+ * Mounted on the admin port only.
+ *
+ * GET /queries?limit=50
+ */
+public class QuerySummaryServlet extends HttpServlet {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final transient QueryMetrics queryMetrics;
+    private final transient ObjectMapper objectMapper;
+
+    public QuerySummaryServlet(QueryMetrics queryMetrics, ObjectMapper objectMapper) {
+        this.queryMetrics = queryMetrics;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int limit = DEFAULT_LIMIT;
+        String limitParam = request.getParameter("limit");
+        if (limitParam != null) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                limit = -1;
+            }
+            if (limit < 1) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Limit must be a positive number");
+                return;
+            }
+        }
+
+        List<Map<String, Object>> queries = queryMetrics.summarize();
+        Snapshot perRequest = queryMetrics.getStatementsPerRequest().getSnapshot();
+
+        Map<String, Object> requests = new LinkedHashMap<>();
+        requests.put("count", queryMetrics.getStatementsPerRequest().getCount());
+        requests.put("meanStatements", perRequest.getMean());
+        requests.put("p99Statements", perRequest.get99thPercentile());
+        requests.put("maxStatements", perRequest.getMax());
+        requests.put("repeatedQueryWarnings", queryMetrics.getRepeatedQueries().getCount());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("templates", queries.size());
+        summary.put("queries", queries.subList(0, Math.min(limit, queries.size())));
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(response.getOutputStream(), summary);
+    }
+}
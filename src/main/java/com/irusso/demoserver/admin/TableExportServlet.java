@@ -0,0 +1,70 @@
+package com.irusso.demoserver.admin;
+
+import com.irusso.demoserver.db.dao.CopyEngine;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * Admin servlet that streams a whole table out through PostgreSQL COPY.
+ * Mounted on the admin port only. Only reference data tables can be exported: the
+ * others hold personal data and password hashes.
+ *
+ * GET /export/{table}?format=csv|ndjson, for table cities, industries or professions
+ */
+public class TableExportServlet extends HttpServlet {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableExportServlet.class);
+    static final Set<String> EXPORTABLE_TABLES = Set.of("cities", "industries", "professions");
+
+    private final transient CopyEngine copyEngine;
+
+    public TableExportServlet(CopyEngine copyEngine) {
+        this.copyEngine = copyEngine;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String pathInfo = request.getPathInfo();
+        String tableName = pathInfo != null ? pathInfo.replaceFirst("^/", "") : "";
+        if (tableName.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Table name is required");
+            return;
+        }
+        if (!EXPORTABLE_TABLES.contains(tableName)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Table cannot be exported: " + tableName);
+            return;
+        }
+
+        CopyEngine.ExportFormat format;
+        try {
+            String formatParam = request.getParameter("format");
+            format = formatParam != null
+                ? CopyEngine.ExportFormat.valueOf(formatParam.toUpperCase())
+                : CopyEngine.ExportFormat.CSV;
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Format must be csv or ndjson");
+            return;
+        }
+
+        response.setContentType(format == CopyEngine.ExportFormat.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition",
+            "attachment; filename=\"" + tableName + "." + format.name().toLowerCase() + "\"");
+
+        try {
+            OutputStream output = response.getOutputStream();
+            long rows = copyEngine.copyOut(tableName, output, format);
+            LOGGER.info("Exported {} rows from {} as {}", rows, tableName, format);
+        } catch (IllegalArgumentException e) {
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+        }
+    }
+}
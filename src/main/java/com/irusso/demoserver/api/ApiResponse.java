@@ -1,6 +1,11 @@
 package com.irusso.demoserver.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.irusso.demoserver.db.dao.Page;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Generic API response wrapper.
@@ -10,6 +15,8 @@ public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+    private String nextCursor;
+    private Map<String, List<FacetCount>> facets;
 
     public ApiResponse() {
         // Jackson deserialization
@@ -29,6 +36,15 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, message, data);
     }
 
+    /**
+     * Wrap a page of results, carrying the cursor for the next page.
+     */
+    public static <E> ApiResponse<List<E>> page(Page<E> page) {
+        ApiResponse<List<E>> response = new ApiResponse<>(true, "Success", page.getItems());
+        response.setNextCursor(page.getNextCursor());
+        return response;
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(false, message, null);
     }
@@ -62,5 +78,29 @@ public class ApiResponse<T> {
     public void setData(T data) {
         this.data = data;
     }
-}
 
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @JsonProperty
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get result counts by facet name and value, for searches that compute them.
+     */
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Map<String, List<FacetCount>> getFacets() {
+        return facets;
+    }
+
+    @JsonProperty
+    public void setFacets(Map<String, List<FacetCount>> facets) {
+        this.facets = facets;
+    }
+}
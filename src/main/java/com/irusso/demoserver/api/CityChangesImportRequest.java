@@ -0,0 +1,54 @@
+package com.irusso.demoserver.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Request object for applying GeoNames daily change files to the cities table.
+ * At least one of the two URLs is required.
+ */
+public class CityChangesImportRequest {
+
+    private String modificationsUrl;
+
+    private String deletesUrl;
+
+    @Min(0)
+    private Long minPopulation;
+
+    /**
+     * URL of a GeoNames modifications-YYYY-MM-DD.txt file.
+     */
+    @JsonProperty
+    public String getModificationsUrl() {
+        return modificationsUrl;
+    }
+
+    public void setModificationsUrl(String modificationsUrl) {
+        this.modificationsUrl = modificationsUrl;
+    }
+
+    /**
+     * URL of a GeoNames deletes-YYYY-MM-DD.txt file.
+     */
+    @JsonProperty
+    public String getDeletesUrl() {
+        return deletesUrl;
+    }
+
+    public void setDeletesUrl(String deletesUrl) {
+        this.deletesUrl = deletesUrl;
+    }
+
+    /**
+     * Minimum population of modified cities to apply, e.g. 15000 for cities15000.
+     */
+    @JsonProperty
+    public Long getMinPopulation() {
+        return minPopulation;
+    }
+
+    public void setMinPopulation(Long minPopulation) {
+        this.minPopulation = minPopulation;
+    }
+}
@@ -0,0 +1,71 @@
+package com.irusso.demoserver.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Lightweight city projection for autocomplete, country listings and reverse geocoding:
+ * the fields needed to display and pick a city.
+ */
+public class CitySuggestion {
+
+    private final Long id;
+    private final String name;
+    private final String asciiName;
+    private final String countryCode;
+    private final String admin1Code;
+    private final Long population;
+    private final Double latitude;
+    private final Double longitude;
+
+    public CitySuggestion(Long id, String name, String asciiName, String countryCode, String admin1Code,
+                          Long population, Double latitude, Double longitude) {
+        this.id = id;
+        this.name = name;
+        this.asciiName = asciiName;
+        this.countryCode = countryCode;
+        this.admin1Code = admin1Code;
+        this.population = population;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    @JsonProperty
+    public Long getId() {
+        return id;
+    }
+
+    @JsonProperty
+    public String getName() {
+        return name;
+    }
+
+    @JsonProperty
+    public String getAsciiName() {
+        return asciiName;
+    }
+
+    @JsonProperty
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    @JsonProperty
+    public String getAdmin1Code() {
+        return admin1Code;
+    }
+
+    @JsonProperty
+    public Long getPopulation() {
+        return population;
+    }
+
+    @JsonProperty
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    @JsonProperty
+    public Double getLongitude() {
+        return longitude;
+    }
+}
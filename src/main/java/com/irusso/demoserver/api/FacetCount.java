@@ -0,0 +1,28 @@
+package com.irusso.demoserver.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Number of search results having one value of a facet, e.g. 12 postings in the
+ * field "Engineering".
+ */
+public class FacetCount {
+
+    private final String value;
+    private final int count;
+
+    public FacetCount(String value, int count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    @JsonProperty
+    public String getValue() {
+        return value;
+    }
+
+    @JsonProperty
+    public int getCount() {
+        return count;
+    }
+}
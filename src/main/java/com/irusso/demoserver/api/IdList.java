@@ -0,0 +1,49 @@
+package com.irusso.demoserver.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses comma-separated ID lists from multi-get query parameters, e.g. {@code ?ids=1,2,3}.
+ */
+public final class IdList {
+
+    /**
+     * Maximum number of IDs accepted in one request.
+     */
+    public static final int MAX_IDS = 500;
+
+    private IdList() {
+    }
+
+    /**
+     * Parse a comma-separated list of IDs, dropping duplicates and keeping the given order.
+     *
+     * @param raw The query parameter value
+     * @return The distinct IDs
+     * @throws IllegalArgumentException if the list is empty, too long or contains a non-numeric ID
+     */
+    public static List<Long> parse(String raw) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String part : raw.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Long.valueOf(trimmed));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid ID: " + trimmed);
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID is required");
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " IDs can be requested at once");
+        }
+        return new ArrayList<>(ids);
+    }
+}
@@ -0,0 +1,51 @@
+package com.irusso.demoserver.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * How well a user fits a job posting, as precomputed by the match engine.
+ */
+public class JobMatch {
+
+    private final Long userId;
+    private final String userName;
+    private final Long jobPostingId;
+    private final String jobTitle;
+    private final float score;
+
+    public JobMatch(Long userId, String userName, Long jobPostingId, String jobTitle, float score) {
+        this.userId = userId;
+        this.userName = userName;
+        this.jobPostingId = jobPostingId;
+        this.jobTitle = jobTitle;
+        this.score = score;
+    }
+
+    @JsonProperty
+    public Long getUserId() {
+        return userId;
+    }
+
+    @JsonProperty
+    public String getUserName() {
+        return userName;
+    }
+
+    @JsonProperty
+    public Long getJobPostingId() {
+        return jobPostingId;
+    }
+
+    @JsonProperty
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    /**
+     * Match score from 0 to 1; higher is a better fit.
+     */
+    @JsonProperty
+    public float getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,67 @@
+package com.irusso.demoserver.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Job search result from the in-process search index: the fields needed to list a
+ * posting, and its relevance score.
+ */
+public class JobSearchHit {
+
+    private final Long id;
+    private final String title;
+    private final String field;
+    private final String location;
+    private final String experienceLevel;
+    private final String status;
+    private final float score;
+
+    public JobSearchHit(Long id, String title, String field, String location, String experienceLevel,
+                        String status, float score) {
+        this.id = id;
+        this.title = title;
+        this.field = field;
+        this.location = location;
+        this.experienceLevel = experienceLevel;
+        this.status = status;
+        this.score = score;
+    }
+
+    @JsonProperty
+    public Long getId() {
+        return id;
+    }
+
+    @JsonProperty
+    public String getTitle() {
+        return title;
+    }
+
+    @JsonProperty
+    public String getField() {
+        return field;
+    }
+
+    @JsonProperty
+    public String getLocation() {
+        return location;
+    }
+
+    @JsonProperty
+    public String getExperienceLevel() {
+        return experienceLevel;
+    }
+
+    @JsonProperty
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * BM25 relevance; higher is more relevant. Only comparable within one search.
+     */
+    @JsonProperty
+    public float getScore() {
+        return score;
+    }
+}
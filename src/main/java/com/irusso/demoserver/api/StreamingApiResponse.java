@@ -0,0 +1,84 @@
+package com.irusso.demoserver.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Streaming counterpart of {@link ApiResponse} for large collections.
+ *
+ * Writes the same JSON envelope as a successful ApiResponse, but serializes each
+ * element as soon as the row source produces it, so a collection goes from the
+ * database cursor to the socket without being held in memory.
+ *
+ * The status line is sent before the first row is read, so a failure partway through
+ * cannot become an error response. Instead the body is left unterminated: a client
+ * sees invalid JSON rather than a well-formed envelope with rows missing.
+ *
+ * @param <T> The element type
+ */
+public class StreamingApiResponse<T> implements StreamingOutput {
+
+    /**
+     * Supplies rows to the response, typically a DAO forEach method.
+     */
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Consumer<? super T> consumer);
+    }
+
+    private final ObjectWriter writer;
+    private final String message;
+    private final RowSource<T> source;
+
+    private StreamingApiResponse(ObjectMapper mapper, String message, RowSource<T> source) {
+        // Flushing after every row would turn each element into its own socket write
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.message = message;
+        this.source = source;
+    }
+
+    /**
+     * Stream a successful response.
+     *
+     * @param mapper The application's ObjectMapper, so rows serialize as in any other response
+     * @param source Supplies the rows
+     */
+    public static <T> StreamingApiResponse<T> success(ObjectMapper mapper, RowSource<T> source) {
+        return new StreamingApiResponse<>(mapper, "Success", source);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = writer.getFactory().createGenerator(output)) {
+            // Closing after a failure must not complete the array and envelope
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", message);
+            generator.writeArrayFieldStart("data");
+
+            try {
+                source.forEach(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -2,22 +2,44 @@ package com.irusso.demoserver.application;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.irusso.demoserver.admin.QuerySummaryServlet;
+import com.irusso.demoserver.admin.TableExportServlet;
+import com.irusso.demoserver.application.filter.DataLoaderFilter;
+import com.irusso.demoserver.application.filter.QueryCountFilter;
+import com.irusso.demoserver.application.filter.ReadRoutingFilter;
+import com.irusso.demoserver.application.model.CityImportConfiguration;
 import com.irusso.demoserver.application.model.GainfullyServerConfiguration;
+import com.irusso.demoserver.application.model.ImportJobConfiguration;
+import com.irusso.demoserver.application.model.QueryMetricsConfiguration;
+import com.irusso.demoserver.application.model.ReadReplicaConfiguration;
 import com.irusso.demoserver.application.module.DaoModule;
 import com.irusso.demoserver.application.module.ServiceModule;
+import com.irusso.demoserver.db.dao.CopyEngine;
+import com.irusso.demoserver.db.dao.QueryMetrics;
+import com.irusso.demoserver.db.dao.ReadRouting;
 import com.irusso.demoserver.resources.*;
+import com.irusso.demoserver.service.CityService;
+import com.irusso.demoserver.service.JobSearchService;
+import com.irusso.demoserver.service.MatchService;
 import io.dropwizard.core.Application;
 import io.dropwizard.core.setup.Bootstrap;
 import io.dropwizard.core.setup.Environment;
 import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.jdbi3.JdbiFactory;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.migrations.MigrationsBundle;
+import io.dropwizard.util.Duration;
 import org.eclipse.jetty.servlets.CrossOriginFilter;
 import org.jdbi.v3.core.Jdbi;
 
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterRegistration;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
 
 /**
  * Main Dropwizard application class for the Gainfully Server.
@@ -55,8 +77,59 @@ public class GainfullyServerApplication
         final JdbiFactory factory = new JdbiFactory();
         final Jdbi jdbi = factory.build(environment, configuration.getDataSourceFactory(), "postgresql");
 
+        // Time every statement per DAO method and count statements per request
+        final QueryMetricsConfiguration queryMetricsConfig = configuration.getQueryMetrics();
+        final QueryMetrics queryMetrics = new QueryMetrics(environment.metrics(),
+            queryMetricsConfig.getSlowQueryThreshold().toJavaDuration(),
+            queryMetricsConfig.getRepeatedQueryThreshold());
+        queryMetrics.install(jdbi);
+        environment.servlets().addFilter("query-count", new QueryCountFilter(queryMetrics))
+            .addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, "/*");
+
+        // Optional read replicas: DAO reads go to them, writes and read-your-writes reads to the primary
+        final ReadReplicaConfiguration replicaConfig = configuration.getReadReplicas();
+        final List<Jdbi> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaConfig.getDataSources().size(); i++) {
+            final Jdbi replica = factory.build(environment, replicaConfig.getDataSources().get(i), "postgresql-replica-" + i);
+            queryMetrics.install(replica);
+            replicas.add(replica);
+        }
+        final ReadRouting readRouting = new ReadRouting(jdbi, replicas,
+            replicaConfig.getStickyPrimaryWindow().toJavaDuration());
+        environment.servlets().addFilter("read-routing", new ReadRoutingFilter(readRouting))
+            .addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, "/*");
+
+        // Lookups by ID within one request are batched and memoized per DAO
+        environment.servlets().addFilter("data-loader", new DataLoaderFilter())
+            .addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, "/*");
+
+        // Background work (imports, index rebuilds) runs on a managed executor that is
+        // shut down with the server. Threads are created on demand: each city import needs
+        // one reader plus its parser and writer threads, so leave room for the configured
+        // number of concurrent imports plus the city index, job search index and match loads.
+        final CityImportConfiguration cityImport = configuration.getCityImport();
+        final ImportJobConfiguration imports = configuration.getImports();
+        final int importThreads = 1 + cityImport.getParserThreads() + cityImport.getWriterThreads();
+        final ExecutorService backgroundExecutor = environment.lifecycle().executorService("background-%d")
+            .minThreads(0)
+            .maxThreads(imports.getMaxConcurrentJobs() * importThreads + 3)
+            .workQueue(new SynchronousQueue<>())
+            .keepAliveTime(Duration.minutes(1))
+            .build();
+
+        // Match rescoring after writes gets its own thread and queue, so a busy import or
+        // the startup loads never turn it away
+        final ExecutorService matchExecutor = environment.lifecycle().executorService("match-rescoring-%d")
+            .minThreads(1)
+            .maxThreads(1)
+            .workQueue(new LinkedBlockingQueue<>())
+            .build();
+
         // Create Guice injector with DAO and Service modules
-        final Injector injector = Guice.createInjector(new DaoModule(jdbi), new ServiceModule());
+        final Injector injector = Guice.createInjector(
+            new DaoModule(readRouting, environment.metrics(), configuration.getEntityCaches()),
+            new ServiceModule(backgroundExecutor, matchExecutor, environment.getObjectMapper(), environment.metrics(),
+                cityImport, imports, configuration.getJobSearch(), configuration.getMatches()));
 
         // Register health checks
         final HealthCheckResource healthCheck = new HealthCheckResource();
@@ -84,14 +157,58 @@ public class GainfullyServerApplication
         environment.jersey().register(injector.getInstance(UserIndustryResource.class));
         environment.jersey().register(injector.getInstance(UserProfessionResource.class));
         environment.jersey().register(injector.getInstance(UserConnectionResource.class));
+        environment.jersey().register(injector.getInstance(ImportResource.class));
+        environment.jersey().register(injector.getInstance(JobSearchResource.class));
+
+        // Load the city autocomplete, location and region indexes in the background once the server starts
+        final CityService cityService = injector.getInstance(CityService.class);
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                cityService.refreshIndexesAsync();
+            }
+        });
+
+        // Load the job search index in the background, and save it at shutdown so the next
+        // start only has to catch up on changes. Registered after the executor, so stopped first.
+        final JobSearchService jobSearchService = injector.getInstance(JobSearchService.class);
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                jobSearchService.loadAsync();
+            }
+
+            @Override
+            public void stop() {
+                jobSearchService.saveSnapshot();
+            }
+        });
+
+        // Compute the user/job matches in the background; until then the match endpoints answer 503
+        final MatchService matchService = injector.getInstance(MatchService.class);
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                matchService.loadAsync();
+            }
+        });
+
+        // Register admin-only servlets (port 8081)
+        environment.admin().addServlet("table-export", new TableExportServlet(injector.getInstance(CopyEngine.class)))
+            .addMapping("/export/*");
+        environment.admin().addServlet("query-summary", new QuerySummaryServlet(queryMetrics, environment.getObjectMapper()))
+            .addMapping("/queries");
     }
 
     private void configureCors(Environment environment) {
         // Configure CORS for application context (port 8080)
         final FilterRegistration.Dynamic cors = environment.servlets().addFilter("CORS", CrossOriginFilter.class);
         cors.setInitParameter(CrossOriginFilter.ALLOWED_ORIGINS_PARAM, "*");
-        cors.setInitParameter(CrossOriginFilter.ALLOWED_HEADERS_PARAM, "X-Requested-With,Content-Type,Accept,Origin");
+        cors.setInitParameter(CrossOriginFilter.ALLOWED_HEADERS_PARAM,
+            "X-Requested-With,Content-Type,Accept,Origin," + ReadRoutingFilter.STICKY_HEADER);
         cors.setInitParameter(CrossOriginFilter.ALLOWED_METHODS_PARAM, "OPTIONS,GET,PUT,POST,DELETE,HEAD");
+        // Lets the UI read the sticky-primary deadline and echo it on its next requests
+        cors.setInitParameter(CrossOriginFilter.EXPOSED_HEADERS_PARAM, ReadRoutingFilter.STICKY_HEADER);
         cors.addMappingForUrlPatterns(EnumSet.allOf(DispatcherType.class), true, "/*");
 
         // Configure CORS for admin context (port 8081)
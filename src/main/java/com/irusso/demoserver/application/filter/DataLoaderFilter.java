@@ -0,0 +1,29 @@
+package com.irusso.demoserver.application.filter;
+
+import com.irusso.demoserver.db.dao.DataLoader;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that gives each request a DataLoader scope, so lookups by ID made
+ * anywhere in the request share one batching loader per DAO and its memo is dropped
+ * when the request ends.
+ */
+public class DataLoaderFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        DataLoader.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataLoader.endRequest();
+        }
+    }
+}
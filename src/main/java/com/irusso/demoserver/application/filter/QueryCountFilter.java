@@ -0,0 +1,38 @@
+package com.irusso.demoserver.application.filter;
+
+import com.irusso.demoserver.db.dao.QueryMetrics;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that scopes QueryMetrics statement counting to one HTTP request.
+ * Runs around the whole request, including streamed response bodies.
+ */
+public class QueryCountFilter implements Filter {
+
+    private final QueryMetrics queryMetrics;
+
+    public QueryCountFilter(QueryMetrics queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        String label = request instanceof HttpServletRequest
+            ? ((HttpServletRequest) request).getMethod() + " " + ((HttpServletRequest) request).getRequestURI()
+            : request.getProtocol();
+        queryMetrics.beginRequest(label);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queryMetrics.endRequest();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.irusso.demoserver.application.filter;
+
+import com.irusso.demoserver.db.dao.ReadRouting;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that gives each request a ReadRouting scope.
+ *
+ * When a request writes, the end of the sticky-primary window is sent back both as the
+ * {@value #STICKY_HEADER} response header and as a cookie. Requests carrying an unexpired
+ * deadline in either read from the primary, so a client sees its own writes even while
+ * the replicas lag. The UI runs on another origin and fetches without credentials, so it
+ * echoes the header; same-origin clients get the cookie for free.
+ */
+public class ReadRoutingFilter implements Filter {
+
+    /**
+     * Cookie holding the epoch millis until which the client reads from the primary.
+     */
+    public static final String STICKY_COOKIE = "gainfully-primary-until";
+
+    /**
+     * Request and response header holding the same epoch millis as {@link #STICKY_COOKIE}.
+     */
+    public static final String STICKY_HEADER = "X-Read-Primary-Until";
+
+    private final ReadRouting readRouting;
+
+    public ReadRoutingFilter(ReadRouting readRouting) {
+        this.readRouting = readRouting;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest) || !(response instanceof HttpServletResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        readRouting.beginRequest(stickyUntil((HttpServletRequest) request), until -> {
+            // Headers can no longer be set once a streamed body has started
+            if (!httpResponse.isCommitted()) {
+                httpResponse.setHeader(STICKY_HEADER, Long.toString(until));
+                Cookie cookie = new Cookie(STICKY_COOKIE, Long.toString(until));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, readRouting.getStickyWindow().toSeconds()));
+                httpResponse.addCookie(cookie);
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            readRouting.endRequest();
+        }
+    }
+
+    static long stickyUntil(HttpServletRequest request) {
+        long fromHeader = parseMillis(request.getHeader(STICKY_HEADER));
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return fromHeader;
+        }
+        for (Cookie cookie : cookies) {
+            if (STICKY_COOKIE.equals(cookie.getName())) {
+                return Math.max(fromHeader, parseMillis(cookie.getValue()));
+            }
+        }
+        return fromHeader;
+    }
+
+    private static long parseMillis(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.irusso.demoserver.application.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration for the GeoNames city import pipeline: how many threads parse lines,
+ * how many write batches to the database (each holding a pooled connection while it
+ * writes), the rows per batch and the number of batches buffered between stages.
+ */
+public class CityImportConfiguration {
+
+    @Min(1)
+    private int parserThreads = 2;
+
+    @Min(1)
+    private int writerThreads = 4;
+
+    @Min(1)
+    private int batchSize = 5000;
+
+    @Min(1)
+    private int queueCapacity = 4;
+
+    @JsonProperty
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    @JsonProperty
+    public void setParserThreads(int parserThreads) {
+        this.parserThreads = parserThreads;
+    }
+
+    @JsonProperty
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    @JsonProperty
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    @JsonProperty
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @JsonProperty
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @JsonProperty
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
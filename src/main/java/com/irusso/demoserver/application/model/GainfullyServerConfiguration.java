@@ -7,6 +7,9 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration class for the Gainfully Server application.
  * This class holds all configuration properties loaded from the YAML file.
@@ -21,6 +24,34 @@ public class GainfullyServerConfiguration
     @NotNull
     private DataSourceFactory database = new DataSourceFactory();
 
+    @Valid
+    @NotNull
+    private Map<String, EntityCacheConfiguration> entityCaches = new HashMap<>();
+
+    @Valid
+    @NotNull
+    private QueryMetricsConfiguration queryMetrics = new QueryMetricsConfiguration();
+
+    @Valid
+    @NotNull
+    private ReadReplicaConfiguration readReplicas = new ReadReplicaConfiguration();
+
+    @Valid
+    @NotNull
+    private CityImportConfiguration cityImport = new CityImportConfiguration();
+
+    @Valid
+    @NotNull
+    private ImportJobConfiguration imports = new ImportJobConfiguration();
+
+    @Valid
+    @NotNull
+    private JobSearchConfiguration jobSearch = new JobSearchConfiguration();
+
+    @Valid
+    @NotNull
+    private MatchConfiguration matches = new MatchConfiguration();
+
     @JsonProperty
     public String getApplicationName() {
         return applicationName;
@@ -40,5 +71,74 @@ public class GainfullyServerConfiguration
     public void setDataSourceFactory(DataSourceFactory database) {
         this.database = database;
     }
-}
 
+    @JsonProperty
+    public Map<String, EntityCacheConfiguration> getEntityCaches() {
+        return entityCaches;
+    }
+
+    @JsonProperty
+    public void setEntityCaches(Map<String, EntityCacheConfiguration> entityCaches) {
+        this.entityCaches = entityCaches;
+    }
+
+    @JsonProperty
+    public QueryMetricsConfiguration getQueryMetrics() {
+        return queryMetrics;
+    }
+
+    @JsonProperty
+    public void setQueryMetrics(QueryMetricsConfiguration queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    @JsonProperty
+    public ReadReplicaConfiguration getReadReplicas() {
+        return readReplicas;
+    }
+
+    @JsonProperty
+    public void setReadReplicas(ReadReplicaConfiguration readReplicas) {
+        this.readReplicas = readReplicas;
+    }
+
+    @JsonProperty
+    public CityImportConfiguration getCityImport() {
+        return cityImport;
+    }
+
+    @JsonProperty
+    public void setCityImport(CityImportConfiguration cityImport) {
+        this.cityImport = cityImport;
+    }
+
+    @JsonProperty
+    public ImportJobConfiguration getImports() {
+        return imports;
+    }
+
+    @JsonProperty
+    public void setImports(ImportJobConfiguration imports) {
+        this.imports = imports;
+    }
+
+    @JsonProperty
+    public JobSearchConfiguration getJobSearch() {
+        return jobSearch;
+    }
+
+    @JsonProperty
+    public void setJobSearch(JobSearchConfiguration jobSearch) {
+        this.jobSearch = jobSearch;
+    }
+
+    @JsonProperty
+    public MatchConfiguration getMatches() {
+        return matches;
+    }
+
+    @JsonProperty
+    public void setMatches(MatchConfiguration matches) {
+        this.matches = matches;
+    }
+}
@@ -0,0 +1,38 @@
+package com.irusso.demoserver.application.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration for background imports: how many may run at once (further requests
+ * are refused until one finishes) and how many finished jobs are kept for
+ * /api/imports status requests.
+ */
+public class ImportJobConfiguration {
+
+    @Min(1)
+    private int maxConcurrentJobs = 2;
+
+    @Min(0)
+    private int retainedJobs = 100;
+
+    @JsonProperty
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    @JsonProperty
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    @JsonProperty
+    public int getRetainedJobs() {
+        return retainedJobs;
+    }
+
+    @JsonProperty
+    public void setRetainedJobs(int retainedJobs) {
+        this.retainedJobs = retainedJobs;
+    }
+}
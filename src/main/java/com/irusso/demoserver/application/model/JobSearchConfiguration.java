@@ -0,0 +1,23 @@
+package com.irusso.demoserver.application.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Configuration for the in-process job search index: where it is saved at shutdown so
+ * the next start can load it instead of rebuilding from the database. Leave the
+ * snapshot file empty to always rebuild.
+ */
+public class JobSearchConfiguration {
+
+    private String snapshotFile = "data/job-search.snapshot";
+
+    @JsonProperty
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    @JsonProperty
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+}
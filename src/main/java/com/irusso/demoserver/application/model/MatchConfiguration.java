@@ -0,0 +1,24 @@
+package com.irusso.demoserver.application.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration for the precomputed user/job matches: how many of the best matches are
+ * kept for every user and every job posting.
+ */
+public class MatchConfiguration {
+
+    @Min(1)
+    private int topN = 50;
+
+    @JsonProperty
+    public int getTopN() {
+        return topN;
+    }
+
+    @JsonProperty
+    public void setTopN(int topN) {
+        this.topN = topN;
+    }
+}
@@ -0,0 +1,39 @@
+package com.irusso.demoserver.application.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Configuration for the DAO query metrics: the slow-query log threshold and the
+ * number of executions of one statement per request that is reported as a likely N+1.
+ */
+public class QueryMetricsConfiguration {
+
+    @NotNull
+    private Duration slowQueryThreshold = Duration.milliseconds(200);
+
+    @Min(1)
+    private int repeatedQueryThreshold = 10;
+
+    @JsonProperty
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    @JsonProperty
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @JsonProperty
+    public int getRepeatedQueryThreshold() {
+        return repeatedQueryThreshold;
+    }
+
+    @JsonProperty
+    public void setRepeatedQueryThreshold(int repeatedQueryThreshold) {
+        this.repeatedQueryThreshold = repeatedQueryThreshold;
+    }
+}
@@ -0,0 +1,46 @@
+package com.irusso.demoserver.application.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.util.Duration;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for PostgreSQL read replicas.
+ * DAO reads are spread over the replica data sources; writes always go to "database".
+ * After a write, a client's reads stay on the primary for the sticky window so it sees
+ * its own changes despite replication lag.
+ */
+public class ReadReplicaConfiguration {
+
+    @Valid
+    @NotNull
+    private List<DataSourceFactory> dataSources = new ArrayList<>();
+
+    @NotNull
+    private Duration stickyPrimaryWindow = Duration.seconds(5);
+
+    @JsonProperty
+    public List<DataSourceFactory> getDataSources() {
+        return dataSources;
+    }
+
+    @JsonProperty
+    public void setDataSources(List<DataSourceFactory> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    @JsonProperty
+    public Duration getStickyPrimaryWindow() {
+        return stickyPrimaryWindow;
+    }
+
+    @JsonProperty
+    public void setStickyPrimaryWindow(Duration stickyPrimaryWindow) {
+        this.stickyPrimaryWindow = stickyPrimaryWindow;
+    }
+}
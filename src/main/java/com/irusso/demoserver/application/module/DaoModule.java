@@ -1,32 +1,72 @@
 package com.irusso.demoserver.application.module;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.irusso.demoserver.application.model.EntityCacheConfiguration;
 import com.irusso.demoserver.db.dao.*;
 import org.jdbi.v3.core.Jdbi;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Guice module for Data Access Object (DAO) dependency injection.
  * This module provides singleton instances of all DAOs in the application.
+ * DAOs whose table has an entry in the entity cache configuration get a read-through cache,
+ * and every DAO reads through the ReadRouting (read replicas, if any are configured).
  */
 public class DaoModule extends AbstractModule {
 
     private final Jdbi jdbi;
+    private final ReadRouting readRouting;
+    private final MetricRegistry metrics;
+    private final Map<String, EntityCacheConfiguration> entityCaches;
 
     /**
-     * Constructor for DaoModule.
+     * Constructor for DaoModule without entity caches.
      *
      * @param jdbi The JDBI instance to be injected into DAOs
      */
     public DaoModule(Jdbi jdbi) {
-        this.jdbi = jdbi;
+        this(jdbi, new MetricRegistry(), Collections.emptyMap());
+    }
+
+    /**
+     * Constructor for DaoModule.
+     *
+     * @param jdbi The JDBI instance to be injected into DAOs
+     * @param metrics The registry for entity cache metrics
+     * @param entityCaches Entity cache configuration, keyed by table name
+     */
+    public DaoModule(Jdbi jdbi, MetricRegistry metrics, Map<String, EntityCacheConfiguration> entityCaches) {
+        this(new ReadRouting(jdbi, List.of(), Duration.ZERO), metrics, entityCaches);
+    }
+
+    /**
+     * Constructor for DaoModule with read replicas.
+     *
+     * @param readRouting The primary and read replica databases; the primary is injected into DAOs
+     * @param metrics The registry for entity cache metrics
+     * @param entityCaches Entity cache configuration, keyed by table name
+     */
+    public DaoModule(ReadRouting readRouting, MetricRegistry metrics,
+                     Map<String, EntityCacheConfiguration> entityCaches) {
+        this.jdbi = readRouting.getPrimary();
+        this.readRouting = readRouting;
+        this.metrics = metrics;
+        this.entityCaches = entityCaches;
     }
 
     @Override
     protected void configure() {
         // Bind the Jdbi instance as a singleton
         bind(Jdbi.class).toInstance(jdbi);
+        bind(ReadRouting.class).toInstance(readRouting);
+        bind(TransactionTemplate.class).toInstance(new TransactionTemplate(jdbi));
     }
 
     /**
@@ -35,7 +75,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserDao provideUserDao(Jdbi jdbi) {
-        return new UserDao(jdbi);
+        return configured(new UserDao(jdbi));
     }
 
     /**
@@ -44,7 +84,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserSkillDao provideUserSkillDao(Jdbi jdbi) {
-        return new UserSkillDao(jdbi);
+        return configured(new UserSkillDao(jdbi));
     }
 
     /**
@@ -53,7 +93,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserFieldOfInterestDao provideUserFieldOfInterestDao(Jdbi jdbi) {
-        return new UserFieldOfInterestDao(jdbi);
+        return configured(new UserFieldOfInterestDao(jdbi));
     }
 
     /**
@@ -62,7 +102,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserGeographicalInterestDao provideUserGeographicalInterestDao(Jdbi jdbi) {
-        return new UserGeographicalInterestDao(jdbi);
+        return configured(new UserGeographicalInterestDao(jdbi));
     }
 
     /**
@@ -71,7 +111,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserJobTypeInterestDao provideUserJobTypeInterestDao(Jdbi jdbi) {
-        return new UserJobTypeInterestDao(jdbi);
+        return configured(new UserJobTypeInterestDao(jdbi));
     }
 
     /**
@@ -80,7 +120,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public EmploymentHistoryDao provideEmploymentHistoryDao(Jdbi jdbi) {
-        return new EmploymentHistoryDao(jdbi);
+        return configured(new EmploymentHistoryDao(jdbi));
     }
 
     /**
@@ -89,7 +129,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public EmployerDao provideEmployerDao(Jdbi jdbi) {
-        return new EmployerDao(jdbi);
+        return configured(new EmployerDao(jdbi));
     }
 
     /**
@@ -98,7 +138,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public EmployerHistoryDao provideEmployerHistoryDao(Jdbi jdbi) {
-        return new EmployerHistoryDao(jdbi);
+        return configured(new EmployerHistoryDao(jdbi));
     }
 
     /**
@@ -107,7 +147,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public JobPostingDao provideJobPostingDao(Jdbi jdbi) {
-        return new JobPostingDao(jdbi);
+        return configured(new JobPostingDao(jdbi));
     }
 
     /**
@@ -116,7 +156,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public JobRequirementDao provideJobRequirementDao(Jdbi jdbi) {
-        return new JobRequirementDao(jdbi);
+        return configured(new JobRequirementDao(jdbi));
     }
 
     /**
@@ -125,7 +165,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public SavedJobDao provideSavedJobDao(Jdbi jdbi) {
-        return new SavedJobDao(jdbi);
+        return configured(new SavedJobDao(jdbi));
     }
 
     /**
@@ -134,7 +174,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public ApplicationDao provideApplicationDao(Jdbi jdbi) {
-        return new ApplicationDao(jdbi);
+        return configured(new ApplicationDao(jdbi));
     }
 
     /**
@@ -143,7 +183,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public ApplicationMessageDao provideApplicationMessageDao(Jdbi jdbi) {
-        return new ApplicationMessageDao(jdbi);
+        return configured(new ApplicationMessageDao(jdbi));
     }
 
 
@@ -153,7 +193,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserExperienceDao provideUserExperienceDao(Jdbi jdbi) {
-        return new UserExperienceDao(jdbi);
+        return configured(new UserExperienceDao(jdbi));
     }
 
     /**
@@ -162,7 +202,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public CityDao provideCityDao(Jdbi jdbi) {
-        return new CityDao(jdbi);
+        return configured(new CityDao(jdbi));
     }
 
     /**
@@ -171,7 +211,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public IndustryDao provideIndustryDao(Jdbi jdbi) {
-        return new IndustryDao(jdbi);
+        return configured(new IndustryDao(jdbi));
     }
 
     /**
@@ -180,7 +220,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public ProfessionDao provideProfessionDao(Jdbi jdbi) {
-        return new ProfessionDao(jdbi);
+        return configured(new ProfessionDao(jdbi));
     }
 
     /**
@@ -189,7 +229,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserIndustryDao provideUserIndustryDao(Jdbi jdbi) {
-        return new UserIndustryDao(jdbi);
+        return configured(new UserIndustryDao(jdbi));
     }
 
     /**
@@ -198,7 +238,7 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserProfessionDao provideUserProfessionDao(Jdbi jdbi) {
-        return new UserProfessionDao(jdbi);
+        return configured(new UserProfessionDao(jdbi));
     }
 
     /**
@@ -207,7 +247,31 @@ public class DaoModule extends AbstractModule {
     @Provides
     @Singleton
     public UserConnectionDao provideUserConnectionDao(Jdbi jdbi) {
-        return new UserConnectionDao(jdbi);
+        return configured(new UserConnectionDao(jdbi));
+    }
+
+    /**
+     * Provides a singleton instance of CopyEngine for bulk import/export.
+     */
+    @Provides
+    @Singleton
+    public CopyEngine provideCopyEngine(Jdbi jdbi) {
+        return new CopyEngine(jdbi);
     }
-}
 
+    /**
+     * Route the DAO's reads through the ReadRouting and enable its entity cache
+     * if its table is configured for one.
+     */
+    private <D extends StandardDao<T, Long>, T> D configured(D dao) {
+        if (readRouting.hasReplicas()) {
+            dao.enableReadRouting(readRouting);
+        }
+        EntityCacheConfiguration config = entityCaches.get(dao.getTableName());
+        if (config != null) {
+            dao.enableCache(EntityCache.create(dao.getTableName(), config.getMaximumSize(),
+                config.getExpireAfterWrite().toJavaDuration(), metrics));
+        }
+        return dao;
+    }
+}
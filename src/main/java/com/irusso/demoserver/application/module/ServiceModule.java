@@ -1,20 +1,65 @@
 package com.irusso.demoserver.application.module;
 
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.irusso.demoserver.application.model.CityImportConfiguration;
+import com.irusso.demoserver.application.model.ImportJobConfiguration;
+import com.irusso.demoserver.application.model.JobSearchConfiguration;
+import com.irusso.demoserver.application.model.MatchConfiguration;
 import com.irusso.demoserver.db.dao.*;
 import com.irusso.demoserver.service.*;
 
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
 /**
  * Guice module for Service layer dependency injection.
  * This module provides singleton instances of all services in the application.
  */
 public class ServiceModule extends AbstractModule {
 
+    private final ExecutorService backgroundExecutor;
+    private final ExecutorService matchExecutor;
+    private final ObjectMapper objectMapper;
+    private final MetricRegistry metrics;
+    private final CityImportConfiguration cityImport;
+    private final ImportJobConfiguration imports;
+    private final JobSearchConfiguration jobSearch;
+    private final MatchConfiguration matches;
+
+    /**
+     * Constructor for ServiceModule.
+     *
+     * @param backgroundExecutor Managed executor for imports and other background work
+     * @param matchExecutor Managed single-thread executor for match rescoring
+     * @param objectMapper The application's ObjectMapper, for responses serialized outside Jersey's providers
+     * @param metrics Registry for import throughput meters
+     * @param cityImport City import pipeline settings
+     * @param imports Import job limits
+     * @param jobSearch Job search index settings
+     * @param matches Precomputed match settings
+     */
+    public ServiceModule(ExecutorService backgroundExecutor, ExecutorService matchExecutor,
+                         ObjectMapper objectMapper, MetricRegistry metrics,
+                         CityImportConfiguration cityImport, ImportJobConfiguration imports,
+                         JobSearchConfiguration jobSearch, MatchConfiguration matches) {
+        this.backgroundExecutor = backgroundExecutor;
+        this.matchExecutor = matchExecutor;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.cityImport = cityImport;
+        this.imports = imports;
+        this.jobSearch = jobSearch;
+        this.matches = matches;
+    }
+
     @Override
     protected void configure() {
-        // No explicit bindings needed - using @Provides methods
+        // Services are provided by the @Provides methods below
+        bind(ObjectMapper.class).toInstance(objectMapper);
     }
 
     /**
@@ -22,8 +67,9 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public UserService provideUserService(UserDao userDao) {
-        return new UserService(userDao);
+    public UserService provideUserService(UserDao userDao, TransactionTemplate transactionTemplate,
+                                          MatchService matchService) {
+        return new UserService(userDao, transactionTemplate, matchService);
     }
 
     /**
@@ -31,8 +77,9 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public UserSkillService provideUserSkillService(UserSkillDao userSkillDao) {
-        return new UserSkillService(userSkillDao);
+    public UserSkillService provideUserSkillService(UserSkillDao userSkillDao,
+                                                    MatchService matchService) {
+        return new UserSkillService(userSkillDao, matchService);
     }
 
     /**
@@ -40,8 +87,9 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public UserFieldOfInterestService provideUserFieldOfInterestService(UserFieldOfInterestDao userFieldOfInterestDao) {
-        return new UserFieldOfInterestService(userFieldOfInterestDao);
+    public UserFieldOfInterestService provideUserFieldOfInterestService(UserFieldOfInterestDao userFieldOfInterestDao,
+                                                                        MatchService matchService) {
+        return new UserFieldOfInterestService(userFieldOfInterestDao, matchService);
     }
 
     /**
@@ -49,8 +97,9 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public UserGeographicalInterestService provideUserGeographicalInterestService(UserGeographicalInterestDao userGeographicalInterestDao) {
-        return new UserGeographicalInterestService(userGeographicalInterestDao);
+    public UserGeographicalInterestService provideUserGeographicalInterestService(UserGeographicalInterestDao userGeographicalInterestDao,
+                                                                                  MatchService matchService) {
+        return new UserGeographicalInterestService(userGeographicalInterestDao, matchService);
     }
 
     /**
@@ -58,8 +107,9 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public UserJobTypeInterestService provideUserJobTypeInterestService(UserJobTypeInterestDao userJobTypeInterestDao) {
-        return new UserJobTypeInterestService(userJobTypeInterestDao);
+    public UserJobTypeInterestService provideUserJobTypeInterestService(UserJobTypeInterestDao userJobTypeInterestDao,
+                                                                        MatchService matchService) {
+        return new UserJobTypeInterestService(userJobTypeInterestDao, matchService);
     }
 
     /**
@@ -94,8 +144,9 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public JobPostingService provideJobPostingService(JobPostingDao jobPostingDao) {
-        return new JobPostingService(jobPostingDao);
+    public JobPostingService provideJobPostingService(JobPostingDao jobPostingDao, JobSearchService jobSearchService,
+                                                      MatchService matchService) {
+        return new JobPostingService(jobPostingDao, jobSearchService, matchService);
     }
 
     /**
@@ -103,8 +154,37 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public JobRequirementService provideJobRequirementService(JobRequirementDao jobRequirementDao) {
-        return new JobRequirementService(jobRequirementDao);
+    public JobRequirementService provideJobRequirementService(JobRequirementDao jobRequirementDao,
+                                                              JobSearchService jobSearchService,
+                                                              MatchService matchService) {
+        return new JobRequirementService(jobRequirementDao, jobSearchService, matchService);
+    }
+
+    /**
+     * Provides the singleton JobSearchService holding the in-process job search index.
+     */
+    @Provides
+    @Singleton
+    public JobSearchService provideJobSearchService(JobPostingDao jobPostingDao, JobRequirementDao jobRequirementDao) {
+        String snapshotFile = jobSearch.getSnapshotFile();
+        return new JobSearchService(jobPostingDao, jobRequirementDao, backgroundExecutor,
+            snapshotFile == null || snapshotFile.isBlank() ? null : Path.of(snapshotFile));
+    }
+
+    /**
+     * Provides the singleton MatchService holding the precomputed user/job matches.
+     */
+    @Provides
+    @Singleton
+    public MatchService provideMatchService(UserDao userDao, UserSkillDao userSkillDao,
+                                            UserFieldOfInterestDao userFieldOfInterestDao,
+                                            UserGeographicalInterestDao userGeographicalInterestDao,
+                                            UserJobTypeInterestDao userJobTypeInterestDao,
+                                            JobPostingDao jobPostingDao, JobRequirementDao jobRequirementDao,
+                                            ReadRouting readRouting) {
+        return new MatchService(userDao, userSkillDao, userFieldOfInterestDao, userGeographicalInterestDao,
+            userJobTypeInterestDao, jobPostingDao, jobRequirementDao, backgroundExecutor, matchExecutor,
+            readRouting, matches.getTopN());
     }
 
     /**
@@ -134,13 +214,26 @@ public class ServiceModule extends AbstractModule {
         return new ApplicationMessageService(applicationMessageDao);
     }
 
+    /**
+     * Provides the singleton ImportJobManager shared by all imports.
+     */
+    @Provides
+    @Singleton
+    public ImportJobManager provideImportJobManager() {
+        return new ImportJobManager(backgroundExecutor, metrics, imports.getMaxConcurrentJobs(), imports.getRetainedJobs());
+    }
+
     /**
      * Provides a singleton instance of CityService.
      */
     @Provides
     @Singleton
-    public CityService provideCityService(CityDao cityDao) {
-        return new CityService(cityDao);
+    public CityService provideCityService(CityDao cityDao, ImportJobManager importJobManager,
+                                          ReadRouting readRouting) {
+        CityImportPipeline importPipeline = new CityImportPipeline(cityDao, backgroundExecutor,
+            cityImport.getParserThreads(), cityImport.getWriterThreads(),
+            cityImport.getBatchSize(), cityImport.getQueueCapacity());
+        return new CityService(cityDao, backgroundExecutor, importPipeline, importJobManager, readRouting);
     }
 
     /**
@@ -148,8 +241,8 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public IndustryService provideIndustryService(IndustryDao industryDao) {
-        return new IndustryService(industryDao);
+    public IndustryService provideIndustryService(IndustryDao industryDao, ImportJobManager importJobManager) {
+        return new IndustryService(industryDao, importJobManager);
     }
 
     /**
@@ -157,8 +250,8 @@ public class ServiceModule extends AbstractModule {
      */
     @Provides
     @Singleton
-    public ProfessionService provideProfessionService(ProfessionDao professionDao) {
-        return new ProfessionService(professionDao);
+    public ProfessionService provideProfessionService(ProfessionDao professionDao, ImportJobManager importJobManager) {
+        return new ProfessionService(professionDao, importJobManager);
     }
 
     /**
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.Application;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -28,20 +27,6 @@ public class ApplicationDao extends StandardDao<Application, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<Application> MAPPER = (rs, ctx) -> {
-        Application app = new Application();
-        app.setId(rs.getLong(ID_COLUMN));
-        app.setUserId(rs.getLong(COL_USER_ID));
-        app.setJobPostingId(rs.getLong(COL_JOB_POSTING_ID));
-        app.setCoverLetter(rs.getString(COL_COVER_LETTER));
-        app.setStatus(rs.getString(COL_STATUS));
-        app.setAppliedAt(rs.getTimestamp(COL_APPLIED_AT));
-        app.setReviewedAt(rs.getTimestamp(COL_REVIEWED_AT));
-        app.setResponseDeadline(rs.getTimestamp(COL_RESPONSE_DEADLINE));
-        app.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        app.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return app;
-    };
     
     @Inject
     public ApplicationDao(Jdbi jdbi) {
@@ -55,6 +40,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(Application::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_JOB_POSTING_ID)
@@ -62,6 +48,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(Application::getJobPostingId)
+                    .setter((e, v) -> e.setJobPostingId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_COVER_LETTER)
@@ -69,6 +56,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Application::getCoverLetter)
+                    .setter((e, v) -> e.setCoverLetter((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_STATUS)
@@ -76,6 +64,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Application::getStatus)
+                    .setter((e, v) -> e.setStatus((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_APPLIED_AT)
@@ -83,6 +72,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(a -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setAppliedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_REVIEWED_AT)
@@ -90,6 +80,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Application::getReviewedAt)
+                    .setter((e, v) -> e.setReviewedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_RESPONSE_DEADLINE)
@@ -97,6 +88,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Application::getResponseDeadline)
+                    .setter((e, v) -> e.setResponseDeadline((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_CREATED_AT)
@@ -104,6 +96,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(a -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<Application>builder()
                     .columnName(COL_UPDATED_AT)
@@ -111,9 +104,11 @@ public class ApplicationDao extends StandardDao<Application, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(a -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            Application::new,
+            Application::setId
         );
     }
     
@@ -146,7 +141,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
             WHERE id = :id
             """;
         
-        int rowsAffected = executeUpdate(sql, 
+        int rowsAffected = executeUpdateById(id, sql, 
             "id", id, 
             "status", status,
             "reviewedAt", Timestamp.from(Instant.now()),
@@ -157,7 +152,7 @@ public class ApplicationDao extends StandardDao<Application, Long> {
     
     public boolean hasApplied(Long userId, Long jobPostingId) {
         String sql = "SELECT COUNT(*) FROM applications WHERE user_id = :userId AND job_posting_id = :jobPostingId";
-        return jdbi.withHandle(handle -> 
+        return readJdbi().withHandle(handle -> 
             handle.createQuery(sql)
                 .bind("userId", userId)
                 .bind("jobPostingId", jobPostingId)
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.ApplicationMessage;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -25,18 +24,6 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
     private static final String COL_SENT_AT = "sent_at";
     private static final String COL_READ_AT = "read_at";
 
-    private static final RowMapper<ApplicationMessage> MAPPER = (rs, ctx) -> {
-        ApplicationMessage msg = new ApplicationMessage();
-        msg.setId(rs.getLong(ID_COLUMN));
-        msg.setApplicationId(rs.getLong(COL_APPLICATION_ID));
-        msg.setSenderType(rs.getString(COL_SENDER_TYPE));
-        msg.setMessageType(rs.getString(COL_MESSAGE_TYPE));
-        msg.setMessageText(rs.getString(COL_MESSAGE_TEXT));
-        msg.setSentAt(rs.getTimestamp(COL_SENT_AT));
-        msg.setReadAt(rs.getTimestamp(COL_READ_AT));
-        return msg;
-    };
-
     @Inject
     public ApplicationMessageDao(Jdbi jdbi) {
         super(jdbi,
@@ -49,6 +36,7 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
                     .insertable(true)
                     .updatable(false)
                     .getter(ApplicationMessage::getApplicationId)
+                    .setter((e, v) -> e.setApplicationId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<ApplicationMessage>builder()
                     .columnName(COL_SENDER_TYPE)
@@ -56,6 +44,7 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
                     .insertable(true)
                     .updatable(false)
                     .getter(ApplicationMessage::getSenderType)
+                    .setter((e, v) -> e.setSenderType((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<ApplicationMessage>builder()
                     .columnName(COL_MESSAGE_TYPE)
@@ -63,6 +52,7 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
                     .insertable(true)
                     .updatable(false)
                     .getter(ApplicationMessage::getMessageType)
+                    .setter((e, v) -> e.setMessageType((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<ApplicationMessage>builder()
                     .columnName(COL_MESSAGE_TEXT)
@@ -70,6 +60,7 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
                     .insertable(true)
                     .updatable(true)
                     .getter(ApplicationMessage::getMessageText)
+                    .setter((e, v) -> e.setMessageText((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<ApplicationMessage>builder()
                     .columnName(COL_SENT_AT)
@@ -77,6 +68,7 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
                     .insertable(true)
                     .updatable(false)
                     .getter(m -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setSentAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<ApplicationMessage>builder()
                     .columnName(COL_READ_AT)
@@ -84,9 +76,11 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
                     .insertable(true)
                     .updatable(true)
                     .getter(ApplicationMessage::getReadAt)
+                    .setter((e, v) -> e.setReadAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            ApplicationMessage::new,
+            ApplicationMessage::setId
         );
     }
     
@@ -107,7 +101,7 @@ public class ApplicationMessageDao extends StandardDao<ApplicationMessage, Long>
     
     public boolean markAsRead(Long id) {
         String sql = "UPDATE application_messages SET read_at = :readAt WHERE id = :id AND read_at IS NULL";
-        int rowsAffected = executeUpdate(sql, "id", id, "readAt", Timestamp.from(Instant.now()));
+        int rowsAffected = executeUpdateById(id, sql, "id", id, "readAt", Timestamp.from(Instant.now()));
         return rowsAffected > 0;
     }
     
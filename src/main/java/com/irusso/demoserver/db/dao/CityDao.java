@@ -2,15 +2,22 @@ package com.irusso.demoserver.db.dao;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.City;
+import com.irusso.demoserver.db.model.NearbyCity;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.PreparedBatch;
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.StatementContext;
 
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object for the cities table.
@@ -42,6 +49,7 @@ public class CityDao extends StandardDao<City, Long> {
     private static final String COL_MODIFICATION_DATE = "modification_date";
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
+    private static final String COL_LOCATION = "location";
 
     /**
      * Create the table definition for cities.
@@ -197,34 +205,28 @@ public class CityDao extends StandardDao<City, Long> {
             .build();
     }
 
+    // GeoNames columns an upsert refreshes; a row is only rewritten when one of them changed
+    private static final String[] GEONAMES_COLUMNS = {
+        COL_NAME, COL_ASCII_NAME, COL_LATITUDE, COL_LONGITUDE, COL_FEATURE_CLASS, COL_FEATURE_CODE,
+        COL_COUNTRY_CODE, COL_CC2, COL_ADMIN1_CODE, COL_ADMIN2_CODE, COL_ADMIN3_CODE, COL_ADMIN4_CODE,
+        COL_POPULATION, COL_ELEVATION, COL_DEM, COL_TIMEZONE, COL_MODIFICATION_DATE
+    };
+
     /**
-     * RowMapper to convert database rows to City objects.
+     * Merge rule for COPY-based upserts, matching batchInsert.
      */
-    private static final RowMapper<City> CITY_MAPPER = (rs, ctx) -> {
-        City city = new City();
-        city.setId(rs.getLong(ID_COLUMN));
-        city.setGeonameId(rs.getLong(COL_GEONAME_ID));
-        city.setName(rs.getString(COL_NAME));
-        city.setAsciiName(rs.getString(COL_ASCII_NAME));
-        city.setLatitude(rs.getBigDecimal(COL_LATITUDE));
-        city.setLongitude(rs.getBigDecimal(COL_LONGITUDE));
-        city.setFeatureClass(rs.getString(COL_FEATURE_CLASS));
-        city.setFeatureCode(rs.getString(COL_FEATURE_CODE));
-        city.setCountryCode(rs.getString(COL_COUNTRY_CODE));
-        city.setCc2(rs.getString(COL_CC2));
-        city.setAdmin1Code(rs.getString(COL_ADMIN1_CODE));
-        city.setAdmin2Code(rs.getString(COL_ADMIN2_CODE));
-        city.setAdmin3Code(rs.getString(COL_ADMIN3_CODE));
-        city.setAdmin4Code(rs.getString(COL_ADMIN4_CODE));
-        city.setPopulation(rs.getLong(COL_POPULATION));
-        city.setElevation((Integer) rs.getObject(COL_ELEVATION));
-        city.setDem((Integer) rs.getObject(COL_DEM));
-        city.setTimezone(rs.getString(COL_TIMEZONE));
-        city.setModificationDate(rs.getDate(COL_MODIFICATION_DATE));
-        city.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        city.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return city;
-    };
+    private static final CopyEngine.MergeSpec CITY_MERGE = CopyEngine.MergeSpec.builder()
+        .conflictColumns(COL_GEONAME_ID)
+        .updateColumns(GEONAMES_COLUMNS)
+        .updateColumns(COL_LOCATION, COL_UPDATED_AT)
+        .changeColumns(GEONAMES_COLUMNS)
+        .computedColumn(COL_LOCATION,
+            "ST_SetSRID(ST_MakePoint(longitude::double precision, latitude::double precision), 4326)::geography")
+        .build();
+
+    private final CopyEngine copyEngine;
+    // Mapped columns qualified for findNearby, which also selects a distance
+    private final String nearbyColumns;
 
     /**
      * Constructor for CityDao.
@@ -233,15 +235,18 @@ public class CityDao extends StandardDao<City, Long> {
      */
     @Inject
     public CityDao(Jdbi jdbi) {
-        super(jdbi, createTableDefinition(), CITY_MAPPER);
+        super(jdbi, createTableDefinition(), City::new, City::setId);
+        this.copyEngine = new CopyEngine(jdbi);
+        this.nearbyColumns = getTableDefinition().getSelectColumnsList("c");
     }
 
     /**
      * Batch insert cities with PostGIS location data.
-     * This method is optimized for bulk imports.
+     * This method is optimized for bulk imports. Existing cities (by geoname_id) are
+     * updated only when a GeoNames column changed, so unchanged rows keep their updated_at.
      *
      * @param cities List of cities to insert
-     * @return Number of cities inserted
+     * @return Number of cities inserted or changed
      */
     public int batchInsert(List<City> cities) {
         if (cities == null || cities.isEmpty()) {
@@ -262,15 +267,16 @@ public class CityDao extends StandardDao<City, Long> {
                 :createdAt, :updatedAt
             )
             ON CONFLICT (geoname_id) DO UPDATE SET
-                name = EXCLUDED.name,
-                ascii_name = EXCLUDED.ascii_name,
-                latitude = EXCLUDED.latitude,
-                longitude = EXCLUDED.longitude,
-                population = EXCLUDED.population,
+                %s,
+                location = EXCLUDED.location,
                 updated_at = EXCLUDED.updated_at
-            """;
+            WHERE (%s) IS DISTINCT FROM (%s)
+            """.formatted(
+                Arrays.stream(GEONAMES_COLUMNS).map(col -> col + " = EXCLUDED." + col).collect(Collectors.joining(", ")),
+                Arrays.stream(GEONAMES_COLUMNS).map(col -> "cities." + col).collect(Collectors.joining(", ")),
+                Arrays.stream(GEONAMES_COLUMNS).map(col -> "EXCLUDED." + col).collect(Collectors.joining(", ")));
 
-        return jdbi.withHandle(handle -> {
+        int inserted = writeJdbi().withHandle(handle -> {
             PreparedBatch batch = handle.prepareBatch(sql);
             Timestamp now = Timestamp.from(Instant.now());
 
@@ -298,16 +304,35 @@ public class CityDao extends StandardDao<City, Long> {
                     .add();
             }
 
-            int[] results = batch.execute();
-            return results.length;
+            // Unchanged cities report 0 rows
+            return Arrays.stream(batch.execute()).sum();
         });
+        evictAll();
+        return inserted;
+    }
+
+    /**
+     * Upsert cities through PostgreSQL COPY and a staging table.
+     * Much faster than batchInsert for large loads such as a full GeoNames reload.
+     * Existing cities whose GeoNames columns are all unchanged are left untouched.
+     *
+     * @param cities Cities to insert or update, keyed on geoname_id
+     * @return Number of cities inserted or changed
+     */
+    public long copyUpsert(List<City> cities) {
+        if (cities == null || cities.isEmpty()) {
+            return 0;
+        }
+        long merged = copyEngine.copyMerge(getTableDefinition(), cities, CITY_MERGE);
+        evictAll();
+        return merged;
     }
 
     /**
      * Find cities by country code.
      */
     public List<City> findByCountryCode(String countryCode) {
-        String sql = "SELECT * FROM cities WHERE country_code = :countryCode ORDER BY population DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE country_code = :countryCode ORDER BY population DESC";
         return executeQuery(sql, "countryCode", countryCode);
     }
 
@@ -315,10 +340,80 @@ public class CityDao extends StandardDao<City, Long> {
      * Find cities by name (case-insensitive).
      */
     public List<City> findByName(String name) {
-        String sql = "SELECT * FROM cities WHERE name ILIKE :name ORDER BY population DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE name ILIKE :name ORDER BY population DESC";
         return executeQuery(sql, "name", "%" + name + "%");
     }
 
+    /**
+     * Find the cities closest to a point, nearest first.
+     *
+     * Ordering by {@code location <-> point} with a LIMIT lets PostgreSQL walk the GiST
+     * index on location in distance order (k-nearest-neighbour) instead of computing the
+     * distance to every city. A radius adds an ST_DWithin condition, which also uses the
+     * index. Cities without a location are never returned.
+     *
+     * @param latitude Latitude of the search point in degrees
+     * @param longitude Longitude of the search point in degrees
+     * @param radiusMeters Maximum distance from the point, or null for no limit
+     * @param minPopulation Minimum population, or null
+     * @param maxPopulation Maximum population, or null
+     * @param limit Maximum number of cities to return
+     * @return Matching cities with their distance, nearest first
+     */
+    public List<NearbyCity> findNearby(double latitude, double longitude, Double radiusMeters,
+                                       Long minPopulation, Long maxPopulation, int limit) {
+        StringBuilder sql = new StringBuilder()
+            .append("SELECT ").append(nearbyColumns).append(", ST_Distance(c.location, p.point) AS distance_m ")
+            .append("FROM cities c, ")
+            .append("(SELECT ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography AS point) p ")
+            .append("WHERE c.location IS NOT NULL");
+        if (radiusMeters != null) {
+            sql.append(" AND ST_DWithin(c.location, p.point, :radiusMeters)");
+        }
+        if (minPopulation != null) {
+            sql.append(" AND c.population >= :minPopulation");
+        }
+        if (maxPopulation != null) {
+            sql.append(" AND c.population <= :maxPopulation");
+        }
+        sql.append(" ORDER BY c.location <-> p.point, c.id LIMIT :limit");
+
+        return readJdbi().withHandle(handle -> {
+            Query query = handle.createQuery(sql.toString())
+                .bind("latitude", latitude)
+                .bind("longitude", longitude)
+                .bind("limit", limit);
+            if (radiusMeters != null) {
+                query.bind("radiusMeters", radiusMeters.doubleValue());
+            }
+            if (minPopulation != null) {
+                query.bind("minPopulation", minPopulation.longValue());
+            }
+            if (maxPopulation != null) {
+                query.bind("maxPopulation", maxPopulation.longValue());
+            }
+            return query.map(new NearbyCityMapper(getRowMapper())).list();
+        });
+    }
+
+    /**
+     * Delete cities by GeoNames ID, as listed in a GeoNames deletes file.
+     *
+     * @param geonameIds GeoNames IDs; unknown IDs are ignored
+     * @return Number of cities deleted
+     */
+    public int deleteByGeonameIds(List<Long> geonameIds) {
+        if (geonameIds == null || geonameIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = writeJdbi().withHandle(handle -> handle
+            .createUpdate("DELETE FROM cities WHERE geoname_id = ANY(:geonameIds)")
+            .bindArray("geonameIds", Long.class, geonameIds)
+            .execute());
+        evictAll();
+        return deleted;
+    }
+
     /**
      * Delete all cities (useful for re-importing data).
      */
@@ -326,5 +421,27 @@ public class CityDao extends StandardDao<City, Long> {
         String sql = "DELETE FROM cities";
         return executeUpdate(sql);
     }
-}
 
+    /**
+     * Maps a city row plus its distance_m column, resolving the columns once per result set.
+     */
+    private static final class NearbyCityMapper implements RowMapper<NearbyCity> {
+        private final RowMapper<City> cityMapper;
+
+        private NearbyCityMapper(RowMapper<City> cityMapper) {
+            this.cityMapper = cityMapper;
+        }
+
+        @Override
+        public NearbyCity map(ResultSet rs, StatementContext ctx) throws SQLException {
+            return specialize(rs, ctx).map(rs, ctx);
+        }
+
+        @Override
+        public RowMapper<NearbyCity> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
+            RowMapper<City> mapper = cityMapper.specialize(rs, ctx);
+            int distanceIndex = rs.findColumn("distance_m");
+            return (row, rowCtx) -> new NearbyCity(mapper.map(row, rowCtx), row.getDouble(distanceIndex) / 1000.0);
+        }
+    }
+}
@@ -79,6 +79,13 @@ public class ColumnDefinition<T> {
         return getter != null ? getter.apply(entity) : null;
     }
 
+    /**
+     * Check whether this column can be read back into an entity.
+     */
+    public boolean hasSetter() {
+        return setter != null;
+    }
+
     /**
      * Set the value of this column on an entity.
      */
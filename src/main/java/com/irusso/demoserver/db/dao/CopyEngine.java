@@ -0,0 +1,386 @@
+package com.irusso.demoserver.db.dao;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import/export engine built on the PostgreSQL COPY protocol.
+ *
+ * Rows are described by a TableDefinition: the insertable columns are streamed to the
+ * server as CSV through the pgjdbc CopyManager, either straight into the target table or
+ * into a temporary staging table that is then merged with INSERT ... ON CONFLICT.
+ * COPY avoids per-row statement overhead entirely and is much faster than JDBC batching
+ * for large loads.
+ */
+public class CopyEngine {
+
+    /**
+     * Output formats supported by {@link #copyOut}.
+     */
+    public enum ExportFormat {
+        CSV,
+        NDJSON
+    }
+
+    // Bytes buffered before each write to the COPY stream
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Staging table column numbering rows in the order they were copied
+    static final String STAGING_ROW_COLUMN = "copy_row";
+
+    private final Jdbi jdbi;
+
+    /**
+     * Constructor for CopyEngine.
+     *
+     * @param jdbi The JDBI instance for database access
+     */
+    public CopyEngine(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    /**
+     * COPY entities directly into their table.
+     * Fails on the first constraint violation, so this is intended for empty or
+     * append-only tables. Use {@link #copyMerge} to upsert.
+     *
+     * @param table The table definition describing the target table
+     * @param entities The entities to load
+     * @return The number of rows copied
+     */
+    public <T> long copyIn(TableDefinition<T> table, Iterable<T> entities) {
+        List<ColumnDefinition<T>> columns = table.getInsertableColumns();
+        String sql = String.format("COPY %s (%s) FROM STDIN WITH (FORMAT csv)",
+            table.getTableName(), table.getInsertableColumnNamesList());
+
+        return jdbi.inTransaction(handle -> writeCopy(handle, sql, columns, entities));
+    }
+
+    /**
+     * COPY entities into a temporary staging table and merge them into the target
+     * table with INSERT ... SELECT ... ON CONFLICT, all in one transaction.
+     *
+     * @param table The table definition describing the target table
+     * @param entities The entities to load
+     * @param merge How staged rows are merged into the target table
+     * @return The number of rows inserted or updated in the target table; rows skipped
+     *         because none of the merge's change columns differ are not counted
+     */
+    public <T> long copyMerge(TableDefinition<T> table, Iterable<T> entities, MergeSpec merge) {
+        List<ColumnDefinition<T>> columns = table.getInsertableColumns();
+        String columnList = table.getInsertableColumnNamesList();
+        String stagingTable = "copy_stage_" + table.getTableName();
+
+        String createStaging = String.format(
+            "CREATE TEMP TABLE %s ON COMMIT DROP AS SELECT %s FROM %s WITH NO DATA",
+            stagingTable, columnList, table.getTableName());
+        String numberStagedRows = String.format(
+            "ALTER TABLE %s ADD COLUMN %s bigint GENERATED ALWAYS AS IDENTITY", stagingTable, STAGING_ROW_COLUMN);
+        String copySql = String.format("COPY %s (%s) FROM STDIN WITH (FORMAT csv)",
+            stagingTable, columnList);
+        String mergeSql = buildMergeSql(table.getTableName(), stagingTable, columnList, merge);
+
+        return jdbi.inTransaction(handle -> {
+            handle.execute(createStaging);
+            handle.execute(numberStagedRows);
+            writeCopy(handle, copySql, columns, entities);
+            return (long) handle.createUpdate(mergeSql).execute();
+        });
+    }
+
+    /**
+     * Stream a whole table to an output stream using COPY ... TO STDOUT.
+     *
+     * @param tableName The table to export (must exist in the public schema)
+     * @param output The stream to write to; it is not closed
+     * @param format CSV with a header row, or one JSON object per line
+     * @return The number of rows written
+     * @throws IllegalArgumentException if the table does not exist
+     */
+    public long copyOut(String tableName, OutputStream output, ExportFormat format) {
+        return jdbi.withHandle(handle -> {
+            boolean exists = handle.createQuery("""
+                    SELECT EXISTS (
+                        SELECT 1 FROM information_schema.tables
+                        WHERE table_schema = 'public' AND table_name = :tableName
+                    )
+                    """)
+                .bind("tableName", tableName)
+                .mapTo(Boolean.class)
+                .one();
+            if (!exists) {
+                throw new IllegalArgumentException("Unknown table: " + tableName);
+            }
+
+            String quoted = "\"" + tableName.replace("\"", "\"\"") + "\"";
+            String sql;
+            if (format == ExportFormat.NDJSON) {
+                // CSV mode with quote and delimiter characters that never appear in
+                // row_to_json output, so each JSON document is written verbatim
+                sql = String.format(
+                    "COPY (SELECT row_to_json(t) FROM %s t) TO STDOUT "
+                        + "WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')", quoted);
+            } else {
+                sql = String.format("COPY %s TO STDOUT WITH (FORMAT csv, HEADER)", quoted);
+            }
+
+            try {
+                return copyManager(handle).copyOut(sql, output);
+            } catch (IOException | SQLException e) {
+                throw new IllegalStateException("Export of " + tableName + " failed", e);
+            }
+        });
+    }
+
+    /**
+     * Build the INSERT ... SELECT ... ON CONFLICT statement that merges staged rows.
+     */
+    static String buildMergeSql(String tableName, String stagingTable, String columnList, MergeSpec merge) {
+        StringBuilder targetColumns = new StringBuilder(columnList);
+        StringBuilder selectColumns = new StringBuilder(columnList);
+        for (Map.Entry<String, String> computed : merge.getComputedColumns().entrySet()) {
+            targetColumns.append(", ").append(computed.getKey());
+            selectColumns.append(", ").append(computed.getValue());
+        }
+
+        String conflictColumns = String.join(", ", merge.getConflictColumns());
+        StringBuilder sql = new StringBuilder()
+            .append("INSERT INTO ").append(tableName)
+            .append(" (").append(targetColumns).append(") ")
+            // DISTINCT ON keeps one row per key, since ON CONFLICT cannot touch a row twice:
+            // the last one copied, so a key repeated in the input resolves as it would row by row
+            .append("SELECT DISTINCT ON (").append(conflictColumns).append(") ")
+            .append(selectColumns)
+            .append(" FROM ").append(stagingTable)
+            .append(" ORDER BY ").append(conflictColumns).append(", ").append(STAGING_ROW_COLUMN).append(" DESC")
+            .append(" ON CONFLICT (").append(conflictColumns).append(") ");
+
+        if (merge.getUpdateColumns().isEmpty()) {
+            sql.append("DO NOTHING");
+        } else {
+            sql.append("DO UPDATE SET ").append(merge.getUpdateColumns().stream()
+                .map(col -> col + " = EXCLUDED." + col)
+                .collect(Collectors.joining(", ")));
+            if (!merge.getChangeColumns().isEmpty()) {
+                // Leave unchanged rows alone: no new row version, WAL or index entries
+                sql.append(" WHERE (").append(merge.getChangeColumns().stream()
+                        .map(col -> tableName + "." + col)
+                        .collect(Collectors.joining(", ")))
+                    .append(") IS DISTINCT FROM (").append(merge.getChangeColumns().stream()
+                        .map(col -> "EXCLUDED." + col)
+                        .collect(Collectors.joining(", ")))
+                    .append(")");
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Write entities as CSV rows to a COPY FROM STDIN operation.
+     */
+    private <T> long writeCopy(Handle handle, String sql, List<ColumnDefinition<T>> columns, Iterable<T> entities) {
+        CopyIn copyIn = null;
+        try {
+            copyIn = copyManager(handle).copyIn(sql);
+            StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+            for (T entity : entities) {
+                appendRow(buffer, columns, entity);
+                if (buffer.length() >= BUFFER_SIZE) {
+                    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    buffer.setLength(0);
+                }
+            }
+            if (buffer.length() > 0) {
+                byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+
+            return copyIn.endCopy();
+        } catch (SQLException e) {
+            cancelQuietly(copyIn);
+            throw new IllegalStateException("COPY failed: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            cancelQuietly(copyIn);
+            throw e;
+        }
+    }
+
+    /**
+     * Append one entity as a CSV line.
+     * An unquoted empty field is NULL in COPY CSV format; strings are always quoted
+     * so an empty string stays distinct from NULL.
+     */
+    static <T> void appendRow(StringBuilder buffer, List<ColumnDefinition<T>> columns, T entity) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendValue(buffer, columns.get(i).getValue(entity));
+        }
+        buffer.append('\n');
+    }
+
+    private static void appendValue(StringBuilder buffer, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            buffer.append(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+            return;
+        }
+
+        String text = value.toString();
+        buffer.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private static CopyManager copyManager(Handle handle) {
+        try {
+            return handle.getConnection().unwrap(PGConnection.class).getCopyAPI();
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY requires a PostgreSQL connection", e);
+        }
+    }
+
+    private static void cancelQuietly(CopyIn copyIn) {
+        if (copyIn != null && copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException ignored) {
+                // The original failure is more useful than the cancel failure
+            }
+        }
+    }
+
+    /**
+     * Describes how staged rows are merged into the target table.
+     */
+    public static class MergeSpec {
+        private final List<String> conflictColumns;
+        private final List<String> updateColumns;
+        private final List<String> changeColumns;
+        private final Map<String, String> computedColumns;
+
+        private MergeSpec(Builder builder) {
+            this.conflictColumns = Collections.unmodifiableList(builder.conflictColumns);
+            this.updateColumns = Collections.unmodifiableList(builder.updateColumns);
+            this.changeColumns = Collections.unmodifiableList(builder.changeColumns);
+            this.computedColumns = Collections.unmodifiableMap(builder.computedColumns);
+        }
+
+        /**
+         * Get the columns of the unique constraint used for ON CONFLICT.
+         */
+        public List<String> getConflictColumns() {
+            return conflictColumns;
+        }
+
+        /**
+         * Get the columns overwritten when a row already exists.
+         */
+        public List<String> getUpdateColumns() {
+            return updateColumns;
+        }
+
+        /**
+         * Get the columns compared to decide whether an existing row is updated at all.
+         */
+        public List<String> getChangeColumns() {
+            return changeColumns;
+        }
+
+        /**
+         * Get extra target columns computed from staged columns, keyed by column name.
+         */
+        public Map<String, String> getComputedColumns() {
+            return computedColumns;
+        }
+
+        /**
+         * Create a new builder for MergeSpec.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Builder for MergeSpec.
+         */
+        public static class Builder {
+            private final List<String> conflictColumns = new ArrayList<>();
+            private final List<String> updateColumns = new ArrayList<>();
+            private final List<String> changeColumns = new ArrayList<>();
+            private final Map<String, String> computedColumns = new LinkedHashMap<>();
+
+            /**
+             * Set the columns of the unique constraint used for ON CONFLICT.
+             */
+            public Builder conflictColumns(String... columns) {
+                Collections.addAll(this.conflictColumns, columns);
+                return this;
+            }
+
+            /**
+             * Set the columns overwritten when a row already exists (none means DO NOTHING).
+             */
+            public Builder updateColumns(String... columns) {
+                Collections.addAll(this.updateColumns, columns);
+                return this;
+            }
+
+            /**
+             * Only update an existing row when one of these columns differs from the
+             * staged value (IS DISTINCT FROM, so NULLs compare as values). Without change
+             * columns every conflicting row is rewritten.
+             */
+            public Builder changeColumns(String... columns) {
+                Collections.addAll(this.changeColumns, columns);
+                return this;
+            }
+
+            /**
+             * Add a target column whose value is a SQL expression over the staged columns.
+             */
+            public Builder computedColumn(String columnName, String expression) {
+                this.computedColumns.put(columnName, expression);
+                return this;
+            }
+
+            /**
+             * Build the MergeSpec.
+             */
+            public MergeSpec build() {
+                if (conflictColumns.isEmpty()) {
+                    throw new IllegalStateException("conflictColumns is required");
+                }
+                if (!changeColumns.isEmpty() && updateColumns.isEmpty()) {
+                    throw new IllegalStateException("changeColumns requires updateColumns");
+                }
+                return new MergeSpec(this);
+            }
+        }
+    }
+}
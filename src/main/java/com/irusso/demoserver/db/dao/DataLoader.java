@@ -0,0 +1,189 @@
+package com.irusso.demoserver.db.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Coalesces individual lookups by ID into batched queries.
+ *
+ * Code that walks a collection calls {@link #load} once per related row and receives a
+ * future; nothing is queried until {@link #dispatch} runs, which resolves every pending
+ * ID with a single batch call (typically StandardDao.findByIds). Results are memoized,
+ * so asking for the same ID twice costs nothing.
+ *
+ * A loader is meant to live for one request, so the memo never serves data across
+ * requests. Between {@link #beginRequest} and {@link #endRequest} (opened around each
+ * HTTP request by a servlet filter) {@link StandardDao#loader()} hands out one loader
+ * per DAO, shared by every lookup the request makes, and writes through that DAO drop
+ * the rows they change from its memo. A loader is not thread-safe.
+ *
+ * @param <ID> The ID type
+ * @param <T> The entity type
+ */
+public class DataLoader<ID, T> {
+
+    // Upper bound on the IDs bound into one = ANY(:ids) query
+    static final int MAX_BATCH_SIZE = 1000;
+
+    // Loaders of the current request, by DAO; null outside a request
+    private static final ThreadLocal<Map<StandardDao<?, ?>, DataLoader<?, ?>>> REQUEST_LOADERS =
+        new ThreadLocal<>();
+
+    private final Function<Collection<ID>, Map<ID, T>> batchLoader;
+    private final Map<ID, CompletableFuture<Optional<T>>> results = new HashMap<>();
+    private final Set<ID> pending = new LinkedHashSet<>();
+
+    /**
+     * Constructor for DataLoader.
+     *
+     * @param batchLoader Loads a batch of IDs; IDs with no row are absent from the result
+     */
+    public DataLoader(Function<Collection<ID>, Map<ID, T>> batchLoader) {
+        this.batchLoader = batchLoader;
+    }
+
+    /**
+     * Queue an ID for the next dispatch.
+     *
+     * @param id The ID to load
+     * @return A future completed by {@link #dispatch}, or already complete if the ID was loaded before
+     */
+    public CompletableFuture<Optional<T>> load(ID id) {
+        return results.computeIfAbsent(id, key -> {
+            pending.add(key);
+            return new CompletableFuture<>();
+        });
+    }
+
+    /**
+     * Queue several IDs for the next dispatch.
+     *
+     * @param ids The IDs to load
+     * @return One future per ID, in the same order
+     */
+    public List<CompletableFuture<Optional<T>>> loadMany(Collection<ID> ids) {
+        List<CompletableFuture<Optional<T>>> futures = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            futures.add(load(id));
+        }
+        return futures;
+    }
+
+    /**
+     * Load every pending ID, in batches of at most {@value #MAX_BATCH_SIZE}.
+     * If a batch fails, it and every ID still pending complete exceptionally and are
+     * forgotten, so a later load retries them.
+     *
+     * @return The number of batch queries issued
+     */
+    public int dispatch() {
+        int batches = 0;
+        while (!pending.isEmpty()) {
+            List<ID> batch = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+            for (ID id : pending) {
+                batch.add(id);
+                if (batch.size() == MAX_BATCH_SIZE) {
+                    break;
+                }
+            }
+            pending.removeAll(batch);
+            batches++;
+
+            Map<ID, T> found;
+            try {
+                found = batchLoader.apply(batch);
+            } catch (RuntimeException e) {
+                batch.addAll(pending);
+                pending.clear();
+                for (ID id : batch) {
+                    results.remove(id).completeExceptionally(e);
+                }
+                throw e;
+            }
+            for (ID id : batch) {
+                results.get(id).complete(Optional.ofNullable(found.get(id)));
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Forget a loaded ID, so the next load reads it again. IDs still pending are kept.
+     *
+     * @param id The ID of a changed row
+     */
+    public void clear(ID id) {
+        CompletableFuture<Optional<T>> future = results.get(id);
+        if (future != null && future.isDone()) {
+            results.remove(id);
+        }
+    }
+
+    /**
+     * Forget every loaded ID. IDs still pending are kept.
+     */
+    public void clearAll() {
+        results.values().removeIf(CompletableFuture::isDone);
+    }
+
+    /**
+     * Load one ID now, dispatching everything queued so far with it.
+     *
+     * @param id The ID to load
+     * @return The entity, or empty if there is no row with this ID
+     */
+    public Optional<T> get(ID id) {
+        CompletableFuture<Optional<T>> future = load(id);
+        if (!future.isDone()) {
+            dispatch();
+        }
+        return future.join();
+    }
+
+    /**
+     * Start a request scope on the current thread.
+     */
+    public static void beginRequest() {
+        REQUEST_LOADERS.set(new HashMap<>());
+    }
+
+    /**
+     * End the request scope on the current thread, dropping its loaders.
+     */
+    public static void endRequest() {
+        REQUEST_LOADERS.remove();
+    }
+
+    /**
+     * Get the current request's loader for a DAO, creating it on first use.
+     *
+     * @return The loader, or null outside a request scope
+     */
+    @SuppressWarnings("unchecked")
+    static <ID, T> DataLoader<ID, T> forRequest(StandardDao<T, ID> dao) {
+        Map<StandardDao<?, ?>, DataLoader<?, ?>> loaders = REQUEST_LOADERS.get();
+        if (loaders == null) {
+            return null;
+        }
+        return (DataLoader<ID, T>) loaders.computeIfAbsent(dao, key -> new DataLoader<>(dao::findByIds));
+    }
+
+    /**
+     * Get the current request's loader for a DAO if it has been used.
+     *
+     * @return The loader, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    static <ID, T> DataLoader<ID, T> existingForRequest(StandardDao<T, ID> dao) {
+        Map<StandardDao<?, ?>, DataLoader<?, ?>> loaders = REQUEST_LOADERS.get();
+        return loaders != null ? (DataLoader<ID, T>) loaders.get(dao) : null;
+    }
+}
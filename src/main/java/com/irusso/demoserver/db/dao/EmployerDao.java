@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.Employer;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
@@ -32,23 +31,6 @@ public class EmployerDao extends StandardDao<Employer, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<Employer> MAPPER = (rs, ctx) -> {
-        Employer employer = new Employer();
-        employer.setId(rs.getLong(ID_COLUMN));
-        employer.setName(rs.getString(COL_NAME));
-        employer.setEmail(rs.getString(COL_EMAIL));
-        employer.setPhoneNumber(rs.getString(COL_PHONE_NUMBER));
-        employer.setLocation(rs.getString(COL_LOCATION));
-        employer.setCompanySize(rs.getString(COL_COMPANY_SIZE));
-        employer.setCompanyType(rs.getString(COL_COMPANY_TYPE));
-        employer.setDescription(rs.getString(COL_DESCRIPTION));
-        employer.setCompanyPictureUrl(rs.getString(COL_COMPANY_PICTURE_URL));
-        employer.setEmployerRating(rs.getBigDecimal(COL_EMPLOYER_RATING));
-        employer.setCommunicationRating(rs.getBigDecimal(COL_COMMUNICATION_RATING));
-        employer.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        employer.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return employer;
-    };
     
     @Inject
     public EmployerDao(Jdbi jdbi) {
@@ -62,6 +44,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getName)
+                    .setter((e, v) -> e.setName((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_EMAIL)
@@ -69,6 +52,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getEmail)
+                    .setter((e, v) -> e.setEmail((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_PHONE_NUMBER)
@@ -76,6 +60,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getPhoneNumber)
+                    .setter((e, v) -> e.setPhoneNumber((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_LOCATION)
@@ -83,6 +68,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getLocation)
+                    .setter((e, v) -> e.setLocation((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_COMPANY_SIZE)
@@ -90,6 +76,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getCompanySize)
+                    .setter((e, v) -> e.setCompanySize((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_COMPANY_TYPE)
@@ -97,6 +84,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getCompanyType)
+                    .setter((e, v) -> e.setCompanyType((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_DESCRIPTION)
@@ -104,6 +92,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getDescription)
+                    .setter((e, v) -> e.setDescription((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_COMPANY_PICTURE_URL)
@@ -111,6 +100,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getCompanyPictureUrl)
+                    .setter((e, v) -> e.setCompanyPictureUrl((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_EMPLOYER_RATING)
@@ -118,6 +108,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getEmployerRating)
+                    .setter((e, v) -> e.setEmployerRating((BigDecimal) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_COMMUNICATION_RATING)
@@ -125,6 +116,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(Employer::getCommunicationRating)
+                    .setter((e, v) -> e.setCommunicationRating((BigDecimal) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_CREATED_AT)
@@ -132,6 +124,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(e -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<Employer>builder()
                     .columnName(COL_UPDATED_AT)
@@ -139,9 +132,11 @@ public class EmployerDao extends StandardDao<Employer, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(e -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            Employer::new,
+            Employer::setId
         );
     }
     
@@ -167,7 +162,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
             WHERE id = :id
             """;
         
-        int rowsAffected = executeUpdate(sql, 
+        int rowsAffected = executeUpdateById(id, sql, 
             "id", id, 
             "rating", rating, 
             "updatedAt", Timestamp.from(Instant.now())
@@ -182,7 +177,7 @@ public class EmployerDao extends StandardDao<Employer, Long> {
             WHERE id = :id
             """;
         
-        int rowsAffected = executeUpdate(sql, 
+        int rowsAffected = executeUpdateById(id, sql, 
             "id", id, 
             "rating", rating, 
             "updatedAt", Timestamp.from(Instant.now())
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.EmployerHistory;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Date;
 import java.sql.Timestamp;
@@ -27,18 +26,6 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
     private static final String COL_DESCRIPTION = "description";
     private static final String COL_CREATED_AT = "created_at";
 
-    private static final RowMapper<EmployerHistory> MAPPER = (rs, ctx) -> {
-        EmployerHistory history = new EmployerHistory();
-        history.setId(rs.getLong(ID_COLUMN));
-        history.setEmployerId(rs.getLong(COL_EMPLOYER_ID));
-        history.setEventType(rs.getString(COL_EVENT_TYPE));
-        history.setEventDate(rs.getDate(COL_EVENT_DATE));
-        history.setNumberOfPositions((Integer) rs.getObject(COL_NUMBER_OF_POSITIONS));
-        history.setSource(rs.getString(COL_SOURCE));
-        history.setDescription(rs.getString(COL_DESCRIPTION));
-        history.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        return history;
-    };
     
     @Inject
     public EmployerHistoryDao(Jdbi jdbi) {
@@ -52,6 +39,7 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(EmployerHistory::getEmployerId)
+                    .setter((e, v) -> e.setEmployerId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmployerHistory>builder()
                     .columnName(COL_EVENT_TYPE)
@@ -59,6 +47,7 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmployerHistory::getEventType)
+                    .setter((e, v) -> e.setEventType((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmployerHistory>builder()
                     .columnName(COL_EVENT_DATE)
@@ -66,6 +55,7 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmployerHistory::getEventDate)
+                    .setter((e, v) -> e.setEventDate((Date) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmployerHistory>builder()
                     .columnName(COL_NUMBER_OF_POSITIONS)
@@ -73,6 +63,7 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmployerHistory::getNumberOfPositions)
+                    .setter((e, v) -> e.setNumberOfPositions((Integer) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmployerHistory>builder()
                     .columnName(COL_SOURCE)
@@ -80,6 +71,7 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmployerHistory::getSource)
+                    .setter((e, v) -> e.setSource((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmployerHistory>builder()
                     .columnName(COL_DESCRIPTION)
@@ -87,6 +79,7 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmployerHistory::getDescription)
+                    .setter((e, v) -> e.setDescription((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmployerHistory>builder()
                     .columnName(COL_CREATED_AT)
@@ -94,9 +87,11 @@ public class EmployerHistoryDao extends StandardDao<EmployerHistory, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(h -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            EmployerHistory::new,
+            EmployerHistory::setId
         );
     }
     
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.EmploymentHistory;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Date;
 import java.sql.Timestamp;
@@ -30,21 +29,6 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<EmploymentHistory> MAPPER = (rs, ctx) -> {
-        EmploymentHistory history = new EmploymentHistory();
-        history.setId(rs.getLong(ID_COLUMN));
-        history.setUserId(rs.getLong(COL_USER_ID));
-        history.setEmployerName(rs.getString(COL_EMPLOYER_NAME));
-        history.setJobTitle(rs.getString(COL_JOB_TITLE));
-        history.setLocation(rs.getString(COL_LOCATION));
-        history.setStartDate(rs.getDate(COL_START_DATE));
-        history.setEndDate(rs.getDate(COL_END_DATE));
-        history.setIsCurrent(rs.getBoolean(COL_IS_CURRENT));
-        history.setDescription(rs.getString(COL_DESCRIPTION));
-        history.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        history.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return history;
-    };
     
     @Inject
     public EmploymentHistoryDao(Jdbi jdbi) {
@@ -58,6 +42,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(EmploymentHistory::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_EMPLOYER_NAME)
@@ -65,6 +50,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmploymentHistory::getEmployerName)
+                    .setter((e, v) -> e.setEmployerName((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_JOB_TITLE)
@@ -72,6 +58,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmploymentHistory::getJobTitle)
+                    .setter((e, v) -> e.setJobTitle((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_LOCATION)
@@ -79,6 +66,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmploymentHistory::getLocation)
+                    .setter((e, v) -> e.setLocation((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_START_DATE)
@@ -86,6 +74,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmploymentHistory::getStartDate)
+                    .setter((e, v) -> e.setStartDate((Date) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_END_DATE)
@@ -93,6 +82,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmploymentHistory::getEndDate)
+                    .setter((e, v) -> e.setEndDate((Date) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_IS_CURRENT)
@@ -100,6 +90,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmploymentHistory::getIsCurrent)
+                    .setter((e, v) -> e.setIsCurrent((Boolean) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_DESCRIPTION)
@@ -107,6 +98,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(EmploymentHistory::getDescription)
+                    .setter((e, v) -> e.setDescription((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_CREATED_AT)
@@ -114,6 +106,7 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(h -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<EmploymentHistory>builder()
                     .columnName(COL_UPDATED_AT)
@@ -121,9 +114,11 @@ public class EmploymentHistoryDao extends StandardDao<EmploymentHistory, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(h -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            EmploymentHistory::new,
+            EmploymentHistory::setId
         );
     }
     
@@ -0,0 +1,189 @@
+package com.irusso.demoserver.db.dao;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of entities by ID for one table.
+ *
+ * A StandardDao with a cache serves findById from it and invalidates entries on every
+ * write it performs. Entries are evicted by size and by time since they were loaded.
+ * Missing rows are not cached. Hits, misses, loads and evictions are recorded in the
+ * MetricRegistry under "{@code com.irusso.demoserver.db.dao.EntityCache.<table>.*}".
+ *
+ * Cached entities are shared between callers and must be treated as read-only;
+ * changes go through the DAO's update methods, which invalidate the entry.
+ *
+ * @param <ID> The ID type
+ * @param <T> The entity type
+ */
+public class EntityCache<ID, T> {
+
+    private final String tableName;
+    private final Cache<ID, T> cache;
+
+    private EntityCache(String tableName, Cache<ID, T> cache) {
+        this.tableName = tableName;
+        this.cache = cache;
+    }
+
+    /**
+     * Create a cache for a table.
+     *
+     * @param tableName The table whose entities are cached (used in metric names)
+     * @param maximumSize Maximum number of entities kept
+     * @param expireAfterWrite How long an entity is kept after it was loaded
+     * @param metrics The registry to record cache metrics in
+     * @return The cache
+     */
+    public static <ID, T> EntityCache<ID, T> create(String tableName, long maximumSize,
+                                                    Duration expireAfterWrite, MetricRegistry metrics) {
+        MetricsStatsCounter stats = new MetricsStatsCounter(metrics, tableName);
+        Cache<ID, T> cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats(() -> stats)
+            // Evict on the calling thread rather than the common ForkJoinPool
+            .executor(Runnable::run)
+            .build();
+        metrics.gauge(MetricRegistry.name(EntityCache.class, tableName, "size"), () -> cache::estimatedSize);
+        return new EntityCache<>(tableName, cache);
+    }
+
+    /**
+     * Get the table name this cache belongs to.
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Get an entity, loading it on a miss.
+     * Concurrent misses for the same ID share one load, and an invalidation issued
+     * while a load is in flight waits for it, so a stale row is never left behind.
+     *
+     * @param id The entity ID
+     * @param loader Loads the entity from the database
+     * @return The entity, or empty if the loader found none
+     */
+    public Optional<T> get(ID id, Function<ID, Optional<T>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Get several entities, loading all misses with one call to the loader.
+     *
+     * @param ids The entity IDs
+     * @param loader Loads the missing entities from the database, keyed by ID
+     * @return The entities found, keyed by ID; IDs the loader found no row for are absent
+     */
+    public Map<ID, T> getAll(Collection<? extends ID> ids,
+                             Function<Collection<? extends ID>, Map<ID, T>> loader) {
+        return cache.getAll(ids, missing -> loader.apply(missing));
+    }
+
+    /**
+     * Remove one entity.
+     */
+    public void invalidate(ID id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Remove several entities.
+     */
+    public void invalidateAll(Collection<? extends ID> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    /**
+     * Remove every entity.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the approximate number of cached entities.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Get a snapshot of the cache statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Caffeine StatsCounter that reports to a Dropwizard MetricRegistry.
+     */
+    static final class MetricsStatsCounter implements StatsCounter {
+        private final Meter hits;
+        private final Meter misses;
+        private final Timer loads;
+        private final Counter loadFailures;
+        private final Meter evictions;
+        private final LongAdder totalLoadTime = new LongAdder();
+
+        MetricsStatsCounter(MetricRegistry metrics, String tableName) {
+            this.hits = metrics.meter(MetricRegistry.name(EntityCache.class, tableName, "hits"));
+            this.misses = metrics.meter(MetricRegistry.name(EntityCache.class, tableName, "misses"));
+            this.loads = metrics.timer(MetricRegistry.name(EntityCache.class, tableName, "loads"));
+            this.loadFailures = metrics.counter(MetricRegistry.name(EntityCache.class, tableName, "load-failures"));
+            this.evictions = metrics.meter(MetricRegistry.name(EntityCache.class, tableName, "evictions"));
+        }
+
+        @Override
+        public void recordHits(int count) {
+            hits.mark(count);
+        }
+
+        @Override
+        public void recordMisses(int count) {
+            misses.mark(count);
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+            loads.update(loadTime, TimeUnit.NANOSECONDS);
+            totalLoadTime.add(loadTime);
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+            loads.update(loadTime, TimeUnit.NANOSECONDS);
+            totalLoadTime.add(loadTime);
+            loadFailures.inc();
+        }
+
+        @Override
+        public void recordEviction(int weight, RemovalCause cause) {
+            evictions.mark();
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            long failures = loadFailures.getCount();
+            return CacheStats.of(hits.getCount(), misses.getCount(), loads.getCount() - failures, failures,
+                totalLoadTime.sum(), evictions.getCount(), evictions.getCount());
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.Industry;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.PreparedBatch;
 
 import java.sql.Timestamp;
@@ -60,25 +59,14 @@ public class IndustryDao extends StandardDao<Industry, Long> {
     }
 
     /**
-     * RowMapper to convert database rows to Industry objects.
+     * Merge rule for COPY-based upserts, matching batchInsert.
      */
-    private static final RowMapper<Industry> INDUSTRY_MAPPER = (rs, ctx) -> {
-        Industry industry = new Industry();
-        industry.setId(rs.getLong(ID_COLUMN));
-        industry.setName(rs.getString(COL_NAME));
-        
-        Timestamp createdAt = rs.getTimestamp(COL_CREATED_AT);
-        if (createdAt != null) {
-            industry.setCreatedAt(createdAt.toInstant());
-        }
-        
-        Timestamp updatedAt = rs.getTimestamp(COL_UPDATED_AT);
-        if (updatedAt != null) {
-            industry.setUpdatedAt(updatedAt.toInstant());
-        }
-        
-        return industry;
-    };
+    private static final CopyEngine.MergeSpec INDUSTRY_MERGE = CopyEngine.MergeSpec.builder()
+        .conflictColumns(COL_NAME)
+        .updateColumns(COL_UPDATED_AT)
+        .build();
+
+    private final CopyEngine copyEngine;
 
     /**
      * Constructor for IndustryDao.
@@ -87,7 +75,8 @@ public class IndustryDao extends StandardDao<Industry, Long> {
      */
     @Inject
     public IndustryDao(Jdbi jdbi) {
-        super(jdbi, createTableDefinition(), INDUSTRY_MAPPER);
+        super(jdbi, createTableDefinition(), Industry::new, Industry::setId);
+        this.copyEngine = new CopyEngine(jdbi);
     }
 
     /**
@@ -109,7 +98,7 @@ public class IndustryDao extends StandardDao<Industry, Long> {
                 updated_at = EXCLUDED.updated_at
             """;
 
-        return jdbi.withHandle(handle -> {
+        int inserted = writeJdbi().withHandle(handle -> {
             PreparedBatch batch = handle.prepareBatch(sql);
             Timestamp now = Timestamp.from(Instant.now());
 
@@ -123,6 +112,23 @@ public class IndustryDao extends StandardDao<Industry, Long> {
             int[] results = batch.execute();
             return results.length;
         });
+        evictAll();
+        return inserted;
+    }
+
+    /**
+     * Upsert industries through PostgreSQL COPY and a staging table.
+     *
+     * @param industries Industries to insert or update, keyed on name
+     * @return Number of industries inserted or updated
+     */
+    public long copyUpsert(List<Industry> industries) {
+        if (industries == null || industries.isEmpty()) {
+            return 0;
+        }
+        long merged = copyEngine.copyMerge(getTableDefinition(), industries, INDUSTRY_MERGE);
+        evictAll();
+        return merged;
     }
 
     /**
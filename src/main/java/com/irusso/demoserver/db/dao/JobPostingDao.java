@@ -2,13 +2,23 @@ package com.irusso.demoserver.db.dao;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobPostingSearchResult;
+import com.irusso.demoserver.db.model.SalaryBand;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.StatementContext;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for the job_postings table.
@@ -34,26 +44,30 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<JobPosting> MAPPER = (rs, ctx) -> {
-        JobPosting job = new JobPosting();
-        job.setId(rs.getLong(ID_COLUMN));
-        job.setEmployerId(rs.getLong(COL_EMPLOYER_ID));
-        job.setTitle(rs.getString(COL_TITLE));
-        job.setDescription(rs.getString(COL_DESCRIPTION));
-        job.setResponsibilities(rs.getString(COL_RESPONSIBILITIES));
-        job.setLocation(rs.getString(COL_LOCATION));
-        job.setField(rs.getString(COL_FIELD));
-        job.setExperienceLevel(rs.getString(COL_EXPERIENCE_LEVEL));
-        job.setSalaryMin(rs.getBigDecimal(COL_SALARY_MIN));
-        job.setSalaryMax(rs.getBigDecimal(COL_SALARY_MAX));
-        job.setStatus(rs.getString(COL_STATUS));
-        job.setPostedDate(rs.getTimestamp(COL_POSTED_DATE));
-        job.setClosedDate(rs.getTimestamp(COL_CLOSED_DATE));
-        job.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        job.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return job;
-    };
-    
+    // Overlap with an inclusive range whose missing ends are unbounded; uses the GiST index on salary_range
+    private static final String SALARY_OVERLAP =
+        "salary_range && numrange(CAST(:minSalary AS numeric), CAST(:maxSalary AS numeric), '[]')";
+
+    /**
+     * Facet names, as keys of {@link #countSearchFacets}.
+     */
+    public static final String FIELD_FACET = "field";
+    public static final String EXPERIENCE_LEVEL_FACET = "experienceLevel";
+    public static final String LOCATION_FACET = "location";
+    public static final String SALARY_BAND_FACET = "salaryBand";
+
+    // Salary bands as a VALUES list of (label, lower bound, exclusive upper bound)
+    private static final String SALARY_BANDS_SQL = salaryBandsSql();
+
+    // Sort key of search results, as recorded in search cursors
+    private static final String SEARCH_RANK = "search_rank";
+    // Up to two description fragments of 10-25 words, matched words in <b> tags
+    private static final String HEADLINE_OPTIONS =
+        "StartSel=<b>, StopSel=</b>, MaxFragments=2, MinWords=10, MaxWords=25, FragmentDelimiter=\" ... \"";
+
+    // Posting columns qualified for the search query, which joins the ranked page back to job_postings
+    private final String searchColumns;
+
     @Inject
     public JobPostingDao(Jdbi jdbi) {
         super(jdbi,
@@ -66,6 +80,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(JobPosting::getEmployerId)
+                    .setter((e, v) -> e.setEmployerId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_TITLE)
@@ -73,6 +88,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getTitle)
+                    .setter((e, v) -> e.setTitle((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_DESCRIPTION)
@@ -80,6 +96,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getDescription)
+                    .setter((e, v) -> e.setDescription((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_RESPONSIBILITIES)
@@ -87,6 +104,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getResponsibilities)
+                    .setter((e, v) -> e.setResponsibilities((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_LOCATION)
@@ -94,6 +112,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getLocation)
+                    .setter((e, v) -> e.setLocation((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_FIELD)
@@ -101,6 +120,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getField)
+                    .setter((e, v) -> e.setField((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_EXPERIENCE_LEVEL)
@@ -108,6 +128,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getExperienceLevel)
+                    .setter((e, v) -> e.setExperienceLevel((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_SALARY_MIN)
@@ -115,6 +136,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getSalaryMin)
+                    .setter((e, v) -> e.setSalaryMin((BigDecimal) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_SALARY_MAX)
@@ -122,6 +144,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getSalaryMax)
+                    .setter((e, v) -> e.setSalaryMax((BigDecimal) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_STATUS)
@@ -129,6 +152,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getStatus)
+                    .setter((e, v) -> e.setStatus((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_POSTED_DATE)
@@ -136,6 +160,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(j -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setPostedDate((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_CLOSED_DATE)
@@ -143,6 +168,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobPosting::getClosedDate)
+                    .setter((e, v) -> e.setClosedDate((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_CREATED_AT)
@@ -150,6 +176,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(j -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobPosting>builder()
                     .columnName(COL_UPDATED_AT)
@@ -157,37 +184,240 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(j -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            JobPosting::new,
+            JobPosting::setId
         );
+        this.searchColumns = getTableDefinition().getSelectColumnsList("jp");
     }
     
     public List<JobPosting> findByEmployerId(Long employerId) {
-        String sql = "SELECT * FROM job_postings WHERE employer_id = :employerId ORDER BY posted_date DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE employer_id = :employerId ORDER BY posted_date DESC";
         return executeQuery(sql, "employerId", employerId);
     }
     
     public List<JobPosting> findActiveJobs() {
-        String sql = "SELECT * FROM job_postings WHERE status = 'ACTIVE' ORDER BY posted_date DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE status = 'ACTIVE' ORDER BY posted_date DESC";
         return executeQuery(sql);
     }
     
     public List<JobPosting> findByStatus(String status) {
-        String sql = "SELECT * FROM job_postings WHERE status = :status ORDER BY posted_date DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE status = :status ORDER BY posted_date DESC";
         return executeQuery(sql, "status", status);
     }
     
     public List<JobPosting> findByField(String field) {
-        String sql = "SELECT * FROM job_postings WHERE field ILIKE :field AND status = 'ACTIVE' ORDER BY posted_date DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE field ILIKE :field AND status = 'ACTIVE' ORDER BY posted_date DESC";
         return executeQuery(sql, "field", "%" + field + "%");
     }
     
     public List<JobPosting> findByLocation(String location) {
-        String sql = "SELECT * FROM job_postings WHERE location ILIKE :location AND status = 'ACTIVE' ORDER BY posted_date DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE location ILIKE :location AND status = 'ACTIVE' ORDER BY posted_date DESC";
         return executeQuery(sql, "location", "%" + location + "%");
     }
     
+    /**
+     * Find postings updated after a point in time, for bringing a copy of the table up to date.
+     */
+    public List<JobPosting> findUpdatedSince(Timestamp since) {
+        String sql = getStatementPlan().getSelectSql() + " WHERE updated_at > :since ORDER BY id";
+        return executeQuery(sql, "since", since);
+    }
+
+    /**
+     * Get the IDs of all postings.
+     */
+    public List<Long> findAllIds() {
+        String sql = "SELECT id FROM job_postings ORDER BY id";
+        return readJdbi().withHandle(handle ->
+            handle.createQuery(sql)
+                .mapTo(Long.class)
+                .list()
+        );
+    }
+
+    /**
+     * Full-text search over title, field, responsibilities and description, most
+     * relevant first.
+     *
+     * Matching uses the GIN index on the generated search_vector column, so only
+     * matching postings are read and ranked; snippets are built for the returned page
+     * only. The query is parsed with websearch_to_tsquery: words are ANDed, "quoted
+     * phrases", OR and -excluded words are supported, and no input is a syntax error.
+     * Pages are keyset paginated on (rank, id) like {@link #findPage}.
+     *
+     * @param query The search text
+     * @param filters Restrictions on status, experience level and salary
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of results to return (defaults to Page.DEFAULT_LIMIT)
+     * @return The requested page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public Page<JobPostingSearchResult> search(String query, SearchFilters filters, String cursor, Integer limit) {
+        PageCursor after = cursor != null && !cursor.isEmpty() ? PageCursor.decode(cursor) : null;
+        Float lastRank = null;
+        if (after != null) {
+            if (!SEARCH_RANK.equals(after.getSortColumn())) {
+                throw new IllegalArgumentException("Cursor does not belong to a search");
+            }
+            try {
+                lastRank = Float.parseFloat(after.getLastSortValue());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        int pageSize = Page.resolveLimit(limit);
+
+        String matches = searchMatches("jp.id, ts_rank(jp.search_vector, q.query) AS search_rank", filters);
+
+        // Rank and page on IDs first, then fetch the page's columns (never the stored
+        // search_vector) and build snippets for the page only
+        String sql = "SELECT " + searchColumns + ", p.search_rank, "
+            + "ts_headline('english', jp.description, websearch_to_tsquery('english', :query), "
+            + ":headlineOptions) AS snippet FROM ("
+            + "SELECT r.id, r.search_rank FROM (" + matches + ") r"
+            + (after != null ? " WHERE r.search_rank < :lastRank OR (r.search_rank = :lastRank AND r.id > :lastId)" : "")
+            + " ORDER BY r.search_rank DESC, r.id LIMIT :limit"
+            + ") p JOIN job_postings jp ON jp.id = p.id ORDER BY p.search_rank DESC, p.id";
+
+        Float lastRankValue = lastRank;
+        List<JobPostingSearchResult> rows = readJdbi().withHandle(handle -> {
+            Query statement = bindSearch(handle.createQuery(sql), query, filters)
+                .bind("headlineOptions", HEADLINE_OPTIONS)
+                .bind("limit", pageSize + 1);
+            if (after != null) {
+                statement.bind("lastRank", lastRankValue.floatValue());
+                statement.bind("lastId", after.getLastId());
+            }
+            return statement.map(new SearchResultMapper(getRowMapper())).list();
+        });
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            JobPostingSearchResult last = rows.get(pageSize - 1);
+            nextCursor = new PageCursor(SEARCH_RANK, last.getJobPosting().getId(),
+                Float.toString(last.getRank())).encode();
+        }
+        return new Page<>(rows, nextCursor);
+    }
+
+    /**
+     * Count the postings a {@link #search} with the same query and filters matches, by
+     * field, experience level, location and salary band, in one statement over the same
+     * tsvector match set. Values are grouped ignoring case and surrounding spaces; a
+     * posting counts in every salary band its range overlaps.
+     *
+     * @param query The search text
+     * @param filters Restrictions on status, experience level and salary
+     * @return Number of matching postings by value, keyed by facet name ({@link #FIELD_FACET},
+     *         {@link #EXPERIENCE_LEVEL_FACET}, {@link #LOCATION_FACET}, {@link #SALARY_BAND_FACET});
+     *         every facet is present, values no matching posting has are absent
+     */
+    public Map<String, Map<String, Integer>> countSearchFacets(String query, SearchFilters filters) {
+        String sql = "WITH matches AS ("
+            + searchMatches("jp.field, jp.experience_level, jp.location, jp.salary_range", filters) + ") "
+            + facetCountSql(FIELD_FACET, COL_FIELD) + " UNION ALL "
+            + facetCountSql(EXPERIENCE_LEVEL_FACET, COL_EXPERIENCE_LEVEL) + " UNION ALL "
+            + facetCountSql(LOCATION_FACET, COL_LOCATION) + " UNION ALL "
+            + "SELECT '" + SALARY_BAND_FACET + "' AS facet, b.label AS value, COUNT(*) AS count "
+            + "FROM matches m JOIN (" + SALARY_BANDS_SQL + ") b(label, lower_bound, upper_bound) "
+            + "ON m.salary_range && numrange(b.lower_bound, b.upper_bound, '[)') GROUP BY b.label";
+
+        Map<String, Map<String, Integer>> empty = new LinkedHashMap<>();
+        for (String facet : List.of(FIELD_FACET, EXPERIENCE_LEVEL_FACET, LOCATION_FACET, SALARY_BAND_FACET)) {
+            empty.put(facet, new LinkedHashMap<>());
+        }
+        return readJdbi().withHandle(handle ->
+            bindSearch(handle.createQuery(sql), query, filters)
+                .reduceResultSet(empty, (counts, rs, ctx) -> {
+                    counts.get(rs.getString("facet")).put(rs.getString("value"), rs.getInt("count"));
+                    return counts;
+                })
+        );
+    }
+
+    /**
+     * Build the statement selecting the postings that match a search and its filters,
+     * shared by the results and the facet counts so both see the same postings.
+     */
+    private static String searchMatches(String columns, SearchFilters filters) {
+        StringBuilder matches = new StringBuilder()
+            .append("SELECT ").append(columns).append(' ')
+            .append("FROM job_postings jp, websearch_to_tsquery('english', :query) q(query) ")
+            .append("WHERE jp.search_vector @@ q.query");
+        if (filters.getStatus() != null) {
+            matches.append(" AND jp.status = :status");
+        }
+        if (filters.getExperienceLevel() != null) {
+            matches.append(" AND UPPER(jp.experience_level) = UPPER(:experienceLevel)");
+        }
+        if (filters.getMinSalary() != null || filters.getMaxSalary() != null) {
+            matches.append(" AND jp.").append(SALARY_OVERLAP);
+        }
+        return matches.toString();
+    }
+
+    private static Query bindSearch(Query statement, String query, SearchFilters filters) {
+        statement.bind("query", query);
+        if (filters.getStatus() != null) {
+            statement.bind("status", filters.getStatus());
+        }
+        if (filters.getExperienceLevel() != null) {
+            statement.bind("experienceLevel", filters.getExperienceLevel());
+        }
+        if (filters.getMinSalary() != null || filters.getMaxSalary() != null) {
+            statement.bind("minSalary", filters.getMinSalary());
+            statement.bind("maxSalary", filters.getMaxSalary());
+        }
+        return statement;
+    }
+
+    private static String facetCountSql(String facet, String column) {
+        return String.format("SELECT '%s' AS facet, MIN(TRIM(%2$s)) AS value, COUNT(*) AS count FROM matches "
+            + "WHERE TRIM(%2$s) <> '' GROUP BY LOWER(TRIM(%2$s))", facet, column);
+    }
+
+    private static String salaryBandsSql() {
+        StringBuilder values = new StringBuilder("VALUES ");
+        for (SalaryBand band : SalaryBand.values()) {
+            if (band.ordinal() > 0) {
+                values.append(", ");
+            }
+            values.append(String.format("('%s', CAST(%d AS numeric), CAST(%s AS numeric))",
+                band.getLabel(), band.getLowerBound(), band.getUpperBound() != null ? band.getUpperBound() : "NULL"));
+        }
+        return values.toString();
+    }
+
+    /**
+     * Find postings whose salary range overlaps the given one, ordered by ID.
+     * Matching uses the GiST index on the generated salary_range column; postings
+     * without any salary never match.
+     *
+     * @param minSalary Lowest salary of interest, or null for no lower limit
+     * @param maxSalary Highest salary of interest, or null for no upper limit
+     * @param status Required status, or null for any
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of results to return (defaults to Page.DEFAULT_LIMIT)
+     * @return The requested page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public Page<JobPosting> findBySalaryOverlap(BigDecimal minSalary, BigDecimal maxSalary, String status,
+                                                String cursor, Integer limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("minSalary", minSalary);
+        params.put("maxSalary", maxSalary);
+        String condition = SALARY_OVERLAP;
+        if (status != null) {
+            condition += " AND status = :status";
+            params.put("status", status);
+        }
+        return findPageWhere(condition, params, cursor, limit);
+    }
+
     public boolean updateStatus(Long id, String status) {
         String sql = """
             UPDATE job_postings 
@@ -197,7 +427,7 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
             WHERE id = :id
             """;
         
-        int rowsAffected = executeUpdate(sql, 
+        int rowsAffected = executeUpdateById(id, sql, 
             "id", id, 
             "status", status,
             "closedDate", Timestamp.from(Instant.now()),
@@ -205,5 +435,118 @@ public class JobPostingDao extends StandardDao<JobPosting, Long> {
         );
         return rowsAffected > 0;
     }
-}
 
+    /**
+     * Maps a job posting row plus its search_rank and snippet columns, resolving the
+     * columns once per result set.
+     */
+    private static final class SearchResultMapper implements RowMapper<JobPostingSearchResult> {
+        private final RowMapper<JobPosting> jobPostingMapper;
+
+        private SearchResultMapper(RowMapper<JobPosting> jobPostingMapper) {
+            this.jobPostingMapper = jobPostingMapper;
+        }
+
+        @Override
+        public JobPostingSearchResult map(ResultSet rs, StatementContext ctx) throws SQLException {
+            return specialize(rs, ctx).map(rs, ctx);
+        }
+
+        @Override
+        public RowMapper<JobPostingSearchResult> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
+            RowMapper<JobPosting> mapper = jobPostingMapper.specialize(rs, ctx);
+            int rankIndex = rs.findColumn(SEARCH_RANK);
+            int snippetIndex = rs.findColumn("snippet");
+            return (row, rowCtx) -> new JobPostingSearchResult(
+                mapper.map(row, rowCtx), row.getFloat(rankIndex), row.getString(snippetIndex));
+        }
+    }
+
+    /**
+     * Restrictions applied to a full-text search. Unset filters match every posting.
+     */
+    public static class SearchFilters {
+        private final String status;
+        private final String experienceLevel;
+        private final BigDecimal minSalary;
+        private final BigDecimal maxSalary;
+
+        private SearchFilters(Builder builder) {
+            this.status = builder.status;
+            this.experienceLevel = builder.experienceLevel;
+            this.minSalary = builder.minSalary;
+            this.maxSalary = builder.maxSalary;
+        }
+
+        /**
+         * Get the required status, e.g. ACTIVE.
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        /**
+         * Get the required experience level, matched ignoring case.
+         */
+        public String getExperienceLevel() {
+            return experienceLevel;
+        }
+
+        /**
+         * Get the salary the posting must be able to reach: its maximum, or its minimum
+         * when no maximum is set, is at least this.
+         */
+        public BigDecimal getMinSalary() {
+            return minSalary;
+        }
+
+        /**
+         * Get the salary the posting must start at or below: its minimum, or its maximum
+         * when no minimum is set, is at most this.
+         */
+        public BigDecimal getMaxSalary() {
+            return maxSalary;
+        }
+
+        /**
+         * Create a new builder for SearchFilters.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Builder for SearchFilters.
+         */
+        public static class Builder {
+            private String status;
+            private String experienceLevel;
+            private BigDecimal minSalary;
+            private BigDecimal maxSalary;
+
+            public Builder status(String status) {
+                this.status = status;
+                return this;
+            }
+
+            public Builder experienceLevel(String experienceLevel) {
+                this.experienceLevel = experienceLevel;
+                return this;
+            }
+
+            public Builder minSalary(BigDecimal minSalary) {
+                this.minSalary = minSalary;
+                return this;
+            }
+
+            public Builder maxSalary(BigDecimal maxSalary) {
+                this.maxSalary = maxSalary;
+                return this;
+            }
+
+            public SearchFilters build() {
+                return new SearchFilters(this);
+            }
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.JobRequirement;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -24,17 +23,6 @@ public class JobRequirementDao extends StandardDao<JobRequirement, Long> {
     private static final String COL_REQUIREMENT_TEXT = "requirement_text";
     private static final String COL_CREATED_AT = "created_at";
 
-    private static final RowMapper<JobRequirement> MAPPER = (rs, ctx) -> {
-        JobRequirement req = new JobRequirement();
-        req.setId(rs.getLong(ID_COLUMN));
-        req.setJobPostingId(rs.getLong(COL_JOB_POSTING_ID));
-        req.setRequirementType(rs.getString(COL_REQUIREMENT_TYPE));
-        req.setRequirementCategory(rs.getString(COL_REQUIREMENT_CATEGORY));
-        req.setRequirementText(rs.getString(COL_REQUIREMENT_TEXT));
-        req.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        return req;
-    };
-
     @Inject
     public JobRequirementDao(Jdbi jdbi) {
         super(jdbi,
@@ -47,6 +35,7 @@ public class JobRequirementDao extends StandardDao<JobRequirement, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(JobRequirement::getJobPostingId)
+                    .setter((e, v) -> e.setJobPostingId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobRequirement>builder()
                     .columnName(COL_REQUIREMENT_TYPE)
@@ -54,6 +43,7 @@ public class JobRequirementDao extends StandardDao<JobRequirement, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobRequirement::getRequirementType)
+                    .setter((e, v) -> e.setRequirementType((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobRequirement>builder()
                     .columnName(COL_REQUIREMENT_CATEGORY)
@@ -61,6 +51,7 @@ public class JobRequirementDao extends StandardDao<JobRequirement, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobRequirement::getRequirementCategory)
+                    .setter((e, v) -> e.setRequirementCategory((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobRequirement>builder()
                     .columnName(COL_REQUIREMENT_TEXT)
@@ -68,6 +59,7 @@ public class JobRequirementDao extends StandardDao<JobRequirement, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(JobRequirement::getRequirementText)
+                    .setter((e, v) -> e.setRequirementText((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<JobRequirement>builder()
                     .columnName(COL_CREATED_AT)
@@ -75,9 +67,11 @@ public class JobRequirementDao extends StandardDao<JobRequirement, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(r -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            JobRequirement::new,
+            JobRequirement::setId
         );
     }
     
@@ -91,6 +85,19 @@ public class JobRequirementDao extends StandardDao<JobRequirement, Long> {
         return executeQuery(sql, "jobPostingId", jobPostingId);
     }
     
+    /**
+     * Get the IDs of job postings that gained requirements after a point in time.
+     */
+    public List<Long> findJobPostingIdsCreatedSince(Timestamp since) {
+        String sql = "SELECT DISTINCT job_posting_id FROM job_requirements WHERE created_at > :since";
+        return readJdbi().withHandle(handle ->
+            handle.createQuery(sql)
+                .bind("since", since)
+                .mapTo(Long.class)
+                .list()
+        );
+    }
+
     public int deleteByJobPostingId(Long jobPostingId) {
         String sql = "DELETE FROM job_requirements WHERE job_posting_id = :jobPostingId";
         return executeUpdate(sql, "jobPostingId", jobPostingId);
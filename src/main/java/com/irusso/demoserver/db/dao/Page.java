@@ -0,0 +1,67 @@
+package com.irusso.demoserver.db.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single page of results from a keyset (seek) paginated query.
+ *
+ * The next cursor is opaque to callers and should be passed back unchanged
+ * to fetch the following page. A null next cursor means there are no more results.
+ *
+ * @param <T> The entity type
+ */
+public class Page<T> {
+
+    /**
+     * Page size used when the caller does not request one.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Largest page size a caller may request.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items != null ? items : Collections.emptyList();
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the items on this page.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Get the cursor for the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Check if there are more results after this page.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Normalize a requested page size, applying the default and upper bound.
+     *
+     * @param limit The requested page size (may be null)
+     * @return A page size between 1 and MAX_LIMIT
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,118 @@
+package com.irusso.demoserver.db.dao;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset paginated query.
+ *
+ * A cursor records the sort column, the sort key of the last row and its ID.
+ * It is serialized as URL-safe Base64 so clients treat it as an opaque token.
+ */
+final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortColumn;
+    private final long lastId;
+    private final String lastSortValue;
+
+    PageCursor(String sortColumn, long lastId, String lastSortValue) {
+        this.sortColumn = sortColumn;
+        this.lastId = lastId;
+        this.lastSortValue = lastSortValue;
+    }
+
+    String getSortColumn() {
+        return sortColumn;
+    }
+
+    long getLastId() {
+        return lastId;
+    }
+
+    String getLastSortValue() {
+        return lastSortValue;
+    }
+
+    /**
+     * Encode this cursor as an opaque token.
+     * Format before encoding: "sortColumn|lastId|lastSortValue"
+     */
+    String encode() {
+        String raw = sortColumn + SEPARATOR + lastId + SEPARATOR + (lastSortValue != null ? lastSortValue : "");
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static PageCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        int first = raw.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : raw.indexOf(SEPARATOR, first + 1);
+        if (first <= 0 || second < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        try {
+            long lastId = Long.parseLong(raw.substring(first + 1, second));
+            return new PageCursor(raw.substring(0, first), lastId, raw.substring(second + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Convert a sort key to its cursor string form.
+     */
+    static String formatValue(Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Convert a cursor string back to a value of the sort column's Java type
+     * so it binds with the same SQL type as the column.
+     *
+     * @throws IllegalArgumentException if the value cannot be parsed as the given type
+     */
+    static Object parseValue(String value, Class<?> javaType) {
+        try {
+            if (javaType == String.class) {
+                return value;
+            } else if (javaType == Long.class) {
+                return Long.valueOf(value);
+            } else if (javaType == Integer.class) {
+                return Integer.valueOf(value);
+            } else if (javaType == BigDecimal.class) {
+                return new BigDecimal(value);
+            } else if (javaType == Double.class) {
+                return Double.valueOf(value);
+            } else if (javaType == Boolean.class) {
+                return Boolean.valueOf(value);
+            } else if (javaType == Timestamp.class) {
+                return Timestamp.valueOf(value);
+            } else if (javaType == Date.class) {
+                return Date.valueOf(value);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        throw new IllegalArgumentException("Unsupported sort column type: " + javaType.getSimpleName());
+    }
+}
@@ -4,7 +4,6 @@ import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.PreparationLevel;
 import com.irusso.demoserver.db.model.Profession;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.PreparedBatch;
 
 import java.sql.Timestamp;
@@ -69,30 +68,14 @@ public class ProfessionDao extends StandardDao<Profession, Long> {
     }
 
     /**
-     * RowMapper to convert database rows to Profession objects.
+     * Merge rule for COPY-based upserts, matching batchInsert.
      */
-    private static final RowMapper<Profession> PROFESSION_MAPPER = (rs, ctx) -> {
-        Profession profession = new Profession();
-        profession.setId(rs.getLong(ID_COLUMN));
-        profession.setName(rs.getString(COL_NAME));
-        
-        int prepValue = rs.getInt(COL_PREP);
-        if (!rs.wasNull()) {
-            profession.setPrep(PreparationLevel.fromValue(prepValue));
-        }
-        
-        Timestamp createdAt = rs.getTimestamp(COL_CREATED_AT);
-        if (createdAt != null) {
-            profession.setCreatedAt(createdAt.toInstant());
-        }
-        
-        Timestamp updatedAt = rs.getTimestamp(COL_UPDATED_AT);
-        if (updatedAt != null) {
-            profession.setUpdatedAt(updatedAt.toInstant());
-        }
-        
-        return profession;
-    };
+    private static final CopyEngine.MergeSpec PROFESSION_MERGE = CopyEngine.MergeSpec.builder()
+        .conflictColumns(COL_NAME)
+        .updateColumns(COL_PREP, COL_UPDATED_AT)
+        .build();
+
+    private final CopyEngine copyEngine;
 
     /**
      * Constructor for ProfessionDao.
@@ -101,7 +84,8 @@ public class ProfessionDao extends StandardDao<Profession, Long> {
      */
     @Inject
     public ProfessionDao(Jdbi jdbi) {
-        super(jdbi, createTableDefinition(), PROFESSION_MAPPER);
+        super(jdbi, createTableDefinition(), Profession::new, Profession::setId);
+        this.copyEngine = new CopyEngine(jdbi);
     }
 
     /**
@@ -124,7 +108,7 @@ public class ProfessionDao extends StandardDao<Profession, Long> {
                 updated_at = EXCLUDED.updated_at
             """;
 
-        return jdbi.withHandle(handle -> {
+        int inserted = writeJdbi().withHandle(handle -> {
             PreparedBatch batch = handle.prepareBatch(sql);
             Timestamp now = Timestamp.from(Instant.now());
 
@@ -139,6 +123,23 @@ public class ProfessionDao extends StandardDao<Profession, Long> {
             int[] results = batch.execute();
             return results.length;
         });
+        evictAll();
+        return inserted;
+    }
+
+    /**
+     * Upsert professions through PostgreSQL COPY and a staging table.
+     *
+     * @param professions Professions to insert or update, keyed on name
+     * @return Number of professions inserted or updated
+     */
+    public long copyUpsert(List<Profession> professions) {
+        if (professions == null || professions.isEmpty()) {
+            return 0;
+        }
+        long merged = copyEngine.copyMerge(getTableDefinition(), professions, PROFESSION_MERGE);
+        evictAll();
+        return merged;
     }
 
     /**
@@ -0,0 +1,334 @@
+package com.irusso.demoserver.db.dao;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.ParsedSql;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records every statement JDBI executes, per DAO method and SQL template.
+ *
+ * Installed as the Jdbi SqlLogger (chained in front of the one Dropwizard configures),
+ * so the StandardDao CRUD methods and the custom queries of every DAO are covered
+ * without touching them. For each (DAO method, SQL template) pair it keeps a Timer in
+ * the MetricRegistry under "{@code com.irusso.demoserver.db.dao.QueryMetrics.<Dao.method>.<table>}".
+ *
+ * Statements slower than the slow-query threshold are logged with their bound parameter
+ * names (never their values). Between {@link #beginRequest} and {@link #endRequest} the
+ * statements issued on the calling thread are counted, and a template executed more
+ * than the repeat threshold within one request is logged as a likely N+1.
+ */
+public class QueryMetrics implements SqlLogger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryMetrics.class);
+    private static final String DAO_PACKAGE = StandardDao.class.getPackageName() + ".";
+    private static final String APPLICATION_PACKAGE = "com.irusso.demoserver.";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE = Pattern.compile("(?i)\\b(?:from|into|update)\\s+([a-z_][a-z0-9_]*)");
+    private static final StackWalker STACK_WALKER =
+        StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /**
+     * Method name used for statements not issued from a StandardDao.
+     */
+    static final String UNKNOWN_METHOD = "other";
+
+    private final MetricRegistry metrics;
+    private final long slowQueryNanos;
+    private final int repeatedQueryThreshold;
+    private final Map<Key, QueryStats> statsByKey = new ConcurrentHashMap<>();
+    private final ThreadLocal<RequestQueries> currentRequest = new ThreadLocal<>();
+    private final Histogram statementsPerRequest;
+    private final Meter repeatedQueries;
+    private volatile SqlLogger delegate = SqlLogger.NOP_SQL_LOGGER;
+
+    /**
+     * Constructor for QueryMetrics.
+     *
+     * @param metrics The registry to record timers in
+     * @param slowQueryThreshold Statements taking at least this long are logged
+     * @param repeatedQueryThreshold A template executed more often than this in one request is logged
+     */
+    public QueryMetrics(MetricRegistry metrics, Duration slowQueryThreshold, int repeatedQueryThreshold) {
+        this.metrics = metrics;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.repeatedQueryThreshold = repeatedQueryThreshold;
+        this.statementsPerRequest = metrics.histogram(MetricRegistry.name(QueryMetrics.class, "statements-per-request"));
+        this.repeatedQueries = metrics.meter(MetricRegistry.name(QueryMetrics.class, "repeated-queries"));
+    }
+
+    /**
+     * Install this logger on a Jdbi instance, keeping the logger already configured
+     * (Dropwizard's InstrumentedSqlLogger) as a delegate.
+     *
+     * @param jdbi The Jdbi instance
+     */
+    public void install(Jdbi jdbi) {
+        SqlLogger existing = jdbi.getConfig(SqlStatements.class).getSqlLogger();
+        if (existing != this) {
+            delegate = existing != null ? existing : SqlLogger.NOP_SQL_LOGGER;
+            jdbi.setSqlLogger(this);
+        }
+    }
+
+    @Override
+    public void logBeforeExecution(StatementContext context) {
+        delegate.logBeforeExecution(context);
+    }
+
+    @Override
+    public void logAfterExecution(StatementContext context) {
+        delegate.logAfterExecution(context);
+        record(context, false);
+    }
+
+    @Override
+    public void logException(StatementContext context, SQLException ex) {
+        delegate.logException(context, ex);
+        record(context, true);
+    }
+
+    private void record(StatementContext context, boolean failed) {
+        String sql = context.getRawSql();
+        if (sql == null) {
+            return;
+        }
+
+        QueryStats stats = statsByKey.computeIfAbsent(new Key(callingDaoMethod(), sql), this::newStats);
+        long elapsedNanos = context.getElapsedTime(ChronoUnit.NANOS);
+        stats.timer.update(elapsedNanos, TimeUnit.NANOSECONDS);
+        stats.totalNanos.add(elapsedNanos);
+        if (failed) {
+            stats.errors.increment();
+        }
+
+        if (elapsedNanos >= slowQueryNanos) {
+            LOGGER.warn("Slow query in {} ({} ms): {} parameters {}",
+                stats.daoMethod, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), stats.sql,
+                parameterNames(context));
+        }
+
+        RequestQueries request = currentRequest.get();
+        if (request != null) {
+            request.record(stats);
+        }
+    }
+
+    /**
+     * The distinct parameter names of the statement as JDBI parsed it, e.g. [id] for
+     * "WHERE id = :id". Positional parameters appear as "?".
+     */
+    static List<String> parameterNames(StatementContext context) {
+        ParsedSql parsedSql = context.getParsedSql();
+        if (parsedSql == null) {
+            return List.of();
+        }
+        return parsedSql.getParameters().getParameterNames().stream().distinct().toList();
+    }
+
+    private QueryStats newStats(Key key) {
+        String sql = WHITESPACE.matcher(key.sql.trim()).replaceAll(" ");
+        Matcher table = TABLE.matcher(sql);
+        String baseName = MetricRegistry.name(QueryMetrics.class, key.daoMethod,
+            table.find() ? table.group(1).toLowerCase(Locale.ROOT) : "statement");
+
+        // Another template of the same method and table already owns the base name
+        String name = baseName;
+        if (metrics.getTimers().containsKey(name)) {
+            name = baseName + "." + Integer.toHexString(sql.hashCode());
+        }
+        return new QueryStats(key.daoMethod, sql, name, metrics.timer(name));
+    }
+
+    /**
+     * Find the outermost DAO method on the stack, e.g. "UserDao.findByEmail" or
+     * "StandardDao.findById". The walk stops at the first application frame outside
+     * the DAO package once a DAO frame has been seen.
+     */
+    static String callingDaoMethod() {
+        return STACK_WALKER.walk(frames -> {
+            StackWalker.StackFrame outermost = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (StandardDao.class.isAssignableFrom(frame.getDeclaringClass())
+                        && !frame.getMethodName().startsWith("lambda$")) {
+                    outermost = frame;
+                } else if (outermost != null && className.startsWith(APPLICATION_PACKAGE)
+                        && !className.startsWith(DAO_PACKAGE)) {
+                    break;
+                }
+            }
+            return outermost != null
+                ? outermost.getDeclaringClass().getSimpleName() + "." + outermost.getMethodName()
+                : UNKNOWN_METHOD;
+        });
+    }
+
+    /**
+     * Start counting the statements issued on the current thread.
+     *
+     * @param label Describes the request in log messages, e.g. "GET /api/users"
+     */
+    public void beginRequest(String label) {
+        currentRequest.set(new RequestQueries(label));
+    }
+
+    /**
+     * Stop counting for the current thread, recording the statement count and logging
+     * every template executed more often than the repeat threshold.
+     *
+     * @return The number of statements issued since {@link #beginRequest}
+     */
+    public int endRequest() {
+        RequestQueries request = currentRequest.get();
+        if (request == null) {
+            return 0;
+        }
+        currentRequest.remove();
+
+        statementsPerRequest.update(request.total);
+        for (Map.Entry<QueryStats, Integer> entry : request.counts.entrySet()) {
+            if (entry.getValue() > repeatedQueryThreshold) {
+                QueryStats stats = entry.getKey();
+                stats.repeatedInRequests.increment();
+                repeatedQueries.mark();
+                LOGGER.warn("Possible N+1 in {}: {} ran the same query {} times: {}",
+                    request.label, stats.daoMethod, entry.getValue(), stats.sql);
+            }
+        }
+        return request.total;
+    }
+
+    /**
+     * Summarize every recorded template, most total time first.
+     *
+     * @return One entry per (DAO method, SQL template)
+     */
+    public List<Map<String, Object>> summarize() {
+        List<QueryStats> all = new ArrayList<>(statsByKey.values());
+        all.sort(Comparator.comparingLong((QueryStats stats) -> stats.totalNanos.sum()).reversed());
+
+        List<Map<String, Object>> summary = new ArrayList<>(all.size());
+        for (QueryStats stats : all) {
+            Snapshot snapshot = stats.timer.getSnapshot();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("daoMethod", stats.daoMethod);
+            entry.put("sql", stats.sql);
+            entry.put("metric", stats.metricName);
+            entry.put("count", stats.timer.getCount());
+            entry.put("errors", stats.errors.sum());
+            entry.put("totalMs", toMillis(stats.totalNanos.sum()));
+            entry.put("meanMs", toMillis(snapshot.getMean()));
+            entry.put("p99Ms", toMillis(snapshot.get99thPercentile()));
+            entry.put("maxMs", toMillis(snapshot.getMax()));
+            entry.put("repeatedInRequests", stats.repeatedInRequests.sum());
+            summary.add(entry);
+        }
+        return summary;
+    }
+
+    /**
+     * Get the distribution of statements issued per request.
+     */
+    public Histogram getStatementsPerRequest() {
+        return statementsPerRequest;
+    }
+
+    /**
+     * Get the meter marked once per template flagged as a likely N+1.
+     */
+    public Meter getRepeatedQueries() {
+        return repeatedQueries;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class Key {
+        private final String daoMethod;
+        private final String sql;
+
+        private Key(String daoMethod, String sql) {
+            this.daoMethod = daoMethod;
+            this.sql = sql;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return daoMethod.equals(key.daoMethod) && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(daoMethod, sql);
+        }
+    }
+
+    private static final class QueryStats {
+        private final String daoMethod;
+        private final String sql;
+        private final String metricName;
+        private final Timer timer;
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder repeatedInRequests = new LongAdder();
+
+        private QueryStats(String daoMethod, String sql, String metricName, Timer timer) {
+            this.daoMethod = daoMethod;
+            this.sql = sql;
+            this.metricName = metricName;
+            this.timer = timer;
+        }
+    }
+
+    /**
+     * Statement counts for one request, only touched by the request's thread.
+     */
+    private static final class RequestQueries {
+        private final String label;
+        private final Map<QueryStats, Integer> counts = new HashMap<>();
+        private int total;
+
+        private RequestQueries(String label) {
+            this.label = label;
+        }
+
+        private void record(QueryStats stats) {
+            counts.merge(stats, 1, Integer::sum);
+            total++;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.irusso.demoserver.db.dao;
+
+import org.jdbi.v3.core.Jdbi;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Routes StandardDao reads to read replicas and writes to the primary.
+ *
+ * Replicas lag the primary, so a request that has written goes on reading from the
+ * primary ("sticky primary") until the sticky window has passed. The window is carried
+ * between requests by the caller of {@link #beginRequest}, typically in a cookie, so a
+ * client keeps seeing its own writes on the requests that follow. Reads outside a
+ * request scope (background jobs) use replicas when there are any, except inside
+ * {@link #onPrimary}, which background work that follows a write (index rebuilds after
+ * an import, rescoring after a profile change) uses to read what was just written.
+ *
+ * With no replicas configured every read goes to the primary.
+ */
+public class ReadRouting {
+
+    private final Jdbi primary;
+    private final List<Jdbi> replicas;
+    private final long stickyWindowMillis;
+    private final Clock clock;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<RequestScope> currentRequest = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> primaryScope = new ThreadLocal<>();
+
+    /**
+     * Constructor for ReadRouting.
+     *
+     * @param primary The primary database, used for all writes
+     * @param replicas Read replicas, used round-robin for reads
+     * @param stickyWindow How long reads stay on the primary after a write
+     */
+    public ReadRouting(Jdbi primary, List<Jdbi> replicas, Duration stickyWindow) {
+        this(primary, replicas, stickyWindow, Clock.systemUTC());
+    }
+
+    ReadRouting(Jdbi primary, List<Jdbi> replicas, Duration stickyWindow, Clock clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.stickyWindowMillis = stickyWindow.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Get the primary database.
+     */
+    public Jdbi getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Check whether any read replicas are configured.
+     */
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * Choose the database for a read: the primary inside {@link #onPrimary} or while the
+     * current request is sticky, otherwise the next replica.
+     *
+     * @return The Jdbi instance to read from
+     */
+    public Jdbi forRead() {
+        if (replicas.isEmpty() || primaryScope.get() != null) {
+            return primary;
+        }
+        RequestScope request = currentRequest.get();
+        if (request != null && request.stickyUntil > clock.millis()) {
+            return primary;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * Run work with every read on the current thread going to the primary.
+     *
+     * @param work The reads to run
+     * @return The value returned by the work
+     */
+    public <R> R onPrimary(Supplier<R> work) {
+        if (primaryScope.get() != null) {
+            return work.get();
+        }
+        primaryScope.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            primaryScope.remove();
+        }
+    }
+
+    /**
+     * Run work without a result with every read on the current thread going to the primary.
+     *
+     * @param work The reads to run
+     */
+    public void runOnPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Record a write on the current thread, making the request sticky to the primary.
+     */
+    public void markWrite() {
+        RequestScope request = currentRequest.get();
+        if (request == null) {
+            return;
+        }
+        long stickyUntil = clock.millis() + stickyWindowMillis;
+        if (!request.written) {
+            request.written = true;
+            request.onWrite.accept(stickyUntil);
+        }
+        request.stickyUntil = stickyUntil;
+    }
+
+    /**
+     * Start a request scope on the current thread.
+     *
+     * @param stickyUntil Epoch millis until which reads must use the primary (from an earlier write), or 0;
+     *                    capped at one sticky window from now since it comes from the client
+     * @param onWrite Called with the new sticky deadline on the first write of the request
+     */
+    public void beginRequest(long stickyUntil, LongConsumer onWrite) {
+        long latest = clock.millis() + stickyWindowMillis;
+        currentRequest.set(new RequestScope(Math.min(stickyUntil, latest), onWrite));
+    }
+
+    /**
+     * End the request scope on the current thread.
+     */
+    public void endRequest() {
+        currentRequest.remove();
+    }
+
+    /**
+     * Get the sticky window.
+     */
+    public Duration getStickyWindow() {
+        return Duration.ofMillis(stickyWindowMillis);
+    }
+
+    private static final class RequestScope {
+        private final LongConsumer onWrite;
+        private long stickyUntil;
+        private boolean written;
+
+        private RequestScope(long stickyUntil, LongConsumer onWrite) {
+            this.stickyUntil = stickyUntil;
+            this.onWrite = onWrite;
+        }
+    }
+}
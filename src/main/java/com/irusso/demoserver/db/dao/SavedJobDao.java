@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.SavedJob;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -23,16 +22,6 @@ public class SavedJobDao extends StandardDao<SavedJob, Long> {
     private static final String COL_SAVED_AT = "saved_at";
     private static final String COL_NOTES = "notes";
 
-    private static final RowMapper<SavedJob> MAPPER = (rs, ctx) -> {
-        SavedJob saved = new SavedJob();
-        saved.setId(rs.getLong(ID_COLUMN));
-        saved.setUserId(rs.getLong(COL_USER_ID));
-        saved.setJobPostingId(rs.getLong(COL_JOB_POSTING_ID));
-        saved.setSavedAt(rs.getTimestamp(COL_SAVED_AT));
-        saved.setNotes(rs.getString(COL_NOTES));
-        return saved;
-    };
-
     @Inject
     public SavedJobDao(Jdbi jdbi) {
         super(jdbi,
@@ -45,6 +34,7 @@ public class SavedJobDao extends StandardDao<SavedJob, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(SavedJob::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<SavedJob>builder()
                     .columnName(COL_JOB_POSTING_ID)
@@ -52,6 +42,7 @@ public class SavedJobDao extends StandardDao<SavedJob, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(SavedJob::getJobPostingId)
+                    .setter((e, v) -> e.setJobPostingId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<SavedJob>builder()
                     .columnName(COL_SAVED_AT)
@@ -59,6 +50,7 @@ public class SavedJobDao extends StandardDao<SavedJob, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(s -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setSavedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<SavedJob>builder()
                     .columnName(COL_NOTES)
@@ -66,9 +58,11 @@ public class SavedJobDao extends StandardDao<SavedJob, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(SavedJob::getNotes)
+                    .setter((e, v) -> e.setNotes((String) v))
                     .build())
                 .build(),
-            MAPPER
+            SavedJob::new,
+            SavedJob::setId
         );
     }
     
@@ -84,7 +78,7 @@ public class SavedJobDao extends StandardDao<SavedJob, Long> {
     
     public boolean isSaved(Long userId, Long jobPostingId) {
         String sql = "SELECT COUNT(*) FROM saved_jobs WHERE user_id = :userId AND job_posting_id = :jobPostingId";
-        return jdbi.withHandle(handle -> 
+        return readJdbi().withHandle(handle -> 
             handle.createQuery(sql)
                 .bind("userId", userId)
                 .bind("jobPostingId", jobPostingId)
@@ -1,12 +1,28 @@
 package com.irusso.demoserver.db.dao;
 
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.PreparedBatch;
 import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.Update;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Abstract base class for Data Access Objects providing standard CRUD operations.
@@ -19,9 +35,17 @@ import java.util.Optional;
  */
 public abstract class StandardDao<T, ID> {
 
+    /**
+     * Default number of rows fetched per round trip when streaming results.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
     protected final Jdbi jdbi;
     private final TableDefinition<T> tableDefinition;
     private final RowMapper<T> rowMapper;
+    private final StatementPlan<T> plan;
+    private volatile EntityCache<ID, T> cache;
+    private volatile ReadRouting routing;
 
     /**
      * Constructor for StandardDao with TableDefinition.
@@ -34,6 +58,21 @@ public abstract class StandardDao<T, ID> {
         this.jdbi = jdbi;
         this.tableDefinition = tableDefinition;
         this.rowMapper = rowMapper;
+        this.plan = StatementPlan.compile(tableDefinition);
+    }
+
+    /**
+     * Constructor for StandardDao that generates the RowMapper from the TableDefinition.
+     * Every column with a setter is mapped; see {@link TableRowMapper}.
+     *
+     * @param jdbi The JDBI instance for database access
+     * @param tableDefinition The table definition with column metadata
+     * @param factory Creates an empty entity for each row
+     * @param idSetter Sets the ID column value on the entity
+     */
+    protected StandardDao(Jdbi jdbi, TableDefinition<T> tableDefinition,
+                          Supplier<T> factory, BiConsumer<T, Long> idSetter) {
+        this(jdbi, tableDefinition, TableRowMapper.forTable(tableDefinition, factory, idSetter));
     }
 
     /**
@@ -43,28 +82,86 @@ public abstract class StandardDao<T, ID> {
      * @return Optional containing the entity if found, empty otherwise
      */
     public Optional<T> findById(ID id) {
-        String sql = String.format("SELECT * FROM %s WHERE %s = :id",
-            tableDefinition.getTableName(), tableDefinition.getIdColumn());
+        EntityCache<ID, T> entityCache = cache;
+        if (entityCache != null && !TransactionTemplate.isActive()) {
+            // Cache loads read the primary so a lagging replica cannot repopulate a stale row
+            return entityCache.get(id, key -> loadById(jdbi, key));
+        }
+        return loadById(readJdbi(), id);
+    }
 
-        return jdbi.withHandle(handle ->
-            handle.createQuery(sql)
+    private Optional<T> loadById(Jdbi source, ID id) {
+        return source.withHandle(handle ->
+            handle.createQuery(plan.getFindByIdSql())
                 .bind("id", id)
                 .map(rowMapper)
                 .findFirst()
         );
     }
 
+    /**
+     * Find several entities by ID with a single {@code = ANY(:ids)} query.
+     * Entities in the entity cache are served from it and only the rest are queried.
+     *
+     * @param ids The IDs to look up; duplicates are ignored
+     * @return The entities found, keyed by ID in the order the IDs were given;
+     *         IDs with no row are absent
+     */
+    public Map<ID, T> findByIds(Collection<ID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        EntityCache<ID, T> entityCache = cache;
+        Map<ID, T> found = entityCache != null && !TransactionTemplate.isActive()
+            ? entityCache.getAll(ids, missing -> loadByIds(jdbi, missing))
+            : loadByIds(readJdbi(), ids);
+
+        Map<ID, T> ordered = new LinkedHashMap<>();
+        for (ID id : ids) {
+            T entity = found.get(id);
+            if (entity != null) {
+                ordered.put(id, entity);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Get a batching loader over {@link #findByIds}: the current request's loader for
+     * this DAO inside a request scope, otherwise a new one. See {@link DataLoader}.
+     *
+     * @return The loader
+     */
+    public DataLoader<ID, T> loader() {
+        DataLoader<ID, T> loader = DataLoader.forRequest(this);
+        return loader != null ? loader : new DataLoader<>(this::findByIds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<ID, T> loadByIds(Jdbi source, Collection<? extends ID> ids) {
+        List<KeyedRow<T>> rows = source.withHandle(handle ->
+            handle.createQuery(plan.getFindByIdsSql())
+                .bindArray("ids", Long.class, ids)
+                .map(new KeyedRowMapper<>(rowMapper, tableDefinition.getIdColumn(), null))
+                .list()
+        );
+
+        Map<ID, T> found = new HashMap<>();
+        for (KeyedRow<T> row : rows) {
+            found.put((ID) Long.valueOf(row.id), row.entity);
+        }
+        return found;
+    }
+
     /**
      * Find all entities in the table.
      *
      * @return List of all entities
      */
     public List<T> findAll() {
-        String sql = String.format("SELECT * FROM %s ORDER BY %s",
-            tableDefinition.getTableName(), tableDefinition.getIdColumn());
-
-        return jdbi.withHandle(handle ->
-            handle.createQuery(sql)
+        return readJdbi().withHandle(handle ->
+            handle.createQuery(plan.getFindAllSql())
                 .map(rowMapper)
                 .list()
         );
@@ -78,13 +175,8 @@ public abstract class StandardDao<T, ID> {
      * @return List of entities for the requested page
      */
     public List<T> findAll(int limit, int offset) {
-        String sql = String.format(
-            "SELECT * FROM %s ORDER BY %s LIMIT :limit OFFSET :offset",
-            tableDefinition.getTableName(), tableDefinition.getIdColumn()
-        );
-
-        return jdbi.withHandle(handle ->
-            handle.createQuery(sql)
+        return readJdbi().withHandle(handle ->
+            handle.createQuery(plan.getFindAllPagedSql())
                 .bind("limit", limit)
                 .bind("offset", offset)
                 .map(rowMapper)
@@ -92,16 +184,226 @@ public abstract class StandardDao<T, ID> {
         );
     }
 
+    /**
+     * Stream all entities in the table, ordered by ID, to a consumer.
+     * Rows are fetched from a server-side cursor in chunks of DEFAULT_FETCH_SIZE
+     * rather than materialized into a list.
+     *
+     * @param consumer Receives each entity in turn
+     */
+    public void forEach(Consumer<? super T> consumer) {
+        forEach(DEFAULT_FETCH_SIZE, consumer);
+    }
+
+    /**
+     * Stream all entities in the table, ordered by ID, to a consumer.
+     *
+     * @param fetchSize Number of rows fetched from the database per round trip
+     * @param consumer Receives each entity in turn
+     */
+    public void forEach(int fetchSize, Consumer<? super T> consumer) {
+        stream(plan.getFindAllSql(), fetchSize, rows -> {
+            rows.forEach(consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Open a stream over all entities in the table, ordered by ID.
+     * The stream is only valid inside the callback; the underlying cursor and
+     * connection are released when the callback returns.
+     *
+     * @param fetchSize Number of rows fetched from the database per round trip
+     * @param callback Consumes the stream and produces a result
+     * @return The value returned by the callback
+     */
+    public <R> R stream(int fetchSize, Function<Stream<T>, R> callback) {
+        return stream(plan.getFindAllSql(), fetchSize, callback);
+    }
+
+    /**
+     * Find a page of entities ordered by ID using keyset pagination.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of results to return (defaults to Page.DEFAULT_LIMIT)
+     * @return The requested page and the cursor for the next one
+     */
+    public Page<T> findPage(String cursor, Integer limit) {
+        return findPage(cursor, limit, tableDefinition.getIdColumn());
+    }
+
+    /**
+     * Find a page of entities ordered by (sortColumn, id) using keyset pagination.
+     * Unlike LIMIT/OFFSET, each page seeks directly to the last row of the previous
+     * page, so deep pages cost the same as the first one when the sort column is indexed.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of results to return (defaults to Page.DEFAULT_LIMIT)
+     * @param sortColumn The ID column or a non-nullable column from the table definition
+     * @return The requested page and the cursor for the next one
+     * @throws IllegalArgumentException if the sort column or cursor is invalid
+     */
+    public Page<T> findPage(String cursor, Integer limit, String sortColumn) {
+        String idColumn = tableDefinition.getIdColumn();
+        boolean sortById = idColumn.equals(sortColumn);
+        ColumnDefinition<T> sortDefinition = null;
+
+        if (!sortById) {
+            sortDefinition = tableDefinition.getColumn(sortColumn);
+            if (sortDefinition == null) {
+                throw new IllegalArgumentException("Unknown sort column: " + sortColumn);
+            }
+            if (sortDefinition.isNullable()) {
+                throw new IllegalArgumentException("Cannot paginate on nullable column: " + sortColumn);
+            }
+        }
+
+        PageCursor after = cursor != null && !cursor.isEmpty() ? PageCursor.decode(cursor) : null;
+        if (after != null && !after.getSortColumn().equals(sortColumn)) {
+            throw new IllegalArgumentException("Cursor does not match sort column: " + sortColumn);
+        }
+
+        int pageSize = Page.resolveLimit(limit);
+        String sql;
+        if (sortById) {
+            sql = after == null ? plan.getFindFirstPageSql() : plan.getFindPageAfterIdSql();
+        } else {
+            String where = after == null
+                ? ""
+                : String.format(" WHERE (%s, %s) > (:lastSortValue, :lastId)", sortColumn, idColumn);
+            sql = String.format("SELECT %s FROM %s%s ORDER BY %s, %s LIMIT :limit",
+                plan.getSelectColumns(), tableDefinition.getTableName(), where, sortColumn, idColumn);
+        }
+
+        Class<?> sortType = sortById ? Long.class : sortDefinition.getJavaType();
+        List<KeyedRow<T>> rows = readJdbi().withHandle(handle -> {
+            Query query = handle.createQuery(sql)
+                .bind("limit", pageSize + 1);
+            if (after != null) {
+                query.bind("lastId", after.getLastId());
+                if (!sortById) {
+                    query.bind("lastSortValue", PageCursor.parseValue(after.getLastSortValue(), sortType));
+                }
+            }
+
+            return query.map(new KeyedRowMapper<>(rowMapper, idColumn, sortById ? null : sortColumn))
+                .list();
+        });
+        return toPage(rows, pageSize, sortColumn, sortById);
+    }
+
+    /**
+     * Find a page of the entities matching a condition, ordered by ID, using keyset
+     * pagination like {@link #findPage(String, Integer)}. Whether deep pages stay cheap
+     * depends on the condition being able to use an index.
+     *
+     * @param condition SQL condition on the table's columns, with named parameters
+     * @param params Values of the condition's named parameters; null values need a CAST in the condition
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of results to return (defaults to Page.DEFAULT_LIMIT)
+     * @return The requested page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    protected Page<T> findPageWhere(String condition, Map<String, ?> params, String cursor, Integer limit) {
+        String idColumn = tableDefinition.getIdColumn();
+        PageCursor after = cursor != null && !cursor.isEmpty() ? PageCursor.decode(cursor) : null;
+        if (after != null && !after.getSortColumn().equals(idColumn)) {
+            throw new IllegalArgumentException("Cursor does not match sort column: " + idColumn);
+        }
+
+        int pageSize = Page.resolveLimit(limit);
+        String sql = String.format("SELECT %s FROM %s WHERE (%s)%s ORDER BY %s LIMIT :limit",
+            plan.getSelectColumns(), tableDefinition.getTableName(), condition,
+            after == null ? "" : String.format(" AND %s > :lastId", idColumn), idColumn);
+
+        List<KeyedRow<T>> rows = readJdbi().withHandle(handle -> {
+            Query query = handle.createQuery(sql)
+                .bindMap(params)
+                .bind("limit", pageSize + 1);
+            if (after != null) {
+                query.bind("lastId", after.getLastId());
+            }
+            return query.map(new KeyedRowMapper<>(rowMapper, idColumn, null))
+                .list();
+        });
+        return toPage(rows, pageSize, idColumn, true);
+    }
+
+    /**
+     * Trim rows fetched one past the page size into a page, with a cursor to the next
+     * page if there was an extra row.
+     */
+    private static <T> Page<T> toPage(List<KeyedRow<T>> rows, int pageSize, String sortColumn, boolean sortById) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            KeyedRow<T> last = rows.get(pageSize - 1);
+            String lastSortValue = sortById ? null : PageCursor.formatValue(last.sortValue);
+            nextCursor = new PageCursor(sortColumn, last.id, lastSortValue).encode();
+        }
+
+        List<T> items = new ArrayList<>(rows.size());
+        for (KeyedRow<T> row : rows) {
+            items.add(row.entity);
+        }
+        return new Page<>(items, nextCursor);
+    }
+
+    /**
+     * A mapped row together with its ID and, for keyset pages, its sort key.
+     */
+    private static final class KeyedRow<T> {
+        private final T entity;
+        private final long id;
+        private final Object sortValue;
+
+        private KeyedRow(T entity, long id, Object sortValue) {
+            this.entity = entity;
+            this.id = id;
+            this.sortValue = sortValue;
+        }
+    }
+
+    /**
+     * Maps rows to KeyedRows, specializing the entity mapper and resolving the
+     * key columns once per result set.
+     */
+    private static final class KeyedRowMapper<T> implements RowMapper<KeyedRow<T>> {
+        private final RowMapper<T> entityMapper;
+        private final String idColumn;
+        private final String sortColumn;
+
+        private KeyedRowMapper(RowMapper<T> entityMapper, String idColumn, String sortColumn) {
+            this.entityMapper = entityMapper;
+            this.idColumn = idColumn;
+            this.sortColumn = sortColumn;
+        }
+
+        @Override
+        public KeyedRow<T> map(ResultSet rs, StatementContext ctx) throws SQLException {
+            return specialize(rs, ctx).map(rs, ctx);
+        }
+
+        @Override
+        public RowMapper<KeyedRow<T>> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
+            RowMapper<T> mapper = entityMapper.specialize(rs, ctx);
+            int idIndex = rs.findColumn(idColumn);
+            int sortIndex = sortColumn != null ? rs.findColumn(sortColumn) : -1;
+            return (row, rowCtx) -> new KeyedRow<>(
+                mapper.map(row, rowCtx),
+                row.getLong(idIndex),
+                sortIndex > 0 ? row.getObject(sortIndex) : null);
+        }
+    }
+
     /**
      * Count total number of entities in the table.
      *
      * @return Total count of entities
      */
     public long count() {
-        String sql = String.format("SELECT COUNT(*) FROM %s", tableDefinition.getTableName());
-
-        return jdbi.withHandle(handle ->
-            handle.createQuery(sql)
+        return readJdbi().withHandle(handle ->
+            handle.createQuery(plan.getCountSql())
                 .mapTo(Long.class)
                 .one()
         );
@@ -116,27 +418,53 @@ public abstract class StandardDao<T, ID> {
      */
     @SuppressWarnings("unchecked")
     public ID insert(T entity) {
-        String sql = String.format(
-            "INSERT INTO %s (%s) VALUES (%s) RETURNING %s",
-            tableDefinition.getTableName(),
-            tableDefinition.getInsertableColumnNamesList(),
-            tableDefinition.getInsertableParametersList(),
-            tableDefinition.getIdColumn()
-        );
+        ColumnDefinition<T>[] columns = plan.getInsertColumns();
+        String[] parameters = plan.getInsertParameters();
 
-        return jdbi.withHandle(handle -> {
-            Query query = handle.createQuery(sql);
+        return writeJdbi().withHandle(handle -> {
+            Query query = handle.createQuery(plan.getInsertSql());
 
             // Bind all insertable column values
-            for (ColumnDefinition<T> column : tableDefinition.getInsertableColumns()) {
-                Object value = column.getValue(entity);
-                query.bind(column.getJavaPropertyName(), value);
+            for (int i = 0; i < columns.length; i++) {
+                query.bind(parameters[i], columns[i].getValue(entity));
             }
 
             return (ID) query.mapTo(Long.class).one();
         });
     }
 
+    /**
+     * Insert multiple entities as a single JDBC batch on one handle and transaction.
+     * Either every entity is inserted or none are.
+     *
+     * @param entities The entities to insert
+     * @return The IDs of the inserted entities, in the same order as the input
+     */
+    @SuppressWarnings("unchecked")
+    public List<ID> insertAll(List<T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ColumnDefinition<T>[] columns = plan.getInsertColumns();
+        String[] parameters = plan.getInsertParameters();
+
+        return writeJdbi().inTransaction(handle -> {
+            PreparedBatch batch = handle.prepareBatch(plan.getInsertBatchSql());
+
+            for (T entity : entities) {
+                for (int i = 0; i < columns.length; i++) {
+                    batch.bind(parameters[i], columns[i].getValue(entity));
+                }
+                batch.add();
+            }
+
+            return (List<ID>) batch.executePreparedBatch(tableDefinition.getIdColumn())
+                .mapTo(Long.class)
+                .list();
+        });
+    }
+
     /**
      * Update an existing entity in the database using the table definition.
      * This method automatically generates the UPDATE statement based on column definitions.
@@ -146,26 +474,59 @@ public abstract class StandardDao<T, ID> {
      * @return true if the update was successful, false otherwise
      */
     public boolean update(ID id, T entity) {
-        String sql = String.format(
-            "UPDATE %s SET %s WHERE %s = :id",
-            tableDefinition.getTableName(),
-            tableDefinition.getUpdateSetClause(),
-            tableDefinition.getIdColumn()
-        );
+        ColumnDefinition<T>[] columns = plan.getUpdateColumns();
+        String[] parameters = plan.getUpdateParameters();
 
-        return jdbi.withHandle(handle -> {
-            Update update = handle.createUpdate(sql);
+        boolean updated = writeJdbi().withHandle(handle -> {
+            Update update = handle.createUpdate(plan.getUpdateSql());
             update.bind("id", id);
 
             // Bind all updatable column values
-            for (ColumnDefinition<T> column : tableDefinition.getUpdatableColumns()) {
-                Object value = column.getValue(entity);
-                update.bind(column.getJavaPropertyName(), value);
+            for (int i = 0; i < columns.length; i++) {
+                update.bind(parameters[i], columns[i].getValue(entity));
             }
 
             int rowsAffected = update.execute();
             return rowsAffected > 0;
         });
+        evict(id);
+        return updated;
+    }
+
+    /**
+     * Update multiple entities as a single JDBC batch on one handle and transaction.
+     * Either every update is applied or none are.
+     *
+     * @param entities The entities with updated values, keyed by ID
+     * @return The number of rows updated
+     */
+    public int updateAll(Map<ID, T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return 0;
+        }
+
+        ColumnDefinition<T>[] columns = plan.getUpdateColumns();
+        String[] parameters = plan.getUpdateParameters();
+
+        int updated = writeJdbi().inTransaction(handle -> {
+            PreparedBatch batch = handle.prepareBatch(plan.getUpdateSql());
+
+            for (Map.Entry<ID, T> entry : entities.entrySet()) {
+                batch.bind("id", entry.getKey());
+                for (int i = 0; i < columns.length; i++) {
+                    batch.bind(parameters[i], columns[i].getValue(entry.getValue()));
+                }
+                batch.add();
+            }
+
+            int rowsAffected = 0;
+            for (int count : batch.execute()) {
+                rowsAffected += count;
+            }
+            return rowsAffected;
+        });
+        evictAll(entities.keySet());
+        return updated;
     }
 
     /**
@@ -175,15 +536,34 @@ public abstract class StandardDao<T, ID> {
      * @return true if the entity was deleted, false if not found
      */
     public boolean delete(ID id) {
-        String sql = String.format("DELETE FROM %s WHERE %s = :id",
-            tableDefinition.getTableName(), tableDefinition.getIdColumn());
-
-        return jdbi.withHandle(handle -> {
-            int rowsAffected = handle.createUpdate(sql)
+        boolean deleted = writeJdbi().withHandle(handle -> {
+            int rowsAffected = handle.createUpdate(plan.getDeleteSql())
                 .bind("id", id)
                 .execute();
             return rowsAffected > 0;
         });
+        evict(id);
+        return deleted;
+    }
+
+    /**
+     * Delete multiple entities by ID in a single statement.
+     *
+     * @param ids The IDs of the entities to delete
+     * @return The number of entities deleted
+     */
+    public int deleteAllById(Collection<ID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+
+        int rowsAffected = writeJdbi().withHandle(handle ->
+            handle.createUpdate(plan.getDeleteByIdsSql())
+                .bindArray("ids", Long.class, ids)
+                .execute()
+        );
+        evictAll(ids);
+        return rowsAffected;
     }
 
     /**
@@ -193,11 +573,8 @@ public abstract class StandardDao<T, ID> {
      * @return true if an entity with this ID exists, false otherwise
      */
     public boolean exists(ID id) {
-        String sql = String.format("SELECT COUNT(*) FROM %s WHERE %s = :id",
-            tableDefinition.getTableName(), tableDefinition.getIdColumn());
-
-        return jdbi.withHandle(handle -> {
-            long count = handle.createQuery(sql)
+        return readJdbi().withHandle(handle -> {
+            long count = handle.createQuery(plan.getExistsSql())
                 .bind("id", id)
                 .mapTo(Long.class)
                 .one();
@@ -212,11 +589,11 @@ public abstract class StandardDao<T, ID> {
      * @return The number of entities deleted
      */
     public int deleteAll() {
-        String sql = String.format("DELETE FROM %s", tableDefinition.getTableName());
-
-        return jdbi.withHandle(handle ->
-            handle.createUpdate(sql).execute()
+        int deleted = writeJdbi().withHandle(handle ->
+            handle.createUpdate(plan.getDeleteAllSql()).execute()
         );
+        evictAll();
+        return deleted;
     }
 
     /**
@@ -226,7 +603,7 @@ public abstract class StandardDao<T, ID> {
      * @return List of entities matching the query
      */
     protected List<T> executeQuery(String sql) {
-        return jdbi.withHandle(handle ->
+        return readJdbi().withHandle(handle ->
             handle.createQuery(sql)
                 .map(rowMapper)
                 .list()
@@ -241,7 +618,7 @@ public abstract class StandardDao<T, ID> {
      * @return List of entities matching the query
      */
     protected List<T> executeQuery(String sql, Object... params) {
-        return jdbi.withHandle(handle -> {
+        return readJdbi().withHandle(handle -> {
             var query = handle.createQuery(sql);
 
             // Bind parameters in pairs (key, value)
@@ -255,15 +632,83 @@ public abstract class StandardDao<T, ID> {
         });
     }
 
+    /**
+     * Execute a custom query and stream its results instead of building a list.
+     *
+     * PostgreSQL only uses a server-side cursor (honouring the fetch size) when
+     * autocommit is off, so the query runs inside a read-only transaction. Inside a
+     * {@link TransactionTemplate} unit of work it runs in that transaction instead:
+     * PostgreSQL cannot make a transaction read-only once it has started.
+     *
+     * @param sql The SQL query to execute
+     * @param fetchSize Number of rows fetched from the database per round trip
+     * @param callback Consumes the stream and produces a result
+     * @param params Parameters to bind to the query (alternating key-value pairs)
+     * @return The value returned by the callback
+     */
+    protected <R> R stream(String sql, int fetchSize, Function<Stream<T>, R> callback, Object... params) {
+        if (TransactionTemplate.isActive()) {
+            return readJdbi().withHandle(handle -> streamQuery(handle, sql, fetchSize, callback, params));
+        }
+        return readJdbi().withHandle(handle -> {
+            handle.setReadOnly(true);
+            try {
+                return handle.inTransaction(transaction ->
+                    streamQuery(transaction, sql, fetchSize, callback, params));
+            } finally {
+                handle.setReadOnly(false);
+            }
+        });
+    }
+
+    private <R> R streamQuery(Handle handle, String sql, int fetchSize, Function<Stream<T>, R> callback,
+                              Object... params) {
+        Query query = handle.createQuery(sql).setFetchSize(fetchSize);
+
+        // Bind parameters in pairs (key, value)
+        for (int i = 0; i < params.length; i += 2) {
+            if (i + 1 < params.length) {
+                query.bind((String) params[i], params[i + 1]);
+            }
+        }
+
+        try (Stream<T> rows = query.map(rowMapper).stream()) {
+            return callback.apply(rows);
+        }
+    }
+
     /**
      * Execute a custom update/insert/delete statement.
+     * The affected rows are unknown, so this clears the entity cache if there is one;
+     * use {@link #executeUpdateById} for statements that change a single row.
      * 
      * @param sql The SQL statement to execute
      * @param params Parameters to bind to the statement (alternating key-value pairs)
      * @return The number of rows affected
      */
     protected int executeUpdate(String sql, Object... params) {
-        return jdbi.withHandle(handle -> {
+        int rowsAffected = executeStatement(sql, params);
+        evictAll();
+        return rowsAffected;
+    }
+
+    /**
+     * Execute a custom update/delete statement that changes at most the row with the given ID,
+     * and evict that row from the entity cache.
+     *
+     * @param id The ID of the row the statement changes
+     * @param sql The SQL statement to execute
+     * @param params Parameters to bind to the statement (alternating key-value pairs)
+     * @return The number of rows affected
+     */
+    protected int executeUpdateById(ID id, String sql, Object... params) {
+        int rowsAffected = executeStatement(sql, params);
+        evict(id);
+        return rowsAffected;
+    }
+
+    private int executeStatement(String sql, Object... params) {
+        return writeJdbi().withHandle(handle -> {
             Update update = handle.createUpdate(sql);
             
             // Bind parameters in pairs (key, value)
@@ -277,6 +722,122 @@ public abstract class StandardDao<T, ID> {
         });
     }
 
+    /**
+     * Serve findById from a read-through cache, invalidated by every write made through
+     * this DAO. Writes made outside the DAO are only picked up when entries expire.
+     *
+     * @param entityCache The cache for this DAO's table
+     */
+    public void enableCache(EntityCache<ID, T> entityCache) {
+        this.cache = entityCache;
+    }
+
+    /**
+     * Send reads to read replicas and writes to the primary. Cache loads always read
+     * the primary. The primary passed to the constructor stays in use for custom
+     * queries that go through {@link #getJdbi()} directly.
+     *
+     * @param readRouting The routing between primary and replicas
+     */
+    public void enableReadRouting(ReadRouting readRouting) {
+        this.routing = readRouting;
+    }
+
+    /**
+     * Get the database to read from: a replica when read routing is enabled, no
+     * {@link TransactionTemplate} unit of work is active and the current request has
+     * not written recently; otherwise the primary.
+     *
+     * @return The JDBI instance for reads
+     */
+    protected Jdbi readJdbi() {
+        ReadRouting readRouting = routing;
+        if (readRouting == null || TransactionTemplate.isActive()) {
+            return jdbi;
+        }
+        return readRouting.forRead();
+    }
+
+    /**
+     * Get the primary database for a write, making the current request sticky to the
+     * primary so that it reads its own writes.
+     *
+     * @return The JDBI instance for writes
+     */
+    protected Jdbi writeJdbi() {
+        ReadRouting readRouting = routing;
+        if (readRouting != null) {
+            readRouting.markWrite();
+        }
+        return jdbi;
+    }
+
+    /**
+     * Get the entity cache, if one is enabled.
+     *
+     * @return The cache, or empty if findById reads the database directly
+     */
+    public Optional<EntityCache<ID, T>> getCache() {
+        return Optional.ofNullable(cache);
+    }
+
+    /**
+     * Evict one entity from the cache after a write that bypasses the standard methods.
+     * Inside a unit of work the eviction happens when the transaction commits; the
+     * current request's {@link DataLoader} forgets the entity at once.
+     *
+     * @param id The ID of the changed entity
+     */
+    protected void evict(ID id) {
+        DataLoader<ID, T> loader = DataLoader.existingForRequest(this);
+        if (loader != null) {
+            loader.clear(id);
+        }
+        EntityCache<ID, T> entityCache = cache;
+        if (entityCache != null) {
+            TransactionTemplate.afterCommit(() -> entityCache.invalidate(id));
+        }
+    }
+
+    /**
+     * Evict several entities from the cache.
+     *
+     * @param ids The IDs of the changed entities
+     */
+    protected void evictAll(Collection<ID> ids) {
+        DataLoader<ID, T> loader = DataLoader.existingForRequest(this);
+        if (loader != null) {
+            ids.forEach(loader::clear);
+        }
+        EntityCache<ID, T> entityCache = cache;
+        if (entityCache != null) {
+            TransactionTemplate.afterCommit(() -> entityCache.invalidateAll(ids));
+        }
+    }
+
+    /**
+     * Evict every entity from the cache, for writes whose affected rows are unknown.
+     */
+    protected void evictAll() {
+        DataLoader<ID, T> loader = DataLoader.existingForRequest(this);
+        if (loader != null) {
+            loader.clearAll();
+        }
+        EntityCache<ID, T> entityCache = cache;
+        if (entityCache != null) {
+            TransactionTemplate.afterCommit(entityCache::invalidateAll);
+        }
+    }
+
+    /**
+     * Get the RowMapper for this DAO, for custom queries that return whole rows.
+     *
+     * @return The row mapper
+     */
+    protected RowMapper<T> getRowMapper() {
+        return rowMapper;
+    }
+
     /**
      * Get the table definition for this DAO.
      *
@@ -286,12 +847,21 @@ public abstract class StandardDao<T, ID> {
         return tableDefinition;
     }
 
+    /**
+     * Get the precompiled statement plan for this DAO.
+     *
+     * @return The statement plan
+     */
+    protected StatementPlan<T> getStatementPlan() {
+        return plan;
+    }
+
     /**
      * Get the table name for this DAO.
      *
      * @return The table name
      */
-    protected String getTableName() {
+    public String getTableName() {
         return tableDefinition.getTableName();
     }
 
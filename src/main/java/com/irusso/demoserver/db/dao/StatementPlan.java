@@ -0,0 +1,196 @@
+package com.irusso.demoserver.db.dao;
+
+import java.util.List;
+
+/**
+ * Precompiled SQL and binding metadata for the standard operations on one table.
+ *
+ * A plan is compiled once from a TableDefinition when a DAO is constructed. It holds
+ * the final SQL strings and the insertable/updatable columns as arrays alongside their
+ * parameter names, so the CRUD hot path in StandardDao does no string formatting,
+ * stream filtering or list allocation per call.
+ *
+ * @param <T> The entity type
+ */
+public final class StatementPlan<T> {
+
+    private final String selectColumns;
+    private final String selectSql;
+    private final String findByIdSql;
+    private final String findByIdsSql;
+    private final String findAllSql;
+    private final String findAllPagedSql;
+    private final String findFirstPageSql;
+    private final String findPageAfterIdSql;
+    private final String countSql;
+    private final String existsSql;
+    private final String insertSql;
+    private final String insertBatchSql;
+    private final String updateSql;
+    private final String deleteSql;
+    private final String deleteByIdsSql;
+    private final String deleteAllSql;
+
+    private final ColumnDefinition<T>[] insertColumns;
+    private final String[] insertParameters;
+    private final ColumnDefinition<T>[] updateColumns;
+    private final String[] updateParameters;
+
+    private StatementPlan(TableDefinition<T> table) {
+        String tableName = table.getTableName();
+        String idColumn = table.getIdColumn();
+        this.selectColumns = table.getSelectColumnsList();
+        this.selectSql = "SELECT " + selectColumns + " FROM " + tableName;
+
+        this.findByIdSql = String.format("%s WHERE %s = :id", selectSql, idColumn);
+        this.findByIdsSql = String.format("%s WHERE %s = ANY(:ids)", selectSql, idColumn);
+        this.findAllSql = String.format("%s ORDER BY %s", selectSql, idColumn);
+        this.findAllPagedSql = String.format(
+            "%s ORDER BY %s LIMIT :limit OFFSET :offset", selectSql, idColumn);
+        this.findFirstPageSql = String.format(
+            "%s ORDER BY %s LIMIT :limit", selectSql, idColumn);
+        this.findPageAfterIdSql = String.format(
+            "%s WHERE %s > :lastId ORDER BY %s LIMIT :limit", selectSql, idColumn, idColumn);
+        this.countSql = String.format("SELECT COUNT(*) FROM %s", tableName);
+        this.existsSql = String.format("SELECT COUNT(*) FROM %s WHERE %s = :id", tableName, idColumn);
+        this.insertBatchSql = String.format("INSERT INTO %s (%s) VALUES (%s)",
+            tableName, table.getInsertableColumnNamesList(), table.getInsertableParametersList());
+        this.insertSql = insertBatchSql + " RETURNING " + idColumn;
+        this.updateSql = String.format("UPDATE %s SET %s WHERE %s = :id",
+            tableName, table.getUpdateSetClause(), idColumn);
+        this.deleteSql = String.format("DELETE FROM %s WHERE %s = :id", tableName, idColumn);
+        this.deleteByIdsSql = String.format("DELETE FROM %s WHERE %s = ANY(:ids)", tableName, idColumn);
+        this.deleteAllSql = String.format("DELETE FROM %s", tableName);
+
+        this.insertColumns = toArray(table.getInsertableColumns());
+        this.insertParameters = parameterNames(insertColumns);
+        this.updateColumns = toArray(table.getUpdatableColumns());
+        this.updateParameters = parameterNames(updateColumns);
+    }
+
+    /**
+     * Compile the statement plan for a table definition.
+     */
+    public static <T> StatementPlan<T> compile(TableDefinition<T> table) {
+        return new StatementPlan<>(table);
+    }
+
+    /**
+     * Get the columns every entity query selects: the ID column and the defined columns,
+     * never {@code *}, so unmapped columns such as generated search vectors are not fetched.
+     */
+    public String getSelectColumns() {
+        return selectColumns;
+    }
+
+    /**
+     * Get "SELECT <columns> FROM <table>", for DAO queries to append their own WHERE
+     * and ORDER BY clauses to.
+     */
+    public String getSelectSql() {
+        return selectSql;
+    }
+
+    public String getFindByIdSql() {
+        return findByIdSql;
+    }
+
+    public String getFindByIdsSql() {
+        return findByIdsSql;
+    }
+
+    public String getFindAllSql() {
+        return findAllSql;
+    }
+
+    public String getFindAllPagedSql() {
+        return findAllPagedSql;
+    }
+
+    /**
+     * Get the first page of a keyset query ordered by ID.
+     */
+    public String getFindFirstPageSql() {
+        return findFirstPageSql;
+    }
+
+    /**
+     * Get a subsequent page of a keyset query ordered by ID.
+     */
+    public String getFindPageAfterIdSql() {
+        return findPageAfterIdSql;
+    }
+
+    public String getCountSql() {
+        return countSql;
+    }
+
+    public String getExistsSql() {
+        return existsSql;
+    }
+
+    /**
+     * Get the INSERT statement with RETURNING id, for single-row inserts.
+     */
+    public String getInsertSql() {
+        return insertSql;
+    }
+
+    /**
+     * Get the INSERT statement without RETURNING, for prepared batches.
+     */
+    public String getInsertBatchSql() {
+        return insertBatchSql;
+    }
+
+    public String getUpdateSql() {
+        return updateSql;
+    }
+
+    public String getDeleteSql() {
+        return deleteSql;
+    }
+
+    public String getDeleteByIdsSql() {
+        return deleteByIdsSql;
+    }
+
+    public String getDeleteAllSql() {
+        return deleteAllSql;
+    }
+
+    /**
+     * Get the insertable columns; index i binds to getInsertParameters()[i].
+     */
+    ColumnDefinition<T>[] getInsertColumns() {
+        return insertColumns;
+    }
+
+    String[] getInsertParameters() {
+        return insertParameters;
+    }
+
+    /**
+     * Get the updatable columns; index i binds to getUpdateParameters()[i].
+     */
+    ColumnDefinition<T>[] getUpdateColumns() {
+        return updateColumns;
+    }
+
+    String[] getUpdateParameters() {
+        return updateParameters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ColumnDefinition<T>[] toArray(List<ColumnDefinition<T>> columns) {
+        return columns.toArray(new ColumnDefinition[0]);
+    }
+
+    private static String[] parameterNames(ColumnDefinition<?>[] columns) {
+        String[] names = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].getJavaPropertyName();
+        }
+        return names;
+    }
+}
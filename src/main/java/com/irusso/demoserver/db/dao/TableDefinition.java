@@ -15,11 +15,19 @@ public class TableDefinition<T> {
     private final String tableName;
     private final String idColumn;
     private final List<ColumnDefinition<T>> columnDefinitions;
+    private final List<ColumnDefinition<T>> insertableColumns;
+    private final List<ColumnDefinition<T>> updatableColumns;
 
     private TableDefinition(Builder<T> builder) {
         this.tableName = builder.tableName;
         this.idColumn = builder.idColumn;
-        this.columnDefinitions = Collections.unmodifiableList(builder.columnDefinitions);
+        this.columnDefinitions = Collections.unmodifiableList(new ArrayList<>(builder.columnDefinitions));
+        this.insertableColumns = columnDefinitions.stream()
+            .filter(ColumnDefinition::isInsertable)
+            .collect(Collectors.toUnmodifiableList());
+        this.updatableColumns = columnDefinitions.stream()
+            .filter(ColumnDefinition::isUpdatable)
+            .collect(Collectors.toUnmodifiableList());
     }
 
     /**
@@ -47,18 +55,14 @@ public class TableDefinition<T> {
      * Get column definitions that should be included in INSERT statements.
      */
     public List<ColumnDefinition<T>> getInsertableColumns() {
-        return columnDefinitions.stream()
-            .filter(ColumnDefinition::isInsertable)
-            .collect(Collectors.toList());
+        return insertableColumns;
     }
 
     /**
      * Get column definitions that should be included in UPDATE statements.
      */
     public List<ColumnDefinition<T>> getUpdatableColumns() {
-        return columnDefinitions.stream()
-            .filter(ColumnDefinition::isUpdatable)
-            .collect(Collectors.toList());
+        return updatableColumns;
     }
 
     /**
@@ -80,6 +84,31 @@ public class TableDefinition<T> {
             .collect(Collectors.joining(", "));
     }
 
+    /**
+     * Generate the column list for SELECT: the ID column followed by every defined column.
+     * Columns the entity does not map, such as generated search vectors, are left out.
+     */
+    public String getSelectColumnsList() {
+        return getSelectColumnsList(null);
+    }
+
+    /**
+     * Generate the column list for SELECT with every column qualified by a table alias.
+     * Example: "jp.id, jp.title, jp.status"
+     *
+     * @param alias The table alias, or null for unqualified names
+     */
+    public String getSelectColumnsList(String alias) {
+        String prefix = alias != null ? alias + "." : "";
+        StringBuilder columns = new StringBuilder(prefix).append(idColumn);
+        for (ColumnDefinition<T> column : columnDefinitions) {
+            if (!column.getColumnName().equals(idColumn)) {
+                columns.append(", ").append(prefix).append(column.getColumnName());
+            }
+        }
+        return columns.toString();
+    }
+
     /**
      * Generate a comma-separated list of insertable column names.
      */
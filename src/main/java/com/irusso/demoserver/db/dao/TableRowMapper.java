@@ -0,0 +1,204 @@
+package com.irusso.demoserver.db.dao;
+
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * RowMapper generated from a TableDefinition.
+ *
+ * Column labels are resolved to indexes once per result set shape (the list of column
+ * labels returned by a query) and cached, so each row is read by index with a reader
+ * chosen from the column's Java type instead of a label lookup per field. Every column
+ * with a setter is mapped, so the mapper cannot drift from the table definition.
+ *
+ * SQL NULL leaves the entity field untouched. Columns in the result set that the
+ * definition does not know about are ignored.
+ *
+ * @param <T> The entity type
+ */
+public final class TableRowMapper<T> implements RowMapper<T> {
+
+    private final String idColumn;
+    private final Supplier<T> factory;
+    private final BiConsumer<T, Long> idSetter;
+    private final Map<String, ColumnDefinition<T>> columnsByLabel = new HashMap<>();
+    private final Map<String, RowMapper<T>> shapes = new ConcurrentHashMap<>();
+
+    private TableRowMapper(TableDefinition<T> table, Supplier<T> factory, BiConsumer<T, Long> idSetter) {
+        this.idColumn = table.getIdColumn().toLowerCase(Locale.ROOT);
+        this.factory = factory;
+        this.idSetter = idSetter;
+        for (ColumnDefinition<T> column : table.getColumnDefinitions()) {
+            if (column.hasSetter()) {
+                columnsByLabel.put(column.getColumnName().toLowerCase(Locale.ROOT), column);
+            }
+        }
+    }
+
+    /**
+     * Create a mapper for every column of a table definition that has a setter.
+     *
+     * @param table The table definition
+     * @param factory Creates an empty entity for each row
+     * @param idSetter Sets the ID column value on the entity
+     * @return The mapper
+     */
+    public static <T> TableRowMapper<T> forTable(TableDefinition<T> table, Supplier<T> factory,
+                                                 BiConsumer<T, Long> idSetter) {
+        return new TableRowMapper<>(table, factory, idSetter);
+    }
+
+    @Override
+    public T map(ResultSet rs, StatementContext ctx) throws SQLException {
+        // Only reached when a caller maps rows without specializing first
+        return specialize(rs, ctx).map(rs, ctx);
+    }
+
+    @Override
+    public RowMapper<T> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        StringBuilder shape = new StringBuilder();
+        for (int i = 1; i <= columnCount; i++) {
+            shape.append(metaData.getColumnLabel(i)).append(',');
+        }
+
+        String key = shape.toString();
+        RowMapper<T> mapper = shapes.get(key);
+        if (mapper == null) {
+            mapper = compile(metaData, columnCount);
+            shapes.putIfAbsent(key, mapper);
+        }
+        return mapper;
+    }
+
+    private RowMapper<T> compile(ResultSetMetaData metaData, int columnCount) throws SQLException {
+        int idIndex = -1;
+        List<Integer> indexes = new ArrayList<>();
+        List<ColumnDefinition<T>> columns = new ArrayList<>();
+
+        for (int i = 1; i <= columnCount; i++) {
+            String label = metaData.getColumnLabel(i).toLowerCase(Locale.ROOT);
+            if (label.equals(idColumn)) {
+                idIndex = i;
+                continue;
+            }
+            ColumnDefinition<T> column = columnsByLabel.get(label);
+            if (column != null) {
+                indexes.add(i);
+                columns.add(column);
+            }
+        }
+
+        int[] columnIndexes = new int[indexes.size()];
+        ColumnReader[] readers = new ColumnReader[indexes.size()];
+        @SuppressWarnings("unchecked")
+        ColumnDefinition<T>[] definitions = columns.toArray(new ColumnDefinition[0]);
+        for (int i = 0; i < columnIndexes.length; i++) {
+            columnIndexes[i] = indexes.get(i);
+            readers[i] = readerFor(definitions[i].getJavaType());
+        }
+
+        return new IndexedRowMapper<>(factory, idSetter, idIndex, columnIndexes, readers, definitions);
+    }
+
+    /**
+     * Choose the typed ResultSet getter for a column's Java type.
+     */
+    static ColumnReader readerFor(Class<?> javaType) {
+        if (javaType == String.class) {
+            return ResultSet::getString;
+        } else if (javaType == Long.class) {
+            return (rs, i) -> {
+                long value = rs.getLong(i);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (javaType == Integer.class) {
+            return (rs, i) -> {
+                int value = rs.getInt(i);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (javaType == Boolean.class) {
+            return (rs, i) -> {
+                boolean value = rs.getBoolean(i);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (javaType == Double.class) {
+            return (rs, i) -> {
+                double value = rs.getDouble(i);
+                return rs.wasNull() ? null : value;
+            };
+        } else if (javaType == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        } else if (javaType == Timestamp.class) {
+            return ResultSet::getTimestamp;
+        } else if (javaType == Date.class) {
+            return ResultSet::getDate;
+        }
+        return (rs, i) -> rs.getObject(i, javaType);
+    }
+
+    /**
+     * Reads one column of the current row by index.
+     */
+    @FunctionalInterface
+    interface ColumnReader {
+        Object read(ResultSet rs, int index) throws SQLException;
+    }
+
+    /**
+     * Mapper bound to the column indexes of one result set shape.
+     */
+    private static final class IndexedRowMapper<T> implements RowMapper<T> {
+        private final Supplier<T> factory;
+        private final BiConsumer<T, Long> idSetter;
+        private final int idIndex;
+        private final int[] indexes;
+        private final ColumnReader[] readers;
+        private final ColumnDefinition<T>[] columns;
+
+        IndexedRowMapper(Supplier<T> factory, BiConsumer<T, Long> idSetter, int idIndex,
+                         int[] indexes, ColumnReader[] readers, ColumnDefinition<T>[] columns) {
+            this.factory = factory;
+            this.idSetter = idSetter;
+            this.idIndex = idIndex;
+            this.indexes = indexes;
+            this.readers = readers;
+            this.columns = columns;
+        }
+
+        @Override
+        public T map(ResultSet rs, StatementContext ctx) throws SQLException {
+            T entity = factory.get();
+            if (idIndex > 0) {
+                long id = rs.getLong(idIndex);
+                if (!rs.wasNull()) {
+                    idSetter.accept(entity, id);
+                }
+            }
+            for (int i = 0; i < indexes.length; i++) {
+                Object value = readers[i].read(rs, indexes[i]);
+                if (value != null) {
+                    columns[i].setValue(entity, value);
+                }
+            }
+            return entity;
+        }
+    }
+}
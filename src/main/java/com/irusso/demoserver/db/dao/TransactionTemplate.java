@@ -0,0 +1,89 @@
+package com.irusso.demoserver.db.dao;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work spanning several DAO calls in one transaction on one connection.
+ *
+ * Jdbi hands the handle opened by {@link #inTransaction} to every nested
+ * {@code withHandle}/{@code inTransaction} call on the same thread, so all StandardDao
+ * methods invoked inside the work share one pooled connection and commit or roll back
+ * together. While a unit of work is active:
+ * <ul>
+ *   <li>reads go to the primary, never to a read replica, so they see the transaction's writes;</li>
+ *   <li>findById and findByIds bypass the entity cache, so uncommitted rows are never cached;</li>
+ *   <li>entity cache evictions are deferred until the transaction commits.</li>
+ * </ul>
+ * Nested units of work join the outer one. Keep slow non-database work (password
+ * hashing, remote calls) outside the unit of work: it holds a connection throughout.
+ */
+public class TransactionTemplate {
+
+    private static final ThreadLocal<Handle> CURRENT = new ThreadLocal<>();
+
+    private final Jdbi jdbi;
+
+    /**
+     * Constructor for TransactionTemplate.
+     *
+     * @param jdbi The primary database
+     */
+    public TransactionTemplate(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    /**
+     * Run work in a transaction; exceptions roll it back and propagate unchanged.
+     *
+     * @param work The DAO calls to run
+     * @return The value returned by the work
+     */
+    public <R> R inTransaction(Supplier<R> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        return jdbi.inTransaction(handle -> {
+            CURRENT.set(handle);
+            try {
+                return work.get();
+            } finally {
+                CURRENT.remove();
+            }
+        });
+    }
+
+    /**
+     * Run work in a transaction without a result.
+     *
+     * @param work The DAO calls to run
+     */
+    public void useTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Check whether the current thread is inside a unit of work.
+     */
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Run an action once the current unit of work commits, or now if there is none.
+     * The action is dropped if the unit of work rolls back.
+     */
+    static void afterCommit(Runnable action) {
+        Handle handle = CURRENT.get();
+        if (handle != null && handle.isInTransaction()) {
+            handle.afterCommit(action);
+        } else {
+            action.run();
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.UserConnection;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -27,30 +26,6 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<UserConnection> MAPPER = (rs, ctx) -> {
-        UserConnection connection = new UserConnection();
-        connection.setId(rs.getLong(ID_COLUMN));
-        connection.setUserId(rs.getLong(COL_USER_ID));
-        connection.setConnectedUserId(rs.getLong(COL_CONNECTED_USER_ID));
-        connection.setConnectionStatus(rs.getString(COL_CONNECTION_STATUS));
-        
-        String connectionType = rs.getString(COL_CONNECTION_TYPE);
-        if (!rs.wasNull()) {
-            connection.setConnectionType(connectionType);
-        }
-        
-        connection.setInitiatedByUserId(rs.getLong(COL_INITIATED_BY_USER_ID));
-        
-        Timestamp connectedAt = rs.getTimestamp(COL_CONNECTED_AT);
-        if (!rs.wasNull()) {
-            connection.setConnectedAt(connectedAt);
-        }
-        
-        connection.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        connection.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return connection;
-    };
-
     @Inject
     public UserConnectionDao(Jdbi jdbi) {
         super(jdbi,
@@ -63,6 +38,7 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(UserConnection::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserConnection>builder()
                     .columnName(COL_CONNECTED_USER_ID)
@@ -70,6 +46,7 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(UserConnection::getConnectedUserId)
+                    .setter((e, v) -> e.setConnectedUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserConnection>builder()
                     .columnName(COL_CONNECTION_STATUS)
@@ -77,6 +54,7 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserConnection::getConnectionStatus)
+                    .setter((e, v) -> e.setConnectionStatus((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserConnection>builder()
                     .columnName(COL_CONNECTION_TYPE)
@@ -84,6 +62,7 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserConnection::getConnectionType)
+                    .setter((e, v) -> e.setConnectionType((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserConnection>builder()
                     .columnName(COL_INITIATED_BY_USER_ID)
@@ -91,6 +70,7 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(UserConnection::getInitiatedByUserId)
+                    .setter((e, v) -> e.setInitiatedByUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserConnection>builder()
                     .columnName(COL_CONNECTED_AT)
@@ -98,6 +78,7 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserConnection::getConnectedAt)
+                    .setter((e, v) -> e.setConnectedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserConnection>builder()
                     .columnName(COL_CREATED_AT)
@@ -105,6 +86,7 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(c -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserConnection>builder()
                     .columnName(COL_UPDATED_AT)
@@ -112,9 +94,11 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(c -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            UserConnection::new,
+            UserConnection::setId
         );
     }
     
@@ -163,11 +147,11 @@ public class UserConnectionDao extends StandardDao<UserConnection, Long> {
      */
     public List<UserConnection> findConnectionBetweenUsers(Long userId1, Long userId2) {
         String sql = "SELECT * FROM user_connections WHERE (user_id = :userId1 AND connected_user_id = :userId2) OR (user_id = :userId2 AND connected_user_id = :userId1)";
-        return jdbi.withHandle(handle ->
+        return readJdbi().withHandle(handle ->
             handle.createQuery(sql)
                 .bind("userId1", userId1)
                 .bind("userId2", userId2)
-                .map(MAPPER)
+                .map(getRowMapper())
                 .list()
         );
     }
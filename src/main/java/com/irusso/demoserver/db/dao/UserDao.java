@@ -3,12 +3,13 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.User;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for the users table.
@@ -39,6 +40,10 @@ public class UserDao extends StandardDao<User, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
+    // Overlap with an inclusive range whose missing ends are unbounded; uses the GiST index
+    private static final String SALARY_EXPECTATION_OVERLAP = "salary_expectation_range && "
+        + "numrange(CAST(:minSalary AS numeric), CAST(:maxSalary AS numeric), '[]')";
+
     /**
      * Create the table definition for users.
      */
@@ -183,42 +188,6 @@ public class UserDao extends StandardDao<User, Long> {
             .build();
     }
 
-    /**
-     * RowMapper to convert database rows to User objects.
-     */
-    private static final RowMapper<User> USER_MAPPER = (rs, ctx) -> {
-        User user = new User();
-        user.setId(rs.getLong("id"));
-        user.setName(rs.getString("name"));
-        user.setEmail(rs.getString("email"));
-        user.setPhoneNumber(rs.getString("phone_number"));
-        user.setLocation(rs.getString("location"));
-        user.setEducationLevel(rs.getString("education_level"));
-        user.setSummary(rs.getString("summary"));
-        user.setProfilePictureUrl(rs.getString("profile_picture_url"));
-        user.setEmploymentStatus(rs.getString("employment_status"));
-        user.setBackgroundCheckStatus(rs.getString("background_check_status"));
-        user.setUserRating(rs.getBigDecimal("user_rating"));
-        user.setCommunicationRating(rs.getBigDecimal("communication_rating"));
-        user.setSalaryExpectationsMin(rs.getBigDecimal("salary_expectations_min"));
-        user.setSalaryExpectationsMax(rs.getBigDecimal("salary_expectations_max"));
-        user.setActivelySeeking(rs.getBoolean("actively_seeking"));
-        user.setPasswordHash(rs.getString("password_hash"));
-        user.setLastLoginAt(rs.getTimestamp("last_login_at"));
-
-        Timestamp createdAt = rs.getTimestamp("created_at");
-        if (createdAt != null) {
-            user.setCreatedAt(createdAt.toInstant());
-        }
-
-        Timestamp updatedAt = rs.getTimestamp("updated_at");
-        if (updatedAt != null) {
-            user.setUpdatedAt(updatedAt.toInstant());
-        }
-
-        return user;
-    };
-
     /**
      * Constructor for UserDao.
      *
@@ -226,11 +195,9 @@ public class UserDao extends StandardDao<User, Long> {
      */
     @Inject
     public UserDao(Jdbi jdbi) {
-        super(jdbi, createTableDefinition(), USER_MAPPER);
+        super(jdbi, createTableDefinition(), User::new, User::setId);
     }
 
-
-
     /**
      * Find users by email address.
      *
@@ -238,7 +205,7 @@ public class UserDao extends StandardDao<User, Long> {
      * @return List of users with matching email (should be 0 or 1 due to unique constraint)
      */
     public List<User> findByEmail(String email) {
-        String sql = "SELECT * FROM users WHERE email = :email";
+        String sql = getStatementPlan().getSelectSql() + " WHERE email = :email";
         return executeQuery(sql, "email", email);
     }
 
@@ -248,10 +215,36 @@ public class UserDao extends StandardDao<User, Long> {
      * @return List of users actively seeking jobs
      */
     public List<User> findActivelySeeking() {
-        String sql = "SELECT * FROM users WHERE actively_seeking = true ORDER BY updated_at DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE actively_seeking = true ORDER BY updated_at DESC";
         return executeQuery(sql);
     }
 
+    /**
+     * Find users whose salary expectations overlap a salary range, ordered by ID.
+     * Matching uses the GiST index on the generated salary_expectation_range column;
+     * users without salary expectations never match.
+     *
+     * @param minSalary Lowest salary on offer, or null for no lower limit
+     * @param maxSalary Highest salary on offer, or null for no upper limit
+     * @param activelySeeking Required job seeking status, or null for any
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of results to return (defaults to Page.DEFAULT_LIMIT)
+     * @return The requested page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public Page<User> findBySalaryExpectationOverlap(BigDecimal minSalary, BigDecimal maxSalary,
+                                                     Boolean activelySeeking, String cursor, Integer limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("minSalary", minSalary);
+        params.put("maxSalary", maxSalary);
+        String condition = SALARY_EXPECTATION_OVERLAP;
+        if (activelySeeking != null) {
+            condition += " AND actively_seeking = :activelySeeking";
+            params.put("activelySeeking", activelySeeking);
+        }
+        return findPageWhere(condition, params, cursor, limit);
+    }
+
     /**
      * Find users by location.
      *
@@ -259,7 +252,7 @@ public class UserDao extends StandardDao<User, Long> {
      * @return List of users in the specified location
      */
     public List<User> findByLocation(String location) {
-        String sql = "SELECT * FROM users WHERE location ILIKE :location ORDER BY name";
+        String sql = getStatementPlan().getSelectSql() + " WHERE location ILIKE :location ORDER BY name";
         return executeQuery(sql, "location", "%" + location + "%");
     }
 
@@ -270,7 +263,7 @@ public class UserDao extends StandardDao<User, Long> {
      * @return List of users with rating >= minRating
      */
     public List<User> findByMinimumRating(double minRating) {
-        String sql = "SELECT * FROM users WHERE user_rating >= :minRating ORDER BY user_rating DESC";
+        String sql = getStatementPlan().getSelectSql() + " WHERE user_rating >= :minRating ORDER BY user_rating DESC";
         return executeQuery(sql, "minRating", minRating);
     }
 
@@ -288,7 +281,7 @@ public class UserDao extends StandardDao<User, Long> {
             WHERE id = :id
             """;
 
-        int rowsAffected = executeUpdate(sql,
+        int rowsAffected = executeUpdateById(id, sql,
             "id", id,
             "rating", rating,
             "updatedAt", Timestamp.from(Instant.now())
@@ -310,7 +303,7 @@ public class UserDao extends StandardDao<User, Long> {
             WHERE id = :id
             """;
 
-        int rowsAffected = executeUpdate(sql,
+        int rowsAffected = executeUpdateById(id, sql,
             "id", id,
             "rating", rating,
             "updatedAt", Timestamp.from(Instant.now())
@@ -332,7 +325,7 @@ public class UserDao extends StandardDao<User, Long> {
             WHERE id = :id
             """;
 
-        int rowsAffected = executeUpdate(sql,
+        int rowsAffected = executeUpdateById(id, sql,
             "id", id,
             "passwordHash", passwordHash,
             "updatedAt", Timestamp.from(Instant.now())
@@ -353,7 +346,7 @@ public class UserDao extends StandardDao<User, Long> {
             WHERE id = :id
             """;
 
-        int rowsAffected = executeUpdate(sql,
+        int rowsAffected = executeUpdateById(id, sql,
             "id", id,
             "lastLoginAt", Timestamp.from(Instant.now())
         );
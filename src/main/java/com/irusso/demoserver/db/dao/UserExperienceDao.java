@@ -4,10 +4,10 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.irusso.demoserver.db.model.UserExperience;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,21 +31,6 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<UserExperience> USER_EXPERIENCE_MAPPER = (rs, ctx) -> {
-        UserExperience experience = new UserExperience();
-        experience.setId(rs.getLong(ID_COLUMN));
-        experience.setUserId(rs.getLong(COL_USER_ID));
-        experience.setTitle(rs.getString(COL_TITLE));
-        experience.setDescription(rs.getString(COL_DESCRIPTION));
-        experience.setExperienceType(rs.getString(COL_EXPERIENCE_TYPE));
-        experience.setStartDate(rs.getDate(COL_START_DATE));
-        experience.setEndDate(rs.getDate(COL_END_DATE));
-        experience.setIsCurrent((Boolean) rs.getObject(COL_IS_CURRENT));
-        experience.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        experience.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return experience;
-    };
-
     @Inject
     public UserExperienceDao(Jdbi jdbi) {
         super(jdbi,
@@ -58,6 +43,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(false)
                                 .getter(UserExperience::getUserId)
+                                .setter((e, v) -> e.setUserId((Long) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_TITLE)
@@ -65,6 +51,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(true)
                                 .getter(UserExperience::getTitle)
+                                .setter((e, v) -> e.setTitle((String) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_DESCRIPTION)
@@ -72,6 +59,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(true)
                                 .getter(UserExperience::getDescription)
+                                .setter((e, v) -> e.setDescription((String) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_EXPERIENCE_TYPE)
@@ -79,6 +67,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(true)
                                 .getter(UserExperience::getExperienceType)
+                                .setter((e, v) -> e.setExperienceType((String) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_START_DATE)
@@ -86,6 +75,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(true)
                                 .getter(UserExperience::getStartDate)
+                                .setter((e, v) -> e.setStartDate((java.sql.Date) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_END_DATE)
@@ -93,6 +83,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(true)
                                 .getter(UserExperience::getEndDate)
+                                .setter((e, v) -> e.setEndDate((java.sql.Date) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_IS_CURRENT)
@@ -100,6 +91,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(true)
                                 .getter(UserExperience::getIsCurrent)
+                                .setter((e, v) -> e.setIsCurrent((Boolean) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_CREATED_AT)
@@ -107,6 +99,7 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(false)
                                 .getter(e -> Timestamp.from(Instant.now()))
+                                .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                                 .build())
                         .addColumn(ColumnDefinition.<UserExperience>builder()
                                 .columnName(COL_UPDATED_AT)
@@ -114,9 +107,11 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
                                 .insertable(true)
                                 .updatable(true)
                                 .getter(e -> Timestamp.from(Instant.now()))
+                                .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                                 .build())
                         .build(),
-                USER_EXPERIENCE_MAPPER
+                UserExperience::new,
+                UserExperience::setId
         );
     }
 
@@ -131,6 +126,22 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
         return executeQuery(sql, "userId", userId);
     }
 
+    /**
+     * Find all experiences for several users.
+     *
+     * @param userIds the user IDs
+     * @return list of user experiences, most recently updated first
+     */
+    public List<UserExperience> findByUserIds(Collection<Long> userIds) {
+        String sql = "SELECT * FROM user_experiences WHERE user_id = ANY(:userIds) ORDER BY updated_at DESC, id DESC";
+        return readJdbi().withHandle(handle ->
+                handle.createQuery(sql)
+                        .bindArray("userIds", Long.class, userIds)
+                        .map(getRowMapper())
+                        .list()
+        );
+    }
+
     /**
      * Find experiences by type for a specific user.
      *
@@ -140,11 +151,11 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
      */
     public List<UserExperience> findByUserIdAndType(Long userId, String experienceType) {
         String sql = "SELECT * FROM user_experiences WHERE user_id = :userId AND experience_type = :experienceType ORDER BY start_date DESC NULLS LAST, created_at DESC";
-        return jdbi.withHandle(handle ->
+        return readJdbi().withHandle(handle ->
                 handle.createQuery(sql)
                         .bind("userId", userId)
                         .bind("experienceType", experienceType)
-                        .map(USER_EXPERIENCE_MAPPER)
+                        .map(getRowMapper())
                         .list()
         );
     }
@@ -157,10 +168,10 @@ public class UserExperienceDao extends StandardDao<UserExperience, Long> {
      */
     public List<UserExperience> findCurrentByUserId(Long userId) {
         String sql = "SELECT * FROM user_experiences WHERE user_id = :userId AND is_current = true ORDER BY start_date DESC NULLS LAST";
-        return jdbi.withHandle(handle ->
+        return readJdbi().withHandle(handle ->
                 handle.createQuery(sql)
                         .bind("userId", userId)
-                        .map(USER_EXPERIENCE_MAPPER)
+                        .map(getRowMapper())
                         .list()
         );
     }
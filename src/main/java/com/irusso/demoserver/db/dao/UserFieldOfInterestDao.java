@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.UserFieldOfInterest;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -23,16 +22,6 @@ public class UserFieldOfInterestDao extends StandardDao<UserFieldOfInterest, Lon
     private static final String COL_IS_HARD_REQUIREMENT = "is_hard_requirement";
     private static final String COL_CREATED_AT = "created_at";
 
-    private static final RowMapper<UserFieldOfInterest> MAPPER = (rs, ctx) -> {
-        UserFieldOfInterest interest = new UserFieldOfInterest();
-        interest.setId(rs.getLong(ID_COLUMN));
-        interest.setUserId(rs.getLong(COL_USER_ID));
-        interest.setFieldName(rs.getString(COL_FIELD_NAME));
-        interest.setIsHardRequirement(rs.getBoolean(COL_IS_HARD_REQUIREMENT));
-        interest.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        return interest;
-    };
-
     @Inject
     public UserFieldOfInterestDao(Jdbi jdbi) {
         super(jdbi,
@@ -45,6 +34,7 @@ public class UserFieldOfInterestDao extends StandardDao<UserFieldOfInterest, Lon
                     .insertable(true)
                     .updatable(false)
                     .getter(UserFieldOfInterest::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserFieldOfInterest>builder()
                     .columnName(COL_FIELD_NAME)
@@ -52,6 +42,7 @@ public class UserFieldOfInterestDao extends StandardDao<UserFieldOfInterest, Lon
                     .insertable(true)
                     .updatable(true)
                     .getter(UserFieldOfInterest::getFieldName)
+                    .setter((e, v) -> e.setFieldName((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserFieldOfInterest>builder()
                     .columnName(COL_IS_HARD_REQUIREMENT)
@@ -59,6 +50,7 @@ public class UserFieldOfInterestDao extends StandardDao<UserFieldOfInterest, Lon
                     .insertable(true)
                     .updatable(true)
                     .getter(UserFieldOfInterest::getIsHardRequirement)
+                    .setter((e, v) -> e.setIsHardRequirement((Boolean) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserFieldOfInterest>builder()
                     .columnName(COL_CREATED_AT)
@@ -66,9 +58,11 @@ public class UserFieldOfInterestDao extends StandardDao<UserFieldOfInterest, Lon
                     .insertable(true)
                     .updatable(false)
                     .getter(i -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            UserFieldOfInterest::new,
+            UserFieldOfInterest::setId
         );
     }
     
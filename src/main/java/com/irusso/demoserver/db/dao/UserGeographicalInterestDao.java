@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.UserGeographicalInterest;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -23,16 +22,6 @@ public class UserGeographicalInterestDao extends StandardDao<UserGeographicalInt
     private static final String COL_IS_HARD_REQUIREMENT = "is_hard_requirement";
     private static final String COL_CREATED_AT = "created_at";
 
-    private static final RowMapper<UserGeographicalInterest> MAPPER = (rs, ctx) -> {
-        UserGeographicalInterest interest = new UserGeographicalInterest();
-        interest.setId(rs.getLong(ID_COLUMN));
-        interest.setUserId(rs.getLong(COL_USER_ID));
-        interest.setLocation(rs.getString(COL_LOCATION));
-        interest.setIsHardRequirement(rs.getBoolean(COL_IS_HARD_REQUIREMENT));
-        interest.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        return interest;
-    };
-
     @Inject
     public UserGeographicalInterestDao(Jdbi jdbi) {
         super(jdbi,
@@ -45,6 +34,7 @@ public class UserGeographicalInterestDao extends StandardDao<UserGeographicalInt
                     .insertable(true)
                     .updatable(false)
                     .getter(UserGeographicalInterest::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserGeographicalInterest>builder()
                     .columnName(COL_LOCATION)
@@ -52,6 +42,7 @@ public class UserGeographicalInterestDao extends StandardDao<UserGeographicalInt
                     .insertable(true)
                     .updatable(true)
                     .getter(UserGeographicalInterest::getLocation)
+                    .setter((e, v) -> e.setLocation((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserGeographicalInterest>builder()
                     .columnName(COL_IS_HARD_REQUIREMENT)
@@ -59,6 +50,7 @@ public class UserGeographicalInterestDao extends StandardDao<UserGeographicalInt
                     .insertable(true)
                     .updatable(true)
                     .getter(UserGeographicalInterest::getIsHardRequirement)
+                    .setter((e, v) -> e.setIsHardRequirement((Boolean) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserGeographicalInterest>builder()
                     .columnName(COL_CREATED_AT)
@@ -66,9 +58,11 @@ public class UserGeographicalInterestDao extends StandardDao<UserGeographicalInt
                     .insertable(true)
                     .updatable(false)
                     .getter(i -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            UserGeographicalInterest::new,
+            UserGeographicalInterest::setId
         );
     }
     
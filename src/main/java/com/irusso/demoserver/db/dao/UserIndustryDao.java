@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.UserIndustry;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -25,23 +24,6 @@ public class UserIndustryDao extends StandardDao<UserIndustry, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<UserIndustry> MAPPER = (rs, ctx) -> {
-        UserIndustry userIndustry = new UserIndustry();
-        userIndustry.setId(rs.getLong(ID_COLUMN));
-        userIndustry.setUserId(rs.getLong(COL_USER_ID));
-        userIndustry.setIndustryId(rs.getLong(COL_INDUSTRY_ID));
-        userIndustry.setIsCurrent(rs.getBoolean(COL_IS_CURRENT));
-        
-        int yearsOfExperience = rs.getInt(COL_YEARS_OF_EXPERIENCE);
-        if (!rs.wasNull()) {
-            userIndustry.setYearsOfExperience(yearsOfExperience);
-        }
-        
-        userIndustry.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        userIndustry.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return userIndustry;
-    };
-
     @Inject
     public UserIndustryDao(Jdbi jdbi) {
         super(jdbi,
@@ -54,6 +36,7 @@ public class UserIndustryDao extends StandardDao<UserIndustry, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(UserIndustry::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserIndustry>builder()
                     .columnName(COL_INDUSTRY_ID)
@@ -61,6 +44,7 @@ public class UserIndustryDao extends StandardDao<UserIndustry, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserIndustry::getIndustryId)
+                    .setter((e, v) -> e.setIndustryId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserIndustry>builder()
                     .columnName(COL_IS_CURRENT)
@@ -68,6 +52,7 @@ public class UserIndustryDao extends StandardDao<UserIndustry, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserIndustry::getIsCurrent)
+                    .setter((e, v) -> e.setIsCurrent((Boolean) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserIndustry>builder()
                     .columnName(COL_YEARS_OF_EXPERIENCE)
@@ -75,6 +60,7 @@ public class UserIndustryDao extends StandardDao<UserIndustry, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserIndustry::getYearsOfExperience)
+                    .setter((e, v) -> e.setYearsOfExperience((Integer) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserIndustry>builder()
                     .columnName(COL_CREATED_AT)
@@ -82,6 +68,7 @@ public class UserIndustryDao extends StandardDao<UserIndustry, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(i -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserIndustry>builder()
                     .columnName(COL_UPDATED_AT)
@@ -89,9 +76,11 @@ public class UserIndustryDao extends StandardDao<UserIndustry, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(i -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            UserIndustry::new,
+            UserIndustry::setId
         );
     }
     
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.UserProfession;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -25,23 +24,6 @@ public class UserProfessionDao extends StandardDao<UserProfession, Long> {
     private static final String COL_CREATED_AT = "created_at";
     private static final String COL_UPDATED_AT = "updated_at";
 
-    private static final RowMapper<UserProfession> MAPPER = (rs, ctx) -> {
-        UserProfession userProfession = new UserProfession();
-        userProfession.setId(rs.getLong(ID_COLUMN));
-        userProfession.setUserId(rs.getLong(COL_USER_ID));
-        userProfession.setProfessionId(rs.getLong(COL_PROFESSION_ID));
-        userProfession.setIsCurrent(rs.getBoolean(COL_IS_CURRENT));
-        
-        int yearsOfExperience = rs.getInt(COL_YEARS_OF_EXPERIENCE);
-        if (!rs.wasNull()) {
-            userProfession.setYearsOfExperience(yearsOfExperience);
-        }
-        
-        userProfession.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        userProfession.setUpdatedAt(rs.getTimestamp(COL_UPDATED_AT));
-        return userProfession;
-    };
-
     @Inject
     public UserProfessionDao(Jdbi jdbi) {
         super(jdbi,
@@ -54,6 +36,7 @@ public class UserProfessionDao extends StandardDao<UserProfession, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(UserProfession::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserProfession>builder()
                     .columnName(COL_PROFESSION_ID)
@@ -61,6 +44,7 @@ public class UserProfessionDao extends StandardDao<UserProfession, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserProfession::getProfessionId)
+                    .setter((e, v) -> e.setProfessionId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserProfession>builder()
                     .columnName(COL_IS_CURRENT)
@@ -68,6 +52,7 @@ public class UserProfessionDao extends StandardDao<UserProfession, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserProfession::getIsCurrent)
+                    .setter((e, v) -> e.setIsCurrent((Boolean) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserProfession>builder()
                     .columnName(COL_YEARS_OF_EXPERIENCE)
@@ -75,6 +60,7 @@ public class UserProfessionDao extends StandardDao<UserProfession, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserProfession::getYearsOfExperience)
+                    .setter((e, v) -> e.setYearsOfExperience((Integer) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserProfession>builder()
                     .columnName(COL_CREATED_AT)
@@ -82,6 +68,7 @@ public class UserProfessionDao extends StandardDao<UserProfession, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(p -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserProfession>builder()
                     .columnName(COL_UPDATED_AT)
@@ -89,9 +76,11 @@ public class UserProfessionDao extends StandardDao<UserProfession, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(p -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setUpdatedAt((Timestamp) v))
                     .build())
                 .build(),
-            MAPPER
+            UserProfession::new,
+            UserProfession::setId
         );
     }
     
@@ -3,7 +3,6 @@ package com.irusso.demoserver.db.dao;
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.model.UserSkill;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.mapper.RowMapper;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -25,16 +24,6 @@ public class UserSkillDao extends StandardDao<UserSkill, Long> {
     private static final String COL_YEARS_OF_EXPERIENCE = "years_of_experience";
     private static final String COL_CREATED_AT = "created_at";
 
-    private static final RowMapper<UserSkill> USER_SKILL_MAPPER = (rs, ctx) -> {
-        UserSkill skill = new UserSkill();
-        skill.setId(rs.getLong(ID_COLUMN));
-        skill.setUserId(rs.getLong(COL_USER_ID));
-        skill.setSkillName(rs.getString(COL_SKILL_NAME));
-        skill.setProficiencyLevel(rs.getString(COL_PROFICIENCY_LEVEL));
-        skill.setYearsOfExperience((Integer) rs.getObject(COL_YEARS_OF_EXPERIENCE));
-        skill.setCreatedAt(rs.getTimestamp(COL_CREATED_AT));
-        return skill;
-    };
     
     /**
      * Constructor for UserSkillDao.
@@ -53,6 +42,7 @@ public class UserSkillDao extends StandardDao<UserSkill, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(UserSkill::getUserId)
+                    .setter((e, v) -> e.setUserId((Long) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserSkill>builder()
                     .columnName(COL_SKILL_NAME)
@@ -60,6 +50,7 @@ public class UserSkillDao extends StandardDao<UserSkill, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserSkill::getSkillName)
+                    .setter((e, v) -> e.setSkillName((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserSkill>builder()
                     .columnName(COL_PROFICIENCY_LEVEL)
@@ -67,6 +58,7 @@ public class UserSkillDao extends StandardDao<UserSkill, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserSkill::getProficiencyLevel)
+                    .setter((e, v) -> e.setProficiencyLevel((String) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserSkill>builder()
                     .columnName(COL_YEARS_OF_EXPERIENCE)
@@ -74,6 +66,7 @@ public class UserSkillDao extends StandardDao<UserSkill, Long> {
                     .insertable(true)
                     .updatable(true)
                     .getter(UserSkill::getYearsOfExperience)
+                    .setter((e, v) -> e.setYearsOfExperience((Integer) v))
                     .build())
                 .addColumn(ColumnDefinition.<UserSkill>builder()
                     .columnName(COL_CREATED_AT)
@@ -81,9 +74,11 @@ public class UserSkillDao extends StandardDao<UserSkill, Long> {
                     .insertable(true)
                     .updatable(false)
                     .getter(s -> Timestamp.from(Instant.now()))
+                    .setter((e, v) -> e.setCreatedAt((Timestamp) v))
                     .build())
                 .build(),
-            USER_SKILL_MAPPER
+            UserSkill::new,
+            UserSkill::setId
         );
     }
     
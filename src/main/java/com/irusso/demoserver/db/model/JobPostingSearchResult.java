@@ -0,0 +1,41 @@
+package com.irusso.demoserver.db.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A job posting found by a full-text search, with its relevance and a highlighted
+ * extract of the description.
+ */
+public class JobPostingSearchResult {
+
+    private final JobPosting jobPosting;
+    private final float rank;
+    private final String snippet;
+
+    public JobPostingSearchResult(JobPosting jobPosting, float rank, String snippet) {
+        this.jobPosting = jobPosting;
+        this.rank = rank;
+        this.snippet = snippet;
+    }
+
+    @JsonProperty
+    public JobPosting getJobPosting() {
+        return jobPosting;
+    }
+
+    /**
+     * ts_rank of the posting for the query; higher is more relevant.
+     */
+    @JsonProperty
+    public float getRank() {
+        return rank;
+    }
+
+    /**
+     * Fragments of the description with the matched words wrapped in &lt;b&gt; tags.
+     */
+    @JsonProperty
+    public String getSnippet() {
+        return snippet;
+    }
+}
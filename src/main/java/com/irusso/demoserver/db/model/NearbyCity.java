@@ -0,0 +1,30 @@
+package com.irusso.demoserver.db.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A city found by a proximity search, with its distance from the search point.
+ */
+public class NearbyCity {
+
+    private final City city;
+    private final double distanceKm;
+
+    public NearbyCity(City city, double distanceKm) {
+        this.city = city;
+        this.distanceKm = distanceKm;
+    }
+
+    @JsonProperty
+    public City getCity() {
+        return city;
+    }
+
+    /**
+     * Geodesic distance from the search point in kilometres.
+     */
+    @JsonProperty
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,67 @@
+package com.irusso.demoserver.db.model;
+
+/**
+ * Enum representing the salary bands job search results are counted by.
+ * A posting counts in every band its salary range overlaps.
+ */
+public enum SalaryBand {
+    UNDER_50K("0-50000", 0, 50_000L),
+    FROM_50K("50000-75000", 50_000, 75_000L),
+    FROM_75K("75000-100000", 75_000, 100_000L),
+    FROM_100K("100000-150000", 100_000, 150_000L),
+    FROM_150K("150000+", 150_000, null);
+
+    private final String label;
+    private final long lowerBound;
+    private final Long upperBound;
+
+    SalaryBand(String label, long lowerBound, Long upperBound) {
+        this.label = label;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Get the lowest salary in the band.
+     */
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Get the first salary above the band, or null if the band has no upper end.
+     */
+    public Long getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Check whether an inclusive salary range overlaps the band.
+     *
+     * @param low The lowest salary of the range
+     * @param high The highest salary of the range
+     * @return true if some salary in the range falls in the band
+     */
+    public boolean overlaps(double low, double high) {
+        return high >= lowerBound && (upperBound == null || low < upperBound);
+    }
+
+    /**
+     * Get the band with a label.
+     *
+     * @param label The label, e.g. "50000-75000"
+     * @return The band, or null if no band has the label
+     */
+    public static SalaryBand fromLabel(String label) {
+        for (SalaryBand band : values()) {
+            if (band.label.equals(label)) {
+                return band;
+            }
+        }
+        return null;
+    }
+}
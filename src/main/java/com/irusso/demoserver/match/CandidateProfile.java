@@ -0,0 +1,119 @@
+package com.irusso.demoserver.match;
+
+import com.irusso.demoserver.db.model.User;
+import com.irusso.demoserver.db.model.UserFieldOfInterest;
+import com.irusso.demoserver.db.model.UserGeographicalInterest;
+import com.irusso.demoserver.db.model.UserJobTypeInterest;
+import com.irusso.demoserver.db.model.UserSkill;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What the match engine knows about a user: skills, education, salary expectations and
+ * field, location and job type interests, normalized once so that scoring a user
+ * against many postings does no text processing.
+ */
+public final class CandidateProfile {
+
+    final long userId;
+    final String name;
+    final boolean activelySeeking;
+    final List<Skill> skills;
+    final int educationRank;
+    final List<Preference> fields;
+    final List<Preference> locations;
+    final List<Preference> jobTypes;
+    // Lowest acceptable salary: the expected minimum, else the expected maximum; NaN if neither
+    final double salaryLow;
+
+    private CandidateProfile(long userId, String name, boolean activelySeeking, List<Skill> skills,
+                             int educationRank, List<Preference> fields, List<Preference> locations,
+                             List<Preference> jobTypes, double salaryLow) {
+        this.userId = userId;
+        this.name = name;
+        this.activelySeeking = activelySeeking;
+        this.skills = skills;
+        this.educationRank = educationRank;
+        this.fields = fields;
+        this.locations = locations;
+        this.jobTypes = jobTypes;
+        this.salaryLow = salaryLow;
+    }
+
+    /**
+     * Build a profile from a user and the rows that belong to them.
+     */
+    public static CandidateProfile of(User user, List<UserSkill> skills, List<UserFieldOfInterest> fields,
+                                      List<UserGeographicalInterest> locations, List<UserJobTypeInterest> jobTypes) {
+        List<Skill> skillList = new ArrayList<>(skills.size());
+        for (UserSkill skill : skills) {
+            String phrase = MatchText.normalize(skill.getSkillName());
+            if (!phrase.isEmpty()) {
+                int years = skill.getYearsOfExperience() != null ? skill.getYearsOfExperience() : 0;
+                skillList.add(new Skill(phrase, years));
+            }
+        }
+        List<Preference> fieldList = new ArrayList<>(fields.size());
+        for (UserFieldOfInterest field : fields) {
+            addPreference(fieldList, MatchText.normalize(field.getFieldName()), field.getIsHardRequirement());
+        }
+        List<Preference> locationList = new ArrayList<>(locations.size());
+        for (UserGeographicalInterest location : locations) {
+            // "San Francisco, CA, USA" is matched on "san francisco"
+            String place = location.getLocation() != null ? location.getLocation().split(",")[0] : null;
+            addPreference(locationList, MatchText.normalize(place), location.getIsHardRequirement());
+        }
+        List<Preference> jobTypeList = new ArrayList<>(jobTypes.size());
+        for (UserJobTypeInterest jobType : jobTypes) {
+            Set<String> canonical = MatchText.jobTypes(MatchText.pad(MatchText.normalize(jobType.getJobType())));
+            String value = canonical.isEmpty() ? MatchText.normalize(jobType.getJobType()) : canonical.iterator().next();
+            addPreference(jobTypeList, value, jobType.getIsHardRequirement());
+        }
+
+        BigDecimal low = user.getSalaryExpectationsMin() != null ? user.getSalaryExpectationsMin() : user.getSalaryExpectationsMax();
+        return new CandidateProfile(user.getId(), user.getName(), Boolean.TRUE.equals(user.getActivelySeeking()),
+            List.copyOf(skillList), MatchText.educationRank(MatchText.normalize(user.getEducationLevel())),
+            List.copyOf(fieldList), List.copyOf(locationList), List.copyOf(jobTypeList),
+            low != null ? low.doubleValue() : Double.NaN);
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    private static void addPreference(List<Preference> preferences, String value, Boolean hard) {
+        if (!value.isEmpty()) {
+            preferences.add(new Preference(value, Boolean.TRUE.equals(hard)));
+        }
+    }
+
+    /**
+     * A skill as a normalized phrase, with years of experience (0 if not given).
+     */
+    static final class Skill {
+        final String phrase;
+        final int years;
+
+        Skill(String phrase, int years) {
+            this.phrase = phrase;
+            this.years = years;
+        }
+    }
+
+    /**
+     * A normalized field, place or job type the user is interested in. Hard preferences
+     * exclude postings that match none of them.
+     */
+    static final class Preference {
+        final String value;
+        final boolean hard;
+
+        Preference(String value, boolean hard) {
+            this.value = value;
+            this.hard = hard;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.irusso.demoserver.match;
+
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobRequirement;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * What the match engine knows about a job posting: its field, location, salary range,
+ * the job types its text names and its requirements, normalized once.
+ *
+ * Requirements are checked against a user's skills (SKILL and EXPERIENCE, or no
+ * category; "5+ years" also checks the skill's years) or education level (EDUCATION).
+ * Requirements of other categories cannot be checked against a profile and are
+ * ignored. HARD requirements exclude users who do not meet them; SOFT and PREFERENCE
+ * requirements add to the score, PREFERENCE at half weight.
+ */
+public final class JobProfile {
+
+    static final float SOFT_WEIGHT = 1.0f;
+    static final float PREFERENCE_WEIGHT = 0.5f;
+
+    final long jobPostingId;
+    final String title;
+    final boolean active;
+    final String field;
+    // Padded, for phrase matching
+    final String location;
+    final Set<String> jobTypes;
+    // Top of the salary range: the maximum, else the minimum; NaN if neither
+    final double salaryHigh;
+    final List<Requirement> hardRequirements;
+    final List<Requirement> softRequirements;
+    // Title, field, responsibilities and description, padded
+    final String text;
+
+    private JobProfile(long jobPostingId, String title, boolean active, String field, String location,
+                       Set<String> jobTypes, double salaryHigh,
+                       List<Requirement> hardRequirements, List<Requirement> softRequirements, String text) {
+        this.jobPostingId = jobPostingId;
+        this.title = title;
+        this.active = active;
+        this.field = field;
+        this.location = location;
+        this.jobTypes = jobTypes;
+        this.salaryHigh = salaryHigh;
+        this.hardRequirements = hardRequirements;
+        this.softRequirements = softRequirements;
+        this.text = text;
+    }
+
+    /**
+     * Build a profile from a posting and its requirements.
+     */
+    public static JobProfile of(JobPosting posting, List<JobRequirement> requirements) {
+        List<Requirement> hard = new ArrayList<>();
+        List<Requirement> soft = new ArrayList<>();
+        StringBuilder requirementText = new StringBuilder();
+        for (JobRequirement requirement : requirements) {
+            String normalized = MatchText.normalize(requirement.getRequirementText());
+            requirementText.append(' ').append(normalized);
+            Requirement parsed = Requirement.of(requirement.getRequirementCategory(), normalized,
+                "PREFERENCE".equalsIgnoreCase(requirement.getRequirementType()) ? PREFERENCE_WEIGHT : SOFT_WEIGHT);
+            if (parsed == null) {
+                continue;
+            }
+            if ("HARD".equalsIgnoreCase(requirement.getRequirementType())) {
+                hard.add(parsed);
+            } else {
+                soft.add(parsed);
+            }
+        }
+
+        String text = MatchText.pad(String.join(" ", MatchText.normalize(posting.getTitle()),
+            MatchText.normalize(posting.getField()), MatchText.normalize(posting.getResponsibilities()),
+            MatchText.normalize(posting.getDescription())));
+        BigDecimal high = posting.getSalaryMax() != null ? posting.getSalaryMax() : posting.getSalaryMin();
+        return new JobProfile(posting.getId(), posting.getTitle(), "ACTIVE".equalsIgnoreCase(posting.getStatus()),
+            MatchText.normalize(posting.getField()), MatchText.pad(MatchText.normalize(posting.getLocation())),
+            Set.copyOf(MatchText.jobTypes(MatchText.pad(text + requirementText))),
+            high != null ? high.doubleValue() : Double.NaN,
+            List.copyOf(hard), List.copyOf(soft), text);
+    }
+
+    public long getJobPostingId() {
+        return jobPostingId;
+    }
+
+    /**
+     * A requirement that can be checked against a profile.
+     */
+    static final class Requirement {
+        final boolean education;
+        // Padded requirement text, for skill requirements
+        final String text;
+        final int years;
+        final int educationRank;
+        final float weight;
+
+        private Requirement(boolean education, String text, int years, int educationRank, float weight) {
+            this.education = education;
+            this.text = text;
+            this.years = years;
+            this.educationRank = educationRank;
+            this.weight = weight;
+        }
+
+        /**
+         * Parse a requirement, or return null if it cannot be checked.
+         */
+        static Requirement of(String category, String normalized, float weight) {
+            String resolvedCategory = category != null ? category.trim().toUpperCase(Locale.ROOT) : "SKILL";
+            if (resolvedCategory.equals("EDUCATION")) {
+                int rank = MatchText.educationRank(normalized);
+                return rank == 0 ? null : new Requirement(true, null, 0, rank, weight);
+            }
+            if (resolvedCategory.equals("SKILL") || resolvedCategory.equals("EXPERIENCE")
+                    || resolvedCategory.isEmpty()) {
+                return normalized.isEmpty() ? null
+                    : new Requirement(false, MatchText.pad(normalized), MatchText.requiredYears(normalized), 0, weight);
+            }
+            return null;
+        }
+    }
+}
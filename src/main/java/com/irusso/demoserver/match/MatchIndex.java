@@ -0,0 +1,340 @@
+package com.irusso.demoserver.match;
+
+import com.irusso.demoserver.api.JobMatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Precomputed top matches in both directions: the best ACTIVE postings for every user,
+ * and the best actively seeking users for every posting.
+ *
+ * {@link #build} scores every user against every posting once. Afterwards a changed
+ * user is rescored against all postings and a changed posting against all users; each
+ * new score is merged into the other side's list.
+ *
+ * Each list keeps twice as many entries as it serves ({@link #BUFFER_FACTOR}). When a
+ * pair drops out or ranks lower, the buffered entries behind it move up, and a
+ * lowered pair that now ranks below entries that were cut off is dropped rather than
+ * guessed at. Only once a list with cut-off entries has fewer than topN left is it
+ * rescored from scratch, so most drops cost no rescan.
+ *
+ * Reads are lock-free over immutable lists; changes are serialized.
+ */
+public final class MatchIndex {
+
+    private static final Comparator<JobMatch> BEST_JOB_FIRST = Comparator
+        .comparing(JobMatch::getScore, Comparator.reverseOrder())
+        .thenComparing(JobMatch::getJobPostingId);
+    private static final Comparator<JobMatch> BEST_CANDIDATE_FIRST = Comparator
+        .comparing(JobMatch::getScore, Comparator.reverseOrder())
+        .thenComparing(JobMatch::getUserId);
+
+    /**
+     * Entries kept per list, as a multiple of the entries served.
+     */
+    static final int BUFFER_FACTOR = 2;
+
+    private final int topN;
+    private final int depth;
+    // Guarded by this
+    private final Map<Long, CandidateProfile> candidates = new HashMap<>();
+    private final Map<Long, JobProfile> jobs = new HashMap<>();
+    private long rescans;
+    private final Map<Long, Ranked> matchesByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Ranked> candidatesByJob = new ConcurrentHashMap<>();
+
+    /**
+     * Create an empty index.
+     *
+     * @param topN Matches kept per user and per posting
+     */
+    public MatchIndex(int topN) {
+        if (topN < 1) {
+            throw new IllegalArgumentException("topN must be at least 1");
+        }
+        this.topN = topN;
+        this.depth = topN * BUFFER_FACTOR;
+    }
+
+    /**
+     * Build an index scoring every user against every posting.
+     *
+     * @param topN Matches kept per user and per posting
+     */
+    public static MatchIndex build(int topN, Collection<CandidateProfile> candidates, Collection<JobProfile> jobs) {
+        MatchIndex index = new MatchIndex(topN);
+        synchronized (index) {
+            Map<Long, TopN> jobTops = new HashMap<>();
+            for (JobProfile job : jobs) {
+                index.jobs.put(job.jobPostingId, job);
+                jobTops.put(job.jobPostingId, new TopN(index.depth, BEST_CANDIDATE_FIRST));
+            }
+            for (CandidateProfile candidate : candidates) {
+                index.candidates.put(candidate.userId, candidate);
+                TopN userTop = new TopN(index.depth, BEST_JOB_FIRST);
+                for (JobProfile job : jobs) {
+                    JobMatch match = index.score(candidate, job);
+                    if (match != null) {
+                        userTop.offer(match);
+                        if (candidate.activelySeeking) {
+                            jobTops.get(job.jobPostingId).offer(match);
+                        }
+                    }
+                }
+                index.matchesByUser.put(candidate.userId, userTop.toRanked());
+            }
+            jobTops.forEach((jobPostingId, top) -> index.candidatesByJob.put(jobPostingId, top.toRanked()));
+        }
+        return index;
+    }
+
+    /**
+     * Get the best postings for a user, best first.
+     *
+     * @return The matches, or empty if the user is not in the index
+     */
+    public Optional<List<JobMatch>> matchesForUser(long userId) {
+        return Optional.ofNullable(matchesByUser.get(userId)).map(this::served);
+    }
+
+    /**
+     * Get the best candidates for a posting, best first.
+     *
+     * @return The candidates, or empty if the posting is not in the index
+     */
+    public Optional<List<JobMatch>> candidatesForJob(long jobPostingId) {
+        return Optional.ofNullable(candidatesByJob.get(jobPostingId)).map(this::served);
+    }
+
+    /**
+     * Get the number of lists rescored from scratch since the index was built.
+     */
+    synchronized long getRescans() {
+        return rescans;
+    }
+
+    private List<JobMatch> served(Ranked ranked) {
+        List<JobMatch> entries = ranked.entries;
+        return entries.size() > topN ? entries.subList(0, topN) : entries;
+    }
+
+    /**
+     * Add or replace a user and rescore them.
+     */
+    public synchronized void putCandidate(CandidateProfile candidate) {
+        candidates.put(candidate.userId, candidate);
+        TopN userTop = new TopN(depth, BEST_JOB_FIRST);
+        for (JobProfile job : jobs.values()) {
+            JobMatch match = score(candidate, job);
+            if (match != null) {
+                userTop.offer(match);
+            }
+            mergeCandidate(job, candidate.userId, candidate.activelySeeking ? match : null);
+        }
+        matchesByUser.put(candidate.userId, userTop.toRanked());
+    }
+
+    /**
+     * Remove a deleted user.
+     */
+    public synchronized void removeCandidate(long userId) {
+        if (candidates.remove(userId) == null) {
+            return;
+        }
+        matchesByUser.remove(userId);
+        for (JobProfile job : jobs.values()) {
+            mergeCandidate(job, userId, null);
+        }
+    }
+
+    /**
+     * Add or replace a posting and rescore it.
+     */
+    public synchronized void putJob(JobProfile job) {
+        jobs.put(job.jobPostingId, job);
+        TopN jobTop = new TopN(depth, BEST_CANDIDATE_FIRST);
+        for (CandidateProfile candidate : candidates.values()) {
+            JobMatch match = score(candidate, job);
+            if (match != null && candidate.activelySeeking) {
+                jobTop.offer(match);
+            }
+            mergeJob(candidate, job.jobPostingId, match);
+        }
+        candidatesByJob.put(job.jobPostingId, jobTop.toRanked());
+    }
+
+    /**
+     * Remove a deleted posting.
+     */
+    public synchronized void removeJob(long jobPostingId) {
+        if (jobs.remove(jobPostingId) == null) {
+            return;
+        }
+        candidatesByJob.remove(jobPostingId);
+        for (CandidateProfile candidate : candidates.values()) {
+            mergeJob(candidate, jobPostingId, null);
+        }
+    }
+
+    private JobMatch score(CandidateProfile candidate, JobProfile job) {
+        if (!job.active) {
+            return null;
+        }
+        float score = MatchScorer.score(candidate, job);
+        return score == MatchScorer.NO_MATCH ? null
+            : new JobMatch(candidate.userId, candidate.name, job.jobPostingId, job.title, score);
+    }
+
+    /**
+     * Merge a user's new match with a posting (null if they no longer match) into the
+     * posting's candidates.
+     */
+    private void mergeCandidate(JobProfile job, long userId, JobMatch match) {
+        Ranked current = candidatesByJob.getOrDefault(job.jobPostingId, Ranked.EMPTY);
+        Ranked merged = merge(current, match, BEST_CANDIDATE_FIRST,
+            entry -> entry.getUserId() == userId);
+        if (merged == null) {
+            rescans++;
+            TopN jobTop = new TopN(depth, BEST_CANDIDATE_FIRST);
+            for (CandidateProfile candidate : candidates.values()) {
+                JobMatch rescored = candidate.activelySeeking ? score(candidate, job) : null;
+                if (rescored != null) {
+                    jobTop.offer(rescored);
+                }
+            }
+            merged = jobTop.toRanked();
+        }
+        if (merged != current) {
+            candidatesByJob.put(job.jobPostingId, merged);
+        }
+    }
+
+    /**
+     * Merge a posting's new match with a user (null if they no longer match) into the
+     * user's matches.
+     */
+    private void mergeJob(CandidateProfile candidate, long jobPostingId, JobMatch match) {
+        Ranked current = matchesByUser.getOrDefault(candidate.userId, Ranked.EMPTY);
+        Ranked merged = merge(current, match, BEST_JOB_FIRST,
+            entry -> entry.getJobPostingId() == jobPostingId);
+        if (merged == null) {
+            rescans++;
+            TopN userTop = new TopN(depth, BEST_JOB_FIRST);
+            for (JobProfile job : jobs.values()) {
+                JobMatch rescored = score(candidate, job);
+                if (rescored != null) {
+                    userTop.offer(rescored);
+                }
+            }
+            merged = userTop.toRanked();
+        }
+        if (merged != current) {
+            matchesByUser.put(candidate.userId, merged);
+        }
+    }
+
+    /**
+     * Replace, add or drop one entry of a ranked list.
+     *
+     * Every entry cut off from a list ranks no better than the list's last entry. A
+     * match ranking below that entry is therefore left out too: one of the cut-off
+     * entries may outrank it.
+     *
+     * @return The new list, the same list if nothing changed, or null if the list
+     *         must be rescored because fewer than topN entries are known to be the best
+     */
+    private Ranked merge(Ranked current, JobMatch match, Comparator<JobMatch> order,
+                         Predicate<JobMatch> sameEntry) {
+        List<JobMatch> entries = current.entries;
+        int position = -1;
+        for (int i = 0; i < entries.size(); i++) {
+            if (sameEntry.test(entries.get(i))) {
+                position = i;
+                break;
+            }
+        }
+        boolean keep = match != null && (!current.truncated
+            || order.compare(match, entries.get(entries.size() - 1)) <= 0);
+        if (position < 0 && !keep) {
+            return current;
+        }
+
+        List<JobMatch> merged = new ArrayList<>(entries);
+        if (position >= 0) {
+            merged.remove(position);
+        }
+        boolean truncated = current.truncated;
+        if (keep) {
+            merged.add(match);
+            merged.sort(order);
+            if (merged.size() > depth) {
+                merged.remove(merged.size() - 1);
+                truncated = true;
+            }
+        }
+        if (truncated && merged.size() < topN) {
+            return null;
+        }
+        return new Ranked(List.copyOf(merged), truncated);
+    }
+
+    /**
+     * The best matches of one user or posting, best first, and whether matches that
+     * rank lower were cut off.
+     */
+    private static final class Ranked {
+        private static final Ranked EMPTY = new Ranked(List.of(), false);
+
+        private final List<JobMatch> entries;
+        private final boolean truncated;
+
+        private Ranked(List<JobMatch> entries, boolean truncated) {
+            this.entries = entries;
+            this.truncated = truncated;
+        }
+    }
+
+    /**
+     * Bounded collector of the best matches.
+     */
+    private static final class TopN {
+        private final int size;
+        private final Comparator<JobMatch> order;
+        // Worst on top
+        private final PriorityQueue<JobMatch> queue;
+        private boolean truncated;
+
+        private TopN(int size, Comparator<JobMatch> order) {
+            this.size = size;
+            this.order = order;
+            this.queue = new PriorityQueue<>(order.reversed());
+        }
+
+        private void offer(JobMatch match) {
+            if (queue.size() < size) {
+                queue.add(match);
+                return;
+            }
+            truncated = true;
+            if (order.compare(match, queue.peek()) < 0) {
+                queue.poll();
+                queue.add(match);
+            }
+        }
+
+        private Ranked toRanked() {
+            List<JobMatch> list = new ArrayList<>(queue);
+            list.sort(order);
+            return new Ranked(List.copyOf(list), truncated);
+        }
+    }
+}
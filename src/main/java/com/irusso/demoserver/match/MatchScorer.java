@@ -0,0 +1,158 @@
+package com.irusso.demoserver.match;
+
+import java.util.List;
+
+/**
+ * Scores how well a user fits a job posting, from 0 to 1.
+ *
+ * Hard requirements on either side are filters: a posting's HARD requirements, and a
+ * user's hard field, location and job type interests (a posting must match at least
+ * one of each kind the user marked hard). A pair failing any of them does not match.
+ *
+ * The score is a weighted sum of features, each between 0 and 1:
+ * <ul>
+ *   <li>requirements (0.4): share of the posting's soft requirements the user meets,
+ *       weighted; without any, how many of the user's skills the posting text names</li>
+ *   <li>field (0.2) and location (0.2): whether the posting matches an interest</li>
+ *   <li>salary (0.1): 1 if the ranges overlap, otherwise how close the posting's top
+ *       comes to the user's minimum; a posting paying more than expected scores 1</li>
+ *   <li>job type (0.1): whether the posting names a job type the user wants</li>
+ * </ul>
+ * A feature the user or posting gives no information on scores a neutral 0.5.
+ */
+public final class MatchScorer {
+
+    /**
+     * Returned by {@link #score} for pairs excluded by a hard requirement.
+     */
+    public static final float NO_MATCH = -1f;
+
+    static final float REQUIREMENTS_WEIGHT = 0.4f;
+    static final float FIELD_WEIGHT = 0.2f;
+    static final float LOCATION_WEIGHT = 0.2f;
+    static final float SALARY_WEIGHT = 0.1f;
+    static final float JOB_TYPE_WEIGHT = 0.1f;
+
+    private static final float NEUTRAL = 0.5f;
+    // Skills named in the posting text for full marks when it has no soft requirements
+    private static final int SKILLS_FOR_FULL_TEXT_MATCH = 3;
+
+    private MatchScorer() {
+    }
+
+    /**
+     * Score a user against a posting.
+     *
+     * @return The score between 0 and 1, or {@link #NO_MATCH}
+     */
+    public static float score(CandidateProfile candidate, JobProfile job) {
+        for (JobProfile.Requirement requirement : job.hardRequirements) {
+            if (!meets(candidate, requirement)) {
+                return NO_MATCH;
+            }
+        }
+        float field = preference(candidate.fields, job, MatchScorer::fieldMatches);
+        float location = preference(candidate.locations, job, MatchScorer::locationMatches);
+        float jobType = job.jobTypes.isEmpty() ? NEUTRAL : preference(candidate.jobTypes, job, MatchScorer::jobTypeMatches);
+        if (field < 0 || location < 0 || jobType < 0) {
+            return NO_MATCH;
+        }
+        return REQUIREMENTS_WEIGHT * requirements(candidate, job)
+            + FIELD_WEIGHT * field
+            + LOCATION_WEIGHT * location
+            + SALARY_WEIGHT * salary(candidate, job)
+            + JOB_TYPE_WEIGHT * jobType;
+    }
+
+    private static boolean meets(CandidateProfile candidate, JobProfile.Requirement requirement) {
+        if (requirement.education) {
+            return candidate.educationRank >= requirement.educationRank;
+        }
+        for (CandidateProfile.Skill skill : candidate.skills) {
+            if (MatchText.containsPhrase(requirement.text, skill.phrase) && skill.years >= requirement.years) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float requirements(CandidateProfile candidate, JobProfile job) {
+        if (!job.softRequirements.isEmpty()) {
+            float total = 0;
+            float met = 0;
+            for (JobProfile.Requirement requirement : job.softRequirements) {
+                total += requirement.weight;
+                if (meets(candidate, requirement)) {
+                    met += requirement.weight;
+                }
+            }
+            return met / total;
+        }
+        if (candidate.skills.isEmpty()) {
+            return job.hardRequirements.isEmpty() ? NEUTRAL : 1f;
+        }
+        int named = 0;
+        for (CandidateProfile.Skill skill : candidate.skills) {
+            if (MatchText.containsPhrase(job.text, skill.phrase)) {
+                named++;
+            }
+        }
+        return Math.min(1f, (float) named / SKILLS_FOR_FULL_TEXT_MATCH);
+    }
+
+    /**
+     * Score one kind of interest: 1 if the posting matches one, 0 if not, the neutral
+     * score if the user has none, or -1 if the user has hard interests of this kind and
+     * the posting matches none of them.
+     */
+    private static float preference(List<CandidateProfile.Preference> preferences, JobProfile job,
+                                    PreferenceMatcher matcher) {
+        if (preferences.isEmpty()) {
+            return NEUTRAL;
+        }
+        boolean anyHard = false;
+        boolean hardMatched = false;
+        boolean matched = false;
+        for (CandidateProfile.Preference preference : preferences) {
+            boolean matches = matcher.matches(preference.value, job);
+            matched |= matches;
+            if (preference.hard) {
+                anyHard = true;
+                hardMatched |= matches;
+            }
+        }
+        if (anyHard && !hardMatched) {
+            return -1f;
+        }
+        return matched ? 1f : 0f;
+    }
+
+    private static boolean fieldMatches(String field, JobProfile job) {
+        return !job.field.isEmpty() && (job.field.equals(field)
+            || MatchText.containsPhrase(MatchText.pad(job.field), field)
+            || MatchText.containsPhrase(MatchText.pad(field), job.field));
+    }
+
+    private static boolean locationMatches(String place, JobProfile job) {
+        return MatchText.containsPhrase(job.location, place);
+    }
+
+    private static boolean jobTypeMatches(String jobType, JobProfile job) {
+        return job.jobTypes.contains(jobType);
+    }
+
+    private static float salary(CandidateProfile candidate, JobProfile job) {
+        if (Double.isNaN(candidate.salaryLow) || Double.isNaN(job.salaryHigh)) {
+            return NEUTRAL;
+        }
+        if (job.salaryHigh >= candidate.salaryLow) {
+            return 1f;
+        }
+        return candidate.salaryLow > 0 ? (float) (job.salaryHigh / candidate.salaryLow) : 1f;
+    }
+
+    @FunctionalInterface
+    private interface PreferenceMatcher {
+        boolean matches(String value, JobProfile job);
+    }
+}
@@ -0,0 +1,139 @@
+package com.irusso.demoserver.match;
+
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by the match profiles: accent-folded, lower-cased words
+ * separated by single spaces, so phrases can be compared by substring. '+' and '#'
+ * count as word characters so that skills such as C++ and C# survive.
+ */
+final class MatchText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern YEARS = Pattern.compile("(\\d{1,2})\\s*\\+?\\s*(?:years?|yrs?)\\b");
+
+    // Job types by the phrases that name them in normalized text
+    private static final Map<String, List<String>> JOB_TYPES = new LinkedHashMap<>();
+
+    static {
+        JOB_TYPES.put("full-time", List.of("full time", "fulltime"));
+        JOB_TYPES.put("part-time", List.of("part time", "parttime"));
+        JOB_TYPES.put("contract", List.of("contract", "contractor"));
+        JOB_TYPES.put("internship", List.of("internship", "intern"));
+        JOB_TYPES.put("temporary", List.of("temporary", "temp"));
+        JOB_TYPES.put("freelance", List.of("freelance", "freelancer"));
+    }
+
+    private MatchText() {
+    }
+
+    /**
+     * Normalize a text, or return "" for null.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = true;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return space && length > 0 ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    /**
+     * Wrap a normalized text in spaces, ready for {@link #containsPhrase}.
+     */
+    static String pad(String normalized) {
+        return " " + normalized + " ";
+    }
+
+    /**
+     * Check whether a padded text contains a normalized phrase as whole words.
+     */
+    static boolean containsPhrase(String padded, String phrase) {
+        return !phrase.isEmpty() && padded.contains(" " + phrase + " ");
+    }
+
+    /**
+     * Split a normalized text into its words.
+     */
+    static Set<String> words(String normalized) {
+        Set<String> words = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Get the number of years a normalized text asks for, e.g. 5 for "5+ years of java",
+     * or 0 if it names none.
+     */
+    static int requiredYears(String normalized) {
+        Matcher matcher = YEARS.matcher(normalized);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    /**
+     * Rank the highest degree a normalized text names: 1 high school, 2 associate,
+     * 3 bachelor, 4 master, 5 doctorate; 0 if it names none.
+     */
+    static int educationRank(String normalized) {
+        Set<String> words = words(normalized);
+        if (words.contains("phd") || words.contains("doctorate") || words.contains("doctoral")) {
+            return 5;
+        }
+        if (words.contains("master") || words.contains("masters") || words.contains("mba") || words.contains("msc")) {
+            return 4;
+        }
+        if (words.contains("bachelor") || words.contains("bachelors") || words.contains("bsc")
+                || words.contains("bs") || words.contains("ba")) {
+            return 3;
+        }
+        if (words.contains("associate") || words.contains("associates")) {
+            return 2;
+        }
+        if (containsPhrase(pad(normalized), "high school") || words.contains("ged")) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Get the job types a padded, normalized text names, e.g. "full-time" for "Full Time".
+     */
+    static Set<String> jobTypes(String padded) {
+        Set<String> jobTypes = new HashSet<>();
+        for (Map.Entry<String, List<String>> jobType : JOB_TYPES.entrySet()) {
+            for (String phrase : jobType.getValue()) {
+                if (containsPhrase(padded, phrase)) {
+                    jobTypes.add(jobType.getKey());
+                    break;
+                }
+            }
+        }
+        return jobTypes;
+    }
+}
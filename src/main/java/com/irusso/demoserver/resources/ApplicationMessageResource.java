@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.ApplicationMessage;
 import com.irusso.demoserver.service.ApplicationMessageService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class ApplicationMessageResource {
     }
 
     @GET
-    public Response getAllApplicationMessages() {
+    public Response getAllApplicationMessages(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<ApplicationMessage> page = applicationMessageService.getApplicationMessagesPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<ApplicationMessage> messages = applicationMessageService.getAllApplicationMessages();
         return Response.ok(ApiResponse.success(messages)).build();
     }
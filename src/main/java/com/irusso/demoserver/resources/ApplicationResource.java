@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.Application;
 import com.irusso.demoserver.service.ApplicationService;
 import jakarta.validation.Valid;
@@ -29,7 +30,17 @@ public class ApplicationResource {
     }
 
     @GET
-    public Response getAllApplications() {
+    public Response getAllApplications(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<Application> page = applicationService.getApplicationsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<Application> applications = applicationService.getAllApplications();
         return Response.ok(ApiResponse.success(applications)).build();
     }
@@ -1,9 +1,18 @@
 package com.irusso.demoserver.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.api.CityChangesImportRequest;
 import com.irusso.demoserver.api.CityImportRequest;
+import com.irusso.demoserver.api.CitySuggestion;
+import com.irusso.demoserver.api.StreamingApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.City;
+import com.irusso.demoserver.db.model.NearbyCity;
+import com.irusso.demoserver.search.CityAutocompleteIndex;
+import com.irusso.demoserver.search.CityLocationIndex;
+import com.irusso.demoserver.service.ImportJob;
 import com.irusso.demoserver.service.CityService;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -12,9 +21,8 @@ import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.net.URI;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,19 +37,31 @@ public class CityResource {
     private static final Logger LOGGER = LoggerFactory.getLogger(CityResource.class);
 
     private final CityService cityService;
+    private final ObjectMapper objectMapper;
 
     @Inject
-    public CityResource(CityService cityService) {
+    public CityResource(CityService cityService, ObjectMapper objectMapper) {
         this.cityService = cityService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Get all cities.
+     * Without paging parameters the full table is streamed straight from the database cursor.
      */
     @GET
-    public Response getAllCities() {
-        List<City> cities = cityService.getAllCities();
-        return Response.ok(ApiResponse.success(cities)).build();
+    public Response getAllCities(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<City> page = cityService.getCitiesPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
+        return Response.ok(StreamingApiResponse.<City>success(objectMapper, cityService::forEachCity)).build();
     }
 
     /**
@@ -103,11 +123,27 @@ public class CityResource {
     }
 
     /**
-     * Find cities by country code.
+     * Find cities by country code, most populous first.
+     * With paging parameters or an admin1 code, pages of lightweight projections are
+     * served from memory: the first page with limit=N is the country's top-N, cheap
+     * enough for drop-downs. Without them every full city row is read from the database.
      */
     @GET
     @Path("/country/{countryCode}")
-    public Response getCitiesByCountry(@PathParam("countryCode") String countryCode) {
+    public Response getCitiesByCountry(@PathParam("countryCode") String countryCode,
+                                       @QueryParam("admin1") String admin1Code,
+                                       @QueryParam("cursor") String cursor,
+                                       @QueryParam("limit") Integer limit) {
+        if (admin1Code != null || cursor != null || limit != null) {
+            try {
+                Page<CitySuggestion> page = cityService.getCitiesByRegionPage(countryCode, admin1Code, cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<City> cities = cityService.findByCountryCode(countryCode);
         return Response.ok(ApiResponse.success(cities)).build();
     }
@@ -127,12 +163,82 @@ public class CityResource {
         return Response.ok(ApiResponse.success(cities)).build();
     }
 
+    /**
+     * Find the cities nearest to a point using the spatial index on location.
+     * Optionally restricted to a radius in kilometres and a population range.
+     */
+    @GET
+    @Path("/nearby")
+    public Response getNearbyCities(@QueryParam("lat") Double latitude,
+                                    @QueryParam("lon") Double longitude,
+                                    @QueryParam("radiusKm") Double radiusKm,
+                                    @QueryParam("minPopulation") Long minPopulation,
+                                    @QueryParam("maxPopulation") Long maxPopulation,
+                                    @QueryParam("limit") Integer limit) {
+        try {
+            List<NearbyCity> cities = cityService.findNearby(
+                    latitude, longitude, radiusKm, minPopulation, maxPopulation, limit);
+            return Response.ok(ApiResponse.success(cities)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Resolve a coordinate to the nearest city.
+     * Answered from an in-memory k-d tree without touching the database.
+     */
+    @GET
+    @Path("/reverse")
+    public Response reverseGeocode(@QueryParam("lat") Double latitude,
+                                   @QueryParam("lon") Double longitude) {
+        Optional<CityLocationIndex.Match> match;
+        try {
+            match = cityService.reverseGeocode(latitude, longitude);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+        if (match.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ApiResponse.error("No cities loaded"))
+                    .build();
+        }
+        return Response.ok(ApiResponse.success(match.get())).build();
+    }
+
+    /**
+     * Suggest cities whose name starts with a prefix, most populous first.
+     * Answered from memory without touching the database.
+     */
+    @GET
+    @Path("/autocomplete")
+    public Response autocompleteCities(@QueryParam("q") String query,
+                                       @QueryParam("limit") @DefaultValue("10") int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("q parameter is required"))
+                    .build();
+        }
+        if (limit < 1 || limit > CityAutocompleteIndex.MAX_LIMIT) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("limit must be between 1 and " + CityAutocompleteIndex.MAX_LIMIT))
+                    .build();
+        }
+        List<CitySuggestion> suggestions = cityService.autocomplete(query, limit);
+        return Response.ok(ApiResponse.success(suggestions)).build();
+    }
+
     /**
      * Import cities from a tar.gz file URL.
      * This endpoint kicks off an async process to download, decompress, parse, and load cities.
+     * Poll the returned job, also linked from the Location header, for progress.
      *
      * @param request Contains the URL to the tar.gz file
-     * @return Immediate response indicating the import has started
+     * @return The started import job, or 409 if the URL is already being imported
      */
     @POST
     @Path("/import")
@@ -146,29 +252,61 @@ public class CityResource {
                     .build();
         }
 
-        // Start async import
-        cityService.importCitiesFromUrl(request.getUrl())
-                .thenAccept(result -> {
-                    if (result.isSuccess()) {
-                        LOGGER.info("City import completed: {} cities imported, {} skipped in {} ms",
-                                result.getCitiesImported(), result.getCitiesSkipped(), result.getDuration());
-                    } else {
-                        LOGGER.error("City import failed: {}", result.getErrorMessage());
-                    }
-                })
-                .exceptionally(throwable -> {
-                    LOGGER.error("City import failed with exception", throwable);
-                    return null;
-                });
-
-        // Return immediate response
-        Map<String, String> responseData = new HashMap<>();
-        responseData.put("status", "Import started");
-        responseData.put("url", request.getUrl());
-        responseData.put("message", "City import is processing in the background. Check server logs for progress.");
+        ImportJob job;
+        try {
+            job = cityService.importCitiesFromUrl(request.getUrl());
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+
+        // Progress is available from the import status endpoint
+        return Response.status(Response.Status.ACCEPTED)
+                .location(URI.create(ImportResource.statusPath(job.getId())))
+                .entity(ApiResponse.success("City import started successfully", job))
+                .build();
+    }
+
+    /**
+     * Apply GeoNames daily modifications and deletes files.
+     * Only changed cities are written, so the work is proportional to the size of the
+     * change files rather than the whole data set.
+     *
+     * @param request Contains the URLs of the change files
+     * @return The started import job, or 409 if the files are already being imported
+     */
+    @POST
+    @Path("/import/changes")
+    public Response importCityChanges(@Valid CityChangesImportRequest request) {
+        LOGGER.info("Received city changes import request for modifications {} and deletes {}",
+                request.getModificationsUrl(), request.getDeletesUrl());
+
+        if (request.getModificationsUrl() == null && request.getDeletesUrl() == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("modificationsUrl or deletesUrl is required"))
+                    .build();
+        }
+        if ((request.getModificationsUrl() != null && !isValidUrl(request.getModificationsUrl()))
+                || (request.getDeletesUrl() != null && !isValidUrl(request.getDeletesUrl()))) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("Invalid URL format"))
+                    .build();
+        }
+
+        ImportJob job;
+        try {
+            job = cityService.importCityChangesFromUrls(request.getModificationsUrl(), request.getDeletesUrl(),
+                    request.getMinPopulation());
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
 
         return Response.status(Response.Status.ACCEPTED)
-                .entity(ApiResponse.success("City import started successfully", responseData))
+                .location(URI.create(ImportResource.statusPath(job.getId())))
+                .entity(ApiResponse.success("City changes import started successfully", job))
                 .build();
     }
 
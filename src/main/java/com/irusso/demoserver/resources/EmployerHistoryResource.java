@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.EmployerHistory;
 import com.irusso.demoserver.service.EmployerHistoryService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class EmployerHistoryResource {
     }
 
     @GET
-    public Response getAllEmployerHistory() {
+    public Response getAllEmployerHistory(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<EmployerHistory> page = employerHistoryService.getEmployerHistoryPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<EmployerHistory> history = employerHistoryService.getAllEmployerHistory();
         return Response.ok(ApiResponse.success(history)).build();
     }
@@ -54,6 +65,23 @@ public class EmployerHistoryResource {
                 .build();
     }
 
+    @POST
+    @Path("/bulk")
+    public Response createEmployerHistories(@Valid List<EmployerHistory> histories) {
+        if (histories == null || histories.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("At least one employer history record is required"))
+                    .build();
+        }
+        List<Long> ids = employerHistoryService.createEmployerHistories(histories);
+        for (int i = 0; i < ids.size(); i++) {
+            histories.get(i).setId(ids.get(i));
+        }
+        return Response.status(Response.Status.CREATED)
+                .entity(ApiResponse.success("Employer history records created successfully", histories))
+                .build();
+    }
+
     @PUT
     @Path("/{id}")
     public Response updateEmployerHistory(@PathParam("id") Long id, @Valid EmployerHistory history) {
@@ -2,6 +2,8 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.api.IdList;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.Employer;
 import com.irusso.demoserver.service.EmployerService;
 import jakarta.validation.Valid;
@@ -31,9 +33,31 @@ public class EmployerResource {
     /**
      * Get all employers.
      * GET /api/employers
+     * GET /api/employers?ids=1,2,3 returns only the listed employers, in that order
      */
     @GET
-    public Response getAllEmployers() {
+    public Response getAllEmployers(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                                    @QueryParam("ids") String ids) {
+        if (ids != null) {
+            try {
+                List<Employer> employers = employerService.getEmployersByIds(IdList.parse(ids));
+                return Response.ok(ApiResponse.success(employers)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
+        if (cursor != null || limit != null) {
+            try {
+                Page<Employer> page = employerService.getEmployersPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<Employer> employers = employerService.getAllEmployers();
         return Response.ok(ApiResponse.success(employers)).build();
     }
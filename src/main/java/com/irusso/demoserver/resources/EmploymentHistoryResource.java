@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.EmploymentHistory;
 import com.irusso.demoserver.service.EmploymentHistoryService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class EmploymentHistoryResource {
     }
 
     @GET
-    public Response getAllEmploymentHistory() {
+    public Response getAllEmploymentHistory(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<EmploymentHistory> page = employmentHistoryService.getEmploymentHistoryPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<EmploymentHistory> history = employmentHistoryService.getAllEmploymentHistory();
         return Response.ok(ApiResponse.success(history)).build();
     }
@@ -0,0 +1,80 @@
+package com.irusso.demoserver.resources;
+
+import com.google.inject.Inject;
+import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.service.ImportJob;
+import com.irusso.demoserver.service.ImportJobManager;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Optional;
+
+/**
+ * REST resource for background import jobs started by the city, industry and
+ * profession import endpoints: live progress and cancellation.
+ */
+@Path("/api/imports")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ImportResource {
+
+    private final ImportJobManager importJobManager;
+
+    @Inject
+    public ImportResource(ImportJobManager importJobManager) {
+        this.importJobManager = importJobManager;
+    }
+
+    /**
+     * Path of the status endpoint of a job.
+     */
+    public static String statusPath(String id) {
+        return "/api/imports/" + id;
+    }
+
+    /**
+     * Get running and recently finished imports, newest first.
+     */
+    @GET
+    public Response getAllImports() {
+        return Response.ok(ApiResponse.success(importJobManager.list())).build();
+    }
+
+    /**
+     * Get the status and counters of an import.
+     */
+    @GET
+    @Path("/{id}")
+    public Response getImportById(@PathParam("id") String id) {
+        Optional<ImportJob> job = importJobManager.get(id);
+        if (job.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ApiResponse.error("Import not found"))
+                    .build();
+        }
+        return Response.ok(ApiResponse.success(job.get())).build();
+    }
+
+    /**
+     * Ask a running import to stop. Batches already committed are kept.
+     */
+    @POST
+    @Path("/{id}/cancel")
+    public Response cancelImport(@PathParam("id") String id) {
+        Optional<ImportJob> job = importJobManager.cancel(id);
+        if (job.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ApiResponse.error("Import not found"))
+                    .build();
+        }
+        if (!job.get().isCancelRequested()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(ApiResponse.error("Import has already finished"))
+                    .build();
+        }
+        return Response.status(Response.Status.ACCEPTED)
+                .entity(ApiResponse.success("Import cancellation requested", job.get()))
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
 import com.irusso.demoserver.api.IndustryImportRequest;
 import com.irusso.demoserver.db.model.Industry;
+import com.irusso.demoserver.service.ImportJob;
 import com.irusso.demoserver.service.IndustryService;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -12,9 +13,8 @@ import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.net.URI;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -104,9 +104,10 @@ public class IndustryResource {
     /**
      * Import industries from a CSV file URL.
      * This endpoint kicks off an async process to download, parse, and load industries.
+     * Poll the returned job, also linked from the Location header, for progress.
      *
      * @param request Contains the URL to the CSV file
-     * @return Immediate response indicating the import has started
+     * @return The started import job, or 409 if the URL is already being imported
      */
     @POST
     @Path("/import")
@@ -120,29 +121,19 @@ public class IndustryResource {
                     .build();
         }
 
-        // Start async import
-        industryService.importIndustriesFromUrl(request.getUrl())
-                .thenAccept(result -> {
-                    if (result.isSuccess()) {
-                        LOGGER.info("Industry import completed: {} industries imported, {} skipped in {} ms",
-                                result.getIndustriesImported(), result.getIndustriesSkipped(), result.getDuration());
-                    } else {
-                        LOGGER.error("Industry import failed: {}", result.getErrorMessage());
-                    }
-                })
-                .exceptionally(throwable -> {
-                    LOGGER.error("Industry import failed with exception", throwable);
-                    return null;
-                });
-
-        // Return immediate response
-        Map<String, String> responseData = new HashMap<>();
-        responseData.put("status", "Import started");
-        responseData.put("url", request.getUrl());
-        responseData.put("message", "Industry import is processing in the background. Check server logs for progress.");
+        ImportJob job;
+        try {
+            job = industryService.importIndustriesFromUrl(request.getUrl());
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
 
+        // Progress is available from the import status endpoint
         return Response.status(Response.Status.ACCEPTED)
-                .entity(ApiResponse.success("Industry import started successfully", responseData))
+                .location(URI.create(ImportResource.statusPath(job.getId())))
+                .entity(ApiResponse.success("Industry import started successfully", job))
                 .build();
     }
 
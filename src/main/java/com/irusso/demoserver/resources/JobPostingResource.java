@@ -2,13 +2,18 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.api.JobMatch;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobPostingSearchResult;
 import com.irusso.demoserver.service.JobPostingService;
+import com.irusso.demoserver.service.MatchService;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,18 +27,77 @@ import java.util.Optional;
 public class JobPostingResource {
 
     private final JobPostingService jobPostingService;
+    private final MatchService matchService;
 
     @Inject
-    public JobPostingResource(JobPostingService jobPostingService) {
+    public JobPostingResource(JobPostingService jobPostingService, MatchService matchService) {
         this.jobPostingService = jobPostingService;
+        this.matchService = matchService;
     }
 
+    /**
+     * Get job postings.
+     * GET /api/job-postings?minSalary=80000&maxSalary=100000 returns a page of the ACTIVE
+     * postings (or those with the given status) whose salary range overlaps the given one
+     */
     @GET
-    public Response getAllJobPostings() {
+    public Response getAllJobPostings(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                                      @QueryParam("status") String status,
+                                      @QueryParam("minSalary") BigDecimal minSalary,
+                                      @QueryParam("maxSalary") BigDecimal maxSalary) {
+        if (minSalary != null || maxSalary != null) {
+            try {
+                Page<JobPosting> page = jobPostingService.getJobPostingsBySalary(minSalary, maxSalary, status,
+                        cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
+        if (cursor != null || limit != null) {
+            try {
+                Page<JobPosting> page = jobPostingService.getJobPostingsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<JobPosting> jobPostings = jobPostingService.getAllJobPostings();
         return Response.ok(ApiResponse.success(jobPostings)).build();
     }
 
+    /**
+     * Full-text search over job postings, most relevant first, with highlighted
+     * description snippets. Only ACTIVE postings unless another status is given.
+     * The response also counts all matching postings by field, experience level,
+     * location and salary band under "facets".
+     */
+    @GET
+    @Path("/search")
+    public Response searchJobPostings(@QueryParam("q") String query,
+                                      @QueryParam("status") String status,
+                                      @QueryParam("experienceLevel") String experienceLevel,
+                                      @QueryParam("minSalary") BigDecimal minSalary,
+                                      @QueryParam("maxSalary") BigDecimal maxSalary,
+                                      @QueryParam("cursor") String cursor,
+                                      @QueryParam("limit") Integer limit) {
+        try {
+            Page<JobPostingSearchResult> page = jobPostingService.searchJobPostings(
+                    query, status, experienceLevel, minSalary, maxSalary, cursor, limit);
+            ApiResponse<List<JobPostingSearchResult>> response = ApiResponse.page(page);
+            response.setFacets(jobPostingService.getSearchFacets(query, status, experienceLevel, minSalary, maxSalary));
+            return Response.ok(response).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+    }
+
     @GET
     @Path("/{id}")
     public Response getJobPosting(@PathParam("id") Long id) {
@@ -68,6 +132,27 @@ public class JobPostingResource {
         return Response.ok(ApiResponse.success("Job posting updated successfully", jobPosting)).build();
     }
 
+    /**
+     * Change a posting's status, e.g. PUT /api/job-postings/42/status?status=CLOSED.
+     */
+    @PUT
+    @Path("/{id}/status")
+    public Response updateJobPostingStatus(@PathParam("id") Long id, @QueryParam("status") String status) {
+        try {
+            if (!jobPostingService.updateJobPostingStatus(id, status)) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(ApiResponse.error("Job posting not found"))
+                        .build();
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+        return Response.ok(ApiResponse.success("Job posting status updated successfully",
+                jobPostingService.getJobPostingById(id).orElse(null))).build();
+    }
+
     @DELETE
     @Path("/{id}")
     public Response deleteJobPosting(@PathParam("id") Long id) {
@@ -86,5 +171,31 @@ public class JobPostingResource {
         List<JobPosting> jobPostings = jobPostingService.findByEmployerId(employerId);
         return Response.ok(ApiResponse.success(jobPostings)).build();
     }
-}
 
+    /**
+     * Get the actively seeking users who best fit a job posting, best first.
+     * GET /api/job-postings/{id}/candidates?limit=10
+     */
+    @GET
+    @Path("/{id}/candidates")
+    public Response getJobPostingCandidates(@PathParam("id") Long id, @QueryParam("limit") Integer limit) {
+        Optional<List<JobMatch>> matches;
+        try {
+            matches = matchService.getCandidates(id, limit);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+        if (matches.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ApiResponse.error("Job posting not found"))
+                    .build();
+        }
+        return Response.ok(ApiResponse.success(matches.get())).build();
+    }
+}
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.JobRequirement;
 import com.irusso.demoserver.service.JobRequirementService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class JobRequirementResource {
     }
 
     @GET
-    public Response getAllJobRequirements() {
+    public Response getAllJobRequirements(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<JobRequirement> page = jobRequirementService.getJobRequirementsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<JobRequirement> requirements = jobRequirementService.getAllJobRequirements();
         return Response.ok(ApiResponse.success(requirements)).build();
     }
@@ -54,6 +65,23 @@ public class JobRequirementResource {
                 .build();
     }
 
+    @POST
+    @Path("/bulk")
+    public Response createJobRequirements(@Valid List<JobRequirement> requirements) {
+        if (requirements == null || requirements.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("At least one job requirement is required"))
+                    .build();
+        }
+        List<Long> ids = jobRequirementService.createJobRequirements(requirements);
+        for (int i = 0; i < ids.size(); i++) {
+            requirements.get(i).setId(ids.get(i));
+        }
+        return Response.status(Response.Status.CREATED)
+                .entity(ApiResponse.success("Job requirements created successfully", requirements))
+                .build();
+    }
+
     @PUT
     @Path("/{id}")
     public Response updateJobRequirement(@PathParam("id") Long id, @Valid JobRequirement requirement) {
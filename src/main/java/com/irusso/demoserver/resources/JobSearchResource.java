@@ -0,0 +1,58 @@
+package com.irusso.demoserver.resources;
+
+import com.google.inject.Inject;
+import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.api.JobSearchHit;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.service.JobSearchService;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+
+/**
+ * REST resource for searching job postings from the in-process search index.
+ * Unlike /api/job-postings/search this tolerates typos, also matches requirement text
+ * and never touches the database, but results carry no snippets or salary filters.
+ * Facet counts are taken from the same index, so they cover exactly the postings the
+ * search matches.
+ */
+@Path("/api/job-search")
+@Produces(MediaType.APPLICATION_JSON)
+public class JobSearchResource {
+
+    private final JobSearchService jobSearchService;
+
+    @Inject
+    public JobSearchResource(JobSearchService jobSearchService) {
+        this.jobSearchService = jobSearchService;
+    }
+
+    /**
+     * Search job postings, most relevant first. Only ACTIVE postings unless another status is given.
+     * The response also counts all matching postings by field, experience level,
+     * location and salary band under "facets".
+     */
+    @GET
+    public Response search(@QueryParam("q") String query,
+                           @QueryParam("status") String status,
+                           @QueryParam("field") String field,
+                           @QueryParam("experienceLevel") String experienceLevel,
+                           @QueryParam("cursor") String cursor,
+                           @QueryParam("limit") Integer limit) {
+        try {
+            Page<JobSearchHit> page = jobSearchService.search(query, status, field, experienceLevel, cursor, limit);
+            ApiResponse<List<JobSearchHit>> response = ApiResponse.page(page);
+            response.setFacets(jobSearchService.facets(query, status, field, experienceLevel));
+            return Response.ok(response).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+    }
+}
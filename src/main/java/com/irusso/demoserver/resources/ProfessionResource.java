@@ -5,6 +5,7 @@ import com.irusso.demoserver.api.ApiResponse;
 import com.irusso.demoserver.api.ProfessionImportRequest;
 import com.irusso.demoserver.db.model.PreparationLevel;
 import com.irusso.demoserver.db.model.Profession;
+import com.irusso.demoserver.service.ImportJob;
 import com.irusso.demoserver.service.ProfessionService;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -13,9 +14,8 @@ import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.net.URI;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -119,9 +119,10 @@ public class ProfessionResource {
     /**
      * Import professions from a CSV file URL.
      * This endpoint kicks off an async process to download, parse, and load professions.
+     * Poll the returned job, also linked from the Location header, for progress.
      *
      * @param request Contains the URL to the CSV file
-     * @return Immediate response indicating the import has started
+     * @return The started import job, or 409 if the URL is already being imported
      */
     @POST
     @Path("/import")
@@ -135,29 +136,19 @@ public class ProfessionResource {
                     .build();
         }
 
-        // Start async import
-        professionService.importProfessionsFromUrl(request.getUrl())
-                .thenAccept(result -> {
-                    if (result.isSuccess()) {
-                        LOGGER.info("Profession import completed: {} professions imported, {} skipped in {} ms",
-                                result.getProfessionsImported(), result.getProfessionsSkipped(), result.getDuration());
-                    } else {
-                        LOGGER.error("Profession import failed: {}", result.getErrorMessage());
-                    }
-                })
-                .exceptionally(throwable -> {
-                    LOGGER.error("Profession import failed with exception", throwable);
-                    return null;
-                });
-
-        // Return immediate response
-        Map<String, String> responseData = new HashMap<>();
-        responseData.put("status", "Import started");
-        responseData.put("url", request.getUrl());
-        responseData.put("message", "Profession import is processing in the background. Check server logs for progress.");
+        ImportJob job;
+        try {
+            job = professionService.importProfessionsFromUrl(request.getUrl());
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
 
+        // Progress is available from the import status endpoint
         return Response.status(Response.Status.ACCEPTED)
-                .entity(ApiResponse.success("Profession import started successfully", responseData))
+                .location(URI.create(ImportResource.statusPath(job.getId())))
+                .entity(ApiResponse.success("Profession import started successfully", job))
                 .build();
     }
 
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.SavedJob;
 import com.irusso.demoserver.service.SavedJobService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class SavedJobResource {
     }
 
     @GET
-    public Response getAllSavedJobs() {
+    public Response getAllSavedJobs(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<SavedJob> page = savedJobService.getSavedJobsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<SavedJob> savedJobs = savedJobService.getAllSavedJobs();
         return Response.ok(ApiResponse.success(savedJobs)).build();
     }
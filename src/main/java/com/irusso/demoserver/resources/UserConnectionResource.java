@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserConnection;
 import com.irusso.demoserver.service.UserConnectionService;
 
@@ -30,7 +31,17 @@ public class UserConnectionResource {
      * Get all user connections.
      */
     @GET
-    public Response getAllUserConnections() {
+    public Response getAllUserConnections(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserConnection> page = userConnectionService.getUserConnectionsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserConnection> connections = userConnectionService.getAllUserConnections();
         return Response.ok(ApiResponse.success(connections)).build();
     }
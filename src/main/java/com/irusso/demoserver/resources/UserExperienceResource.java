@@ -2,6 +2,8 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.api.IdList;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserExperience;
 import com.irusso.demoserver.service.UserExperienceService;
 import jakarta.validation.Valid;
@@ -29,7 +31,28 @@ public class UserExperienceResource {
     }
 
     @GET
-    public Response getAllUserExperiences() {
+    public Response getAllUserExperiences(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                                          @QueryParam("userIds") String userIds) {
+        if (userIds != null) {
+            try {
+                List<UserExperience> experiences = userExperienceService.getUserExperiencesByUserIds(IdList.parse(userIds));
+                return Response.ok(ApiResponse.success(experiences)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserExperience> page = userExperienceService.getUserExperiencesPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserExperience> experiences = userExperienceService.getAllUserExperiences();
         return Response.ok(ApiResponse.success(experiences)).build();
     }
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserFieldOfInterest;
 import com.irusso.demoserver.service.UserFieldOfInterestService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class UserFieldOfInterestResource {
     }
 
     @GET
-    public Response getAllUserFieldsOfInterest() {
+    public Response getAllUserFieldsOfInterest(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserFieldOfInterest> page = userFieldOfInterestService.getUserFieldsOfInterestPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserFieldOfInterest> interests = userFieldOfInterestService.getAllUserFieldsOfInterest();
         return Response.ok(ApiResponse.success(interests)).build();
     }
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserGeographicalInterest;
 import com.irusso.demoserver.service.UserGeographicalInterestService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class UserGeographicalInterestResource {
     }
 
     @GET
-    public Response getAllUserGeographicalInterests() {
+    public Response getAllUserGeographicalInterests(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserGeographicalInterest> page = userGeographicalInterestService.getUserGeographicalInterestsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserGeographicalInterest> interests = userGeographicalInterestService.getAllUserGeographicalInterests();
         return Response.ok(ApiResponse.success(interests)).build();
     }
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserIndustry;
 import com.irusso.demoserver.service.UserIndustryService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class UserIndustryResource {
     }
 
     @GET
-    public Response getAllUserIndustries() {
+    public Response getAllUserIndustries(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserIndustry> page = userIndustryService.getUserIndustriesPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserIndustry> userIndustries = userIndustryService.getAllUserIndustries();
         return Response.ok(ApiResponse.success(userIndustries)).build();
     }
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserJobTypeInterest;
 import com.irusso.demoserver.service.UserJobTypeInterestService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class UserJobTypeInterestResource {
     }
 
     @GET
-    public Response getAllUserJobTypeInterests() {
+    public Response getAllUserJobTypeInterests(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserJobTypeInterest> page = userJobTypeInterestService.getUserJobTypeInterestsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserJobTypeInterest> interests = userJobTypeInterestService.getAllUserJobTypeInterests();
         return Response.ok(ApiResponse.success(interests)).build();
     }
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserProfession;
 import com.irusso.demoserver.service.UserProfessionService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class UserProfessionResource {
     }
 
     @GET
-    public Response getAllUserProfessions() {
+    public Response getAllUserProfessions(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserProfession> page = userProfessionService.getUserProfessionsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserProfession> userProfessions = userProfessionService.getAllUserProfessions();
         return Response.ok(ApiResponse.success(userProfessions)).build();
     }
@@ -2,13 +2,18 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.api.IdList;
+import com.irusso.demoserver.api.JobMatch;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.User;
+import com.irusso.demoserver.service.MatchService;
 import com.irusso.demoserver.service.UserService;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,22 +27,68 @@ import java.util.Optional;
 public class UserResource {
 
     private final UserService userService;
+    private final MatchService matchService;
 
     @Inject
-    public UserResource(UserService userService) {
+    public UserResource(UserService userService, MatchService matchService) {
         this.userService = userService;
+        this.matchService = matchService;
     }
 
     /**
      * Get all users.
      * GET /api/users
+     * GET /api/users?ids=1,2,3 returns only the listed users, in that order
      */
     @GET
-    public Response getAllUsers() {
+    public Response getAllUsers(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                                @QueryParam("ids") String ids) {
+        if (ids != null) {
+            try {
+                List<User> users = userService.getUsersByIds(IdList.parse(ids));
+                return Response.ok(ApiResponse.success(users)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
+        if (cursor != null || limit != null) {
+            try {
+                Page<User> page = userService.getUsersPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<User> users = userService.getAllUsers();
         return Response.ok(ApiResponse.success(users)).build();
     }
 
+    /**
+     * Get candidates whose salary expectations overlap a salary range.
+     * GET /api/users/candidates?minSalary=80000&maxSalary=100000 returns actively seeking
+     * users unless activelySeeking=false is given
+     */
+    @GET
+    @Path("/candidates")
+    public Response getCandidatesBySalary(@QueryParam("minSalary") BigDecimal minSalary,
+                                          @QueryParam("maxSalary") BigDecimal maxSalary,
+                                          @QueryParam("activelySeeking") Boolean activelySeeking,
+                                          @QueryParam("cursor") String cursor,
+                                          @QueryParam("limit") Integer limit) {
+        try {
+            Page<User> page = userService.getCandidatesBySalary(minSalary, maxSalary, activelySeeking, cursor, limit);
+            return Response.ok(ApiResponse.page(page)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+    }
+
     /**
      * Get a specific user by ID.
      * GET /api/users/{id}
@@ -99,5 +150,31 @@ public class UserResource {
         }
         return Response.ok(ApiResponse.success("User deleted successfully", null)).build();
     }
-}
 
+    /**
+     * Get the ACTIVE job postings that best fit a user, best first.
+     * GET /api/users/{id}/matches?limit=10
+     */
+    @GET
+    @Path("/{id}/matches")
+    public Response getUserMatches(@PathParam("id") Long id, @QueryParam("limit") Integer limit) {
+        Optional<List<JobMatch>> matches;
+        try {
+            matches = matchService.getMatches(id, limit);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(ApiResponse.error(e.getMessage()))
+                    .build();
+        }
+        if (matches.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ApiResponse.error("User not found"))
+                    .build();
+        }
+        return Response.ok(ApiResponse.success(matches.get())).build();
+    }
+}
@@ -2,6 +2,7 @@ package com.irusso.demoserver.resources;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.UserSkill;
 import com.irusso.demoserver.service.UserSkillService;
 import jakarta.validation.Valid;
@@ -28,7 +29,17 @@ public class UserSkillResource {
     }
 
     @GET
-    public Response getAllUserSkills() {
+    public Response getAllUserSkills(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if (cursor != null || limit != null) {
+            try {
+                Page<UserSkill> page = userSkillService.getUserSkillsPage(cursor, limit);
+                return Response.ok(ApiResponse.page(page)).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ApiResponse.error(e.getMessage()))
+                        .build();
+            }
+        }
         List<UserSkill> userSkills = userSkillService.getAllUserSkills();
         return Response.ok(ApiResponse.success(userSkills)).build();
     }
@@ -54,6 +65,23 @@ public class UserSkillResource {
                 .build();
     }
 
+    @POST
+    @Path("/bulk")
+    public Response createUserSkills(@Valid List<UserSkill> userSkills) {
+        if (userSkills == null || userSkills.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ApiResponse.error("At least one user skill is required"))
+                    .build();
+        }
+        List<Long> ids = userSkillService.createUserSkills(userSkills);
+        for (int i = 0; i < ids.size(); i++) {
+            userSkills.get(i).setId(ids.get(i));
+        }
+        return Response.status(Response.Status.CREATED)
+                .entity(ApiResponse.success("User skills created successfully", userSkills))
+                .build();
+    }
+
     @PUT
     @Path("/{id}")
     public Response updateUserSkill(@PathParam("id") Long id, @Valid UserSkill userSkill) {
@@ -0,0 +1,307 @@
+package com.irusso.demoserver.search;
+
+import com.irusso.demoserver.api.CitySuggestion;
+import com.irusso.demoserver.db.model.City;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory prefix index over city names, ranked by population.
+ *
+ * Cities are stored in column arrays in descending population order, so a city's array
+ * position is its rank. Every normalized (accent-folded, lower-cased) name and ASCII name
+ * is kept in one sorted array, which makes the names matching a prefix a contiguous
+ * range. The best cities of a range are its smallest ranks.
+ *
+ * Short prefixes match huge ranges ("s" matches a large share of all cities), so the
+ * top {@value #MAX_LIMIT} cities of every prefix matching more than
+ * {@value #HEAVY_PREFIX_THRESHOLD} names are precomputed at build time. Any other
+ * prefix matches at most that many names, so each search costs one binary search plus
+ * a bounded scan.
+ */
+public final class CityAutocompleteIndex {
+
+    /**
+     * Maximum number of suggestions returned by one search.
+     */
+    public static final int MAX_LIMIT = 50;
+
+    // Prefixes matching more names than this get their results precomputed
+    static final int HEAVY_PREFIX_THRESHOLD = 256;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final CityAutocompleteIndex EMPTY = new Builder().build();
+
+    // City columns, indexed by population rank
+    private final long[] ids;
+    private final String[] names;
+    private final String[] asciiNames;
+    private final String[] countryCodes;
+    private final String[] admin1Codes;
+    private final long[] populations;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    // Sorted normalized names and the rank of the city each belongs to
+    private final String[] keys;
+    private final int[] keyRanks;
+    private final Map<String, int[]> heavyPrefixes;
+
+    private CityAutocompleteIndex(List<Row> rows) {
+        int cityCount = rows.size();
+        ids = new long[cityCount];
+        names = new String[cityCount];
+        asciiNames = new String[cityCount];
+        countryCodes = new String[cityCount];
+        admin1Codes = new String[cityCount];
+        populations = new long[cityCount];
+        latitudes = new double[cityCount];
+        longitudes = new double[cityCount];
+
+        List<Key> entries = new ArrayList<>(cityCount * 2);
+        for (int rank = 0; rank < cityCount; rank++) {
+            Row row = rows.get(rank);
+            ids[rank] = row.id;
+            names[rank] = row.name;
+            asciiNames[rank] = row.asciiName;
+            countryCodes[rank] = row.countryCode;
+            admin1Codes[rank] = row.admin1Code;
+            populations[rank] = row.population;
+            latitudes[rank] = row.latitude;
+            longitudes[rank] = row.longitude;
+
+            String name = normalize(row.name);
+            String asciiName = normalize(row.asciiName);
+            if (!name.isEmpty()) {
+                entries.add(new Key(name, rank));
+            }
+            if (!asciiName.isEmpty() && !asciiName.equals(name)) {
+                entries.add(new Key(asciiName, rank));
+            }
+        }
+        entries.sort(Comparator.comparing((Key key) -> key.text).thenComparingInt(key -> key.rank));
+
+        keys = new String[entries.size()];
+        keyRanks = new int[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).text;
+            keyRanks[i] = entries.get(i).rank;
+        }
+        heavyPrefixes = precomputeHeavyPrefixes();
+    }
+
+    /**
+     * Get an index with no cities.
+     */
+    public static CityAutocompleteIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create a builder for a new index.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the number of cities in the index.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Find the most populous cities whose name or ASCII name starts with a prefix.
+     * Matching ignores case and accents.
+     *
+     * @param query The prefix typed by the user
+     * @param limit Maximum number of results, capped at {@value #MAX_LIMIT}
+     * @return Matching cities, most populous first
+     */
+    public List<CitySuggestion> search(String query, int limit) {
+        String prefix = normalize(query);
+        int count = Math.min(limit, MAX_LIMIT);
+        if (prefix.isEmpty() || count <= 0) {
+            return Collections.emptyList();
+        }
+
+        int[] ranks = heavyPrefixes.get(prefix);
+        if (ranks == null) {
+            int from = Arrays.binarySearch(keys, prefix);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            int to = from;
+            while (to < keys.length && keys[to].startsWith(prefix)) {
+                to++;
+            }
+            ranks = topRanks(from, to, count);
+        }
+
+        List<CitySuggestion> suggestions = new ArrayList<>(Math.min(count, ranks.length));
+        for (int i = 0; i < ranks.length && i < count; i++) {
+            suggestions.add(suggestion(ranks[i]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Normalize a name for matching: trimmed, accents removed and lower-cased.
+     *
+     * @param value The name, may be null
+     * @return The normalized name, empty for null
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            if (trimmed.charAt(i) >= 0x80) {
+                String folded = Normalizer.normalize(trimmed, Normalizer.Form.NFD);
+                return COMBINING_MARKS.matcher(folded).replaceAll("").toLowerCase(Locale.ROOT);
+            }
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Walk the prefix tree level by level, keeping the ranges that are still heavy.
+     * A prefix can only be heavy if its parent prefix is, so each level scans at most
+     * every key once.
+     */
+    private Map<String, int[]> precomputeHeavyPrefixes() {
+        Map<String, int[]> heavy = new HashMap<>();
+        List<int[]> ranges = new ArrayList<>();
+        if (keys.length > HEAVY_PREFIX_THRESHOLD) {
+            ranges.add(new int[] {0, keys.length});
+        }
+
+        for (int length = 1; !ranges.isEmpty(); length++) {
+            List<int[]> next = new ArrayList<>();
+            for (int[] range : ranges) {
+                int i = range[0];
+                while (i < range[1]) {
+                    if (keys[i].length() < length) {
+                        // The parent prefix itself; it sorts before its extensions
+                        i++;
+                        continue;
+                    }
+                    String prefix = keys[i].substring(0, length);
+                    int j = i + 1;
+                    while (j < range[1] && keys[j].startsWith(prefix)) {
+                        j++;
+                    }
+                    if (j - i > HEAVY_PREFIX_THRESHOLD) {
+                        heavy.put(prefix, topRanks(i, j, MAX_LIMIT));
+                        next.add(new int[] {i, j});
+                    }
+                    i = j;
+                }
+            }
+            ranges = next;
+        }
+        return heavy;
+    }
+
+    /**
+     * Get the smallest distinct city ranks among a range of keys.
+     */
+    private int[] topRanks(int from, int to, int count) {
+        int[] ranks = Arrays.copyOfRange(keyRanks, from, to);
+        Arrays.sort(ranks);
+        int distinct = 0;
+        for (int i = 0; i < ranks.length && distinct < count; i++) {
+            if (distinct == 0 || ranks[distinct - 1] != ranks[i]) {
+                ranks[distinct++] = ranks[i];
+            }
+        }
+        return Arrays.copyOf(ranks, distinct);
+    }
+
+    private CitySuggestion suggestion(int rank) {
+        return new CitySuggestion(
+            ids[rank],
+            names[rank],
+            asciiNames[rank],
+            countryCodes[rank],
+            admin1Codes[rank],
+            populations[rank] >= 0 ? populations[rank] : null,
+            Double.isNaN(latitudes[rank]) ? null : latitudes[rank],
+            Double.isNaN(longitudes[rank]) ? null : longitudes[rank]);
+    }
+
+    /**
+     * Collects cities for a new index.
+     */
+    public static final class Builder {
+        private final List<Row> rows = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a city. Only the fields shown in suggestions are kept.
+         *
+         * @param city The city
+         * @return This builder
+         */
+        public Builder add(City city) {
+            rows.add(new Row(city));
+            return this;
+        }
+
+        /**
+         * Build the index.
+         */
+        public CityAutocompleteIndex build() {
+            List<Row> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparingLong((Row row) -> row.population).reversed()
+                .thenComparing(row -> row.name, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingLong(row -> row.id));
+            return new CityAutocompleteIndex(sorted);
+        }
+    }
+
+    private static final class Row {
+        private final long id;
+        private final String name;
+        private final String asciiName;
+        private final String countryCode;
+        private final String admin1Code;
+        private final long population;
+        private final double latitude;
+        private final double longitude;
+
+        private Row(City city) {
+            this.id = city.getId() != null ? city.getId() : -1;
+            this.name = city.getName();
+            this.asciiName = city.getAsciiName();
+            this.countryCode = city.getCountryCode();
+            this.admin1Code = city.getAdmin1Code();
+            this.population = city.getPopulation() != null ? city.getPopulation() : -1;
+            this.latitude = city.getLatitude() != null ? city.getLatitude().doubleValue() : Double.NaN;
+            this.longitude = city.getLongitude() != null ? city.getLongitude().doubleValue() : Double.NaN;
+        }
+    }
+
+    private static final class Key {
+        private final String text;
+        private final int rank;
+
+        private Key(String text, int rank) {
+            this.text = text;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.irusso.demoserver.search;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.irusso.demoserver.api.CitySuggestion;
+import com.irusso.demoserver.db.model.City;
+
+import java.util.Arrays;
+
+/**
+ * Immutable in-memory k-d tree over city coordinates, for reverse geocoding without a
+ * database round trip.
+ *
+ * Each city is stored as a point on the unit sphere (x, y, z). Straight-line (chord)
+ * distance between such points grows with great-circle distance, so the nearest point
+ * in three dimensions is the nearest city on the globe, with no special cases at the
+ * antimeridian or the poles.
+ *
+ * The tree is implicit: cities are reordered so that the median of every range is its
+ * node, split on the axis with the largest spread in that range, and all columns are
+ * primitive or String arrays in that order. A lookup visits about log2(n) nodes plus
+ * the few extra branches that could still hold a closer city.
+ */
+public final class CityLocationIndex {
+
+    /**
+     * Mean Earth radius in kilometres.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final CityLocationIndex EMPTY = new Builder().build();
+
+    // Unit-sphere coordinates, in tree order
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    // Split axis of the node at each position: 0 = x, 1 = y, 2 = z
+    private final byte[] axes;
+
+    // City columns, in tree order
+    private final long[] ids;
+    private final String[] names;
+    private final String[] asciiNames;
+    private final String[] countryCodes;
+    private final String[] admin1Codes;
+    private final long[] populations;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private CityLocationIndex(Builder builder) {
+        int count = builder.size;
+        double[][] coordinates = new double[3][count];
+        for (int i = 0; i < count; i++) {
+            double lat = Math.toRadians(builder.latitudes[i]);
+            double lon = Math.toRadians(builder.longitudes[i]);
+            coordinates[0][i] = Math.cos(lat) * Math.cos(lon);
+            coordinates[1][i] = Math.cos(lat) * Math.sin(lon);
+            coordinates[2][i] = Math.sin(lat);
+        }
+
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        axes = new byte[count];
+        buildTree(coordinates, order, 0, count);
+
+        xs = permute(coordinates[0], order);
+        ys = permute(coordinates[1], order);
+        zs = permute(coordinates[2], order);
+        ids = permute(builder.ids, order);
+        names = permute(builder.names, order);
+        asciiNames = permute(builder.asciiNames, order);
+        countryCodes = permute(builder.countryCodes, order);
+        admin1Codes = permute(builder.admin1Codes, order);
+        populations = permute(builder.populations, order);
+        latitudes = permute(builder.latitudes, order);
+        longitudes = permute(builder.longitudes, order);
+    }
+
+    /**
+     * Get an index with no cities.
+     */
+    public static CityLocationIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create a builder for a new index.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the number of cities in the index.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Find the city closest to a point.
+     *
+     * @param latitude Latitude in degrees
+     * @param longitude Longitude in degrees
+     * @return The nearest city, or null if the index is empty
+     */
+    public Match nearest(double latitude, double longitude) {
+        if (ids.length == 0) {
+            return null;
+        }
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        Search search = new Search(Math.cos(lat) * Math.cos(lon), Math.cos(lat) * Math.sin(lon), Math.sin(lat));
+        search.visit(0, ids.length);
+
+        // Chord length to central angle
+        double chord = Math.sqrt(search.bestDistance);
+        double distanceKm = 2 * Math.asin(Math.min(1, chord / 2)) * EARTH_RADIUS_KM;
+        return new Match(suggestion(search.best), distanceKm);
+    }
+
+    /**
+     * Arrange order[from, to) so the median on the widest axis sits in the middle, with
+     * smaller values before it and larger after, then recurse into both halves.
+     */
+    private void buildTree(double[][] coordinates, int[] order, int from, int to) {
+        while (to - from > 1) {
+            int axis = widestAxis(coordinates, order, from, to);
+            int mid = (from + to) >>> 1;
+            select(coordinates[axis], order, from, to - 1, mid);
+            axes[mid] = (byte) axis;
+            // Recurse into the smaller half, loop on the larger one
+            if (mid - from < to - mid - 1) {
+                buildTree(coordinates, order, from, mid);
+                from = mid + 1;
+            } else {
+                buildTree(coordinates, order, mid + 1, to);
+                to = mid;
+            }
+        }
+    }
+
+    private static int widestAxis(double[][] coordinates, int[] order, int from, int to) {
+        int widest = 0;
+        double widestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double[] values = coordinates[axis];
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double value = values[order[i]];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widest = axis;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Quickselect: put the k-th smallest value of order[left..right] at position k.
+     */
+    private static void select(double[] values, int[] order, int left, int right, int k) {
+        while (right > left) {
+            int pivotIndex = (left + right) >>> 1;
+            double pivot = values[order[pivotIndex]];
+            swap(order, pivotIndex, right);
+            int store = left;
+            for (int i = left; i < right; i++) {
+                if (values[order[i]] < pivot) {
+                    swap(order, i, store++);
+                }
+            }
+            swap(order, store, right);
+            if (store == k) {
+                return;
+            } else if (store < k) {
+                left = store + 1;
+            } else {
+                right = store - 1;
+            }
+        }
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int tmp = order[i];
+        order[i] = order[j];
+        order[j] = tmp;
+    }
+
+    private static double[] permute(double[] values, int[] order) {
+        double[] result = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    private static long[] permute(long[] values, int[] order) {
+        long[] result = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    private static String[] permute(String[] values, int[] order) {
+        String[] result = new String[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    private CitySuggestion suggestion(int index) {
+        return new CitySuggestion(
+            ids[index],
+            names[index],
+            asciiNames[index],
+            countryCodes[index],
+            admin1Codes[index],
+            populations[index] >= 0 ? populations[index] : null,
+            latitudes[index],
+            longitudes[index]);
+    }
+
+    /**
+     * State of one nearest-neighbour lookup.
+     */
+    private final class Search {
+        private final double qx;
+        private final double qy;
+        private final double qz;
+        private int best = -1;
+        private double bestDistance = Double.POSITIVE_INFINITY;
+
+        private Search(double qx, double qy, double qz) {
+            this.qx = qx;
+            this.qy = qy;
+            this.qz = qz;
+        }
+
+        private void visit(int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            double dx = xs[mid] - qx;
+            double dy = ys[mid] - qy;
+            double dz = zs[mid] - qz;
+            double distance = dx * dx + dy * dy + dz * dz;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = mid;
+            }
+
+            double offset = switch (axes[mid]) {
+                case 0 -> qx - xs[mid];
+                case 1 -> qy - ys[mid];
+                default -> qz - zs[mid];
+            };
+            // Search the side of the split holding the query first; the other side
+            // only if the split plane is closer than the best city so far
+            if (offset < 0) {
+                visit(from, mid);
+                if (offset * offset < bestDistance) {
+                    visit(mid + 1, to);
+                }
+            } else {
+                visit(mid + 1, to);
+                if (offset * offset < bestDistance) {
+                    visit(from, mid);
+                }
+            }
+        }
+    }
+
+    /**
+     * A city found by {@link #nearest} and its great-circle distance from the query point.
+     */
+    public static final class Match {
+        private final CitySuggestion city;
+        private final double distanceKm;
+
+        public Match(CitySuggestion city, double distanceKm) {
+            this.city = city;
+            this.distanceKm = distanceKm;
+        }
+
+        @JsonProperty
+        public CitySuggestion getCity() {
+            return city;
+        }
+
+        @JsonProperty
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    /**
+     * Collects cities for a new index into growable primitive arrays.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private int size;
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private String[] names = new String[INITIAL_CAPACITY];
+        private String[] asciiNames = new String[INITIAL_CAPACITY];
+        private String[] countryCodes = new String[INITIAL_CAPACITY];
+        private String[] admin1Codes = new String[INITIAL_CAPACITY];
+        private long[] populations = new long[INITIAL_CAPACITY];
+        private double[] latitudes = new double[INITIAL_CAPACITY];
+        private double[] longitudes = new double[INITIAL_CAPACITY];
+
+        private Builder() {
+        }
+
+        /**
+         * Add a city. Cities without coordinates are ignored.
+         *
+         * @param city The city
+         * @return This builder
+         */
+        public Builder add(City city) {
+            if (city.getLatitude() == null || city.getLongitude() == null) {
+                return this;
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                asciiNames = Arrays.copyOf(asciiNames, capacity);
+                countryCodes = Arrays.copyOf(countryCodes, capacity);
+                admin1Codes = Arrays.copyOf(admin1Codes, capacity);
+                populations = Arrays.copyOf(populations, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+            }
+            ids[size] = city.getId() != null ? city.getId() : -1;
+            names[size] = city.getName();
+            asciiNames[size] = city.getAsciiName();
+            countryCodes[size] = city.getCountryCode();
+            admin1Codes[size] = city.getAdmin1Code();
+            populations[size] = city.getPopulation() != null ? city.getPopulation() : -1;
+            latitudes[size] = city.getLatitude().doubleValue();
+            longitudes[size] = city.getLongitude().doubleValue();
+            size++;
+            return this;
+        }
+
+        /**
+         * Build the index.
+         */
+        public CityLocationIndex build() {
+            return new CityLocationIndex(this);
+        }
+    }
+}
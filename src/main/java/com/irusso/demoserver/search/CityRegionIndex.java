@@ -0,0 +1,286 @@
+package com.irusso.demoserver.search;
+
+import com.irusso.demoserver.api.CitySuggestion;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.model.City;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable in-memory index of the cities in each country and first-level
+ * administrative division (admin1), ranked by population.
+ *
+ * Cities are stored in column arrays in descending population order (ties broken by
+ * ID), so a city's array position is its rank. Each country and each country/admin1
+ * pair maps to the ascending ranks of its cities, which makes any page of a region a
+ * slice of one int array: top-N is the first N entries, and a keyset cursor (the
+ * population and ID of the last city returned) is found again by binary search, so
+ * pages stay consistent when the index is rebuilt between requests.
+ */
+public final class CityRegionIndex {
+
+    private static final String SEPARATOR = "|";
+    private static final int[] NO_RANKS = new int[0];
+    private static final CityRegionIndex EMPTY = new Builder().build();
+
+    // City columns, indexed by population rank
+    private final long[] ids;
+    private final String[] names;
+    private final String[] asciiNames;
+    private final String[] countryCodes;
+    private final String[] admin1Codes;
+    private final long[] populations;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    // Ranks of the cities in each country, and in each "country.admin1"
+    private final Map<String, int[]> countries;
+    private final Map<String, int[]> admin1s;
+
+    private CityRegionIndex(List<Row> rows) {
+        int cityCount = rows.size();
+        ids = new long[cityCount];
+        names = new String[cityCount];
+        asciiNames = new String[cityCount];
+        countryCodes = new String[cityCount];
+        admin1Codes = new String[cityCount];
+        populations = new long[cityCount];
+        latitudes = new double[cityCount];
+        longitudes = new double[cityCount];
+
+        Map<String, RankList> countryRanks = new HashMap<>();
+        Map<String, RankList> admin1Ranks = new HashMap<>();
+        for (int rank = 0; rank < cityCount; rank++) {
+            Row row = rows.get(rank);
+            ids[rank] = row.id;
+            names[rank] = row.name;
+            asciiNames[rank] = row.asciiName;
+            countryCodes[rank] = row.countryCode;
+            admin1Codes[rank] = row.admin1Code;
+            populations[rank] = row.population;
+            latitudes[rank] = row.latitude;
+            longitudes[rank] = row.longitude;
+
+            if (row.countryCode == null) {
+                continue;
+            }
+            String country = row.countryCode.toUpperCase(Locale.ROOT);
+            countryRanks.computeIfAbsent(country, key -> new RankList()).add(rank);
+            if (row.admin1Code != null && !row.admin1Code.isEmpty()) {
+                admin1Ranks.computeIfAbsent(admin1Key(country, row.admin1Code), key -> new RankList()).add(rank);
+            }
+        }
+        countries = toArrays(countryRanks);
+        admin1s = toArrays(admin1Ranks);
+    }
+
+    /**
+     * Get an index with no cities.
+     */
+    public static CityRegionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create a builder for a new index.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the number of cities in the index.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Count the cities of a country, or of one of its admin1 divisions.
+     *
+     * @param countryCode ISO country code, matched ignoring case
+     * @param admin1Code GeoNames admin1 code within the country, or null for the whole country
+     */
+    public int count(String countryCode, String admin1Code) {
+        return ranks(countryCode, admin1Code).length;
+    }
+
+    /**
+     * Get a page of the cities of a country, or of one of its admin1 divisions, most
+     * populous first.
+     *
+     * @param countryCode ISO country code, matched ignoring case
+     * @param admin1Code GeoNames admin1 code within the country, or null for the whole country
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of cities on the page
+     * @return The page; empty for an unknown country or division
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<CitySuggestion> page(String countryCode, String admin1Code, String cursor, int limit) {
+        int[] ranks = ranks(countryCode, admin1Code);
+        int from = cursor != null && !cursor.isEmpty() ? after(ranks, cursor) : 0;
+        int to = (int) Math.min((long) from + Math.max(limit, 0), ranks.length);
+
+        List<CitySuggestion> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            items.add(suggestion(ranks[i]));
+        }
+        String nextCursor = to < ranks.length && to > from ? encodeCursor(ranks[to - 1]) : null;
+        return new Page<>(items, nextCursor);
+    }
+
+    private int[] ranks(String countryCode, String admin1Code) {
+        if (countryCode == null) {
+            return NO_RANKS;
+        }
+        String country = countryCode.trim().toUpperCase(Locale.ROOT);
+        int[] ranks = admin1Code == null || admin1Code.isEmpty()
+            ? countries.get(country)
+            : admin1s.get(admin1Key(country, admin1Code.trim()));
+        return ranks != null ? ranks : NO_RANKS;
+    }
+
+    /**
+     * Position in ranks of the first city after the one a cursor points at.
+     */
+    private int after(int[] ranks, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = raw.indexOf(SEPARATOR);
+        long population;
+        long id;
+        try {
+            population = Long.parseLong(raw.substring(0, Math.max(separator, 0)));
+            id = Long.parseLong(raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        // First rank ordered after (population, id): population descending, then ID ascending
+        int low = 0;
+        int high = ranks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int rank = ranks[mid];
+            boolean before = populations[rank] > population
+                || (populations[rank] == population && ids[rank] <= id);
+            if (before) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private String encodeCursor(int rank) {
+        String raw = populations[rank] + SEPARATOR + ids[rank];
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String admin1Key(String country, String admin1Code) {
+        return country + "." + admin1Code;
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, RankList> lists) {
+        Map<String, int[]> arrays = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, list) -> arrays.put(key, list.toArray()));
+        return arrays;
+    }
+
+    private CitySuggestion suggestion(int rank) {
+        return new CitySuggestion(
+            ids[rank],
+            names[rank],
+            asciiNames[rank],
+            countryCodes[rank],
+            admin1Codes[rank],
+            populations[rank] >= 0 ? populations[rank] : null,
+            Double.isNaN(latitudes[rank]) ? null : latitudes[rank],
+            Double.isNaN(longitudes[rank]) ? null : longitudes[rank]);
+    }
+
+    /**
+     * Growable list of ranks, appended in ascending order.
+     */
+    private static final class RankList {
+        private int[] ranks = new int[8];
+        private int size;
+
+        private void add(int rank) {
+            if (size == ranks.length) {
+                ranks = Arrays.copyOf(ranks, size * 2);
+            }
+            ranks[size++] = rank;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(ranks, size);
+        }
+    }
+
+    /**
+     * Collects cities for a new index.
+     */
+    public static final class Builder {
+        private final List<Row> rows = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a city. Only the fields shown in listings are kept.
+         *
+         * @param city The city
+         * @return This builder
+         */
+        public Builder add(City city) {
+            rows.add(new Row(city));
+            return this;
+        }
+
+        /**
+         * Build the index.
+         */
+        public CityRegionIndex build() {
+            List<Row> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparingLong((Row row) -> row.population).reversed()
+                .thenComparingLong(row -> row.id));
+            return new CityRegionIndex(sorted);
+        }
+    }
+
+    private static final class Row {
+        private final long id;
+        private final String name;
+        private final String asciiName;
+        private final String countryCode;
+        private final String admin1Code;
+        private final long population;
+        private final double latitude;
+        private final double longitude;
+
+        private Row(City city) {
+            this.id = city.getId() != null ? city.getId() : -1;
+            this.name = city.getName();
+            this.asciiName = city.getAsciiName();
+            this.countryCode = city.getCountryCode();
+            this.admin1Code = city.getAdmin1Code();
+            this.population = city.getPopulation() != null ? city.getPopulation() : -1;
+            this.latitude = city.getLatitude() != null ? city.getLatitude().doubleValue() : Double.NaN;
+            this.longitude = city.getLongitude() != null ? city.getLongitude().doubleValue() : Double.NaN;
+        }
+    }
+}
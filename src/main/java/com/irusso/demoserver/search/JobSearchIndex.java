@@ -0,0 +1,1021 @@
+package com.irusso.demoserver.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.irusso.demoserver.api.FacetCount;
+import com.irusso.demoserver.api.JobSearchHit;
+import com.irusso.demoserver.db.dao.JobPostingDao;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.SalaryBand;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over job postings and their requirements, ranked with
+ * BM25 and updated one posting at a time.
+ *
+ * Each posting gets a document ordinal when it is added. Term postings are kept in
+ * variable-byte compressed lists in ordinal order, so adding a posting only appends.
+ * Replacing or removing a posting marks its old ordinal deleted; once deleted
+ * ordinals make up a quarter of the index, the live documents are re-added under new
+ * ordinals. Title words count three times and field words twice, so a match there
+ * outranks one in the body text.
+ *
+ * Every query word must match, either exactly or, when the word is not in the index,
+ * through the closest indexed words within one edit (two for words of eight letters
+ * or more), which score less than an exact match. Status, field and experience level
+ * filters are bitsets over ordinals.
+ *
+ * {@link #facets} counts the postings matching a query by field, experience level,
+ * location and salary band, by intersecting the match set with the filter bitsets.
+ * Counts are cached per normalized query and filters; any change to the index makes
+ * the cached counts stale.
+ *
+ * Searches run concurrently under a read lock; updates take the write lock.
+ */
+public final class JobSearchIndex {
+
+    /**
+     * Maximum number of hits returned by one search.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    static final int MAX_QUERY_TERMS = 16;
+    static final int MAX_FUZZY_TERMS = 5;
+    // Deleted ordinals tolerated before compaction, at least
+    static final int MIN_DELETED_BEFORE_COMPACTION = 1024;
+    // Most frequent values listed per facet
+    static final int MAX_FACET_VALUES = 20;
+    static final int FACET_CACHE_SIZE = 1000;
+
+    /**
+     * Facet names, in the order {@link #facets} returns them.
+     */
+    public static final String FIELD_FACET = JobPostingDao.FIELD_FACET;
+    public static final String EXPERIENCE_LEVEL_FACET = JobPostingDao.EXPERIENCE_LEVEL_FACET;
+    public static final String LOCATION_FACET = JobPostingDao.LOCATION_FACET;
+    public static final String SALARY_BAND_FACET = JobPostingDao.SALARY_BAND_FACET;
+
+    private static final Comparator<FacetCount> MOST_FREQUENT_FIRST =
+        Comparator.comparingInt(FacetCount::getCount).reversed().thenComparing(FacetCount::getValue);
+    private static final Comparator<FacetCount> SALARY_ORDER =
+        Comparator.comparingInt(count -> SalaryBand.fromLabel(count.getValue()).ordinal());
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int FIELD_WEIGHT = 2;
+    private static final int TEXT_WEIGHT = 1;
+    private static final float[] FUZZY_WEIGHTS = {1.0f, 0.8f, 0.6f};
+
+    private static final int SNAPSHOT_MAGIC = 0x4A534958;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final String SEPARATOR = "|";
+    // Marks "no filter", as opposed to null for a value no posting has
+    private static final BitSet ALL = new BitSet();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Vocabulary: term IDs, their postings and how many live documents contain them
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private int[] liveDocumentCounts = new int[64];
+
+    // Documents by ordinal
+    private int ordinals;
+    private long[] ids = new long[64];
+    private String[] titles = new String[64];
+    private String[] fields = new String[64];
+    private String[] locations = new String[64];
+    private String[] experienceLevels = new String[64];
+    private String[] statuses = new String[64];
+    // Salary range with a missing bound taken from the other one, NaN if there is no salary
+    private double[] salaryLows = new double[64];
+    private double[] salaryHighs = new double[64];
+    private int[] lengths = new int[64];
+    private int[][] documentTerms = new int[64][];
+    private int[][] documentFrequencies = new int[64][];
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private long liveLength;
+
+    // Filter bitsets by value
+    private final Facet statusFacet = new Facet();
+    private final Facet fieldFacet = new Facet();
+    private final Facet experienceLevelFacet = new Facet();
+    private final Facet locationFacet = new Facet();
+    private final Facet salaryBandFacet = new Facet();
+
+    private long watermark;
+    // Incremented by every change, so facet counts computed before it are not served
+    private long generation;
+    private final Cache<String, CachedFacets> facetCache = Caffeine.newBuilder()
+        .maximumSize(FACET_CACHE_SIZE)
+        .executor(Runnable::run)
+        .build();
+
+    /**
+     * Add a posting, or replace it if it is already indexed.
+     *
+     * @param posting The posting; its ID is required
+     * @param requirements Texts of the posting's requirements
+     */
+    public void upsert(JobPosting posting, List<String> requirements) {
+        Document document = Document.of(posting, requirements);
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalsById.remove(document.id);
+            if (existing != null) {
+                delete(existing);
+            }
+            append(document);
+            generation++;
+            if (posting.getUpdatedAt() != null) {
+                watermark = Math.max(watermark, posting.getUpdatedAt().getTime());
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a posting.
+     *
+     * @return false if the posting was not indexed
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.remove(id);
+            if (ordinal == null) {
+                return false;
+            }
+            delete(ordinal);
+            generation++;
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed postings.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of all indexed postings.
+     */
+    public Set<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(ordinalsById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Latest updated_at of any posting indexed, in epoch milliseconds, or 0.
+     */
+    public long getWatermark() {
+        lock.readLock().lock();
+        try {
+            return watermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the postings matching every word of a query, most relevant first.
+     *
+     * @param query The words to look for
+     * @param filters Restrictions on the postings returned
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of hits, capped at {@value #MAX_LIMIT}
+     * @return The page of hits and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<JobSearchHit> search(String query, Filters filters, String cursor, int limit) {
+        int count = Math.min(limit, MAX_LIMIT);
+        Cursor after = cursor != null && !cursor.isEmpty() ? Cursor.decode(cursor) : null;
+        List<String> queryTerms = queryTerms(query);
+        if (queryTerms.isEmpty() || count <= 0) {
+            return new Page<>(List.of(), null);
+        }
+
+        lock.readLock().lock();
+        try {
+            Matches matches = match(queryTerms, filters);
+            if (matches == null) {
+                return new Page<>(List.of(), null);
+            }
+            float[] scores = matches.scores;
+
+            // Keep the best count + 1, worst on top; the extra one tells whether there is a next page
+            Comparator<Integer> best = (a, b) -> scores[a] != scores[b]
+                ? Float.compare(scores[b], scores[a])
+                : Long.compare(ids[a], ids[b]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(count + 2, best.reversed());
+            for (int i = 0; i < matches.count; i++) {
+                int document = matches.documents[i];
+                if (after != null && (scores[document] > after.score
+                        || (scores[document] == after.score && ids[document] <= after.id))) {
+                    continue;
+                }
+                top.add(document);
+                if (top.size() > count + 1) {
+                    top.poll();
+                }
+            }
+
+            List<Integer> ranked = new ArrayList<>(top);
+            ranked.sort(best);
+            String nextCursor = null;
+            if (ranked.size() > count) {
+                ranked = ranked.subList(0, count);
+                int last = ranked.get(count - 1);
+                nextCursor = new Cursor(scores[last], ids[last]).encode();
+            }
+            List<JobSearchHit> hits = new ArrayList<>(ranked.size());
+            for (int document : ranked) {
+                hits.add(new JobSearchHit(ids[document], titles[document], fields[document],
+                    locations[document], experienceLevels[document], statuses[document], scores[document]));
+            }
+            return new Page<>(hits, nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the postings matching a query by field, experience level, location and
+     * salary band. Values are listed most frequent first, at most {@value #MAX_FACET_VALUES}
+     * per facet, except salary bands, which are listed in salary order. Values no
+     * matching posting has are left out.
+     *
+     * @param query The words to look for, matched as by {@link #search}
+     * @param filters Restrictions on the postings counted
+     * @return Counts by facet name, in the order of the facet name constants
+     */
+    public Map<String, List<FacetCount>> facets(String query, Filters filters) {
+        List<String> queryTerms = queryTerms(query);
+        List<String> sortedTerms = new ArrayList<>(queryTerms);
+        sortedTerms.sort(null);
+        String key = String.join(" ", sortedTerms) + SEPARATOR + filters.key();
+
+        lock.readLock().lock();
+        try {
+            CachedFacets cached = facetCache.getIfPresent(key);
+            if (cached != null && cached.generation == generation) {
+                return cached.counts;
+            }
+            Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+            Matches matches = queryTerms.isEmpty() ? null : match(queryTerms, filters);
+            BitSet matched = new BitSet(ordinals);
+            if (matches != null) {
+                for (int i = 0; i < matches.count; i++) {
+                    matched.set(matches.documents[i]);
+                }
+            }
+            counts.put(FIELD_FACET, fieldFacet.count(matched, MOST_FREQUENT_FIRST));
+            counts.put(EXPERIENCE_LEVEL_FACET, experienceLevelFacet.count(matched, MOST_FREQUENT_FIRST));
+            counts.put(LOCATION_FACET, locationFacet.count(matched, MOST_FREQUENT_FIRST));
+            counts.put(SALARY_BAND_FACET, salaryBandFacet.count(matched, SALARY_ORDER));
+            Map<String, List<FacetCount>> result = Collections.unmodifiableMap(counts);
+            facetCache.put(key, new CachedFacets(generation, result));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * List counts computed elsewhere, e.g. by the database, the way {@link #facets} lists
+     * them: most frequent first and at most {@value #MAX_FACET_VALUES} values, or in salary
+     * order for {@link #SALARY_BAND_FACET}.
+     *
+     * @param facet The facet name
+     * @param countsByValue Number of postings by facet value; values with no posting may be absent
+     * @return The values with a non-zero count, in display order
+     */
+    public static List<FacetCount> facetCounts(String facet, Map<String, Integer> countsByValue) {
+        List<FacetCount> counts = new ArrayList<>(countsByValue.size());
+        for (Map.Entry<String, Integer> entry : countsByValue.entrySet()) {
+            if (entry.getValue() > 0) {
+                counts.add(new FacetCount(entry.getKey(), entry.getValue()));
+            }
+        }
+        return top(counts, SALARY_BAND_FACET.equals(facet) ? SALARY_ORDER : MOST_FREQUENT_FIRST);
+    }
+
+    private static List<FacetCount> top(List<FacetCount> counts, Comparator<FacetCount> order) {
+        counts.sort(order);
+        return List.copyOf(counts.subList(0, Math.min(counts.size(), MAX_FACET_VALUES)));
+    }
+
+    /**
+     * Score the live postings containing every query word and passing the filters.
+     * Called under the read lock.
+     *
+     * @return The matches, or null if there are none
+     */
+    private Matches match(List<String> queryTerms, Filters filters) {
+        BitSet statusBits = statusFacet.filter(filters.status);
+        BitSet fieldBits = fieldFacet.filter(filters.field);
+        BitSet levelBits = experienceLevelFacet.filter(filters.experienceLevel);
+        BitSet locationBits = locationFacet.filter(filters.location);
+        if (ordinalsById.isEmpty() || statusBits == null || fieldBits == null || levelBits == null
+                || locationBits == null) {
+            return null;
+        }
+
+        // Each query word becomes one or more index terms; a word matching nothing matches no posting
+        int wordCount = queryTerms.size();
+        int[][] wordTerms = new int[wordCount][];
+        float[][] wordWeights = new float[wordCount][];
+        long[] wordFrequencies = new long[wordCount];
+        for (int w = 0; w < wordCount; w++) {
+            if (!resolve(queryTerms.get(w), w, wordTerms, wordWeights)) {
+                return null;
+            }
+            for (int termId : wordTerms[w]) {
+                wordFrequencies[w] += liveDocumentCounts[termId];
+            }
+        }
+
+        // Rarest word first: only postings containing it can match, which bounds the work
+        Integer[] order = new Integer[wordCount];
+        for (int w = 0; w < wordCount; w++) {
+            order[w] = w;
+        }
+        Arrays.sort(order, Comparator.comparingLong(w -> wordFrequencies[w]));
+
+        int documentCount = ordinalsById.size();
+        float averageLength = Math.max(1f, (float) liveLength / documentCount);
+        float[] scores = new float[ordinals];
+        int[] matchedWords = new int[ordinals];
+        int[][] candidates = {new int[16]};
+        int[] candidateCount = {0};
+        for (int k = 0; k < wordCount; k++) {
+            int step = k;
+            int word = order[k];
+            for (int t = 0; t < wordTerms[word].length; t++) {
+                int termId = wordTerms[word][t];
+                float weight = wordWeights[word][t] * idf(liveDocumentCounts[termId], documentCount);
+                postings.get(termId).forEach((document, frequency) -> {
+                    if (matchedWords[document] < step || deleted.get(document)) {
+                        return;
+                    }
+                    if (matchedWords[document] == step) {
+                        matchedWords[document] = step + 1;
+                        if (step == 0) {
+                            if (candidateCount[0] == candidates[0].length) {
+                                candidates[0] = Arrays.copyOf(candidates[0], candidateCount[0] * 2);
+                            }
+                            candidates[0][candidateCount[0]++] = document;
+                        }
+                    }
+                    float norm = K1 * (1 - B + B * lengths[document] / averageLength);
+                    scores[document] += weight * frequency * (K1 + 1) / (frequency + norm);
+                });
+            }
+        }
+
+        // Keep the candidates that matched every word and pass the filters, in place
+        int[] documents = candidates[0];
+        int count = 0;
+        for (int i = 0; i < candidateCount[0]; i++) {
+            int document = documents[i];
+            if (matchedWords[document] == wordCount
+                    && (statusBits == ALL || statusBits.get(document))
+                    && (fieldBits == ALL || fieldBits.get(document))
+                    && (levelBits == ALL || levelBits.get(document))
+                    && (locationBits == ALL || locationBits.get(document))
+                    && filters.acceptsSalary(salaryLows[document], salaryHighs[document])) {
+                documents[count++] = document;
+            }
+        }
+        return count == 0 ? null : new Matches(scores, documents, count);
+    }
+
+    /**
+     * Write the live documents to a snapshot that {@link #readSnapshot} restores without
+     * tokenizing any text.
+     */
+    public void writeSnapshot(OutputStream stream) throws IOException {
+        lock.readLock().lock();
+        try {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(watermark);
+            out.writeInt(terms.size());
+            for (String term : terms) {
+                out.writeUTF(term);
+            }
+            out.writeInt(ordinalsById.size());
+            for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                if (deleted.get(ordinal)) {
+                    continue;
+                }
+                out.writeLong(ids[ordinal]);
+                writeString(out, titles[ordinal]);
+                writeString(out, fields[ordinal]);
+                writeString(out, locations[ordinal]);
+                writeString(out, experienceLevels[ordinal]);
+                writeString(out, statuses[ordinal]);
+                out.writeDouble(salaryLows[ordinal]);
+                out.writeDouble(salaryHighs[ordinal]);
+                out.writeInt(lengths[ordinal]);
+                out.writeInt(documentTerms[ordinal].length);
+                for (int i = 0; i < documentTerms[ordinal].length; i++) {
+                    out.writeInt(documentTerms[ordinal][i]);
+                    out.writeInt(documentFrequencies[ordinal][i]);
+                }
+            }
+            out.flush();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restore an index written by {@link #writeSnapshot}.
+     *
+     * @throws IOException if the stream is not a snapshot of this version, or is truncated
+     */
+    public static JobSearchIndex readSnapshot(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Not a job search snapshot of version " + SNAPSHOT_VERSION);
+        }
+        JobSearchIndex index = new JobSearchIndex();
+        index.watermark = in.readLong();
+        String[] vocabulary = new String[in.readInt()];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = in.readUTF();
+        }
+        int documentCount = in.readInt();
+        for (int d = 0; d < documentCount; d++) {
+            long id = in.readLong();
+            String title = readString(in);
+            String field = readString(in);
+            String location = readString(in);
+            String experienceLevel = readString(in);
+            String status = readString(in);
+            double salaryLow = in.readDouble();
+            double salaryHigh = in.readDouble();
+            int length = in.readInt();
+            String[] documentTerms = new String[in.readInt()];
+            int[] frequencies = new int[documentTerms.length];
+            for (int i = 0; i < documentTerms.length; i++) {
+                int termIndex = in.readInt();
+                if (termIndex < 0 || termIndex >= vocabulary.length) {
+                    throw new IOException("Corrupt job search snapshot");
+                }
+                documentTerms[i] = vocabulary[termIndex];
+                frequencies[i] = in.readInt();
+            }
+            index.append(new Document(id, title, field, location, experienceLevel, status,
+                salaryLow, salaryHigh, documentTerms, frequencies, length));
+        }
+        return index;
+    }
+
+    private void append(Document document) {
+        int ordinal = ordinals;
+        ensureCapacity(ordinal + 1);
+        int[] documentTermIds = new int[document.terms.length];
+        for (int i = 0; i < document.terms.length; i++) {
+            int termId = termId(document.terms[i]);
+            postings.get(termId).add(ordinal, document.frequencies[i]);
+            liveDocumentCounts[termId]++;
+            documentTermIds[i] = termId;
+        }
+        ids[ordinal] = document.id;
+        titles[ordinal] = document.title;
+        fields[ordinal] = document.field;
+        locations[ordinal] = document.location;
+        experienceLevels[ordinal] = document.experienceLevel;
+        statuses[ordinal] = document.status;
+        salaryLows[ordinal] = document.salaryLow;
+        salaryHighs[ordinal] = document.salaryHigh;
+        lengths[ordinal] = document.length;
+        documentTerms[ordinal] = documentTermIds;
+        documentFrequencies[ordinal] = document.frequencies;
+        statusFacet.set(document.status, ordinal);
+        fieldFacet.set(document.field, ordinal);
+        experienceLevelFacet.set(document.experienceLevel, ordinal);
+        locationFacet.set(document.location, ordinal);
+        for (SalaryBand band : SalaryBand.values()) {
+            if (band.overlaps(document.salaryLow, document.salaryHigh)) {
+                salaryBandFacet.set(band.getLabel(), ordinal);
+            }
+        }
+        ordinalsById.put(document.id, ordinal);
+        liveLength += document.length;
+        ordinals++;
+    }
+
+    private void delete(int ordinal) {
+        deleted.set(ordinal);
+        deletedCount++;
+        for (int termId : documentTerms[ordinal]) {
+            liveDocumentCounts[termId]--;
+        }
+        liveLength -= lengths[ordinal];
+    }
+
+    /**
+     * Re-add the live documents under new ordinals, dropping the postings of deleted ones.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount < Math.max(MIN_DELETED_BEFORE_COMPACTION, ordinals / 4)) {
+            return;
+        }
+        List<Document> live = new ArrayList<>(ordinalsById.size());
+        for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+            if (!deleted.get(ordinal)) {
+                String[] documentTermStrings = new String[documentTerms[ordinal].length];
+                for (int i = 0; i < documentTermStrings.length; i++) {
+                    documentTermStrings[i] = terms.get(documentTerms[ordinal][i]);
+                }
+                live.add(new Document(ids[ordinal], titles[ordinal], fields[ordinal], locations[ordinal],
+                    experienceLevels[ordinal], statuses[ordinal], salaryLows[ordinal], salaryHighs[ordinal],
+                    documentTermStrings, documentFrequencies[ordinal], lengths[ordinal]));
+            }
+        }
+
+        termIds.clear();
+        terms.clear();
+        postings.clear();
+        liveDocumentCounts = new int[64];
+        ordinals = 0;
+        ordinalsById.clear();
+        deleted.clear();
+        deletedCount = 0;
+        liveLength = 0;
+        statusFacet.clear();
+        fieldFacet.clear();
+        experienceLevelFacet.clear();
+        locationFacet.clear();
+        salaryBandFacet.clear();
+        for (Document document : live) {
+            append(document);
+        }
+    }
+
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        int termId = terms.size();
+        terms.add(term);
+        postings.add(new PostingList());
+        termIds.put(term, termId);
+        if (termId == liveDocumentCounts.length) {
+            liveDocumentCounts = Arrays.copyOf(liveDocumentCounts, termId * 2);
+        }
+        return termId;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        titles = Arrays.copyOf(titles, newCapacity);
+        fields = Arrays.copyOf(fields, newCapacity);
+        locations = Arrays.copyOf(locations, newCapacity);
+        experienceLevels = Arrays.copyOf(experienceLevels, newCapacity);
+        statuses = Arrays.copyOf(statuses, newCapacity);
+        salaryLows = Arrays.copyOf(salaryLows, newCapacity);
+        salaryHighs = Arrays.copyOf(salaryHighs, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+        documentTerms = Arrays.copyOf(documentTerms, newCapacity);
+        documentFrequencies = Arrays.copyOf(documentFrequencies, newCapacity);
+    }
+
+    /**
+     * Map a query word to index terms and score weights: the word itself if indexed,
+     * otherwise its closest indexed neighbours.
+     *
+     * @return false if nothing in the index is close enough
+     */
+    private boolean resolve(String word, int position, int[][] wordTerms, float[][] wordWeights) {
+        Integer exact = termIds.get(word);
+        if (exact != null && liveDocumentCounts[exact] > 0) {
+            wordTerms[position] = new int[] {exact};
+            wordWeights[position] = new float[] {1.0f};
+            return true;
+        }
+        int maxDistance = word.length() >= 8 ? 2 : word.length() >= 4 ? 1 : 0;
+        if (maxDistance == 0) {
+            return false;
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        for (int termId = 0; termId < terms.size(); termId++) {
+            String term = terms.get(termId);
+            if (liveDocumentCounts[termId] == 0 || Math.abs(term.length() - word.length()) > maxDistance) {
+                continue;
+            }
+            int distance = editDistance(word, term, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new int[] {termId, distance});
+            }
+        }
+        if (matches.isEmpty()) {
+            return false;
+        }
+        matches.sort(Comparator.<int[]>comparingInt(match -> match[1])
+            .thenComparing(match -> -liveDocumentCounts[match[0]]));
+        int size = Math.min(matches.size(), MAX_FUZZY_TERMS);
+        wordTerms[position] = new int[size];
+        wordWeights[position] = new float[size];
+        for (int i = 0; i < size; i++) {
+            wordTerms[position][i] = matches.get(i)[0];
+            wordWeights[position][i] = FUZZY_WEIGHTS[matches.get(i)[1]];
+        }
+        return true;
+    }
+
+    /**
+     * Edit distance counting insertions, deletions, substitutions and swaps of adjacent
+     * characters, or maxDistance + 1 as soon as it is certain to exceed maxDistance.
+     */
+    static int editDistance(String a, String b, int maxDistance) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    private static float idf(int documentFrequency, int documentCount) {
+        return (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static List<String> queryTerms(String query) {
+        List<String> queryTerms = JobSearchTokenizer.distinctTerms(query);
+        return queryTerms.size() > MAX_QUERY_TERMS ? queryTerms.subList(0, MAX_QUERY_TERMS) : queryTerms;
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Restrictions on the postings a search returns or a facet count includes. Text
+     * values are matched ignoring case; null means no restriction.
+     */
+    public static final class Filters {
+        private static final Filters NONE = builder().build();
+
+        private final String status;
+        private final String field;
+        private final String experienceLevel;
+        private final String location;
+        private final BigDecimal minSalary;
+        private final BigDecimal maxSalary;
+
+        private Filters(Builder builder) {
+            this.status = builder.status;
+            this.field = builder.field;
+            this.experienceLevel = builder.experienceLevel;
+            this.location = builder.location;
+            this.minSalary = builder.minSalary;
+            this.maxSalary = builder.maxSalary;
+        }
+
+        /**
+         * Filters that accept every posting.
+         */
+        public static Filters none() {
+            return NONE;
+        }
+
+        /**
+         * Create a new builder for Filters.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Salary filters as in JobPostingDao.SearchFilters: the top of the posting's
+         * range must reach minSalary and the bottom must not exceed maxSalary. Postings
+         * without a salary pass only when neither is set.
+         */
+        private boolean acceptsSalary(double low, double high) {
+            return (minSalary == null || high >= minSalary.doubleValue())
+                && (maxSalary == null || low <= maxSalary.doubleValue());
+        }
+
+        private String key() {
+            return normalize(status) + SEPARATOR + normalize(field) + SEPARATOR + normalize(experienceLevel)
+                + SEPARATOR + normalize(location)
+                + SEPARATOR + (minSalary != null ? minSalary.stripTrailingZeros().toPlainString() : null)
+                + SEPARATOR + (maxSalary != null ? maxSalary.stripTrailingZeros().toPlainString() : null);
+        }
+
+        /**
+         * Builder for Filters.
+         */
+        public static final class Builder {
+            private String status;
+            private String field;
+            private String experienceLevel;
+            private String location;
+            private BigDecimal minSalary;
+            private BigDecimal maxSalary;
+
+            public Builder status(String status) {
+                this.status = status;
+                return this;
+            }
+
+            public Builder field(String field) {
+                this.field = field;
+                return this;
+            }
+
+            public Builder experienceLevel(String experienceLevel) {
+                this.experienceLevel = experienceLevel;
+                return this;
+            }
+
+            public Builder location(String location) {
+                this.location = location;
+                return this;
+            }
+
+            public Builder minSalary(BigDecimal minSalary) {
+                this.minSalary = minSalary;
+                return this;
+            }
+
+            public Builder maxSalary(BigDecimal maxSalary) {
+                this.maxSalary = maxSalary;
+                return this;
+            }
+
+            public Filters build() {
+                return new Filters(this);
+            }
+        }
+    }
+
+    /**
+     * Bitsets of the ordinals having each value of one attribute, keyed by lower-cased
+     * value. Bits of deleted ordinals stay set until compaction; callers mask them out.
+     */
+    private static final class Facet {
+        private final Map<String, BitSet> bits = new HashMap<>();
+        // The value as first seen, for display
+        private final Map<String, String> labels = new HashMap<>();
+
+        private void set(String value, int ordinal) {
+            String key = normalize(value);
+            if (key != null) {
+                bits.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+                labels.putIfAbsent(key, value.trim());
+            }
+        }
+
+        /**
+         * Get the ordinals having a value: {@link #ALL} if the value is null, null if no
+         * ordinal has it.
+         */
+        private BitSet filter(String value) {
+            String key = normalize(value);
+            return key == null ? ALL : bits.get(key);
+        }
+
+        /**
+         * Count the matched ordinals having each value.
+         *
+         * @param matched The ordinals to count
+         * @param order The order to list values in
+         * @return The first {@value #MAX_FACET_VALUES} values with a non-zero count
+         */
+        private List<FacetCount> count(BitSet matched, Comparator<FacetCount> order) {
+            List<FacetCount> counts = new ArrayList<>();
+            for (Map.Entry<String, BitSet> entry : bits.entrySet()) {
+                BitSet intersection = (BitSet) entry.getValue().clone();
+                intersection.and(matched);
+                int count = intersection.cardinality();
+                if (count > 0) {
+                    counts.add(new FacetCount(labels.get(entry.getKey()), count));
+                }
+            }
+            return top(counts, order);
+        }
+
+        private void clear() {
+            bits.clear();
+            labels.clear();
+        }
+    }
+
+    /**
+     * The postings matching a search: scores by ordinal, and the matching ordinals in
+     * the first count entries of documents.
+     */
+    private static final class Matches {
+        private final float[] scores;
+        private final int[] documents;
+        private final int count;
+
+        private Matches(float[] scores, int[] documents, int count) {
+            this.scores = scores;
+            this.documents = documents;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Facet counts and the index generation they were computed at.
+     */
+    private static final class CachedFacets {
+        private final long generation;
+        private final Map<String, List<FacetCount>> counts;
+
+        private CachedFacets(long generation, Map<String, List<FacetCount>> counts) {
+            this.generation = generation;
+            this.counts = counts;
+        }
+    }
+
+    /**
+     * Position after the last hit of a page: its score and ID.
+     */
+    private static final class Cursor {
+        private final float score;
+        private final long id;
+
+        private Cursor(float score, long id) {
+            this.score = score;
+            this.id = id;
+        }
+
+        private String encode() {
+            String raw = Float.floatToIntBits(score) + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(SEPARATOR);
+                int scoreBits = Integer.parseInt(raw.substring(0, Math.max(separator, 0)));
+                return new Cursor(Float.intBitsToFloat(scoreBits), Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    /**
+     * A posting as indexed: display fields and weighted term frequencies.
+     */
+    private static final class Document {
+        private final long id;
+        private final String title;
+        private final String field;
+        private final String location;
+        private final String experienceLevel;
+        private final String status;
+        private final double salaryLow;
+        private final double salaryHigh;
+        private final String[] terms;
+        private final int[] frequencies;
+        private final int length;
+
+        private Document(long id, String title, String field, String location, String experienceLevel,
+                         String status, double salaryLow, double salaryHigh, String[] terms, int[] frequencies,
+                         int length) {
+            this.id = id;
+            this.title = title;
+            this.field = field;
+            this.location = location;
+            this.experienceLevel = experienceLevel;
+            this.status = status;
+            this.salaryLow = salaryLow;
+            this.salaryHigh = salaryHigh;
+            this.terms = terms;
+            this.frequencies = frequencies;
+            this.length = length;
+        }
+
+        private static Document of(JobPosting posting, List<String> requirements) {
+            if (posting.getId() == null) {
+                throw new IllegalArgumentException("Only saved job postings can be indexed");
+            }
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            int[] length = {0};
+            addText(counts, length, posting.getTitle(), TITLE_WEIGHT);
+            addText(counts, length, posting.getField(), FIELD_WEIGHT);
+            addText(counts, length, posting.getResponsibilities(), TEXT_WEIGHT);
+            addText(counts, length, posting.getDescription(), TEXT_WEIGHT);
+            if (requirements != null) {
+                for (String requirement : requirements) {
+                    addText(counts, length, requirement, TEXT_WEIGHT);
+                }
+            }
+
+            String[] terms = new String[counts.size()];
+            int[] frequencies = new int[counts.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                terms[i] = entry.getKey();
+                frequencies[i] = entry.getValue();
+                i++;
+            }
+            BigDecimal low = posting.getSalaryMin() != null ? posting.getSalaryMin() : posting.getSalaryMax();
+            BigDecimal high = posting.getSalaryMax() != null ? posting.getSalaryMax() : posting.getSalaryMin();
+            return new Document(posting.getId(), posting.getTitle(), posting.getField(), posting.getLocation(),
+                posting.getExperienceLevel(), posting.getStatus(),
+                low != null ? low.doubleValue() : Double.NaN, high != null ? high.doubleValue() : Double.NaN,
+                terms, frequencies, length[0]);
+        }
+
+        private static void addText(Map<String, Integer> counts, int[] length, String text, int weight) {
+            JobSearchTokenizer.tokenize(text, term -> {
+                counts.merge(term, weight, Integer::sum);
+                length[0] += weight;
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.irusso.demoserver.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Splits job posting text into index terms: accent-folded, lower-cased runs of letters
+ * and digits, without common English stop words. Single characters are kept so that
+ * languages such as C and R can be searched.
+ */
+final class JobSearchTokenizer {
+
+    // Longer runs are almost always URLs, hashes or pasted noise
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "our", "the", "to", "we", "will", "with", "you", "your");
+
+    private JobSearchTokenizer() {
+    }
+
+    /**
+     * Pass each term of a text to a consumer, in order and with repetitions.
+     *
+     * @param text The text, may be null
+     * @param consumer Receives the terms
+     */
+    static void tokenize(String text, Consumer<String> consumer) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TOKEN_LENGTH) {
+                    String token = folded.substring(start, i);
+                    if (!STOP_WORDS.contains(token)) {
+                        consumer.accept(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Get the distinct terms of a text, in order of first occurrence.
+     */
+    static List<String> distinctTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, term -> {
+            if (!terms.contains(term)) {
+                terms.add(term);
+            }
+        });
+        return terms;
+    }
+
+    private static String fold(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+                return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+            }
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
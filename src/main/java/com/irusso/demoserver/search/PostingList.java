@@ -0,0 +1,92 @@
+package com.irusso.demoserver.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only list of (document, term frequency) pairs for one term, compressed with
+ * variable-byte encoding: documents are stored as gaps from the previous document, so
+ * a posting usually takes two bytes.
+ *
+ * Documents must be added in increasing order, which holds because the index only
+ * ever appends new document ordinals.
+ */
+final class PostingList {
+
+    /**
+     * Receives the postings of a list in document order.
+     */
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int document, int frequency);
+    }
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDocument = -1;
+    private int count;
+
+    /**
+     * Append a posting.
+     *
+     * @param document Ordinal of the document, greater than any added before
+     * @param frequency Occurrences of the term in the document, at least 1
+     */
+    void add(int document, int frequency) {
+        if (document <= lastDocument) {
+            throw new IllegalArgumentException("Postings must be added in increasing document order");
+        }
+        writeVInt(document - lastDocument);
+        writeVInt(frequency);
+        lastDocument = document;
+        count++;
+    }
+
+    /**
+     * Number of postings, including those of deleted documents.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Compressed size in bytes.
+     */
+    int sizeInBytes() {
+        return length;
+    }
+
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int document = -1;
+        while (position < length) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                frequency |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            document += gap;
+            consumer.accept(document, frequency);
+        }
+    }
+
+    private void writeVInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7f) != 0) {
+            data[length++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+}
@@ -2,6 +2,7 @@ package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.dao.ApplicationMessageDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.ApplicationMessage;
 
 import java.util.List;
@@ -27,6 +28,16 @@ public class ApplicationMessageService {
         return applicationMessageDao.findAll();
     }
 
+    /**
+     * Get a page of application messages, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<ApplicationMessage> getApplicationMessagesPage(String cursor, Integer limit) {
+        return applicationMessageDao.findPage(cursor, limit);
+    }
+
     /**
      * Get an application message by ID.
      */
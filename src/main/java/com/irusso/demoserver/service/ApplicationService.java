@@ -2,6 +2,7 @@ package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.dao.ApplicationDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.Application;
 
 import java.util.List;
@@ -27,6 +28,16 @@ public class ApplicationService {
         return applicationDao.findAll();
     }
 
+    /**
+     * Get a page of applications, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<Application> getApplicationsPage(String cursor, Integer limit) {
+        return applicationDao.findPage(cursor, limit);
+    }
+
     /**
      * Get an application by ID.
      */
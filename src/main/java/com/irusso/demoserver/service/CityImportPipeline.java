@@ -0,0 +1,423 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.db.dao.CityDao;
+import com.irusso.demoserver.db.model.City;
+import com.irusso.demoserver.service.ImportJob.StageStats;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Staged import of a GeoNames tar.gz archive, or of plain GeoNames text, into the
+ * cities table.
+ *
+ * The read stage (download, gunzip, tar walk and line splitting) runs on the calling
+ * thread and cuts the raw bytes into batches of lines. Parser threads decode line
+ * batches into city batches with a {@link GeoNamesParser}, and writer threads upsert
+ * city batches through COPY, each on its own pooled connection. The stages are
+ * connected by bounded queues: a slow stage blocks the stage feeding it instead of
+ * letting batches pile up in memory.
+ *
+ * Each stage records how long its threads were busy and how long they were blocked on
+ * a queue; the stage with the least blocked time is the bottleneck.
+ */
+public class CityImportPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CityImportPipeline.class);
+    // How often a thread blocked on a queue checks whether another stage failed
+    private static final long POLL_MILLIS = 100;
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+    private static final LineBatch END_OF_LINES = new LineBatch(0, new byte[0]);
+    private static final List<City> END_OF_CITIES = List.of();
+
+    private final CityDao cityDao;
+    private final ExecutorService executor;
+    private final int parserThreads;
+    private final int writerThreads;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    /**
+     * Constructor for CityImportPipeline.
+     *
+     * @param cityDao DAO used by the writer stage
+     * @param executor Runs the parser and writer threads; needs parserThreads + writerThreads free threads per import
+     * @param parserThreads Number of threads parsing lines
+     * @param writerThreads Number of threads writing batches, each holding a connection while it writes
+     * @param batchSize Lines per batch, and so cities per COPY
+     * @param queueCapacity Batches buffered between two stages
+     */
+    public CityImportPipeline(CityDao cityDao, ExecutorService executor, int parserThreads, int writerThreads,
+                              int batchSize, int queueCapacity) {
+        if (parserThreads < 1 || writerThreads < 1 || batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Pipeline threads, batch size and queue capacity must be positive");
+        }
+        this.cityDao = cityDao;
+        this.executor = executor;
+        this.parserThreads = parserThreads;
+        this.writerThreads = writerThreads;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Import a GeoNames tar.gz archive, blocking until every stage has finished.
+     * Batches written before a failure stay committed.
+     *
+     * Writers check for cancellation before each batch, so a cancelled import stops
+     * after the batches already being written.
+     *
+     * @param tarGz The archive; it is closed when the read stage finishes
+     * @param job Receives the imported and skipped counts and the stage statistics
+     * @throws Exception The first failure of any stage
+     */
+    public void run(InputStream tarGz, ImportJob job) throws Exception {
+        execute(tarGz, true, row -> true, job);
+    }
+
+    /**
+     * Import GeoNames lines that are not in an archive, such as a daily modifications
+     * file, keeping only the rows the filter accepts. Rejected rows count as skipped.
+     *
+     * @param text The GeoNames text; it is closed when the read stage finishes
+     * @param filter Which parsed rows to write
+     * @param job Receives the imported and skipped counts and the stage statistics
+     * @throws Exception The first failure of any stage
+     */
+    void runText(InputStream text, Predicate<GeoNamesRow> filter, ImportJob job) throws Exception {
+        execute(text, false, filter, job);
+    }
+
+    private void execute(InputStream in, boolean archive, Predicate<GeoNamesRow> filter, ImportJob job) throws Exception {
+        Run run = new Run(job, filter);
+        List<Future<?>> workers = new ArrayList<>(parserThreads + writerThreads);
+        try {
+            for (int i = 0; i < parserThreads; i++) {
+                workers.add(executor.submit(run::parse));
+            }
+            for (int i = 0; i < writerThreads; i++) {
+                workers.add(executor.submit(run::write));
+            }
+            run.read(in, archive);
+        } catch (RejectedExecutionException e) {
+            run.fail(e);
+            in.close();
+        }
+
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                run.fail(e.getCause());
+            }
+        }
+
+        List<StageStats> stages = List.of(run.readStage.stats(), run.parseStage.stats(), run.writeStage.stats());
+        job.setStages(stages);
+        for (StageStats stage : stages) {
+            LOGGER.info("Import stage {}: {} items on {} threads, busy {} ms, blocked {} ms, {} items/s while busy",
+                stage.getName(), stage.getItems(), stage.getThreads(), stage.getBusyMillis(),
+                stage.getBlockedMillis(), Math.round(stage.getItemsPerSecond()));
+        }
+
+        Throwable failure = run.failure.get();
+        if (failure instanceof Exception) {
+            throw (Exception) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    /**
+     * State of one import: the queues between the stages and the first failure.
+     */
+    private final class Run {
+        private final ImportJob job;
+        private final Predicate<GeoNamesRow> filter;
+        private final BlockingQueue<LineBatch> lineBatches = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<List<City>> cityBatches = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicInteger runningParsers = new AtomicInteger(parserThreads);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final Stage readStage = new Stage("read", 1);
+        private final Stage parseStage = new Stage("parse", parserThreads);
+        private final Stage writeStage = new Stage("write", writerThreads);
+
+        private Run(ImportJob job, Predicate<GeoNamesRow> filter) {
+            this.job = job;
+            this.filter = filter;
+        }
+
+        private void read(InputStream in, boolean archive) {
+            long start = System.nanoTime();
+            long lineNumber = 0;
+            try (InputStream source = in) {
+                if (archive) {
+                    lineNumber = readArchive(source);
+                } else {
+                    lineNumber = readLines(source, lineNumber);
+                }
+            } catch (Exception e) {
+                fail(e);
+            } finally {
+                readStage.items.add(lineNumber);
+                try {
+                    for (int i = 0; i < parserThreads; i++) {
+                        put(lineBatches, END_OF_LINES, readStage);
+                    }
+                } catch (InterruptedException e) {
+                    fail(e);
+                }
+                readStage.finish(start);
+            }
+        }
+
+        /**
+         * Read the GeoNames text files of a tar.gz archive.
+         *
+         * @return The number of the last line read
+         */
+        private long readArchive(InputStream tarGz) throws Exception {
+            long lineNumber = 0;
+            try (GzipCompressorInputStream gzipIn = new GzipCompressorInputStream(tarGz);
+                 TarArchiveInputStream tarIn = new TarArchiveInputStream(gzipIn)) {
+
+                TarArchiveEntry entry;
+                while (!failed() && (entry = tarIn.getNextEntry()) != null) {
+                    String fileName = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                    // "._" files are macOS resource forks, not city data
+                    if (entry.isDirectory() || !fileName.endsWith(".txt") || fileName.startsWith("._")) {
+                        continue;
+                    }
+                    LOGGER.info("Processing file: {}", entry.getName());
+                    lineNumber = readLines(tarIn, lineNumber);
+                }
+            }
+            return lineNumber;
+        }
+
+        /**
+         * Cut one file into batches of batchSize complete lines, copied out of the read
+         * buffer as raw bytes; decoding is left to the parsers.
+         *
+         * @return The number of the last line read
+         */
+        private long readLines(InputStream in, long lineNumber) throws Exception {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length = 0;
+            int scanned = 0;
+            int lines = 0;
+            long firstLine = lineNumber + 1;
+            int read;
+            while (!failed() && (read = in.read(buffer, length, buffer.length - length)) >= 0) {
+                length += read;
+                for (; scanned < length; scanned++) {
+                    if (buffer[scanned] != '\n') {
+                        continue;
+                    }
+                    lineNumber++;
+                    if (++lines == batchSize) {
+                        int batchEnd = scanned + 1;
+                        put(lineBatches, new LineBatch(firstLine, Arrays.copyOf(buffer, batchEnd)), readStage);
+                        System.arraycopy(buffer, batchEnd, buffer, 0, length - batchEnd);
+                        length -= batchEnd;
+                        scanned = -1;
+                        lines = 0;
+                        firstLine = lineNumber + 1;
+                    }
+                }
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            if (length > 0 && !failed()) {
+                if (buffer[length - 1] != '\n') {
+                    // Last line without a terminator
+                    lineNumber++;
+                }
+                put(lineBatches, new LineBatch(firstLine, Arrays.copyOf(buffer, length)), readStage);
+            }
+            return lineNumber;
+        }
+
+        private void parse() {
+            long start = System.nanoTime();
+            try {
+                GeoNamesParser parser = new GeoNamesParser();
+                GeoNamesRow row = new GeoNamesRow();
+                LineBatch batch;
+                while ((batch = take(lineBatches, parseStage)) != null && batch != END_OF_LINES) {
+                    byte[] bytes = batch.bytes;
+                    List<City> cities = new ArrayList<>(batchSize);
+                    int skipped = 0;
+                    int lines = 0;
+                    int lineStart = 0;
+                    while (lineStart < bytes.length) {
+                        int lineEnd = lineStart;
+                        while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                            lineEnd++;
+                        }
+                        int next = lineEnd + 1;
+                        if (lineEnd > lineStart && bytes[lineEnd - 1] == '\r') {
+                            lineEnd--;
+                        }
+                        if (parser.parse(bytes, lineStart, lineEnd, row)) {
+                            if (filter.test(row)) {
+                                cities.add(row.toCity());
+                            } else {
+                                skipped++;
+                            }
+                        } else {
+                            LOGGER.warn("Skipping line {} - insufficient fields: {}",
+                                batch.firstLine + lines, parser.fieldCount());
+                            skipped++;
+                        }
+                        lines++;
+                        lineStart = next;
+                    }
+                    parseStage.items.add(lines);
+                    job.addRowsSkipped(skipped);
+                    if (!cities.isEmpty()) {
+                        put(cityBatches, cities, parseStage);
+                    }
+                }
+            } catch (Exception e) {
+                fail(e);
+            } finally {
+                try {
+                    // The last parser to finish tells the writers there is nothing more
+                    if (runningParsers.decrementAndGet() == 0) {
+                        for (int i = 0; i < writerThreads; i++) {
+                            put(cityBatches, END_OF_CITIES, parseStage);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    fail(e);
+                }
+                parseStage.finish(start);
+            }
+        }
+
+        private void write() {
+            long start = System.nanoTime();
+            try {
+                List<City> cities;
+                while ((cities = take(cityBatches, writeStage)) != null && cities != END_OF_CITIES) {
+                    job.checkCancelled();
+                    long imported = cityDao.copyUpsert(cities);
+                    writeStage.items.add(cities.size());
+                    job.addRowsUnchanged(cities.size() - imported);
+                    long total = job.addRowsImported(imported);
+                    LOGGER.info("Imported batch of {} changed cities ({} unchanged). Total: {}", imported,
+                        cities.size() - imported, total);
+                }
+            } catch (Exception e) {
+                fail(e);
+            } finally {
+                writeStage.finish(start);
+            }
+        }
+
+        /**
+         * Queue an item, waiting for space. Gives up if another stage has failed.
+         */
+        private <E> boolean put(BlockingQueue<E> queue, E item, Stage stage) throws InterruptedException {
+            long start = System.nanoTime();
+            try {
+                while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (failed()) {
+                        return false;
+                    }
+                }
+                return true;
+            } finally {
+                stage.blockedNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Take the next item, waiting for one. Returns null if another stage has failed.
+         */
+        private <E> E take(BlockingQueue<E> queue, Stage stage) throws InterruptedException {
+            long start = System.nanoTime();
+            try {
+                E item;
+                while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                    if (failed()) {
+                        return null;
+                    }
+                }
+                return item;
+            } finally {
+                stage.blockedNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failure.compareAndSet(null, e);
+        }
+
+        private boolean failed() {
+            return failure.get() != null;
+        }
+    }
+
+    /**
+     * Consecutive complete lines of the input as UTF-8 bytes, numbered from firstLine
+     * for error messages.
+     */
+    private static final class LineBatch {
+        private final long firstLine;
+        private final byte[] bytes;
+
+        private LineBatch(long firstLine, byte[] bytes) {
+            this.firstLine = firstLine;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Counters of one stage, shared by its threads.
+     */
+    private static final class Stage {
+        private final String name;
+        private final int threads;
+        private final LongAdder items = new LongAdder();
+        private final LongAdder activeNanos = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+
+        private Stage(String name, int threads) {
+            this.name = name;
+            this.threads = threads;
+        }
+
+        private void finish(long startNanos) {
+            activeNanos.add(System.nanoTime() - startNanos);
+        }
+
+        private StageStats stats() {
+            long blocked = blockedNanos.sum();
+            return new StageStats(name, threads, items.sum(), Math.max(0, activeNanos.sum() - blocked), blocked);
+        }
+    }
+}
@@ -1,44 +1,68 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.api.CitySuggestion;
 import com.irusso.demoserver.db.dao.CityDao;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.dao.ReadRouting;
 import com.irusso.demoserver.db.model.City;
-import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import com.irusso.demoserver.db.model.NearbyCity;
+import com.irusso.demoserver.search.CityAutocompleteIndex;
+import com.irusso.demoserver.search.CityLocationIndex;
+import com.irusso.demoserver.search.CityRegionIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.math.BigDecimal;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.sql.Date;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Service layer for City operations.
- * Handles business logic including async import from tar.gz files.
+ * Handles business logic including background import from tar.gz files.
  */
 public class CityService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CityService.class);
-    private static final int BATCH_SIZE = 1000;
-    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
+    static final int DEFAULT_NEARBY_LIMIT = 10;
+    static final int MAX_NEARBY_LIMIT = 100;
+    static final String IMPORT_TYPE = "cities";
+    private static final int DELETE_BATCH_SIZE = 1000;
 
     private final CityDao cityDao;
+    private final ExecutorService executor;
+    private final CityImportPipeline importPipeline;
+    private final ImportJobManager importJobManager;
+    private final ReadRouting readRouting;
+    // Replaced as a whole on refresh; searches never see a partly built index
+    private volatile CityAutocompleteIndex autocompleteIndex = CityAutocompleteIndex.empty();
+    private volatile CityLocationIndex locationIndex = CityLocationIndex.empty();
+    private volatile CityRegionIndex regionIndex = CityRegionIndex.empty();
 
+    /**
+     * Constructor for CityService.
+     *
+     * @param cityDao the city DAO
+     * @param executor runs index rebuilds; shut down with the application
+     * @param importPipeline imports GeoNames archives
+     * @param importJobManager runs and tracks imports
+     * @param readRouting sends the index rebuild after an import to the primary
+     */
     @Inject
-    public CityService(CityDao cityDao) {
+    public CityService(CityDao cityDao, ExecutorService executor, CityImportPipeline importPipeline,
+                       ImportJobManager importJobManager, ReadRouting readRouting) {
         this.cityDao = cityDao;
+        this.executor = executor;
+        this.importPipeline = importPipeline;
+        this.importJobManager = importJobManager;
+        this.readRouting = readRouting;
     }
 
     /**
@@ -48,6 +72,23 @@ public class CityService {
         return cityDao.findAll();
     }
 
+    /**
+     * Get a page of cities, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<City> getCitiesPage(String cursor, Integer limit) {
+        return cityDao.findPage(cursor, limit);
+    }
+
+    /**
+     * Stream all cities to a consumer without loading them into memory.
+     */
+    public void forEachCity(Consumer<? super City> consumer) {
+        cityDao.forEach(consumer);
+    }
+
     /**
      * Get a city by ID.
      */
@@ -83,6 +124,22 @@ public class CityService {
         return cityDao.findByCountryCode(countryCode);
     }
 
+    /**
+     * Get a page of the cities of a country, or of one of its admin1 divisions, most
+     * populous first, as lightweight projections.
+     * Served from the in-memory region index; see {@link #refreshIndexes}.
+     *
+     * @param countryCode ISO country code, matched ignoring case
+     * @param admin1Code GeoNames admin1 code within the country, or null for the whole country
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return; the first page is the top-N
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<CitySuggestion> getCitiesByRegionPage(String countryCode, String admin1Code,
+                                                      String cursor, Integer limit) {
+        return regionIndex.page(countryCode, admin1Code, cursor, Page.resolveLimit(limit));
+    }
+
     /**
      * Find cities by name.
      */
@@ -91,278 +148,216 @@ public class CityService {
     }
 
     /**
-     * Import cities from a tar.gz file URL asynchronously.
-     * This method downloads, decompresses, parses, and loads city data into the database.
+     * Find the cities nearest to a point, optionally within a radius and population range.
      *
-     * @param fileUrl URL to the tar.gz file containing city data
-     * @return CompletableFuture that completes when import is done
+     * @param latitude latitude of the point in degrees
+     * @param longitude longitude of the point in degrees
+     * @param radiusKm maximum distance in kilometres, or null for no limit
+     * @param minPopulation minimum population, or null
+     * @param maxPopulation maximum population, or null
+     * @param limit maximum number of results (defaults to 10, at most 100)
+     * @return cities with their distance, nearest first
+     * @throws IllegalArgumentException if a parameter is missing or out of range
      */
-    public CompletableFuture<ImportResult> importCitiesFromUrl(String fileUrl) {
-        return CompletableFuture.supplyAsync(() -> {
-            LOGGER.info("Starting city import from URL: {}", fileUrl);
-            ImportResult result = new ImportResult();
-            result.setStartTime(System.currentTimeMillis());
-
-            try {
-                // Download and process the file
-                URL url = new URL(fileUrl);
-                InputStream inputStream;
-
-                // Handle file:// URLs differently from http:// URLs
-                if (fileUrl.startsWith("file://")) {
-                    // For file URLs, just open the stream directly
-                    inputStream = new BufferedInputStream(url.openStream());
-                } else {
-                    // For HTTP URLs, use HttpURLConnection
-                    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                    connection.setRequestMethod("GET");
-                    connection.setConnectTimeout(30000);
-                    connection.setReadTimeout(60000);
-
-                    int responseCode = connection.getResponseCode();
-                    if (responseCode != HttpURLConnection.HTTP_OK) {
-                        throw new RuntimeException("Failed to download file. HTTP response code: " + responseCode);
-                    }
-
-                    inputStream = new BufferedInputStream(connection.getInputStream());
-                }
-
-                try (InputStream stream = inputStream) {
-                    processTarGzFile(stream, result);
-                }
-
-                result.setSuccess(true);
-                result.setEndTime(System.currentTimeMillis());
-                LOGGER.info("City import completed successfully. Imported {} cities in {} ms",
-                    result.getCitiesImported(), result.getDuration());
-
-            } catch (Exception e) {
-                result.setSuccess(false);
-                result.setErrorMessage(e.getMessage());
-                result.setEndTime(System.currentTimeMillis());
-                LOGGER.error("City import failed: {}", e.getMessage(), e);
-            }
+    public List<NearbyCity> findNearby(Double latitude, Double longitude, Double radiusKm,
+                                       Long minPopulation, Long maxPopulation, Integer limit) {
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("lat and lon parameters are required");
+        }
+        if (latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("lat must be between -90 and 90");
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("lon must be between -180 and 180");
+        }
+        if (radiusKm != null && !(radiusKm > 0)) {
+            throw new IllegalArgumentException("radiusKm must be positive");
+        }
+        if (minPopulation != null && maxPopulation != null && minPopulation > maxPopulation) {
+            throw new IllegalArgumentException("minPopulation must not exceed maxPopulation");
+        }
+        int resolvedLimit = limit != null ? limit : DEFAULT_NEARBY_LIMIT;
+        if (resolvedLimit < 1 || resolvedLimit > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_NEARBY_LIMIT);
+        }
 
-            return result;
-        }, EXECUTOR);
+        Double radiusMeters = radiusKm != null ? radiusKm * 1000 : null;
+        return cityDao.findNearby(latitude, longitude, radiusMeters, minPopulation, maxPopulation, resolvedLimit);
     }
 
     /**
-     * Process a tar.gz file and import cities.
+     * Suggest cities whose name starts with a prefix, most populous first.
+     * Served from the in-memory autocomplete index; see {@link #refreshIndexes}.
+     *
+     * @param query prefix typed by the user, matched ignoring case and accents
+     * @param limit maximum number of results
      */
-    private void processTarGzFile(InputStream inputStream, ImportResult result) throws Exception {
-        try (GzipCompressorInputStream gzipIn = new GzipCompressorInputStream(inputStream);
-             TarArchiveInputStream tarIn = new TarArchiveInputStream(gzipIn)) {
-
-            TarArchiveEntry entry;
-            while ((entry = tarIn.getNextEntry()) != null) {
-                if (!entry.isDirectory() && entry.getName().endsWith(".txt")) {
-                    LOGGER.info("Processing file: {}", entry.getName());
-                    parseCityFile(tarIn, result);
-                }
-            }
-        }
+    public List<CitySuggestion> autocomplete(String query, int limit) {
+        return autocompleteIndex.search(query, limit);
     }
 
     /**
-     * Parse city data from a text file (GeoNames format).
-     * GeoNames format is tab-delimited with the following columns:
-     * 0: geonameid
-     * 1: name
-     * 2: asciiname
-     * 3: alternatenames (skipped - not stored)
-     * 4: latitude
-     * 5: longitude
-     * 6: feature class
-     * 7: feature code
-     * 8: country code
-     * 9: cc2
-     * 10: admin1 code
-     * 11: admin2 code
-     * 12: admin3 code
-     * 13: admin4 code
-     * 14: population
-     * 15: elevation
-     * 16: dem
-     * 17: timezone
-     * 18: modification date
+     * Find the city nearest to a point.
+     * Served from the in-memory location index; see {@link #refreshIndexes}.
+     *
+     * @param latitude latitude of the point in degrees
+     * @param longitude longitude of the point in degrees
+     * @return the nearest city and its distance, or empty if no cities are loaded
+     * @throws IllegalArgumentException if a coordinate is missing or out of range
      */
-    private void parseCityFile(InputStream inputStream, ImportResult result) throws Exception {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
-        List<City> batch = new ArrayList<>();
-        String line;
-        int lineNumber = 0;
-
-        while ((line = reader.readLine()) != null) {
-            lineNumber++;
-            try {
-                String[] fields = line.split("\t", -1);
-                if (fields.length < 19) {
-                    LOGGER.warn("Skipping line {} - insufficient fields: {}", lineNumber, fields.length);
-                    result.incrementSkipped();
-                    continue;
-                }
-
-                City city = parseCity(fields);
-                batch.add(city);
-
-                // Batch insert for performance
-                if (batch.size() >= BATCH_SIZE) {
-                    int inserted = cityDao.batchInsert(batch);
-                    result.addCitiesImported(inserted);
-                    LOGGER.info("Imported batch of {} cities. Total: {}", inserted, result.getCitiesImported());
-                    batch.clear();
-                }
-
-            } catch (Exception e) {
-                LOGGER.warn("Error parsing line {}: {}", lineNumber, e.getMessage());
-                result.incrementSkipped();
-            }
+    public Optional<CityLocationIndex.Match> reverseGeocode(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("lat and lon parameters are required");
         }
-
-        // Insert remaining cities
-        if (!batch.isEmpty()) {
-            int inserted = cityDao.batchInsert(batch);
-            result.addCitiesImported(inserted);
-            LOGGER.info("Imported final batch of {} cities. Total: {}", inserted, result.getCitiesImported());
+        if (latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("lat must be between -90 and 90");
         }
+        if (longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("lon must be between -180 and 180");
+        }
+        return Optional.ofNullable(locationIndex.nearest(latitude, longitude));
     }
 
     /**
-     * Parse a single city from GeoNames tab-delimited format.
+     * Rebuild the autocomplete, location and region indexes from one streaming scan of the
+     * cities table. Called at startup and after each successful import; single-city
+     * create, update and delete do not refresh them.
      */
-    private City parseCity(String[] fields) {
-        City city = new City();
-
-        city.setGeonameId(parseLong(fields[0]));
-        city.setName(fields[1]);
-        city.setAsciiName(fields[2]);
-        // Skip fields[3] - alternate names (not stored)
-        city.setLatitude(parseBigDecimal(fields[4]));
-        city.setLongitude(parseBigDecimal(fields[5]));
-        city.setFeatureClass(fields[6]);
-        city.setFeatureCode(fields[7]);
-        city.setCountryCode(fields[8]);
-        city.setCc2(fields[9]);
-        city.setAdmin1Code(fields[10]);
-        city.setAdmin2Code(fields[11]);
-        city.setAdmin3Code(fields[12]);
-        city.setAdmin4Code(fields[13]);
-        city.setPopulation(parseLong(fields[14]));
-        city.setElevation(parseInteger(fields[15]));
-        city.setDem(parseInteger(fields[16]));
-        city.setTimezone(fields[17]);
-        city.setModificationDate(parseDate(fields[18]));
+    public void refreshIndexes() {
+        long start = System.currentTimeMillis();
+        CityAutocompleteIndex.Builder autocompleteBuilder = CityAutocompleteIndex.builder();
+        CityLocationIndex.Builder locationBuilder = CityLocationIndex.builder();
+        CityRegionIndex.Builder regionBuilder = CityRegionIndex.builder();
+        cityDao.forEach(city -> {
+            autocompleteBuilder.add(city);
+            locationBuilder.add(city);
+            regionBuilder.add(city);
+        });
+        autocompleteIndex = autocompleteBuilder.build();
+        locationIndex = locationBuilder.build();
+        regionIndex = regionBuilder.build();
+        LOGGER.info("Built city indexes with {} cities ({} with coordinates) in {} ms",
+            autocompleteIndex.size(), locationIndex.size(), System.currentTimeMillis() - start);
+    }
 
-        return city;
+    /**
+     * Rebuild the city indexes in the background.
+     *
+     * @return CompletableFuture that completes when the new indexes are in use
+     */
+    public CompletableFuture<Void> refreshIndexesAsync() {
+        return CompletableFuture.runAsync(this::refreshIndexes, executor)
+            .whenComplete((ignored, e) -> {
+                if (e != null) {
+                    LOGGER.error("Failed to build city indexes: {}", e.getMessage(), e);
+                }
+            });
     }
 
-    private Long parseLong(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            return Long.parseLong(value.trim());
-        } catch (NumberFormatException e) {
-            return null;
-        }
+    /**
+     * Start importing cities from a GeoNames file URL in the background.
+     * The import downloads, decompresses, parses, and loads city data into the database
+     * through a {@link CityImportPipeline}, then rebuilds the city indexes.
+     * A URL ending in .txt is read as an already extracted GeoNames file; anything
+     * else as a tar.gz archive.
+     *
+     * @param fileUrl URL to the tar.gz file, or .txt file, containing city data
+     * @return The running import job
+     * @throws IllegalStateException if the URL is already being imported or too many imports are running
+     */
+    public ImportJob importCitiesFromUrl(String fileUrl) {
+        return importJobManager.submit(IMPORT_TYPE, fileUrl, job -> {
+            InputStream source = job.track(ImportSources.open(fileUrl));
+            if (ImportSources.isPlainText(fileUrl)) {
+                importPipeline.runText(source, row -> true, job);
+            } else {
+                importPipeline.run(source, job);
+            }
+            refreshIndexesAfterImport();
+        });
     }
 
-    private Integer parseInteger(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            return null;
+    /**
+     * Start applying GeoNames daily change files in the background, so a refresh only
+     * writes what changed since the last import instead of re-importing everything.
+     * Either file may be omitted. Modified rows go through the same upsert as a full
+     * import, which leaves unchanged cities untouched.
+     *
+     * @param modificationsUrl URL of a modifications-YYYY-MM-DD.txt file (GeoNames lines), or null
+     * @param deletesUrl URL of a deletes-YYYY-MM-DD.txt file (geonameid, name, comment), or null
+     * @param minPopulation Only apply modified populated places with at least this population,
+     *                      to match the extract the table was loaded from; null for no limit
+     * @return The running import job
+     * @throws IllegalArgumentException if neither URL is given
+     * @throws IllegalStateException if the same files are already being imported or too many imports are running
+     */
+    public ImportJob importCityChangesFromUrls(String modificationsUrl, String deletesUrl, Long minPopulation) {
+        if (modificationsUrl == null && deletesUrl == null) {
+            throw new IllegalArgumentException("A modifications or deletes URL is required");
         }
+        String source = modificationsUrl == null ? deletesUrl
+            : deletesUrl == null ? modificationsUrl
+            : modificationsUrl + " " + deletesUrl;
+        return importJobManager.submit(IMPORT_TYPE, source, job -> {
+            if (modificationsUrl != null) {
+                importPipeline.runText(job.track(ImportSources.open(modificationsUrl)),
+                    row -> isPopulatedPlace(row, minPopulation), job);
+            }
+            if (deletesUrl != null) {
+                try (InputStream stream = job.track(ImportSources.open(deletesUrl))) {
+                    applyDeletes(stream, job);
+                }
+            }
+            refreshIndexesAfterImport();
+        });
     }
 
-    private BigDecimal parseBigDecimal(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
+    /**
+     * Rebuild the city indexes from the primary, which already has the rows just
+     * imported while a replica may not yet.
+     */
+    private void refreshIndexesAfterImport() {
         try {
-            return new BigDecimal(value.trim());
-        } catch (NumberFormatException e) {
-            return null;
+            readRouting.runOnPrimary(this::refreshIndexes);
+        } catch (Exception e) {
+            LOGGER.error("Failed to rebuild city indexes: {}", e.getMessage(), e);
         }
     }
 
-    private Date parseDate(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            return Date.valueOf(value.trim());
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+    private static boolean isPopulatedPlace(GeoNamesRow row, Long minPopulation) {
+        return "P".equals(row.featureClass)
+            && (minPopulation == null || row.hasPopulation && row.population >= minPopulation);
     }
 
     /**
-     * Result object for import operations.
+     * Delete the cities listed in a GeoNames deletes file.
+     * Expected format: geonameid TAB name TAB comment
      */
-    public static class ImportResult {
-        private boolean success;
-        private int citiesImported;
-        private int citiesSkipped;
-        private String errorMessage;
-        private long startTime;
-        private long endTime;
-
-        public boolean isSuccess() {
-            return success;
-        }
-
-        public void setSuccess(boolean success) {
-            this.success = success;
-        }
-
-        public int getCitiesImported() {
-            return citiesImported;
-        }
-
-        public void addCitiesImported(int count) {
-            this.citiesImported += count;
-        }
-
-        public int getCitiesSkipped() {
-            return citiesSkipped;
-        }
-
-        public void incrementSkipped() {
-            this.citiesSkipped++;
-        }
-
-        public String getErrorMessage() {
-            return errorMessage;
-        }
-
-        public void setErrorMessage(String errorMessage) {
-            this.errorMessage = errorMessage;
-        }
-
-        public long getStartTime() {
-            return startTime;
-        }
-
-        public void setStartTime(long startTime) {
-            this.startTime = startTime;
-        }
-
-        public long getEndTime() {
-            return endTime;
-        }
+    private void applyDeletes(InputStream inputStream, ImportJob job) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<Long> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        String line;
+        int lineNumber = 0;
 
-        public void setEndTime(long endTime) {
-            this.endTime = endTime;
+        while ((line = reader.readLine()) != null) {
+            job.checkCancelled();
+            lineNumber++;
+            int tab = line.indexOf('\t');
+            try {
+                batch.add(Long.parseLong((tab < 0 ? line : line.substring(0, tab)).trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Skipping deletes line {} - invalid geonameid", lineNumber);
+                job.incrementSkipped();
+                continue;
+            }
+            if (batch.size() == DELETE_BATCH_SIZE) {
+                job.addRowsDeleted(cityDao.deleteByGeonameIds(batch));
+                batch.clear();
+            }
         }
-
-        public long getDuration() {
-            return endTime - startTime;
+        if (!batch.isEmpty()) {
+            job.addRowsDeleted(cityDao.deleteByGeonameIds(batch));
         }
+        LOGGER.info("Applied {} city deletions from {} lines", job.getRowsDeleted(), lineNumber);
     }
 }
-
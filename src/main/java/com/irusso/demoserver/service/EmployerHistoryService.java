@@ -2,6 +2,7 @@ package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.dao.EmployerHistoryDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.EmployerHistory;
 
 import java.util.List;
@@ -27,6 +28,16 @@ public class EmployerHistoryService {
         return employerHistoryDao.findAll();
     }
 
+    /**
+     * Get a page of employer history records, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<EmployerHistory> getEmployerHistoryPage(String cursor, Integer limit) {
+        return employerHistoryDao.findPage(cursor, limit);
+    }
+
     /**
      * Get an employer history record by ID.
      */
@@ -41,6 +52,15 @@ public class EmployerHistoryService {
         return employerHistoryDao.insert(employerHistory);
     }
 
+    /**
+     * Create multiple employer history records in a single batch.
+     *
+     * @return the IDs of the created employer history records, in input order
+     */
+    public List<Long> createEmployerHistories(List<EmployerHistory> histories) {
+        return employerHistoryDao.insertAll(histories);
+    }
+
     /**
      * Update an existing employer history record.
      */
@@ -2,8 +2,10 @@ package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.dao.EmployerDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.Employer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +29,16 @@ public class EmployerService {
         return employerDao.findAll();
     }
 
+    /**
+     * Get a page of employers, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<Employer> getEmployersPage(String cursor, Integer limit) {
+        return employerDao.findPage(cursor, limit);
+    }
+
     /**
      * Get an employer by ID.
      */
@@ -34,6 +46,16 @@ public class EmployerService {
         return employerDao.findById(id);
     }
 
+    /**
+     * Get several employers by ID with one query.
+     *
+     * @param ids the employer IDs
+     * @return the employers found, in the order of the given IDs
+     */
+    public List<Employer> getEmployersByIds(List<Long> ids) {
+        return new ArrayList<>(employerDao.findByIds(ids).values());
+    }
+
     /**
      * Create a new employer.
      */
@@ -2,6 +2,7 @@ package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.dao.EmploymentHistoryDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.EmploymentHistory;
 
 import java.util.List;
@@ -27,6 +28,16 @@ public class EmploymentHistoryService {
         return employmentHistoryDao.findAll();
     }
 
+    /**
+     * Get a page of employment history records, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<EmploymentHistory> getEmploymentHistoryPage(String cursor, Integer limit) {
+        return employmentHistoryDao.findPage(cursor, limit);
+    }
+
     /**
      * Get an employment history record by ID.
      */
@@ -0,0 +1,250 @@
+package com.irusso.demoserver.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Parses GeoNames tab-separated lines straight from their UTF-8 bytes.
+ *
+ * A line is scanned once for tabs. Numbers and dates are read from the bytes without
+ * creating intermediate strings, the alternate names column (the widest one) is never
+ * decoded, and short repetitive columns (codes, time zones) are deduplicated through a
+ * small cache, so most lines only allocate their two name strings and the City itself.
+ * Malformed numeric and date columns are reported as absent rather than throwing.
+ *
+ * GeoNames columns: 0 geonameid, 1 name, 2 asciiname, 3 alternatenames, 4 latitude,
+ * 5 longitude, 6 feature class, 7 feature code, 8 country code, 9 cc2,
+ * 10-13 admin1-4 codes, 14 population, 15 elevation, 16 dem, 17 timezone,
+ * 18 modification date.
+ *
+ * Not thread-safe: use one parser per thread.
+ */
+final class GeoNamesParser {
+
+    static final int FIELD_COUNT = 19;
+
+    // Columns longer than this are decoded without looking in the cache
+    private static final int MAX_CACHED_LENGTH = 40;
+    private static final int STRING_CACHE_SIZE = 4096;
+    private static final int DATE_CACHE_SIZE = 1024;
+
+    // Start offset of each field of the current line; one extra slot marks "more fields"
+    private final int[] fieldStarts = new int[FIELD_COUNT + 1];
+    private int fieldCount;
+    private int lineEnd;
+
+    // Result of the last scanLong/scanDecimal call
+    private long number;
+    private int scale;
+
+    private final byte[][] cachedBytes = new byte[STRING_CACHE_SIZE][];
+    private final String[] cachedStrings = new String[STRING_CACHE_SIZE];
+    private final int[] dateKeys = new int[DATE_CACHE_SIZE];
+    // Shared by every city with the same modification date; callers must not mutate them
+    private final Date[] dates = new Date[DATE_CACHE_SIZE];
+
+    /**
+     * Parse one line, without its line terminator, into a row holder.
+     *
+     * @param bytes Buffer holding the line
+     * @param start Offset of the first byte of the line
+     * @param end Offset just past the last byte of the line
+     * @param row Receives the column values
+     * @return false if the line has fewer than {@value #FIELD_COUNT} fields; the row is then unchanged
+     */
+    boolean parse(byte[] bytes, int start, int end, GeoNamesRow row) {
+        int count = 0;
+        fieldStarts[count++] = start;
+        for (int i = start; i < end && count <= FIELD_COUNT; i++) {
+            if (bytes[i] == '\t') {
+                fieldStarts[count++] = i + 1;
+            }
+        }
+        fieldCount = count;
+        lineEnd = end;
+        if (count < FIELD_COUNT) {
+            return false;
+        }
+
+        row.hasGeonameId = scanLong(bytes, 0);
+        row.geonameId = number;
+        row.name = text(bytes, 1, false);
+        row.asciiName = text(bytes, 2, false);
+        row.hasLatitude = scanDecimal(bytes, 4);
+        row.latitudeUnscaled = number;
+        row.latitudeScale = scale;
+        row.hasLongitude = scanDecimal(bytes, 5);
+        row.longitudeUnscaled = number;
+        row.longitudeScale = scale;
+        row.featureClass = text(bytes, 6, true);
+        row.featureCode = text(bytes, 7, true);
+        row.countryCode = text(bytes, 8, true);
+        row.cc2 = text(bytes, 9, true);
+        row.admin1Code = text(bytes, 10, true);
+        row.admin2Code = text(bytes, 11, true);
+        row.admin3Code = text(bytes, 12, true);
+        row.admin4Code = text(bytes, 13, true);
+        row.hasPopulation = scanLong(bytes, 14);
+        row.population = number;
+        row.hasElevation = scanLong(bytes, 15) && number == (int) number;
+        row.elevation = (int) number;
+        row.hasDem = scanLong(bytes, 16) && number == (int) number;
+        row.dem = (int) number;
+        row.timezone = text(bytes, 17, true);
+        row.modificationDate = date(bytes, 18);
+        return true;
+    }
+
+    /**
+     * Number of fields found on the last line parsed, capped at {@value #FIELD_COUNT} + 1.
+     */
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    private int fieldEnd(int field) {
+        return field + 1 < fieldCount ? fieldStarts[field + 1] - 1 : lineEnd;
+    }
+
+    /**
+     * Decode a text column as-is (not trimmed), through the cache for short columns.
+     */
+    private String text(byte[] bytes, int field, boolean cache) {
+        int from = fieldStarts[field];
+        int to = fieldEnd(field);
+        int length = to - from;
+        if (length == 0) {
+            return "";
+        }
+        if (!cache || length > MAX_CACHED_LENGTH) {
+            return new String(bytes, from, length, StandardCharsets.UTF_8);
+        }
+
+        int hash = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ bytes[i]) * 0x01000193;
+        }
+        int slot = (hash ^ (hash >>> 16)) & (STRING_CACHE_SIZE - 1);
+        byte[] cached = cachedBytes[slot];
+        if (cached != null && Arrays.equals(cached, 0, cached.length, bytes, from, to)) {
+            return cachedStrings[slot];
+        }
+        String value = new String(bytes, from, length, StandardCharsets.UTF_8);
+        cachedBytes[slot] = Arrays.copyOfRange(bytes, from, to);
+        cachedStrings[slot] = value;
+        return value;
+    }
+
+    /**
+     * Read an optionally signed integer, ignoring surrounding whitespace, into {@link #number}.
+     */
+    private boolean scanLong(byte[] bytes, int field) {
+        return scanNumber(bytes, field, false);
+    }
+
+    /**
+     * Read an optionally signed decimal, ignoring surrounding whitespace, into
+     * {@link #number} (unscaled) and {@link #scale}.
+     */
+    private boolean scanDecimal(byte[] bytes, int field) {
+        return scanNumber(bytes, field, true);
+    }
+
+    private boolean scanNumber(byte[] bytes, int field, boolean allowFraction) {
+        number = 0;
+        scale = 0;
+        int i = fieldStarts[field];
+        int to = fieldEnd(field);
+        while (i < to && bytes[i] <= ' ') {
+            i++;
+        }
+        while (to > i && bytes[to - 1] <= ' ') {
+            to--;
+        }
+
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit >= 0 && digit <= 9) {
+                if (value > (Long.MAX_VALUE - digit) / 10) {
+                    return false;
+                }
+                value = value * 10 + digit;
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (bytes[i] == '.' && allowFraction && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        number = negative ? -value : value;
+        scale = Math.max(fractionDigits, 0);
+        return true;
+    }
+
+    /**
+     * Read a yyyy-MM-dd date, through the cache; null when empty or malformed.
+     */
+    private Date date(byte[] bytes, int field) {
+        int i = fieldStarts[field];
+        int to = fieldEnd(field);
+        while (i < to && bytes[i] <= ' ') {
+            i++;
+        }
+        while (to > i && bytes[to - 1] <= ' ') {
+            to--;
+        }
+        if (to - i != 10 || bytes[i + 4] != '-' || bytes[i + 7] != '-') {
+            return null;
+        }
+        int year = digits(bytes, i, 4);
+        int month = digits(bytes, i + 5, 2);
+        int day = digits(bytes, i + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+
+        int key = year * 10000 + month * 100 + day;
+        int slot = (key ^ (key >>> 10)) & (DATE_CACHE_SIZE - 1);
+        if (dateKeys[slot] == key && dates[slot] != null) {
+            return dates[slot];
+        }
+        try {
+            Date date = Date.valueOf(LocalDate.of(year, month, day));
+            dateKeys[slot] = key;
+            dates[slot] = date;
+            return date;
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(byte[] bytes, int from, int length) {
+        int value = 0;
+        for (int i = from; i < from + length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,67 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.db.model.City;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Mutable holder for one parsed GeoNames line, reused by {@link GeoNamesParser} for
+ * every line so numeric columns are kept as primitives until a City is built.
+ * Numeric columns that are empty or malformed are absent (the has* flag is false).
+ */
+final class GeoNamesRow {
+
+    long geonameId;
+    boolean hasGeonameId;
+    String name;
+    String asciiName;
+    long latitudeUnscaled;
+    int latitudeScale;
+    boolean hasLatitude;
+    long longitudeUnscaled;
+    int longitudeScale;
+    boolean hasLongitude;
+    String featureClass;
+    String featureCode;
+    String countryCode;
+    String cc2;
+    String admin1Code;
+    String admin2Code;
+    String admin3Code;
+    String admin4Code;
+    long population;
+    boolean hasPopulation;
+    int elevation;
+    boolean hasElevation;
+    int dem;
+    boolean hasDem;
+    String timezone;
+    Date modificationDate;
+
+    /**
+     * Build a City from the current values.
+     */
+    City toCity() {
+        City city = new City();
+        city.setGeonameId(hasGeonameId ? geonameId : null);
+        city.setName(name);
+        city.setAsciiName(asciiName);
+        city.setLatitude(hasLatitude ? BigDecimal.valueOf(latitudeUnscaled, latitudeScale) : null);
+        city.setLongitude(hasLongitude ? BigDecimal.valueOf(longitudeUnscaled, longitudeScale) : null);
+        city.setFeatureClass(featureClass);
+        city.setFeatureCode(featureCode);
+        city.setCountryCode(countryCode);
+        city.setCc2(cc2);
+        city.setAdmin1Code(admin1Code);
+        city.setAdmin2Code(admin2Code);
+        city.setAdmin3Code(admin3Code);
+        city.setAdmin4Code(admin4Code);
+        city.setPopulation(hasPopulation ? population : null);
+        city.setElevation(hasElevation ? elevation : null);
+        city.setDem(hasDem ? dem : null);
+        city.setTimezone(timezone);
+        city.setModificationDate(modificationDate);
+        return city;
+    }
+}
@@ -0,0 +1,359 @@
+package com.irusso.demoserver.service;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A background import tracked by {@link ImportJobManager}, with live counters that the
+ * importing threads update and status requests read concurrently.
+ *
+ * Cancellation is cooperative: {@link #cancel} only sets a flag, and the import stops
+ * at its next checkpoint, which is any read from a stream wrapped by {@link #track}
+ * or an explicit {@link #checkCancelled} call. Rows committed before that stay
+ * committed.
+ */
+public class ImportJob {
+
+    /**
+     * Lifecycle of an import.
+     */
+    public enum Status {
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String id;
+    private final String type;
+    private final String source;
+    private final Meter rowsMeter;
+    private final Meter bytesMeter;
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final AtomicLong rowsUnchanged = new AtomicLong();
+    private final AtomicLong rowsDeleted = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong readNanos = new AtomicLong();
+    private final AtomicLong batchesCommitted = new AtomicLong();
+    private final long startTime = System.currentTimeMillis();
+    private volatile long endTime;
+    private volatile Status status = Status.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile String errorMessage;
+    private volatile List<StageStats> stages = List.of();
+
+    /**
+     * Constructor for ImportJob.
+     *
+     * @param id The job ID
+     * @param type What is imported, e.g. "cities"; also names the job's metrics
+     * @param source The URL imported from
+     * @param metrics Registry holding the per-type row and byte meters
+     */
+    public ImportJob(String id, String type, String source, MetricRegistry metrics) {
+        this.id = id;
+        this.type = type;
+        this.source = source;
+        this.rowsMeter = metrics.meter(MetricRegistry.name(ImportJob.class, type, "rows"));
+        this.bytesMeter = metrics.meter(MetricRegistry.name(ImportJob.class, type, "bytes"));
+    }
+
+    @JsonProperty
+    public String getId() {
+        return id;
+    }
+
+    @JsonProperty
+    public String getType() {
+        return type;
+    }
+
+    @JsonProperty
+    public String getSource() {
+        return source;
+    }
+
+    @JsonProperty
+    public Status getStatus() {
+        return status;
+    }
+
+    @JsonProperty
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    @JsonProperty
+    public long getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+
+    /**
+     * Rows read that matched what was already stored, so nothing was written.
+     */
+    @JsonProperty
+    public long getRowsUnchanged() {
+        return rowsUnchanged.get();
+    }
+
+    @JsonProperty
+    public long getRowsDeleted() {
+        return rowsDeleted.get();
+    }
+
+    @JsonProperty
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * Time spent inside reads of the source, excluding parsing and writing.
+     */
+    @JsonProperty
+    public long getReadMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(readNanos.get());
+    }
+
+    /**
+     * Throughput of the source itself: bytes read per second spent reading. Compare
+     * with the overall rate to see whether the source or the rest of the import is slower.
+     */
+    @JsonProperty
+    public double getReadBytesPerSecond() {
+        long nanos = readNanos.get();
+        return nanos > 0 ? bytesRead.get() * (double) TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    @JsonProperty
+    public long getBatchesCommitted() {
+        return batchesCommitted.get();
+    }
+
+    /**
+     * Rows imported per second since the job started.
+     */
+    @JsonProperty
+    public double getRowsPerSecond() {
+        long millis = getDuration();
+        return millis > 0 ? rowsImported.get() * (double) TimeUnit.SECONDS.toMillis(1) / millis : 0;
+    }
+
+    @JsonProperty
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * When the job finished, or 0 while it runs.
+     */
+    @JsonProperty
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Milliseconds the job ran, or has run so far.
+     */
+    @JsonProperty
+    public long getDuration() {
+        long end = endTime;
+        return (end > 0 ? end : System.currentTimeMillis()) - startTime;
+    }
+
+    @JsonProperty
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @JsonProperty
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /**
+     * Throughput of each pipeline stage, for imports that run as a pipeline.
+     */
+    @JsonProperty
+    public List<StageStats> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<StageStats> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Record rows inserted or changed by one committed batch.
+     */
+    public long addRowsImported(long count) {
+        batchesCommitted.incrementAndGet();
+        rowsMeter.mark(count);
+        return rowsImported.addAndGet(count);
+    }
+
+    public void addRowsUnchanged(long count) {
+        rowsUnchanged.addAndGet(count);
+    }
+
+    public void addRowsDeleted(long count) {
+        rowsDeleted.addAndGet(count);
+    }
+
+    public void addRowsSkipped(long count) {
+        rowsSkipped.addAndGet(count);
+    }
+
+    public void incrementSkipped() {
+        rowsSkipped.incrementAndGet();
+    }
+
+    /**
+     * Whether the job is still running.
+     */
+    public boolean isActive() {
+        return status == Status.RUNNING;
+    }
+
+    /**
+     * Ask the import to stop at its next checkpoint.
+     *
+     * @return false if the job had already finished
+     */
+    public boolean cancel() {
+        if (!isActive()) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    /**
+     * Checkpoint for long-running loops.
+     *
+     * @throws CancellationException if cancellation was requested
+     */
+    public void checkCancelled() {
+        if (cancelRequested) {
+            throw new CancellationException("Import " + id + " was cancelled");
+        }
+    }
+
+    /**
+     * Wrap a source stream so reads count bytes and time, and act as cancellation checkpoints.
+     */
+    public InputStream track(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                checkCancelled();
+                long start = System.nanoTime();
+                int b = super.read();
+                addBytesRead(b >= 0 ? 1 : 0, start);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                checkCancelled();
+                long start = System.nanoTime();
+                int read = super.read(buffer, offset, length);
+                addBytesRead(Math.max(read, 0), start);
+                return read;
+            }
+        };
+    }
+
+    private void addBytesRead(long count, long startNanos) {
+        readNanos.addAndGet(System.nanoTime() - startNanos);
+        if (count > 0) {
+            bytesRead.addAndGet(count);
+            bytesMeter.mark(count);
+        }
+    }
+
+    void succeeded() {
+        finish(Status.SUCCEEDED, null);
+    }
+
+    void failed(Throwable e) {
+        if (cancelRequested) {
+            finish(Status.CANCELLED, null);
+        } else {
+            finish(Status.FAILED, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void finish(Status finalStatus, String error) {
+        this.errorMessage = error;
+        this.endTime = System.currentTimeMillis();
+        this.status = finalStatus;
+    }
+
+    /**
+     * Throughput of one pipeline stage. Times are summed over the stage's threads.
+     */
+    public static class StageStats {
+        private final String name;
+        private final int threads;
+        private final long items;
+        private final long busyNanos;
+        private final long blockedNanos;
+
+        public StageStats(String name, int threads, long items, long busyNanos, long blockedNanos) {
+            this.name = name;
+            this.threads = threads;
+            this.items = items;
+            this.busyNanos = busyNanos;
+            this.blockedNanos = blockedNanos;
+        }
+
+        @JsonProperty
+        public String getName() {
+            return name;
+        }
+
+        @JsonProperty
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Lines read or parsed, or rows written.
+         */
+        @JsonProperty
+        public long getItems() {
+            return items;
+        }
+
+        @JsonProperty
+        public long getBusyMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(busyNanos);
+        }
+
+        /**
+         * Time spent waiting on a queue: for a full queue downstream or an empty one upstream.
+         */
+        @JsonProperty
+        public long getBlockedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(blockedNanos);
+        }
+
+        /**
+         * Items per second the stage sustains while busy, with all its threads working.
+         */
+        @JsonProperty
+        public double getItemsPerSecond() {
+            return busyNanos > 0 ? items * (double) TimeUnit.SECONDS.toNanos(1) * threads / busyNanos : 0;
+        }
+    }
+}
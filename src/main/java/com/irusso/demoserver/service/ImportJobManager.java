@@ -0,0 +1,173 @@
+package com.irusso.demoserver.service;
+
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs imports in the background and keeps track of them, so callers can poll a job
+ * by ID instead of reading the server logs.
+ *
+ * At most one import of a given type and source runs at a time, and at most
+ * maxConcurrentJobs imports run at once. Finished jobs are kept, newest first, until
+ * retainedJobs newer ones have finished.
+ */
+public class ImportJobManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportJobManager.class);
+
+    private final ExecutorService executor;
+    private final MetricRegistry metrics;
+    private final int maxConcurrentJobs;
+    private final int retainedJobs;
+    // Running jobs keyed by type and source, and finished job IDs oldest first; guarded by this
+    private final Map<String, ImportJob> running = new HashMap<>();
+    private final Deque<String> finished = new ArrayDeque<>();
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * An import body. Throwing fails the job; a {@link java.util.concurrent.CancellationException}
+     * after {@link ImportJob#cancel} marks it cancelled.
+     */
+    @FunctionalInterface
+    public interface ImportTask {
+        void run(ImportJob job) throws Exception;
+    }
+
+    /**
+     * Constructor for ImportJobManager.
+     *
+     * @param executor Runs the imports; shut down with the application
+     * @param metrics Registry for the per-type row and byte meters
+     * @param maxConcurrentJobs Imports allowed to run at once
+     * @param retainedJobs Finished jobs kept for status requests
+     */
+    public ImportJobManager(ExecutorService executor, MetricRegistry metrics, int maxConcurrentJobs, int retainedJobs) {
+        if (maxConcurrentJobs < 1 || retainedJobs < 0) {
+            throw new IllegalArgumentException("maxConcurrentJobs must be positive and retainedJobs not negative");
+        }
+        this.executor = executor;
+        this.metrics = metrics;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.retainedJobs = retainedJobs;
+    }
+
+    /**
+     * Start an import in the background.
+     *
+     * @param type What is imported, e.g. "cities"
+     * @param source The URL imported from
+     * @param task The import itself
+     * @return The running job
+     * @throws IllegalStateException if the same source is already being imported, or too many imports are running
+     */
+    public ImportJob submit(String type, String source, ImportTask task) {
+        String key = type + " " + source;
+        ImportJob job;
+        synchronized (this) {
+            ImportJob existing = running.get(key);
+            if (existing != null) {
+                throw new IllegalStateException("An import of " + type + " from " + source
+                    + " is already running as job " + existing.getId());
+            }
+            if (running.size() >= maxConcurrentJobs) {
+                throw new IllegalStateException("Too many imports running (at most " + maxConcurrentJobs
+                    + "); try again once one has finished");
+            }
+            job = new ImportJob(UUID.randomUUID().toString(), type, source, metrics);
+            running.put(key, job);
+            jobs.put(job.getId(), job);
+        }
+
+        try {
+            executor.execute(() -> run(key, job, task));
+        } catch (RejectedExecutionException e) {
+            finish(key, job, e);
+            throw new IllegalStateException("No thread available for the import; try again later", e);
+        }
+        LOGGER.info("Started {} import {} from {}", type, job.getId(), source);
+        return job;
+    }
+
+    /**
+     * Get a running or recently finished job.
+     */
+    public Optional<ImportJob> get(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * All running and retained jobs, newest first.
+     */
+    public List<ImportJob> list() {
+        List<ImportJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparingLong(ImportJob::getStartTime).reversed());
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Request cancellation of a running job.
+     *
+     * @return The job, or empty if there is no job with this ID
+     */
+    public Optional<ImportJob> cancel(String id) {
+        Optional<ImportJob> job = get(id);
+        job.ifPresent(j -> {
+            if (j.cancel()) {
+                LOGGER.info("Cancellation requested for {} import {}", j.getType(), j.getId());
+            }
+        });
+        return job;
+    }
+
+    private void run(String key, ImportJob job, ImportTask task) {
+        Throwable failure = null;
+        try {
+            task.run(job);
+        } catch (Throwable e) {
+            failure = e;
+        }
+        finish(key, job, failure);
+
+        if (job.getStatus() == ImportJob.Status.SUCCEEDED) {
+            LOGGER.info("{} import {} completed: {} imported, {} skipped, {} bytes in {} ms (source read at {} bytes/s)",
+                job.getType(), job.getId(), job.getRowsImported(), job.getRowsSkipped(),
+                job.getBytesRead(), job.getDuration(), Math.round(job.getReadBytesPerSecond()));
+        } else if (job.getStatus() == ImportJob.Status.CANCELLED) {
+            LOGGER.info("{} import {} cancelled after {} rows", job.getType(), job.getId(), job.getRowsImported());
+        } else {
+            LOGGER.error("{} import {} failed: {}", job.getType(), job.getId(), job.getErrorMessage(), failure);
+        }
+    }
+
+    /**
+     * Release the source and record the outcome together, so a caller that sees the job
+     * finished can start the same import again straight away.
+     */
+    private synchronized void finish(String key, ImportJob job, Throwable failure) {
+        running.remove(key, job);
+        if (failure == null) {
+            job.succeeded();
+        } else {
+            job.failed(failure);
+        }
+        finished.addLast(job.getId());
+        while (finished.size() > retainedJobs) {
+            jobs.remove(finished.removeFirst());
+        }
+    }
+}
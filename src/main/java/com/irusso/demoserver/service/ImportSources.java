@@ -0,0 +1,210 @@
+package com.irusso.demoserver.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Opens the URLs that imports read from.
+ *
+ * Local files are read through a FileChannel rather than URL.openStream(): plain text
+ * files (.txt, .csv, .tsv) are memory-mapped, so reads copy straight out of the page
+ * cache, and anything else (archives, which are read through a decompressor) is read
+ * with a large direct buffer, one system call per megabyte.
+ */
+final class ImportSources {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 30000;
+    private static final int READ_TIMEOUT_MILLIS = 60000;
+    // Mapped at a time; keeps address space use bounded for files of any size
+    static final long MAPPING_SIZE = 256L * 1024 * 1024;
+    static final int DIRECT_BUFFER_SIZE = 1024 * 1024;
+
+    private ImportSources() {
+    }
+
+    /**
+     * Open a file:// or http(s):// URL for reading.
+     *
+     * @param fileUrl The URL
+     * @return A stream over the content; buffered or memory-mapped, so callers need no extra buffering
+     * @throws IOException if the URL cannot be opened or the server does not answer 200
+     */
+    static InputStream open(String fileUrl) throws IOException {
+        if (fileUrl.startsWith("file://")) {
+            Path path = toPath(fileUrl);
+            return isPlainText(fileUrl)
+                ? new MappedFileInputStream(path, MAPPING_SIZE)
+                : new ChannelInputStream(path, DIRECT_BUFFER_SIZE);
+        }
+
+        URL url = new URL(fileUrl);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("GET");
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+
+        int responseCode = connection.getResponseCode();
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            connection.disconnect();
+            throw new IOException("Failed to download file. HTTP response code: " + responseCode);
+        }
+        return new BufferedInputStream(connection.getInputStream());
+    }
+
+    /**
+     * Whether the URL names an uncompressed text file (.txt, .csv or .tsv) rather than an archive.
+     */
+    static boolean isPlainText(String fileUrl) {
+        String path;
+        try {
+            path = new URI(fileUrl).getPath();
+        } catch (URISyntaxException e) {
+            path = fileUrl;
+        }
+        String lower = path == null ? "" : path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".txt") || lower.endsWith(".csv") || lower.endsWith(".tsv");
+    }
+
+    private static Path toPath(String fileUrl) throws IOException {
+        try {
+            return Path.of(new URI(fileUrl));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Invalid file URL: " + fileUrl, e);
+        }
+    }
+
+    /**
+     * Reads a file through successive read-only memory mappings of at most mappingSize bytes.
+     */
+    static final class MappedFileInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long size;
+        private final long mappingSize;
+        private long mappedUpTo;
+        private MappedByteBuffer buffer;
+
+        MappedFileInputStream(Path path, long mappingSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.size = channel.size();
+            this.mappingSize = mappingSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextMapping() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextMapping()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer == null ? 0 : buffer.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            buffer = null;
+            channel.close();
+        }
+
+        /**
+         * Make sure the current mapping has bytes left, mapping the next region if needed.
+         *
+         * @return false at end of file
+         */
+        private boolean nextMapping() throws IOException {
+            if (buffer != null && buffer.hasRemaining()) {
+                return true;
+            }
+            if (mappedUpTo >= size) {
+                return false;
+            }
+            long length = Math.min(mappingSize, size - mappedUpTo);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, mappedUpTo, length);
+            mappedUpTo += length;
+            return true;
+        }
+    }
+
+    /**
+     * Reads a file through a FileChannel into a reused direct buffer.
+     */
+    static final class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private boolean endOfFile;
+
+        ChannelInputStream(Path path, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            buffer.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Refill the buffer from the channel once it is drained.
+         *
+         * @return false at end of file
+         */
+        private boolean fill() throws IOException {
+            while (!buffer.hasRemaining()) {
+                if (endOfFile) {
+                    return false;
+                }
+                buffer.clear();
+                endOfFile = channel.read(buffer) < 0;
+                buffer.flip();
+            }
+            return true;
+        }
+    }
+}
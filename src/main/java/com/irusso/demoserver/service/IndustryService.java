@@ -9,12 +9,9 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for Industry operations.
@@ -23,13 +20,16 @@ import java.util.concurrent.CompletableFuture;
 public class IndustryService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(IndustryService.class);
-    private static final int BATCH_SIZE = 100;
+    private static final int BATCH_SIZE = 1000;
+    static final String IMPORT_TYPE = "industries";
 
     private final IndustryDao industryDao;
+    private final ImportJobManager importJobManager;
 
     @Inject
-    public IndustryService(IndustryDao industryDao) {
+    public IndustryService(IndustryDao industryDao, ImportJobManager importJobManager) {
         this.industryDao = industryDao;
+        this.importJobManager = importJobManager;
     }
 
     /**
@@ -81,57 +81,18 @@ public class IndustryService {
     }
 
     /**
-     * Import industries from a CSV file URL asynchronously.
+     * Start importing industries from a CSV file URL in the background.
      * Expected CSV format: ID,Industry
      *
      * @param fileUrl URL to the CSV file
-     * @return CompletableFuture that completes when import is done
+     * @return The running import job
+     * @throws IllegalStateException if the URL is already being imported or too many imports are running
      */
-    public CompletableFuture<ImportResult> importIndustriesFromUrl(String fileUrl) {
-        return CompletableFuture.supplyAsync(() -> {
-            LOGGER.info("Starting industry import from URL: {}", fileUrl);
-            ImportResult result = new ImportResult();
-            result.setStartTime(System.currentTimeMillis());
-
-            try {
-                // Download and process the file
-                URL url = new URL(fileUrl);
-                InputStream inputStream;
-
-                // Handle file:// URLs differently from http:// URLs
-                if (fileUrl.startsWith("file://")) {
-                    inputStream = url.openStream();
-                } else {
-                    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                    connection.setRequestMethod("GET");
-                    connection.setConnectTimeout(30000);
-                    connection.setReadTimeout(60000);
-
-                    int responseCode = connection.getResponseCode();
-                    if (responseCode != HttpURLConnection.HTTP_OK) {
-                        throw new RuntimeException("Failed to download file. HTTP response code: " + responseCode);
-                    }
-
-                    inputStream = connection.getInputStream();
-                }
-
-                try (InputStream stream = inputStream) {
-                    parseCsvFile(stream, result);
-                }
-
-                result.setSuccess(true);
-                result.setEndTime(System.currentTimeMillis());
-                LOGGER.info("Industry import completed successfully: {} imported, {} skipped in {} ms",
-                        result.getIndustriesImported(), result.getIndustriesSkipped(), result.getDuration());
-
-            } catch (Exception e) {
-                result.setSuccess(false);
-                result.setErrorMessage(e.getMessage());
-                result.setEndTime(System.currentTimeMillis());
-                LOGGER.error("Industry import failed", e);
+    public ImportJob importIndustriesFromUrl(String fileUrl) {
+        return importJobManager.submit(IMPORT_TYPE, fileUrl, job -> {
+            try (InputStream stream = job.track(ImportSources.open(fileUrl))) {
+                parseCsvFile(stream, job);
             }
-
-            return result;
         });
     }
 
@@ -139,13 +100,14 @@ public class IndustryService {
      * Parse CSV file and import industries.
      * Expected format: ID,Industry
      */
-    private void parseCsvFile(InputStream inputStream, ImportResult result) throws Exception {
+    private void parseCsvFile(InputStream inputStream, ImportJob job) throws Exception {
         BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
         List<Industry> batch = new ArrayList<>();
         String line;
         int lineNumber = 0;
 
         while ((line = reader.readLine()) != null) {
+            job.checkCancelled();
             lineNumber++;
             
             // Skip header line
@@ -157,7 +119,7 @@ public class IndustryService {
                 String[] fields = line.split(",", -1);
                 if (fields.length < 2) {
                     LOGGER.warn("Skipping line {} - insufficient fields: {}", lineNumber, fields.length);
-                    result.incrementSkipped();
+                    job.incrementSkipped();
                     continue;
                 }
 
@@ -166,7 +128,7 @@ public class IndustryService {
                 
                 if (industryName.isEmpty()) {
                     LOGGER.warn("Skipping line {} - empty industry name", lineNumber);
-                    result.incrementSkipped();
+                    job.incrementSkipped();
                     continue;
                 }
 
@@ -175,88 +137,23 @@ public class IndustryService {
 
                 // Batch insert for performance
                 if (batch.size() >= BATCH_SIZE) {
-                    int inserted = industryDao.batchInsert(batch);
-                    result.addIndustriesImported(inserted);
-                    LOGGER.info("Imported batch of {} industries. Total: {}", inserted, result.getIndustriesImported());
+                    long inserted = industryDao.copyUpsert(batch);
+                    long total = job.addRowsImported(inserted);
+                    LOGGER.info("Imported batch of {} industries. Total: {}", inserted, total);
                     batch.clear();
                 }
 
             } catch (Exception e) {
                 LOGGER.warn("Error parsing line {}: {}", lineNumber, e.getMessage());
-                result.incrementSkipped();
+                job.incrementSkipped();
             }
         }
 
         // Insert remaining batch
         if (!batch.isEmpty()) {
-            int inserted = industryDao.batchInsert(batch);
-            result.addIndustriesImported(inserted);
-            LOGGER.info("Imported final batch of {} industries. Total: {}", inserted, result.getIndustriesImported());
-        }
-    }
-
-    /**
-     * Result object for import operations.
-     */
-    public static class ImportResult {
-        private boolean success;
-        private int industriesImported;
-        private int industriesSkipped;
-        private String errorMessage;
-        private long startTime;
-        private long endTime;
-
-        public boolean isSuccess() {
-            return success;
-        }
-
-        public void setSuccess(boolean success) {
-            this.success = success;
-        }
-
-        public int getIndustriesImported() {
-            return industriesImported;
-        }
-
-        public void addIndustriesImported(int count) {
-            this.industriesImported += count;
-        }
-
-        public int getIndustriesSkipped() {
-            return industriesSkipped;
-        }
-
-        public void incrementSkipped() {
-            this.industriesSkipped++;
-        }
-
-        public String getErrorMessage() {
-            return errorMessage;
-        }
-
-        public void setErrorMessage(String errorMessage) {
-            this.errorMessage = errorMessage;
-        }
-
-        public long getStartTime() {
-            return startTime;
-        }
-
-        public void setStartTime(long startTime) {
-            this.startTime = startTime;
-        }
-
-        public long getEndTime() {
-            return endTime;
-        }
-
-        public void setEndTime(long endTime) {
-            this.endTime = endTime;
-        }
-
-        public long getDuration() {
-            return endTime - startTime;
+            long inserted = industryDao.copyUpsert(batch);
+            long total = job.addRowsImported(inserted);
+            LOGGER.info("Imported final batch of {} industries. Total: {}", inserted, total);
         }
     }
 }
-
@@ -1,23 +1,58 @@
 package com.irusso.demoserver.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.inject.Inject;
+import com.irusso.demoserver.api.FacetCount;
 import com.irusso.demoserver.db.dao.JobPostingDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobPostingSearchResult;
+import com.irusso.demoserver.search.JobSearchIndex;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * Service layer for JobPosting operations.
  * Handles business logic and delegates to JobPostingDao for data access.
+ * Every write re-indexes the posting for search and rescores its matches.
  */
 public class JobPostingService {
 
+    static final String DEFAULT_SEARCH_STATUS = "ACTIVE";
+    private static final List<String> STATUSES = List.of("ACTIVE", "CLOSED", "FILLED");
+
+    // Facet counts are cached per normalized query; writes through this service drop them at
+    // once, postings written elsewhere (imports, other servers) are counted once entries expire
+    static final int FACET_CACHE_SIZE = 1000;
+    static final Duration FACET_CACHE_TTL = Duration.ofMinutes(1);
+    private static final String FACET_KEY_SEPARATOR = "|";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     private final JobPostingDao jobPostingDao;
+    private final JobSearchService jobSearchService;
+    private final MatchService matchService;
+    private final Cache<String, Map<String, List<FacetCount>>> facetCache = Caffeine.newBuilder()
+        .maximumSize(FACET_CACHE_SIZE)
+        .expireAfterWrite(FACET_CACHE_TTL)
+        .build();
+    private final AtomicLong facetGeneration = new AtomicLong();
 
     @Inject
-    public JobPostingService(JobPostingDao jobPostingDao) {
+    public JobPostingService(JobPostingDao jobPostingDao, JobSearchService jobSearchService,
+                             MatchService matchService) {
         this.jobPostingDao = jobPostingDao;
+        this.jobSearchService = jobSearchService;
+        this.matchService = matchService;
     }
 
     /**
@@ -27,6 +62,16 @@ public class JobPostingService {
         return jobPostingDao.findAll();
     }
 
+    /**
+     * Get a page of job postings, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<JobPosting> getJobPostingsPage(String cursor, Integer limit) {
+        return jobPostingDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a job posting by ID.
      */
@@ -38,21 +83,56 @@ public class JobPostingService {
      * Create a new job posting.
      */
     public Long createJobPosting(JobPosting jobPosting) {
-        return jobPostingDao.insert(jobPosting);
+        Long id = jobPostingDao.insert(jobPosting);
+        invalidateSearchFacets();
+        jobSearchService.index(id);
+        matchService.jobPostingChanged(id);
+        return id;
     }
 
     /**
      * Update an existing job posting.
      */
     public boolean updateJobPosting(JobPosting jobPosting) {
-        return jobPostingDao.update(jobPosting.getId(), jobPosting);
+        boolean updated = jobPostingDao.update(jobPosting.getId(), jobPosting);
+        if (updated) {
+            invalidateSearchFacets();
+            jobSearchService.index(jobPosting.getId());
+            matchService.jobPostingChanged(jobPosting.getId());
+        }
+        return updated;
+    }
+
+    /**
+     * Change the status of a job posting, recording the closed date when it is closed or filled.
+     *
+     * @throws IllegalArgumentException if the status is not one of ACTIVE, CLOSED or FILLED
+     */
+    public boolean updateJobPostingStatus(Long id, String status) {
+        String resolvedStatus = status != null ? status.trim().toUpperCase(Locale.ROOT) : null;
+        if (resolvedStatus == null || !STATUSES.contains(resolvedStatus)) {
+            throw new IllegalArgumentException("status must be one of " + String.join(", ", STATUSES));
+        }
+        boolean updated = jobPostingDao.updateStatus(id, resolvedStatus);
+        if (updated) {
+            invalidateSearchFacets();
+            jobSearchService.index(id);
+            matchService.jobPostingChanged(id);
+        }
+        return updated;
     }
 
     /**
      * Delete a job posting by ID.
      */
     public boolean deleteJobPosting(Long id) {
-        return jobPostingDao.delete(id);
+        boolean deleted = jobPostingDao.delete(id);
+        if (deleted) {
+            invalidateSearchFacets();
+            jobSearchService.remove(id);
+            matchService.jobPostingChanged(id);
+        }
+        return deleted;
     }
 
     /**
@@ -82,5 +162,136 @@ public class JobPostingService {
     public List<JobPosting> findByLocation(String location) {
         return jobPostingDao.findByLocation(location);
     }
-}
 
+    /**
+     * Get a page of job postings whose salary range overlaps the given one, ordered by ID.
+     *
+     * @param minSalary lowest salary of interest, or null for no lower limit
+     * @param maxSalary highest salary of interest, or null for no upper limit
+     * @param status required status; ACTIVE if null
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     * @throws IllegalArgumentException if neither salary is given, or a filter or the cursor is invalid
+     */
+    public Page<JobPosting> getJobPostingsBySalary(BigDecimal minSalary, BigDecimal maxSalary, String status,
+                                                   String cursor, Integer limit) {
+        if (minSalary == null && maxSalary == null) {
+            throw new IllegalArgumentException("minSalary or maxSalary is required");
+        }
+        validateSalaryRange(minSalary, maxSalary);
+        return jobPostingDao.findBySalaryOverlap(minSalary, maxSalary, resolveStatus(status), cursor, limit);
+    }
+
+    /**
+     * Search job postings by text, most relevant first.
+     *
+     * @param query words to look for in the title, field, responsibilities and description
+     * @param status required status; ACTIVE if null
+     * @param experienceLevel required experience level, or null
+     * @param minSalary lowest acceptable salary, or null
+     * @param maxSalary highest starting salary, or null
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     * @throws IllegalArgumentException if the query is blank or a filter or the cursor is invalid
+     */
+    public Page<JobPostingSearchResult> searchJobPostings(String query, String status, String experienceLevel,
+                                                          BigDecimal minSalary, BigDecimal maxSalary,
+                                                          String cursor, Integer limit) {
+        String resolvedStatus = validateSearch(query, status, minSalary, maxSalary);
+        JobPostingDao.SearchFilters filters = JobPostingDao.SearchFilters.builder()
+            .status(resolvedStatus)
+            .experienceLevel(trimToNull(experienceLevel))
+            .minSalary(minSalary)
+            .maxSalary(maxSalary)
+            .build();
+        return jobPostingDao.search(query.trim(), filters, cursor, limit);
+    }
+
+    /**
+     * Count the postings matching a search by field, experience level, location and
+     * salary band, to show next to the results of {@link #searchJobPostings}. Counted by
+     * the database over the same full-text matches as the results, and cached per
+     * normalized query and filters until a posting is next written through this service
+     * or {@link #FACET_CACHE_TTL} has passed, whichever comes first.
+     *
+     * @throws IllegalArgumentException if the query is blank or a filter is invalid
+     */
+    public Map<String, List<FacetCount>> getSearchFacets(String query, String status, String experienceLevel,
+                                                         BigDecimal minSalary, BigDecimal maxSalary) {
+        String resolvedStatus = validateSearch(query, status, minSalary, maxSalary);
+        JobPostingDao.SearchFilters filters = JobPostingDao.SearchFilters.builder()
+            .status(resolvedStatus)
+            .experienceLevel(trimToNull(experienceLevel))
+            .minSalary(minSalary)
+            .maxSalary(maxSalary)
+            .build();
+        String trimmedQuery = query.trim();
+        String key = String.join(FACET_KEY_SEPARATOR,
+            WHITESPACE.matcher(trimmedQuery.toLowerCase(Locale.ROOT)).replaceAll(" "),
+            resolvedStatus,
+            filters.getExperienceLevel() != null ? filters.getExperienceLevel().toUpperCase(Locale.ROOT) : "",
+            minSalary != null ? minSalary.stripTrailingZeros().toPlainString() : "",
+            maxSalary != null ? maxSalary.stripTrailingZeros().toPlainString() : "");
+
+        Map<String, List<FacetCount>> cached = facetCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = facetGeneration.get();
+        Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+        jobPostingDao.countSearchFacets(trimmedQuery, filters)
+            .forEach((facet, countsByValue) -> counts.put(facet, JobSearchIndex.facetCounts(facet, countsByValue)));
+        Map<String, List<FacetCount>> result = Collections.unmodifiableMap(counts);
+        // A posting written while counting may be missing from the counts; don't keep them
+        if (facetGeneration.get() == generation) {
+            facetCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Drop the cached facet counts after a posting is written. Bumping the generation
+     * first keeps counts computed before the write from being cached after it.
+     */
+    private void invalidateSearchFacets() {
+        facetGeneration.incrementAndGet();
+        facetCache.invalidateAll();
+    }
+
+    /**
+     * Check the search parameters shared by results and facet counts.
+     *
+     * @return the status to filter on
+     */
+    private static String validateSearch(String query, String status, BigDecimal minSalary, BigDecimal maxSalary) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("q parameter is required");
+        }
+        String resolvedStatus = resolveStatus(status);
+        validateSalaryRange(minSalary, maxSalary);
+        return resolvedStatus;
+    }
+
+    /**
+     * Check a status filter.
+     *
+     * @return the status to filter on; ACTIVE if none was given
+     */
+    private static String resolveStatus(String status) {
+        String resolvedStatus = status != null ? status.trim().toUpperCase(Locale.ROOT) : DEFAULT_SEARCH_STATUS;
+        if (!STATUSES.contains(resolvedStatus)) {
+            throw new IllegalArgumentException("status must be one of " + String.join(", ", STATUSES));
+        }
+        return resolvedStatus;
+    }
+
+    private static void validateSalaryRange(BigDecimal minSalary, BigDecimal maxSalary) {
+        if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+            throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return value != null && !value.trim().isEmpty() ? value.trim() : null;
+    }
+}
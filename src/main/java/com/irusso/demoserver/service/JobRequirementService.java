@@ -2,22 +2,32 @@ package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
 import com.irusso.demoserver.db.dao.JobRequirementDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.JobRequirement;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for JobRequirement operations.
  * Handles business logic and delegates to JobRequirementDao for data access.
+ * Requirement text is searchable and requirements are matched against users, so every
+ * write re-indexes the affected job posting and rescores its matches.
  */
 public class JobRequirementService {
 
     private final JobRequirementDao jobRequirementDao;
+    private final JobSearchService jobSearchService;
+    private final MatchService matchService;
 
     @Inject
-    public JobRequirementService(JobRequirementDao jobRequirementDao) {
+    public JobRequirementService(JobRequirementDao jobRequirementDao, JobSearchService jobSearchService,
+                                 MatchService matchService) {
         this.jobRequirementDao = jobRequirementDao;
+        this.jobSearchService = jobSearchService;
+        this.matchService = matchService;
     }
 
     /**
@@ -27,6 +37,16 @@ public class JobRequirementService {
         return jobRequirementDao.findAll();
     }
 
+    /**
+     * Get a page of job requirements, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<JobRequirement> getJobRequirementsPage(String cursor, Integer limit) {
+        return jobRequirementDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a job requirement by ID.
      */
@@ -38,21 +58,53 @@ public class JobRequirementService {
      * Create a new job requirement.
      */
     public Long createJobRequirement(JobRequirement jobRequirement) {
-        return jobRequirementDao.insert(jobRequirement);
+        Long id = jobRequirementDao.insert(jobRequirement);
+        jobPostingChanged(jobRequirement.getJobPostingId());
+        return id;
+    }
+
+    /**
+     * Create multiple job requirements in a single batch.
+     *
+     * @return the IDs of the created job requirements, in input order
+     */
+    public List<Long> createJobRequirements(List<JobRequirement> requirements) {
+        List<Long> ids = jobRequirementDao.insertAll(requirements);
+        Set<Long> jobPostingIds = new LinkedHashSet<>();
+        for (JobRequirement requirement : requirements) {
+            jobPostingIds.add(requirement.getJobPostingId());
+        }
+        jobPostingsChanged(jobPostingIds);
+        return ids;
     }
 
     /**
      * Update an existing job requirement.
      */
     public boolean updateJobRequirement(JobRequirement jobRequirement) {
-        return jobRequirementDao.update(jobRequirement.getId(), jobRequirement);
+        Optional<JobRequirement> previous = jobRequirementDao.findById(jobRequirement.getId());
+        boolean updated = jobRequirementDao.update(jobRequirement.getId(), jobRequirement);
+        if (updated) {
+            Set<Long> jobPostingIds = new LinkedHashSet<>();
+            previous.ifPresent(requirement -> jobPostingIds.add(requirement.getJobPostingId()));
+            if (jobRequirement.getJobPostingId() != null) {
+                jobPostingIds.add(jobRequirement.getJobPostingId());
+            }
+            jobPostingsChanged(jobPostingIds);
+        }
+        return updated;
     }
 
     /**
      * Delete a job requirement by ID.
      */
     public boolean deleteJobRequirement(Long id) {
-        return jobRequirementDao.delete(id);
+        Optional<JobRequirement> previous = jobRequirementDao.findById(id);
+        boolean deleted = jobRequirementDao.delete(id);
+        if (deleted) {
+            previous.ifPresent(requirement -> jobPostingChanged(requirement.getJobPostingId()));
+        }
+        return deleted;
     }
 
     /**
@@ -61,5 +113,14 @@ public class JobRequirementService {
     public List<JobRequirement> findByJobPostingId(Long jobPostingId) {
         return jobRequirementDao.findByJobPostingId(jobPostingId);
     }
-}
 
+    private void jobPostingChanged(Long jobPostingId) {
+        jobSearchService.index(jobPostingId);
+        matchService.jobPostingChanged(jobPostingId);
+    }
+
+    private void jobPostingsChanged(Set<Long> jobPostingIds) {
+        jobSearchService.index(jobPostingIds);
+        jobPostingIds.forEach(matchService::jobPostingChanged);
+    }
+}
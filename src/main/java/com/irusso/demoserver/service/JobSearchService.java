@@ -0,0 +1,299 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.api.FacetCount;
+import com.irusso.demoserver.api.JobSearchHit;
+import com.irusso.demoserver.db.dao.DataLoader;
+import com.irusso.demoserver.db.dao.JobPostingDao;
+import com.irusso.demoserver.db.dao.JobRequirementDao;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobRequirement;
+import com.irusso.demoserver.search.JobSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Keeps the in-process {@link JobSearchIndex} in step with the job_postings and
+ * job_requirements tables and answers searches from it.
+ *
+ * At startup the index is restored from a snapshot file when there is one, then brought
+ * up to date from postings updated (and requirements added) since the snapshot was
+ * taken, and from postings deleted since; without a usable snapshot it is built from
+ * the tables. Afterwards JobPostingService and JobRequirementService update it as they
+ * write. A snapshot is written at shutdown and after every full build.
+ */
+public class JobSearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobSearchService.class);
+    static final String DEFAULT_STATUS = "ACTIVE";
+    // Postings stamped shortly before the snapshot may have committed after it was taken
+    static final long CATCH_UP_MARGIN_MILLIS = 60_000;
+
+    private final JobPostingDao jobPostingDao;
+    private final JobRequirementDao jobRequirementDao;
+    private final ExecutorService executor;
+    private final Path snapshotFile;
+    private volatile JobSearchIndex index = new JobSearchIndex();
+    // Postings written while an index is loaded, re-indexed once it is in use
+    private final Set<Long> changedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    /**
+     * Constructor for JobSearchService.
+     *
+     * @param jobPostingDao the job posting DAO
+     * @param jobRequirementDao the job requirement DAO
+     * @param executor runs the initial load; shut down with the application
+     * @param snapshotFile where the index is saved between runs, or null to always build from the tables
+     */
+    public JobSearchService(JobPostingDao jobPostingDao, JobRequirementDao jobRequirementDao,
+                            ExecutorService executor, Path snapshotFile) {
+        this.jobPostingDao = jobPostingDao;
+        this.jobRequirementDao = jobRequirementDao;
+        this.executor = executor;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Search job postings, most relevant first. Typos in query words are tolerated.
+     *
+     * @param query words that must all appear in the posting or its requirements
+     * @param status required status; ACTIVE if null
+     * @param field required field, or null
+     * @param experienceLevel required experience level, or null
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     * @throws IllegalArgumentException if the query is blank or the cursor is invalid
+     */
+    public Page<JobSearchHit> search(String query, String status, String field, String experienceLevel,
+                                     String cursor, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("q parameter is required");
+        }
+        int resolvedLimit = Math.min(Page.resolveLimit(limit), JobSearchIndex.MAX_LIMIT);
+        return index.search(query, filters(status, field, experienceLevel), cursor, resolvedLimit);
+    }
+
+    /**
+     * Count the postings a {@link #search} with the same query and filters matches, by
+     * field, experience level, location and salary band. Counts are cached until the
+     * index next changes.
+     *
+     * @param query words that must all appear in the posting or its requirements
+     * @param status required status; ACTIVE if null
+     * @param field required field, or null
+     * @param experienceLevel required experience level, or null
+     * @return counts by facet name; empty lists if the query is blank
+     */
+    public Map<String, List<FacetCount>> facets(String query, String status, String field, String experienceLevel) {
+        return index.facets(query, filters(status, field, experienceLevel));
+    }
+
+    private static JobSearchIndex.Filters filters(String status, String field, String experienceLevel) {
+        return JobSearchIndex.Filters.builder()
+            .status(status != null && !status.isBlank() ? status : DEFAULT_STATUS)
+            .field(field)
+            .experienceLevel(experienceLevel)
+            .build();
+    }
+
+    /**
+     * Re-read a posting and its requirements and update the index: added or replaced if
+     * the posting exists, removed otherwise. Failures are logged, not thrown, so they
+     * never undo the write that triggered them.
+     */
+    public void index(Long jobPostingId) {
+        index(jobPostingId, jobPostingDao.loader());
+    }
+
+    /**
+     * Re-read several postings and update the index as {@link #index(Long)} does, reading
+     * the postings together rather than one query each.
+     */
+    public void index(Collection<Long> jobPostingIds) {
+        DataLoader<Long, JobPosting> postings = jobPostingDao.loader();
+        postings.loadMany(jobPostingIds);
+        for (Long jobPostingId : jobPostingIds) {
+            index(jobPostingId, postings);
+        }
+    }
+
+    private void index(Long jobPostingId, DataLoader<Long, JobPosting> postings) {
+        if (loading) {
+            changedWhileLoading.add(jobPostingId);
+        }
+        try {
+            Optional<JobPosting> posting = postings.get(jobPostingId);
+            if (posting.isPresent()) {
+                index.upsert(posting.get(), requirementTexts(jobRequirementDao.findByJobPostingId(jobPostingId)));
+            } else {
+                index.remove(jobPostingId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to update job search index for posting {}: {}", jobPostingId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Remove a deleted posting from the index.
+     */
+    public void remove(Long jobPostingId) {
+        if (loading) {
+            changedWhileLoading.add(jobPostingId);
+        }
+        index.remove(jobPostingId);
+    }
+
+    /**
+     * Number of postings in the index.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Load the index from the snapshot, or build it from the tables, and bring it up to date.
+     */
+    public void load() {
+        loading = true;
+        long start = System.currentTimeMillis();
+        JobSearchIndex loaded = readSnapshot();
+        boolean fromSnapshot = loaded != null;
+        if (loaded == null) {
+            loaded = build();
+        }
+        index = loaded;
+        loading = false;
+
+        int caughtUp = fromSnapshot ? catchUp(loaded) : 0;
+        for (Long id : changedWhileLoading) {
+            changedWhileLoading.remove(id);
+            index(id);
+        }
+        ready = true;
+        LOGGER.info("Job search index ready with {} postings ({}, {} caught up) in {} ms", loaded.size(),
+            fromSnapshot ? "from snapshot" : "built from the database", caughtUp, System.currentTimeMillis() - start);
+        if (!fromSnapshot) {
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * Load the index in the background.
+     *
+     * @return CompletableFuture that completes when the index is in use
+     */
+    public CompletableFuture<Void> loadAsync() {
+        return CompletableFuture.runAsync(this::load, executor)
+            .whenComplete((ignored, e) -> {
+                if (e != null) {
+                    loading = false;
+                    LOGGER.error("Failed to load job search index: {}", e.getMessage(), e);
+                }
+            });
+    }
+
+    /**
+     * Write the index to the snapshot file, replacing the previous snapshot atomically.
+     * Does nothing until the index has been loaded, so a failed or unfinished load never
+     * overwrites a good snapshot.
+     */
+    public void saveSnapshot() {
+        if (snapshotFile == null || !ready) {
+            return;
+        }
+        try {
+            Path directory = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                index.writeSnapshot(out);
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.info("Saved job search snapshot to {}", snapshotFile);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save job search snapshot to {}: {}", snapshotFile, e.getMessage(), e);
+        }
+    }
+
+    private JobSearchIndex readSnapshot() {
+        if (snapshotFile == null || !Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshotFile))) {
+            return JobSearchIndex.readSnapshot(in);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable job search snapshot {}: {}", snapshotFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private JobSearchIndex build() {
+        Map<Long, List<String>> requirements = new HashMap<>();
+        jobRequirementDao.forEach(requirement -> requirements
+            .computeIfAbsent(requirement.getJobPostingId(), id -> new ArrayList<>())
+            .add(requirement.getRequirementText()));
+        JobSearchIndex built = new JobSearchIndex();
+        jobPostingDao.forEach(posting -> built.upsert(posting, requirements.getOrDefault(posting.getId(), List.of())));
+        return built;
+    }
+
+    /**
+     * Apply the changes made since a snapshot was taken.
+     *
+     * @return Number of postings re-indexed or removed
+     */
+    private int catchUp(JobSearchIndex loaded) {
+        Timestamp since = new Timestamp(loaded.getWatermark() - CATCH_UP_MARGIN_MILLIS);
+        Set<Long> changed = new HashSet<>();
+        for (JobPosting posting : jobPostingDao.findUpdatedSince(since)) {
+            changed.add(posting.getId());
+        }
+        changed.addAll(jobRequirementDao.findJobPostingIdsCreatedSince(since));
+
+        Set<Long> existing = new HashSet<>(jobPostingDao.findAllIds());
+        Set<Long> indexed = loaded.ids();
+        for (Long id : existing) {
+            if (!indexed.contains(id)) {
+                changed.add(id);
+            }
+        }
+        for (Long id : indexed) {
+            if (!existing.contains(id)) {
+                changed.add(id);
+            }
+        }
+        index(changed);
+        return changed.size();
+    }
+
+    private static List<String> requirementTexts(List<JobRequirement> requirements) {
+        List<String> texts = new ArrayList<>(requirements.size());
+        for (JobRequirement requirement : requirements) {
+            texts.add(requirement.getRequirementText());
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,293 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.api.JobMatch;
+import com.irusso.demoserver.db.dao.JobPostingDao;
+import com.irusso.demoserver.db.dao.JobRequirementDao;
+import com.irusso.demoserver.db.dao.ReadRouting;
+import com.irusso.demoserver.db.dao.UserDao;
+import com.irusso.demoserver.db.dao.UserFieldOfInterestDao;
+import com.irusso.demoserver.db.dao.UserGeographicalInterestDao;
+import com.irusso.demoserver.db.dao.UserJobTypeInterestDao;
+import com.irusso.demoserver.db.dao.UserSkillDao;
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobRequirement;
+import com.irusso.demoserver.db.model.User;
+import com.irusso.demoserver.db.model.UserFieldOfInterest;
+import com.irusso.demoserver.db.model.UserGeographicalInterest;
+import com.irusso.demoserver.db.model.UserJobTypeInterest;
+import com.irusso.demoserver.db.model.UserSkill;
+import com.irusso.demoserver.match.CandidateProfile;
+import com.irusso.demoserver.match.JobProfile;
+import com.irusso.demoserver.match.MatchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps precomputed user/job matches (see {@link MatchIndex}) in step with the user
+ * profile and job posting tables and serves them.
+ *
+ * At startup every user is scored against every ACTIVE posting in one batch. Afterwards
+ * the services that write users, their skills and interests, postings and requirements
+ * report the user or posting they changed, and only that user or posting is rescored.
+ * Rescoring runs on its own single-thread executor, not the request thread; a user or posting
+ * reported again before it is rescored is rescored once.
+ */
+public class MatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchService.class);
+
+    private final UserDao userDao;
+    private final UserSkillDao userSkillDao;
+    private final UserFieldOfInterestDao userFieldOfInterestDao;
+    private final UserGeographicalInterestDao userGeographicalInterestDao;
+    private final UserJobTypeInterestDao userJobTypeInterestDao;
+    private final JobPostingDao jobPostingDao;
+    private final JobRequirementDao jobRequirementDao;
+    private final ExecutorService executor;
+    private final ExecutorService rescoreExecutor;
+    private final ReadRouting readRouting;
+    private final int topN;
+    private volatile MatchIndex index;
+    // Users and postings waiting to be rescored, including those written while the matches are computed
+    private final Set<Long> pendingUsers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingJobs = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean loading;
+
+    /**
+     * Constructor for MatchService.
+     *
+     * @param executor runs the initial load; shut down with the application
+     * @param rescoreExecutor runs rescoring, one task at a time with queued tasks waiting;
+     *                        shut down with the application
+     * @param readRouting sends rescoring reads to the primary, which has the write that triggered them
+     * @param topN matches kept per user and per posting
+     */
+    public MatchService(UserDao userDao, UserSkillDao userSkillDao, UserFieldOfInterestDao userFieldOfInterestDao,
+                        UserGeographicalInterestDao userGeographicalInterestDao,
+                        UserJobTypeInterestDao userJobTypeInterestDao, JobPostingDao jobPostingDao,
+                        JobRequirementDao jobRequirementDao, ExecutorService executor,
+                        ExecutorService rescoreExecutor, ReadRouting readRouting, int topN) {
+        this.userDao = userDao;
+        this.userSkillDao = userSkillDao;
+        this.userFieldOfInterestDao = userFieldOfInterestDao;
+        this.userGeographicalInterestDao = userGeographicalInterestDao;
+        this.userJobTypeInterestDao = userJobTypeInterestDao;
+        this.jobPostingDao = jobPostingDao;
+        this.jobRequirementDao = jobRequirementDao;
+        this.executor = executor;
+        this.rescoreExecutor = rescoreExecutor;
+        this.readRouting = readRouting;
+        this.topN = topN;
+    }
+
+    /**
+     * Whether the matches have been computed.
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Get the ACTIVE job postings that best fit a user, best first.
+     *
+     * @param limit maximum number of matches; all kept matches if null
+     * @return the matches, or empty if the user does not exist
+     * @throws IllegalStateException if the matches have not been computed yet
+     */
+    public Optional<List<JobMatch>> getMatches(Long userId, Integer limit) {
+        return truncate(requireIndex().matchesForUser(userId), limit);
+    }
+
+    /**
+     * Get the actively seeking users who best fit a job posting, best first. Postings
+     * that are not ACTIVE have no candidates.
+     *
+     * @param limit maximum number of candidates; all kept candidates if null
+     * @return the candidates, or empty if the posting does not exist
+     * @throws IllegalStateException if the matches have not been computed yet
+     */
+    public Optional<List<JobMatch>> getCandidates(Long jobPostingId, Integer limit) {
+        return truncate(requireIndex().candidatesForJob(jobPostingId), limit);
+    }
+
+    /**
+     * Queue a user for rescoring after their profile, skills or interests changed, or
+     * for removal if they were deleted.
+     */
+    public void userChanged(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        pendingUsers.add(userId);
+        drainPending();
+    }
+
+    /**
+     * Queue a job posting for rescoring after it or its requirements changed, or for
+     * removal if it was deleted.
+     */
+    public void jobPostingChanged(Long jobPostingId) {
+        if (jobPostingId == null) {
+            return;
+        }
+        pendingJobs.add(jobPostingId);
+        drainPending();
+    }
+
+    /**
+     * Score every user against every posting, reading each table once.
+     */
+    public void load() {
+        loading = true;
+        long start = System.currentTimeMillis();
+        Map<Long, List<UserSkill>> skills = groupByParent(userSkillDao::forEach, UserSkill::getUserId);
+        Map<Long, List<UserFieldOfInterest>> fields =
+            groupByParent(userFieldOfInterestDao::forEach, UserFieldOfInterest::getUserId);
+        Map<Long, List<UserGeographicalInterest>> locations =
+            groupByParent(userGeographicalInterestDao::forEach, UserGeographicalInterest::getUserId);
+        Map<Long, List<UserJobTypeInterest>> jobTypes =
+            groupByParent(userJobTypeInterestDao::forEach, UserJobTypeInterest::getUserId);
+        List<CandidateProfile> candidates = new ArrayList<>();
+        userDao.forEach(user -> candidates.add(CandidateProfile.of(user,
+            skills.getOrDefault(user.getId(), List.of()), fields.getOrDefault(user.getId(), List.of()),
+            locations.getOrDefault(user.getId(), List.of()), jobTypes.getOrDefault(user.getId(), List.of()))));
+
+        Map<Long, List<JobRequirement>> requirements =
+            groupByParent(jobRequirementDao::forEach, JobRequirement::getJobPostingId);
+        List<JobProfile> jobs = new ArrayList<>();
+        jobPostingDao.forEach(posting -> jobs.add(
+            JobProfile.of(posting, requirements.getOrDefault(posting.getId(), List.of()))));
+
+        index = MatchIndex.build(topN, candidates, jobs);
+        loading = false;
+        drainPending();
+        LOGGER.info("Matched {} users against {} job postings in {} ms", candidates.size(), jobs.size(),
+            System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Compute the matches in the background.
+     *
+     * @return CompletableFuture that completes when the matches are in use
+     */
+    public CompletableFuture<Void> loadAsync() {
+        return CompletableFuture.runAsync(this::load, executor)
+            .whenComplete((ignored, e) -> {
+                if (e != null) {
+                    loading = false;
+                    LOGGER.error("Failed to compute matches: {}", e.getMessage(), e);
+                }
+            });
+    }
+
+    /**
+     * Start rescoring the queued users and postings on the rescore executor unless a
+     * drain is already running. Changes queued before the matches are in use wait for
+     * the load to finish. Rescoring is only rejected once the executor is shut down.
+     */
+    private void drainPending() {
+        if (index == null || loading || (pendingUsers.isEmpty() && pendingJobs.isEmpty())) {
+            return;
+        }
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rescoreExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            LOGGER.warn("Not rescoring matches, executor is shut down: {}", e.getMessage());
+        }
+    }
+
+    private void drain() {
+        try {
+            MatchIndex current = index;
+            while (!pendingUsers.isEmpty() || !pendingJobs.isEmpty()) {
+                for (Long userId : pendingUsers) {
+                    pendingUsers.remove(userId);
+                    rescoreUser(current, userId);
+                }
+                for (Long jobPostingId : pendingJobs) {
+                    pendingJobs.remove(jobPostingId);
+                    rescoreJobPosting(current, jobPostingId);
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A change queued between the last check and resetting the flag found it still set
+        drainPending();
+    }
+
+    /**
+     * Rescore a user from the primary: a replica may not have the write that queued it
+     * yet, and nothing would queue it again. Failures are logged, not thrown, so one bad
+     * row never stops the others.
+     */
+    private void rescoreUser(MatchIndex current, Long userId) {
+        try {
+            Optional<CandidateProfile> candidate = readRouting.onPrimary(() -> userDao.findById(userId)
+                .map(user -> CandidateProfile.of(user, userSkillDao.findByUserId(userId),
+                    userFieldOfInterestDao.findByUserId(userId), userGeographicalInterestDao.findByUserId(userId),
+                    userJobTypeInterestDao.findByUserId(userId))));
+            if (candidate.isPresent()) {
+                current.putCandidate(candidate.get());
+            } else {
+                current.removeCandidate(userId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to update matches for user {}: {}", userId, e.getMessage(), e);
+        }
+    }
+
+    private void rescoreJobPosting(MatchIndex current, Long jobPostingId) {
+        try {
+            Optional<JobProfile> job = readRouting.onPrimary(() -> jobPostingDao.findById(jobPostingId)
+                .map(posting -> JobProfile.of(posting, jobRequirementDao.findByJobPostingId(jobPostingId))));
+            if (job.isPresent()) {
+                current.putJob(job.get());
+            } else {
+                current.removeJob(jobPostingId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to update matches for job posting {}: {}", jobPostingId, e.getMessage(), e);
+        }
+    }
+
+    private MatchIndex requireIndex() {
+        MatchIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Matches are still being computed; try again later");
+        }
+        return current;
+    }
+
+    private static Optional<List<JobMatch>> truncate(Optional<List<JobMatch>> matches, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return matches.map(list -> limit != null && limit < list.size() ? list.subList(0, limit) : list);
+    }
+
+    private static <T> Map<Long, List<T>> groupByParent(Consumer<Consumer<? super T>> forEach, Function<T, Long> parentId) {
+        Map<Long, List<T>> grouped = new HashMap<>();
+        forEach.accept(row -> grouped.computeIfAbsent(parentId.apply(row), id -> new ArrayList<>()).add(row));
+        return grouped;
+    }
+}
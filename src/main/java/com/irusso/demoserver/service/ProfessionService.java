@@ -10,12 +10,9 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for Profession operations.
@@ -24,13 +21,16 @@ import java.util.concurrent.CompletableFuture;
 public class ProfessionService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProfessionService.class);
-    private static final int BATCH_SIZE = 100;
+    private static final int BATCH_SIZE = 1000;
+    static final String IMPORT_TYPE = "professions";
 
     private final ProfessionDao professionDao;
+    private final ImportJobManager importJobManager;
 
     @Inject
-    public ProfessionService(ProfessionDao professionDao) {
+    public ProfessionService(ProfessionDao professionDao, ImportJobManager importJobManager) {
         this.professionDao = professionDao;
+        this.importJobManager = importJobManager;
     }
 
     /**
@@ -89,57 +89,18 @@ public class ProfessionService {
     }
 
     /**
-     * Import professions from a CSV file URL asynchronously.
+     * Start importing professions from a CSV file URL in the background.
      * Expected CSV format: ID,Job Zone,Occupation
      *
      * @param fileUrl URL to the CSV file
-     * @return CompletableFuture that completes when import is done
+     * @return The running import job
+     * @throws IllegalStateException if the URL is already being imported or too many imports are running
      */
-    public CompletableFuture<ImportResult> importProfessionsFromUrl(String fileUrl) {
-        return CompletableFuture.supplyAsync(() -> {
-            LOGGER.info("Starting profession import from URL: {}", fileUrl);
-            ImportResult result = new ImportResult();
-            result.setStartTime(System.currentTimeMillis());
-
-            try {
-                // Download and process the file
-                URL url = new URL(fileUrl);
-                InputStream inputStream;
-
-                // Handle file:// URLs differently from http:// URLs
-                if (fileUrl.startsWith("file://")) {
-                    inputStream = url.openStream();
-                } else {
-                    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                    connection.setRequestMethod("GET");
-                    connection.setConnectTimeout(30000);
-                    connection.setReadTimeout(60000);
-
-                    int responseCode = connection.getResponseCode();
-                    if (responseCode != HttpURLConnection.HTTP_OK) {
-                        throw new RuntimeException("Failed to download file. HTTP response code: " + responseCode);
-                    }
-
-                    inputStream = connection.getInputStream();
-                }
-
-                try (InputStream stream = inputStream) {
-                    parseCsvFile(stream, result);
-                }
-
-                result.setSuccess(true);
-                result.setEndTime(System.currentTimeMillis());
-                LOGGER.info("Profession import completed successfully: {} imported, {} skipped in {} ms",
-                        result.getProfessionsImported(), result.getProfessionsSkipped(), result.getDuration());
-
-            } catch (Exception e) {
-                result.setSuccess(false);
-                result.setErrorMessage(e.getMessage());
-                result.setEndTime(System.currentTimeMillis());
-                LOGGER.error("Profession import failed", e);
+    public ImportJob importProfessionsFromUrl(String fileUrl) {
+        return importJobManager.submit(IMPORT_TYPE, fileUrl, job -> {
+            try (InputStream stream = job.track(ImportSources.open(fileUrl))) {
+                parseCsvFile(stream, job);
             }
-
-            return result;
         });
     }
 
@@ -147,13 +108,14 @@ public class ProfessionService {
      * Parse CSV file and import professions.
      * Expected format: ID,Job Zone,Occupation
      */
-    private void parseCsvFile(InputStream inputStream, ImportResult result) throws Exception {
+    private void parseCsvFile(InputStream inputStream, ImportJob job) throws Exception {
         BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
         List<Profession> batch = new ArrayList<>();
         String line;
         int lineNumber = 0;
 
         while ((line = reader.readLine()) != null) {
+            job.checkCancelled();
             lineNumber++;
             
             // Skip header line
@@ -165,7 +127,7 @@ public class ProfessionService {
                 String[] fields = line.split(",", -1);
                 if (fields.length < 3) {
                     LOGGER.warn("Skipping line {} - insufficient fields: {}", lineNumber, fields.length);
-                    result.incrementSkipped();
+                    job.incrementSkipped();
                     continue;
                 }
 
@@ -175,7 +137,7 @@ public class ProfessionService {
                 
                 if (professionName.isEmpty()) {
                     LOGGER.warn("Skipping line {} - empty profession name", lineNumber);
-                    result.incrementSkipped();
+                    job.incrementSkipped();
                     continue;
                 }
 
@@ -187,12 +149,12 @@ public class ProfessionService {
                         prepLevel = PreparationLevel.fromDouble(jobZone);
                     } catch (IllegalArgumentException e) {
                         LOGGER.warn("Skipping line {} - invalid job zone: {}", lineNumber, jobZoneStr);
-                        result.incrementSkipped();
+                        job.incrementSkipped();
                         continue;
                     }
                 } else {
                     LOGGER.warn("Skipping line {} - empty job zone", lineNumber);
-                    result.incrementSkipped();
+                    job.incrementSkipped();
                     continue;
                 }
 
@@ -201,88 +163,23 @@ public class ProfessionService {
 
                 // Batch insert for performance
                 if (batch.size() >= BATCH_SIZE) {
-                    int inserted = professionDao.batchInsert(batch);
-                    result.addProfessionsImported(inserted);
-                    LOGGER.info("Imported batch of {} professions. Total: {}", inserted, result.getProfessionsImported());
+                    long inserted = professionDao.copyUpsert(batch);
+                    long total = job.addRowsImported(inserted);
+                    LOGGER.info("Imported batch of {} professions. Total: {}", inserted, total);
                     batch.clear();
                 }
 
             } catch (Exception e) {
                 LOGGER.warn("Error parsing line {}: {}", lineNumber, e.getMessage());
-                result.incrementSkipped();
+                job.incrementSkipped();
             }
         }
 
         // Insert remaining batch
         if (!batch.isEmpty()) {
-            int inserted = professionDao.batchInsert(batch);
-            result.addProfessionsImported(inserted);
-            LOGGER.info("Imported final batch of {} professions. Total: {}", inserted, result.getProfessionsImported());
-        }
-    }
-
-    /**
-     * Result object for import operations.
-     */
-    public static class ImportResult {
-        private boolean success;
-        private int professionsImported;
-        private int professionsSkipped;
-        private String errorMessage;
-        private long startTime;
-        private long endTime;
-
-        public boolean isSuccess() {
-            return success;
-        }
-
-        public void setSuccess(boolean success) {
-            this.success = success;
-        }
-
-        public int getProfessionsImported() {
-            return professionsImported;
-        }
-
-        public void addProfessionsImported(int count) {
-            this.professionsImported += count;
-        }
-
-        public int getProfessionsSkipped() {
-            return professionsSkipped;
-        }
-
-        public void incrementSkipped() {
-            this.professionsSkipped++;
-        }
-
-        public String getErrorMessage() {
-            return errorMessage;
-        }
-
-        public void setErrorMessage(String errorMessage) {
-            this.errorMessage = errorMessage;
-        }
-
-        public long getStartTime() {
-            return startTime;
-        }
-
-        public void setStartTime(long startTime) {
-            this.startTime = startTime;
-        }
-
-        public long getEndTime() {
-            return endTime;
-        }
-
-        public void setEndTime(long endTime) {
-            this.endTime = endTime;
-        }
-
-        public long getDuration() {
-            return endTime - startTime;
+            long inserted = professionDao.copyUpsert(batch);
+            long total = job.addRowsImported(inserted);
+            LOGGER.info("Imported final batch of {} professions. Total: {}", inserted, total);
         }
     }
 }
-
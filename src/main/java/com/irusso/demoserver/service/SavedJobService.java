@@ -1,6 +1,7 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.SavedJobDao;
 import com.irusso.demoserver.db.model.SavedJob;
 
@@ -27,6 +28,16 @@ public class SavedJobService {
         return savedJobDao.findAll();
     }
 
+    /**
+     * Get a page of saved jobs, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<SavedJob> getSavedJobsPage(String cursor, Integer limit) {
+        return savedJobDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a saved job by ID.
      */
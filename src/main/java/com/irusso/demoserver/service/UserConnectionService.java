@@ -1,6 +1,7 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserConnectionDao;
 import com.irusso.demoserver.db.model.UserConnection;
 
@@ -25,6 +26,16 @@ public class UserConnectionService {
     public List<UserConnection> getAllUserConnections() {
         return userConnectionDao.findAll();
     }
+
+    /**
+     * Get a page of user connections, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserConnection> getUserConnectionsPage(String cursor, Integer limit) {
+        return userConnectionDao.findPage(cursor, limit);
+    }
     
     /**
      * Get a user connection by ID.
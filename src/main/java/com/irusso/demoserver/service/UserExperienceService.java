@@ -2,6 +2,7 @@ package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserExperienceDao;
 import com.irusso.demoserver.db.model.UserExperience;
 
@@ -31,6 +32,16 @@ public class UserExperienceService {
         return userExperienceDao.findAll();
     }
 
+    /**
+     * Get a page of user experiences, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserExperience> getUserExperiencesPage(String cursor, Integer limit) {
+        return userExperienceDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user experience by ID.
      *
@@ -51,6 +62,16 @@ public class UserExperienceService {
         return userExperienceDao.findByUserId(userId);
     }
 
+    /**
+     * Get all experiences for several users with one query.
+     *
+     * @param userIds the user IDs
+     * @return list of user experiences, most recently updated first
+     */
+    public List<UserExperience> getUserExperiencesByUserIds(List<Long> userIds) {
+        return userExperienceDao.findByUserIds(userIds);
+    }
+
     /**
      * Get experiences by type for a specific user.
      *
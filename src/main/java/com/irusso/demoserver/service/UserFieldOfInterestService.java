@@ -1,23 +1,29 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserFieldOfInterestDao;
 import com.irusso.demoserver.db.model.UserFieldOfInterest;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for UserFieldOfInterest operations.
  * Handles business logic and delegates to UserFieldOfInterestDao for data access.
+ * Every write rescores the affected user's matches.
  */
 public class UserFieldOfInterestService {
 
     private final UserFieldOfInterestDao userFieldOfInterestDao;
+    private final MatchService matchService;
 
     @Inject
-    public UserFieldOfInterestService(UserFieldOfInterestDao userFieldOfInterestDao) {
+    public UserFieldOfInterestService(UserFieldOfInterestDao userFieldOfInterestDao, MatchService matchService) {
         this.userFieldOfInterestDao = userFieldOfInterestDao;
+        this.matchService = matchService;
     }
 
     /**
@@ -27,6 +33,16 @@ public class UserFieldOfInterestService {
         return userFieldOfInterestDao.findAll();
     }
 
+    /**
+     * Get a page of user fields of interest, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserFieldOfInterest> getUserFieldsOfInterestPage(String cursor, Integer limit) {
+        return userFieldOfInterestDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user field of interest by ID.
      */
@@ -38,21 +54,38 @@ public class UserFieldOfInterestService {
      * Create a new user field of interest.
      */
     public Long createUserFieldOfInterest(UserFieldOfInterest userFieldOfInterest) {
-        return userFieldOfInterestDao.insert(userFieldOfInterest);
+        Long id = userFieldOfInterestDao.insert(userFieldOfInterest);
+        matchService.userChanged(userFieldOfInterest.getUserId());
+        return id;
     }
 
     /**
      * Update an existing user field of interest.
      */
     public boolean updateUserFieldOfInterest(UserFieldOfInterest userFieldOfInterest) {
-        return userFieldOfInterestDao.update(userFieldOfInterest.getId(), userFieldOfInterest);
+        Optional<UserFieldOfInterest> previous = userFieldOfInterestDao.findById(userFieldOfInterest.getId());
+        boolean updated = userFieldOfInterestDao.update(userFieldOfInterest.getId(), userFieldOfInterest);
+        if (updated) {
+            Set<Long> userIds = new LinkedHashSet<>();
+            previous.ifPresent(row -> userIds.add(row.getUserId()));
+            if (userFieldOfInterest.getUserId() != null) {
+                userIds.add(userFieldOfInterest.getUserId());
+            }
+            userIds.forEach(matchService::userChanged);
+        }
+        return updated;
     }
 
     /**
      * Delete a user field of interest by ID.
      */
     public boolean deleteUserFieldOfInterest(Long id) {
-        return userFieldOfInterestDao.delete(id);
+        Optional<UserFieldOfInterest> previous = userFieldOfInterestDao.findById(id);
+        boolean deleted = userFieldOfInterestDao.delete(id);
+        if (deleted) {
+            previous.ifPresent(row -> matchService.userChanged(row.getUserId()));
+        }
+        return deleted;
     }
 
     /**
@@ -1,23 +1,29 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserGeographicalInterestDao;
 import com.irusso.demoserver.db.model.UserGeographicalInterest;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for UserGeographicalInterest operations.
  * Handles business logic and delegates to UserGeographicalInterestDao for data access.
+ * Every write rescores the affected user's matches.
  */
 public class UserGeographicalInterestService {
 
     private final UserGeographicalInterestDao userGeographicalInterestDao;
+    private final MatchService matchService;
 
     @Inject
-    public UserGeographicalInterestService(UserGeographicalInterestDao userGeographicalInterestDao) {
+    public UserGeographicalInterestService(UserGeographicalInterestDao userGeographicalInterestDao, MatchService matchService) {
         this.userGeographicalInterestDao = userGeographicalInterestDao;
+        this.matchService = matchService;
     }
 
     /**
@@ -27,6 +33,16 @@ public class UserGeographicalInterestService {
         return userGeographicalInterestDao.findAll();
     }
 
+    /**
+     * Get a page of user geographical interests, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserGeographicalInterest> getUserGeographicalInterestsPage(String cursor, Integer limit) {
+        return userGeographicalInterestDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user geographical interest by ID.
      */
@@ -38,21 +54,38 @@ public class UserGeographicalInterestService {
      * Create a new user geographical interest.
      */
     public Long createUserGeographicalInterest(UserGeographicalInterest userGeographicalInterest) {
-        return userGeographicalInterestDao.insert(userGeographicalInterest);
+        Long id = userGeographicalInterestDao.insert(userGeographicalInterest);
+        matchService.userChanged(userGeographicalInterest.getUserId());
+        return id;
     }
 
     /**
      * Update an existing user geographical interest.
      */
     public boolean updateUserGeographicalInterest(UserGeographicalInterest userGeographicalInterest) {
-        return userGeographicalInterestDao.update(userGeographicalInterest.getId(), userGeographicalInterest);
+        Optional<UserGeographicalInterest> previous = userGeographicalInterestDao.findById(userGeographicalInterest.getId());
+        boolean updated = userGeographicalInterestDao.update(userGeographicalInterest.getId(), userGeographicalInterest);
+        if (updated) {
+            Set<Long> userIds = new LinkedHashSet<>();
+            previous.ifPresent(row -> userIds.add(row.getUserId()));
+            if (userGeographicalInterest.getUserId() != null) {
+                userIds.add(userGeographicalInterest.getUserId());
+            }
+            userIds.forEach(matchService::userChanged);
+        }
+        return updated;
     }
 
     /**
      * Delete a user geographical interest by ID.
      */
     public boolean deleteUserGeographicalInterest(Long id) {
-        return userGeographicalInterestDao.delete(id);
+        Optional<UserGeographicalInterest> previous = userGeographicalInterestDao.findById(id);
+        boolean deleted = userGeographicalInterestDao.delete(id);
+        if (deleted) {
+            previous.ifPresent(row -> matchService.userChanged(row.getUserId()));
+        }
+        return deleted;
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserIndustryDao;
 import com.irusso.demoserver.db.model.UserIndustry;
 
@@ -27,6 +28,16 @@ public class UserIndustryService {
         return userIndustryDao.findAll();
     }
 
+    /**
+     * Get a page of user industries, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserIndustry> getUserIndustriesPage(String cursor, Integer limit) {
+        return userIndustryDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user industry by ID.
      */
@@ -1,23 +1,29 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserJobTypeInterestDao;
 import com.irusso.demoserver.db.model.UserJobTypeInterest;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for UserJobTypeInterest operations.
  * Handles business logic and delegates to UserJobTypeInterestDao for data access.
+ * Every write rescores the affected user's matches.
  */
 public class UserJobTypeInterestService {
 
     private final UserJobTypeInterestDao userJobTypeInterestDao;
+    private final MatchService matchService;
 
     @Inject
-    public UserJobTypeInterestService(UserJobTypeInterestDao userJobTypeInterestDao) {
+    public UserJobTypeInterestService(UserJobTypeInterestDao userJobTypeInterestDao, MatchService matchService) {
         this.userJobTypeInterestDao = userJobTypeInterestDao;
+        this.matchService = matchService;
     }
 
     /**
@@ -27,6 +33,16 @@ public class UserJobTypeInterestService {
         return userJobTypeInterestDao.findAll();
     }
 
+    /**
+     * Get a page of user job type interests, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserJobTypeInterest> getUserJobTypeInterestsPage(String cursor, Integer limit) {
+        return userJobTypeInterestDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user job type interest by ID.
      */
@@ -38,21 +54,38 @@ public class UserJobTypeInterestService {
      * Create a new user job type interest.
      */
     public Long createUserJobTypeInterest(UserJobTypeInterest userJobTypeInterest) {
-        return userJobTypeInterestDao.insert(userJobTypeInterest);
+        Long id = userJobTypeInterestDao.insert(userJobTypeInterest);
+        matchService.userChanged(userJobTypeInterest.getUserId());
+        return id;
     }
 
     /**
      * Update an existing user job type interest.
      */
     public boolean updateUserJobTypeInterest(UserJobTypeInterest userJobTypeInterest) {
-        return userJobTypeInterestDao.update(userJobTypeInterest.getId(), userJobTypeInterest);
+        Optional<UserJobTypeInterest> previous = userJobTypeInterestDao.findById(userJobTypeInterest.getId());
+        boolean updated = userJobTypeInterestDao.update(userJobTypeInterest.getId(), userJobTypeInterest);
+        if (updated) {
+            Set<Long> userIds = new LinkedHashSet<>();
+            previous.ifPresent(row -> userIds.add(row.getUserId()));
+            if (userJobTypeInterest.getUserId() != null) {
+                userIds.add(userJobTypeInterest.getUserId());
+            }
+            userIds.forEach(matchService::userChanged);
+        }
+        return updated;
     }
 
     /**
      * Delete a user job type interest by ID.
      */
     public boolean deleteUserJobTypeInterest(Long id) {
-        return userJobTypeInterestDao.delete(id);
+        Optional<UserJobTypeInterest> previous = userJobTypeInterestDao.findById(id);
+        boolean deleted = userJobTypeInterestDao.delete(id);
+        if (deleted) {
+            previous.ifPresent(row -> matchService.userChanged(row.getUserId()));
+        }
+        return deleted;
     }
 
     /**
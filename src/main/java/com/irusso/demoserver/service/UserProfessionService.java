@@ -1,6 +1,7 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserProfessionDao;
 import com.irusso.demoserver.db.model.UserProfession;
 
@@ -27,6 +28,16 @@ public class UserProfessionService {
         return userProfessionDao.findAll();
     }
 
+    /**
+     * Get a page of user professions, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserProfession> getUserProfessionsPage(String cursor, Integer limit) {
+        return userProfessionDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user profession by ID.
      */
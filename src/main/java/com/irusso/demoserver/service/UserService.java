@@ -1,24 +1,33 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.dao.TransactionTemplate;
 import com.irusso.demoserver.db.dao.UserDao;
 import com.irusso.demoserver.db.model.User;
 import com.irusso.demoserver.security.PasswordUtil;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Service layer for User operations.
  * Handles business logic and delegates to UserDao for data access.
+ * Profile writes rescore the user's matches.
  */
 public class UserService {
 
     private final UserDao userDao;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchService matchService;
 
     @Inject
-    public UserService(UserDao userDao) {
+    public UserService(UserDao userDao, TransactionTemplate transactionTemplate, MatchService matchService) {
         this.userDao = userDao;
+        this.transactionTemplate = transactionTemplate;
+        this.matchService = matchService;
     }
 
     /**
@@ -28,6 +37,16 @@ public class UserService {
         return userDao.findAll();
     }
 
+    /**
+     * Get a page of users, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<User> getUsersPage(String cursor, Integer limit) {
+        return userDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user by ID.
      */
@@ -35,6 +54,38 @@ public class UserService {
         return userDao.findById(id);
     }
 
+    /**
+     * Get several users by ID with one query.
+     *
+     * @param ids the user IDs
+     * @return the users found, in the order of the given IDs
+     */
+    public List<User> getUsersByIds(List<Long> ids) {
+        return new ArrayList<>(userDao.findByIds(ids).values());
+    }
+
+    /**
+     * Get a page of candidates whose salary expectations overlap a salary range, ordered by ID.
+     *
+     * @param minSalary lowest salary on offer, or null for no lower limit
+     * @param maxSalary highest salary on offer, or null for no upper limit
+     * @param activelySeeking required job seeking status; actively seeking users only if null
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     * @throws IllegalArgumentException if neither salary is given, the range is reversed or the cursor is invalid
+     */
+    public Page<User> getCandidatesBySalary(BigDecimal minSalary, BigDecimal maxSalary, Boolean activelySeeking,
+                                            String cursor, Integer limit) {
+        if (minSalary == null && maxSalary == null) {
+            throw new IllegalArgumentException("minSalary or maxSalary is required");
+        }
+        if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+            throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+        }
+        return userDao.findBySalaryExpectationOverlap(minSalary, maxSalary,
+            activelySeeking != null ? activelySeeking : Boolean.TRUE, cursor, limit);
+    }
+
     /**
      * Get a user by email.
      */
@@ -47,7 +98,9 @@ public class UserService {
      * Create a new user.
      */
     public Long createUser(User user) {
-        return userDao.insert(user);
+        Long id = userDao.insert(user);
+        matchService.userChanged(id);
+        return id;
     }
 
     /**
@@ -64,17 +117,19 @@ public class UserService {
             throw new IllegalArgumentException(PasswordUtil.getPasswordRequirements());
         }
 
-        // Check if email already exists
-        if (getUserByEmail(user.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("Email already registered");
-        }
-
-        // Hash the password
+        // Hash the password before taking a connection; BCrypt is deliberately slow
         String passwordHash = PasswordUtil.hashPassword(plainTextPassword);
         user.setPasswordHash(passwordHash);
 
-        // Create the user
-        return userDao.insert(user);
+        // Check the email and create the user on one connection, in one transaction
+        Long id = transactionTemplate.inTransaction(() -> {
+            if (getUserByEmail(user.getEmail()).isPresent()) {
+                throw new IllegalArgumentException("Email already registered");
+            }
+            return userDao.insert(user);
+        });
+        matchService.userChanged(id);
+        return id;
     }
 
     /**
@@ -103,7 +158,8 @@ public class UserService {
             return Optional.empty();
         }
 
-        // Update last login timestamp
+        // Update last login timestamp. The lookup and this update are deliberately not one
+        // unit of work: it would hold a pooled connection through the BCrypt check above.
         userDao.updateLastLogin(user.getId());
 
         return Optional.of(user);
@@ -166,14 +222,22 @@ public class UserService {
      * Update an existing user.
      */
     public boolean updateUser(User user) {
-        return userDao.update(user.getId(), user);
+        boolean updated = userDao.update(user.getId(), user);
+        if (updated) {
+            matchService.userChanged(user.getId());
+        }
+        return updated;
     }
 
     /**
      * Delete a user by ID.
      */
     public boolean deleteUser(Long id) {
-        return userDao.delete(id);
+        boolean deleted = userDao.delete(id);
+        if (deleted) {
+            matchService.userChanged(id);
+        }
+        return deleted;
     }
 }
 
@@ -1,23 +1,29 @@
 package com.irusso.demoserver.service;
 
 import com.google.inject.Inject;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.dao.UserSkillDao;
 import com.irusso.demoserver.db.model.UserSkill;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for UserSkill operations.
  * Handles business logic and delegates to UserSkillDao for data access.
+ * Every write rescores the affected user's matches.
  */
 public class UserSkillService {
 
     private final UserSkillDao userSkillDao;
+    private final MatchService matchService;
 
     @Inject
-    public UserSkillService(UserSkillDao userSkillDao) {
+    public UserSkillService(UserSkillDao userSkillDao, MatchService matchService) {
         this.userSkillDao = userSkillDao;
+        this.matchService = matchService;
     }
 
     /**
@@ -27,6 +33,16 @@ public class UserSkillService {
         return userSkillDao.findAll();
     }
 
+    /**
+     * Get a page of user skills, ordered by ID.
+     *
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit maximum number of results to return
+     */
+    public Page<UserSkill> getUserSkillsPage(String cursor, Integer limit) {
+        return userSkillDao.findPage(cursor, limit);
+    }
+
     /**
      * Get a user skill by ID.
      */
@@ -38,21 +54,53 @@ public class UserSkillService {
      * Create a new user skill.
      */
     public Long createUserSkill(UserSkill userSkill) {
-        return userSkillDao.insert(userSkill);
+        Long id = userSkillDao.insert(userSkill);
+        matchService.userChanged(userSkill.getUserId());
+        return id;
+    }
+
+    /**
+     * Create multiple user skills in a single batch.
+     *
+     * @return the IDs of the created user skills, in input order
+     */
+    public List<Long> createUserSkills(List<UserSkill> userSkills) {
+        List<Long> ids = userSkillDao.insertAll(userSkills);
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (UserSkill userSkill : userSkills) {
+            userIds.add(userSkill.getUserId());
+        }
+        userIds.forEach(matchService::userChanged);
+        return ids;
     }
 
     /**
      * Update an existing user skill.
      */
     public boolean updateUserSkill(UserSkill userSkill) {
-        return userSkillDao.update(userSkill.getId(), userSkill);
+        Optional<UserSkill> previous = userSkillDao.findById(userSkill.getId());
+        boolean updated = userSkillDao.update(userSkill.getId(), userSkill);
+        if (updated) {
+            Set<Long> userIds = new LinkedHashSet<>();
+            previous.ifPresent(row -> userIds.add(row.getUserId()));
+            if (userSkill.getUserId() != null) {
+                userIds.add(userSkill.getUserId());
+            }
+            userIds.forEach(matchService::userChanged);
+        }
+        return updated;
     }
 
     /**
      * Delete a user skill by ID.
      */
     public boolean deleteUserSkill(Long id) {
-        return userSkillDao.delete(id);
+        Optional<UserSkill> previous = userSkillDao.findById(id);
+        boolean deleted = userSkillDao.delete(id);
+        if (deleted) {
+            previous.ifPresent(row -> matchService.userChanged(row.getUserId()));
+        }
+        return deleted;
     }
 
     /**
@@ -0,0 +1,17 @@
+-- ============================================
+-- JOB POSTING FULL-TEXT SEARCH
+-- ============================================
+-- Weighted search document kept up to date by PostgreSQL itself, so inserts and
+-- updates through the DAO need no changes. Weights rank a match in the title above
+-- one in the field, responsibilities or description.
+
+ALTER TABLE job_postings ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english'::regconfig, coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english'::regconfig, coalesce(field, '')), 'B') ||
+    setweight(to_tsvector('english'::regconfig, coalesce(responsibilities, '')), 'C') ||
+    setweight(to_tsvector('english'::regconfig, coalesce(description, '')), 'D')
+) STORED;
+
+CREATE INDEX idx_job_postings_search_vector ON job_postings USING GIN (search_vector);
+
+COMMENT ON COLUMN job_postings.search_vector IS 'Generated full-text document: title (A), field (B), responsibilities (C), description (D)';
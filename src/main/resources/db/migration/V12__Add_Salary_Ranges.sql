@@ -0,0 +1,28 @@
+-- ============================================
+-- SALARY RANGES
+-- ============================================
+-- Salary ranges as generated numrange columns with GiST indexes, so "ranges that
+-- overlap $80k-$100k" is one indexable && test instead of conditions on two columns.
+-- A range with only one end given covers just that amount; a range with neither end
+-- given is NULL and overlaps nothing. LEAST/GREATEST skip NULLs and keep a reversed
+-- min/max from failing the write.
+
+ALTER TABLE job_postings ADD COLUMN salary_range numrange GENERATED ALWAYS AS (
+    CASE WHEN salary_min IS NULL AND salary_max IS NULL THEN NULL
+         ELSE numrange(LEAST(salary_min, salary_max), GREATEST(salary_min, salary_max), '[]')
+    END
+) STORED;
+
+CREATE INDEX idx_job_postings_salary_range ON job_postings USING GIST (salary_range);
+
+ALTER TABLE users ADD COLUMN salary_expectation_range numrange GENERATED ALWAYS AS (
+    CASE WHEN salary_expectations_min IS NULL AND salary_expectations_max IS NULL THEN NULL
+         ELSE numrange(LEAST(salary_expectations_min, salary_expectations_max),
+                       GREATEST(salary_expectations_min, salary_expectations_max), '[]')
+    END
+) STORED;
+
+CREATE INDEX idx_users_salary_expectation_range ON users USING GIST (salary_expectation_range);
+
+COMMENT ON COLUMN job_postings.salary_range IS 'Generated inclusive range salary_min..salary_max; NULL if neither is set';
+COMMENT ON COLUMN users.salary_expectation_range IS 'Generated inclusive range salary_expectations_min..salary_expectations_max; NULL if neither is set';
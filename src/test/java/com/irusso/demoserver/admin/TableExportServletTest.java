@@ -0,0 +1,81 @@
+package com.irusso.demoserver.admin;
+
+import com.irusso.demoserver.db.dao.CopyEngine;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TableExportServlet.
+ */
+@ExtendWith(MockitoExtension.class)
+class TableExportServletTest {
+
+    @Mock
+    private CopyEngine copyEngine;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private TableExportServlet servlet;
+
+    @BeforeEach
+    void setUp() {
+        servlet = new TableExportServlet(copyEngine);
+    }
+
+    @Test
+    void testExportsReferenceTable() throws Exception {
+        // Arrange
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        when(request.getPathInfo()).thenReturn("/industries");
+        when(request.getParameter("format")).thenReturn("ndjson");
+        when(response.getOutputStream()).thenReturn(output);
+
+        // Act
+        servlet.doGet(request, response);
+
+        // Assert
+        verify(copyEngine).copyOut("industries", output, CopyEngine.ExportFormat.NDJSON);
+        verify(response, never()).sendError(anyInt(), anyString());
+    }
+
+    @Test
+    void testRejectsTablesWithPersonalData() throws Exception {
+        for (String table : new String[] {"users", "job_postings", "application_messages"}) {
+            // Arrange
+            when(request.getPathInfo()).thenReturn("/" + table);
+
+            // Act
+            servlet.doGet(request, response);
+
+            // Assert
+            verify(response).sendError(eq(HttpServletResponse.SC_NOT_FOUND), anyString());
+            reset(response);
+        }
+        verify(copyEngine, never()).copyOut(anyString(), any(), any());
+    }
+
+    @Test
+    void testRequiresTableName() throws Exception {
+        when(request.getPathInfo()).thenReturn(null);
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(eq(HttpServletResponse.SC_BAD_REQUEST), anyString());
+        verifyNoInteractions(copyEngine);
+    }
+}
@@ -1,7 +1,10 @@
 package com.irusso.demoserver.api;
 
+import com.irusso.demoserver.db.dao.Page;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -30,6 +33,23 @@ class ApiResponseTest {
         assertThat(response.getData()).isEqualTo(data);
     }
 
+    @Test
+    void testPage() {
+        Page<String> page = new Page<>(List.of("a", "b"), "cursor");
+        ApiResponse<List<String>> response = ApiResponse.page(page);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData()).containsExactly("a", "b");
+        assertThat(response.getNextCursor()).isEqualTo("cursor");
+    }
+
+    @Test
+    void testSuccessHasNoNextCursor() {
+        ApiResponse<String> response = ApiResponse.success("data");
+
+        assertThat(response.getNextCursor()).isNull();
+    }
+
     @Test
     void testError() {
         String errorMessage = "Something went wrong";
@@ -0,0 +1,43 @@
+package com.irusso.demoserver.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for IdList.
+ */
+class IdListTest {
+
+    @Test
+    void testParse_KeepsOrderAndDropsDuplicates() {
+        assertThat(IdList.parse("3, 1,3,,2")).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void testParse_RejectsNonNumericId() {
+        assertThatThrownBy(() -> IdList.parse("1,two"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid ID: two");
+    }
+
+    @Test
+    void testParse_RejectsEmptyList() {
+        assertThatThrownBy(() -> IdList.parse(" , "))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testParse_RejectsTooManyIds() {
+        StringJoiner raw = new StringJoiner(",");
+        for (int i = 0; i <= IdList.MAX_IDS; i++) {
+            raw.add(Integer.toString(i));
+        }
+
+        assertThatThrownBy(() -> IdList.parse(raw.toString()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.irusso.demoserver.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for StreamingApiResponse.
+ */
+class StreamingApiResponseTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testWritesApiResponseEnvelope() throws Exception {
+        StreamingApiResponse<String> response = StreamingApiResponse.<String>success(mapper, List.of("a", "b", "c")::forEach);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.write(output);
+
+        JsonNode json = mapper.readTree(output.toByteArray());
+        assertThat(json.get("success").asBoolean()).isTrue();
+        assertThat(json.get("message").asText()).isEqualTo("Success");
+        assertThat(json.get("data")).hasSize(3);
+        assertThat(json.get("data").get(2).asText()).isEqualTo("c");
+    }
+
+    @Test
+    void testEmptySource() throws Exception {
+        StreamingApiResponse<String> response = StreamingApiResponse.<String>success(mapper, consumer -> { });
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.write(output);
+
+        JsonNode json = mapper.readTree(output.toByteArray());
+        assertThat(json.get("data").isArray()).isTrue();
+        assertThat(json.get("data")).isEmpty();
+    }
+
+    @Test
+    void testFailureLeavesBodyUnterminated() {
+        StreamingApiResponse<String> response = StreamingApiResponse.<String>success(mapper, consumer -> {
+            consumer.accept("a");
+            throw new IllegalStateException("connection lost");
+        });
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> response.write(output))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("connection lost");
+
+        // The client must not be able to mistake a cut-short list for a complete one
+        assertThat(output.toString(StandardCharsets.UTF_8)).doesNotEndWith("}");
+        assertThatThrownBy(() -> mapper.readTree(output.toByteArray()))
+            .isInstanceOf(JsonProcessingException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.irusso.demoserver.application.filter;
+
+import com.irusso.demoserver.db.dao.ReadRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadRoutingFilter.
+ */
+class ReadRoutingFilterTest {
+
+    private final Jdbi primary = Jdbi.create("jdbc:postgresql://localhost/primary");
+    private final Jdbi replica = Jdbi.create("jdbc:postgresql://localhost/replica");
+
+    private ReadRouting readRouting;
+    private ReadRoutingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        readRouting = new ReadRouting(primary, List.of(replica), Duration.ofSeconds(5));
+        filter = new ReadRoutingFilter(readRouting);
+    }
+
+    private static HttpServletRequest requestWithHeader(String stickyUntil) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader(ReadRoutingFilter.STICKY_HEADER)).thenReturn(stickyUntil);
+        return request;
+    }
+
+    /**
+     * Run one request through the filter and return the database its read went to.
+     */
+    private Jdbi readDuring(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        AtomicReference<Jdbi> readFrom = new AtomicReference<>();
+        FilterChain chain = (req, res) -> readFrom.set(readRouting.forRead());
+        filter.doFilter(request, response, chain);
+        return readFrom.get();
+    }
+
+    @Test
+    void testEchoedHeaderRoutesNextRequestToPrimary() throws Exception {
+        // Arrange: a write returns the sticky deadline as a header
+        HttpServletResponse writeResponse = mock(HttpServletResponse.class);
+        FilterChain write = (req, res) -> readRouting.markWrite();
+        filter.doFilter(requestWithHeader(null), writeResponse, write);
+
+        ArgumentCaptor<String> header = ArgumentCaptor.forClass(String.class);
+        verify(writeResponse).setHeader(eq(ReadRoutingFilter.STICKY_HEADER), header.capture());
+        assertThat(Long.parseLong(header.getValue())).isGreaterThan(System.currentTimeMillis());
+
+        // Act: the client echoes the header on its next request, which carries no cookie
+        Jdbi readFrom = readDuring(requestWithHeader(header.getValue()), mock(HttpServletResponse.class));
+
+        // Assert
+        assertThat(readFrom).isSameAs(primary);
+    }
+
+    @Test
+    void testRequestWithoutDeadlineReadsReplica() throws Exception {
+        // Act
+        Jdbi readFrom = readDuring(requestWithHeader(null), mock(HttpServletResponse.class));
+
+        // Assert
+        assertThat(readFrom).isSameAs(replica);
+    }
+
+    @Test
+    void testExpiredOrMalformedHeaderReadsReplica() throws Exception {
+        // Act
+        Jdbi expired = readDuring(requestWithHeader(Long.toString(System.currentTimeMillis() - 1_000)),
+            mock(HttpServletResponse.class));
+        Jdbi malformed = readDuring(requestWithHeader("soon"), mock(HttpServletResponse.class));
+
+        // Assert
+        assertThat(expired).isSameAs(replica);
+        assertThat(malformed).isSameAs(replica);
+    }
+}
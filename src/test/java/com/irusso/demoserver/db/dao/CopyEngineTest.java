@@ -0,0 +1,103 @@
+package com.irusso.demoserver.db.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the SQL and CSV generation in CopyEngine.
+ */
+class CopyEngineTest {
+
+    static class TestEntity {
+        private final String name;
+        private final BigDecimal score;
+        private final Integer rank;
+
+        TestEntity(String name, BigDecimal score, Integer rank) {
+            this.name = name;
+            this.score = score;
+            this.rank = rank;
+        }
+    }
+
+    private static final List<ColumnDefinition<TestEntity>> COLUMNS = List.of(
+            ColumnDefinition.<TestEntity>builder()
+                    .columnName("name").javaType(String.class).getter(e -> e.name).build(),
+            ColumnDefinition.<TestEntity>builder()
+                    .columnName("score").javaType(BigDecimal.class).getter(e -> e.score).build(),
+            ColumnDefinition.<TestEntity>builder()
+                    .columnName("rank").javaType(Integer.class).getter(e -> e.rank).build());
+
+    @Test
+    void testAppendRow_QuotesStringsAndLeavesNullsEmpty() {
+        StringBuilder buffer = new StringBuilder();
+
+        CopyEngine.appendRow(buffer, COLUMNS, new TestEntity("Say \"hi\", world", new BigDecimal("1E+2"), null));
+
+        assertThat(buffer.toString()).isEqualTo("\"Say \"\"hi\"\", world\",100,\n");
+    }
+
+    @Test
+    void testAppendRow_EmptyStringIsNotNull() {
+        StringBuilder buffer = new StringBuilder();
+
+        CopyEngine.appendRow(buffer, COLUMNS, new TestEntity("", null, 3));
+
+        assertThat(buffer.toString()).isEqualTo("\"\",,3\n");
+    }
+
+    @Test
+    void testBuildMergeSql_DoUpdate() {
+        CopyEngine.MergeSpec merge = CopyEngine.MergeSpec.builder()
+                .conflictColumns("name")
+                .updateColumns("score", "rank")
+                .computedColumn("label", "upper(name)")
+                .build();
+
+        String sql = CopyEngine.buildMergeSql("things", "copy_stage_things", "name, score, rank", merge);
+
+        assertThat(sql).isEqualTo(
+                "INSERT INTO things (name, score, rank, label) "
+                        + "SELECT DISTINCT ON (name) name, score, rank, upper(name) FROM copy_stage_things "
+                        + "ORDER BY name, copy_row DESC "
+                        + "ON CONFLICT (name) DO UPDATE SET score = EXCLUDED.score, rank = EXCLUDED.rank");
+    }
+
+    @Test
+    void testBuildMergeSql_SkipsUnchangedRows() {
+        CopyEngine.MergeSpec merge = CopyEngine.MergeSpec.builder()
+                .conflictColumns("name")
+                .updateColumns("score", "rank", "updated_at")
+                .changeColumns("score", "rank")
+                .build();
+
+        String sql = CopyEngine.buildMergeSql("things", "copy_stage_things", "name, score, rank, updated_at", merge);
+
+        assertThat(sql).endsWith(
+                "DO UPDATE SET score = EXCLUDED.score, rank = EXCLUDED.rank, updated_at = EXCLUDED.updated_at "
+                        + "WHERE (things.score, things.rank) IS DISTINCT FROM (EXCLUDED.score, EXCLUDED.rank)");
+    }
+
+    @Test
+    void testBuildMergeSql_DoNothing() {
+        CopyEngine.MergeSpec merge = CopyEngine.MergeSpec.builder()
+                .conflictColumns("name")
+                .build();
+
+        String sql = CopyEngine.buildMergeSql("things", "copy_stage_things", "name", merge);
+
+        assertThat(sql).endsWith("ON CONFLICT (name) DO NOTHING");
+    }
+
+    @Test
+    void testMergeSpec_RequiresConflictColumns() {
+        assertThatThrownBy(() -> CopyEngine.MergeSpec.builder().build())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("conflictColumns");
+    }
+}
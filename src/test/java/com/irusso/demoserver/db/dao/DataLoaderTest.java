@@ -0,0 +1,177 @@
+package com.irusso.demoserver.db.dao;
+
+import com.irusso.demoserver.db.dao.TestDatabase.Note;
+import com.irusso.demoserver.db.dao.TestDatabase.NoteDao;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for DataLoader.
+ */
+class DataLoaderTest {
+
+    private final List<List<Long>> batches = new ArrayList<>();
+
+    private Map<Long, String> lookup(Collection<Long> ids) {
+        batches.add(new ArrayList<>(ids));
+        Map<Long, String> found = new HashMap<>();
+        for (Long id : ids) {
+            if (id % 2 == 0) {
+                found.put(id, "row" + id);
+            }
+        }
+        return found;
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataLoader.endRequest();
+    }
+
+    /**
+     * Record the SQL of every statement run against a database.
+     */
+    private static List<String> recordStatements(Jdbi jdbi) {
+        List<String> statements = new ArrayList<>();
+        jdbi.setSqlLogger(new SqlLogger() {
+            @Override
+            public void logBeforeExecution(StatementContext context) {
+                statements.add(context.getRenderedSql());
+            }
+        });
+        return statements;
+    }
+
+    @Test
+    void testRequestScope_LoadsBecomeOneQuery() {
+        // Arrange
+        Jdbi jdbi = TestDatabase.create();
+        NoteDao noteDao = new NoteDao(jdbi);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(TestDatabase.insertNote(jdbi, 1L, "note " + i));
+        }
+        List<String> statements = recordStatements(jdbi);
+        DataLoader.beginRequest();
+
+        // Act: each lookup asks the DAO for its loader, as code deep in a request would
+        List<CompletableFuture<Optional<Note>>> notes = new ArrayList<>();
+        for (Long id : ids) {
+            notes.add(noteDao.loader().load(id));
+        }
+        Optional<Note> first = noteDao.loader().get(ids.get(0));
+
+        // Assert
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).contains("= ANY(");
+        assertThat(first.orElseThrow().getText()).isEqualTo("note 0");
+        assertThat(notes).allMatch(note -> note.join().isPresent());
+    }
+
+    @Test
+    void testRequestScope_WritesClearMemo() {
+        // Arrange
+        Jdbi jdbi = TestDatabase.create();
+        NoteDao noteDao = new NoteDao(jdbi);
+        long id = TestDatabase.insertNote(jdbi, 1L, "draft");
+        DataLoader.beginRequest();
+        Note note = noteDao.loader().get(id).orElseThrow();
+
+        // Act
+        note.setText("final");
+        noteDao.update(id, note);
+
+        // Assert: the request reads its own write
+        assertThat(noteDao.loader().get(id).orElseThrow().getText()).isEqualTo("final");
+    }
+
+    @Test
+    void testLoader_NewPerCallOutsideRequest() {
+        NoteDao noteDao = new NoteDao(TestDatabase.create());
+
+        assertThat(noteDao.loader()).isNotSameAs(noteDao.loader());
+
+        DataLoader.beginRequest();
+        assertThat(noteDao.loader()).isSameAs(noteDao.loader());
+        DataLoader.endRequest();
+        assertThat(noteDao.loader()).isNotSameAs(noteDao.loader());
+    }
+
+    @Test
+    void testDispatch_CoalescesLoadsIntoOneBatch() {
+        DataLoader<Long, String> loader = new DataLoader<>(this::lookup);
+
+        CompletableFuture<Optional<String>> two = loader.load(2L);
+        CompletableFuture<Optional<String>> three = loader.load(3L);
+        CompletableFuture<Optional<String>> twoAgain = loader.load(2L);
+
+        assertThat(two).isNotDone();
+        assertThat(loader.dispatch()).isEqualTo(1);
+
+        assertThat(batches).containsExactly(List.of(2L, 3L));
+        assertThat(two.join()).contains("row2");
+        assertThat(three.join()).isEmpty();
+        assertThat(twoAgain).isSameAs(two);
+    }
+
+    @Test
+    void testGet_MemoizesLoadedIds() {
+        DataLoader<Long, String> loader = new DataLoader<>(this::lookup);
+
+        assertThat(loader.get(4L)).contains("row4");
+        assertThat(loader.get(4L)).contains("row4");
+
+        assertThat(batches).hasSize(1);
+        assertThat(loader.dispatch()).isZero();
+    }
+
+    @Test
+    void testDispatch_SplitsLargeBatches() {
+        DataLoader<Long, String> loader = new DataLoader<>(this::lookup);
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id < DataLoader.MAX_BATCH_SIZE + 1; id++) {
+            ids.add(id);
+        }
+
+        List<CompletableFuture<Optional<String>>> futures = loader.loadMany(ids);
+
+        assertThat(loader.dispatch()).isEqualTo(2);
+        assertThat(batches.get(0)).hasSize(DataLoader.MAX_BATCH_SIZE);
+        assertThat(batches.get(1)).containsExactly((long) DataLoader.MAX_BATCH_SIZE);
+        assertThat(futures).allMatch(CompletableFuture::isDone);
+    }
+
+    @Test
+    void testDispatch_FailureFailsPendingAndAllowsRetry() {
+        RuntimeException failure = new IllegalStateException("database down");
+        boolean[] fail = {true};
+        DataLoader<Long, String> loader = new DataLoader<>(ids -> {
+            if (fail[0]) {
+                throw failure;
+            }
+            return lookup(ids);
+        });
+
+        CompletableFuture<Optional<String>> future = loader.load(2L);
+
+        assertThatThrownBy(loader::dispatch).isSameAs(failure);
+        assertThat(future).isCompletedExceptionally();
+
+        fail[0] = false;
+        assertThat(loader.get(2L)).contains("row2");
+    }
+}
@@ -0,0 +1,85 @@
+package com.irusso.demoserver.db.dao;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for EntityCache.
+ */
+class EntityCacheTest {
+
+    private MetricRegistry metrics;
+    private EntityCache<Long, String> cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricRegistry();
+        cache = EntityCache.create("users", 100, Duration.ofMinutes(5), metrics);
+        loads = new AtomicInteger();
+    }
+
+    private Optional<String> load(Long id) {
+        loads.incrementAndGet();
+        return id > 0 ? Optional.of("user-" + id) : Optional.empty();
+    }
+
+    @Test
+    void testGet_LoadsOnceAndRecordsMetrics() {
+        assertThat(cache.get(1L, this::load)).contains("user-1");
+        assertThat(cache.get(1L, this::load)).contains("user-1");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(metrics.meter("com.irusso.demoserver.db.dao.EntityCache.users.hits").getCount()).isEqualTo(1);
+        assertThat(metrics.meter("com.irusso.demoserver.db.dao.EntityCache.users.misses").getCount()).isEqualTo(1);
+        assertThat(metrics.getGauges()).containsKey("com.irusso.demoserver.db.dao.EntityCache.users.size");
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testGet_MissingRowIsNotCached() {
+        assertThat(cache.get(-1L, this::load)).isEmpty();
+        assertThat(cache.get(-1L, this::load)).isEmpty();
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testInvalidate() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+        assertThat(loads.get()).isEqualTo(4);
+
+        cache.invalidateAll(List.of(2L));
+        cache.get(2L, this::load);
+        assertThat(loads.get()).isEqualTo(5);
+
+        cache.invalidateAll();
+        cache.get(3L, this::load);
+        assertThat(loads.get()).isEqualTo(6);
+    }
+
+    @Test
+    void testEviction_BoundedBySize() {
+        EntityCache<Long, String> small = EntityCache.create("small", 1, Duration.ofMinutes(5), metrics);
+        for (long id = 1; id <= 50; id++) {
+            small.get(id, this::load);
+        }
+
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.stats().evictionCount()).isEqualTo(49);
+    }
+}
@@ -0,0 +1,71 @@
+package com.irusso.demoserver.db.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PageCursor and Page.
+ */
+class PageCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        PageCursor cursor = new PageCursor("name", 42L, "Springfield|East");
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertThat(decoded.getSortColumn()).isEqualTo("name");
+        assertThat(decoded.getLastId()).isEqualTo(42L);
+        assertThat(decoded.getLastSortValue()).isEqualTo("Springfield|East");
+    }
+
+    @Test
+    void testEncode_IsUrlSafe() {
+        String token = new PageCursor("name", 1L, "???>>>").encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void testDecode_InvalidBase64() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void testDecode_MissingSeparators() {
+        String token = java.util.Base64.getUrlEncoder().encodeToString("garbage".getBytes());
+
+        assertThatThrownBy(() -> PageCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testParseValue_Types() {
+        assertThat(PageCursor.parseValue("12", Long.class)).isEqualTo(12L);
+        assertThat(PageCursor.parseValue("12.50", BigDecimal.class)).isEqualTo(new BigDecimal("12.50"));
+        Timestamp ts = Timestamp.valueOf("2024-01-02 03:04:05.123");
+        assertThat(PageCursor.parseValue(PageCursor.formatValue(ts), Timestamp.class)).isEqualTo(ts);
+    }
+
+    @Test
+    void testParseValue_Invalid() {
+        assertThatThrownBy(() -> PageCursor.parseValue("abc", Long.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void testResolveLimit() {
+        assertThat(Page.resolveLimit(null)).isEqualTo(Page.DEFAULT_LIMIT);
+        assertThat(Page.resolveLimit(0)).isEqualTo(Page.DEFAULT_LIMIT);
+        assertThat(Page.resolveLimit(10)).isEqualTo(10);
+        assertThat(Page.resolveLimit(100000)).isEqualTo(Page.MAX_LIMIT);
+    }
+}
@@ -0,0 +1,130 @@
+package com.irusso.demoserver.db.dao;
+
+import com.codahale.metrics.MetricRegistry;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.ParsedParameters;
+import org.jdbi.v3.core.statement.ParsedSql;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QueryMetrics.
+ */
+class QueryMetricsTest {
+
+    private static final String FIND_SQL = """
+        SELECT * FROM test_table
+        WHERE id = :id
+        """;
+
+    static class TestDao extends StandardDao<Object, Long> {
+        TestDao() {
+            super(Jdbi.create("jdbc:postgresql://localhost/unused"),
+                TableDefinition.<Object>builder().tableName("test_table").build(),
+                (rs, ctx) -> new Object());
+        }
+
+        void findSomething(QueryMetrics queryMetrics, StatementContext context) {
+            queryMetrics.logAfterExecution(context);
+        }
+    }
+
+    private MetricRegistry registry;
+    private QueryMetrics queryMetrics;
+    private TestDao dao;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricRegistry();
+        queryMetrics = new QueryMetrics(registry, Duration.ofMillis(100), 2);
+        dao = new TestDao();
+    }
+
+    private static StatementContext statement(String sql, long elapsedMillis) {
+        StatementContext context = mock(StatementContext.class);
+        when(context.getRawSql()).thenReturn(sql);
+        when(context.getElapsedTime(ChronoUnit.NANOS)).thenReturn(elapsedMillis * 1_000_000);
+        when(context.getParsedSql()).thenReturn(ParsedSql.of(sql, ParsedParameters.named(List.of("id"))));
+        return context;
+    }
+
+    @Test
+    void testRecord_TimesPerDaoMethodAndTemplate() {
+        dao.findSomething(queryMetrics, statement(FIND_SQL, 5));
+        dao.findSomething(queryMetrics, statement(FIND_SQL, 150));
+
+        String metricName = "com.irusso.demoserver.db.dao.QueryMetrics.TestDao.findSomething.test_table";
+        assertThat(registry.getTimers()).containsKey(metricName);
+        assertThat(registry.timer(metricName).getCount()).isEqualTo(2);
+
+        List<Map<String, Object>> summary = queryMetrics.summarize();
+        assertThat(summary).hasSize(1);
+        assertThat(summary.get(0))
+            .containsEntry("daoMethod", "TestDao.findSomething")
+            .containsEntry("sql", "SELECT * FROM test_table WHERE id = :id")
+            .containsEntry("count", 2L)
+            .containsEntry("totalMs", 155.0);
+    }
+
+    @Test
+    void testRecord_OutsideDaoUsesUnknownMethod() {
+        queryMetrics.logAfterExecution(statement("SELECT 1", 1));
+
+        assertThat(queryMetrics.summarize().get(0)).containsEntry("daoMethod", QueryMetrics.UNKNOWN_METHOD);
+    }
+
+    @Test
+    void testRecord_SummaryOrderedByTotalTime() {
+        queryMetrics.logAfterExecution(statement("SELECT 1", 1));
+        queryMetrics.logAfterExecution(statement("SELECT 2", 30));
+
+        assertThat(queryMetrics.summarize()).extracting(entry -> entry.get("sql"))
+            .containsExactly("SELECT 2", "SELECT 1");
+    }
+
+    @Test
+    void testEndRequest_FlagsRepeatedTemplates() {
+        queryMetrics.beginRequest("GET /api/test");
+        for (int i = 0; i < 3; i++) {
+            dao.findSomething(queryMetrics, statement(FIND_SQL, 1));
+        }
+        queryMetrics.logAfterExecution(statement("SELECT 1", 1));
+
+        assertThat(queryMetrics.endRequest()).isEqualTo(4);
+        assertThat(queryMetrics.getRepeatedQueries().getCount()).isEqualTo(1);
+        assertThat(queryMetrics.getStatementsPerRequest().getCount()).isEqualTo(1);
+        assertThat(queryMetrics.summarize().get(0)).containsEntry("repeatedInRequests", 1L);
+    }
+
+    @Test
+    void testEndRequest_StopsCounting() {
+        queryMetrics.beginRequest("GET /api/test");
+        queryMetrics.endRequest();
+
+        for (int i = 0; i < 3; i++) {
+            dao.findSomething(queryMetrics, statement(FIND_SQL, 1));
+        }
+
+        assertThat(queryMetrics.endRequest()).isZero();
+        assertThat(queryMetrics.getRepeatedQueries().getCount()).isZero();
+    }
+
+    @Test
+    void testParameterNames_DistinctNamesFromParsedSql() {
+        StatementContext context = mock(StatementContext.class);
+        when(context.getParsedSql()).thenReturn(ParsedSql.of("SELECT 1",
+            ParsedParameters.named(List.of("minSalary", "maxSalary", "minSalary"))));
+
+        assertThat(QueryMetrics.parameterNames(context)).containsExactly("minSalary", "maxSalary");
+    }
+}
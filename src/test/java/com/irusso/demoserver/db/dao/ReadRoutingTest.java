@@ -0,0 +1,139 @@
+package com.irusso.demoserver.db.dao;
+
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReadRouting.
+ */
+class ReadRoutingTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    /**
+     * Clock the tests move forward by hand.
+     */
+    static class ManualClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    private final Jdbi primary = Jdbi.create("jdbc:postgresql://localhost/primary");
+    private final Jdbi replica1 = Jdbi.create("jdbc:postgresql://localhost/replica1");
+    private final Jdbi replica2 = Jdbi.create("jdbc:postgresql://localhost/replica2");
+    private final List<Long> stickyCookies = new ArrayList<>();
+
+    private ManualClock clock;
+    private ReadRouting routing;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ManualClock();
+        routing = new ReadRouting(primary, List.of(replica1, replica2), WINDOW, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.endRequest();
+    }
+
+    @Test
+    void testForRead_RoundRobinsReplicas() {
+        assertThat(routing.forRead()).isSameAs(replica1);
+        assertThat(routing.forRead()).isSameAs(replica2);
+        assertThat(routing.forRead()).isSameAs(replica1);
+    }
+
+    @Test
+    void testForRead_WithoutReplicasUsesPrimary() {
+        ReadRouting primaryOnly = new ReadRouting(primary, List.of(), WINDOW, clock);
+
+        assertThat(primaryOnly.hasReplicas()).isFalse();
+        assertThat(primaryOnly.forRead()).isSameAs(primary);
+    }
+
+    @Test
+    void testMarkWrite_StickyForRestOfRequest() {
+        routing.beginRequest(0, stickyCookies::add);
+        assertThat(routing.forRead()).isNotSameAs(primary);
+
+        routing.markWrite();
+        routing.markWrite();
+
+        assertThat(routing.forRead()).isSameAs(primary);
+        assertThat(stickyCookies).containsExactly(clock.millis() + WINDOW.toMillis());
+    }
+
+    @Test
+    void testBeginRequest_HonoursWindowFromEarlierWrite() {
+        routing.beginRequest(clock.millis() + 2_000, stickyCookies::add);
+        assertThat(routing.forRead()).isSameAs(primary);
+
+        clock.advance(Duration.ofSeconds(3));
+        assertThat(routing.forRead()).isNotSameAs(primary);
+    }
+
+    @Test
+    void testBeginRequest_CapsClientSuppliedWindow() {
+        routing.beginRequest(Long.MAX_VALUE, stickyCookies::add);
+
+        clock.advance(WINDOW.plusMillis(1));
+        assertThat(routing.forRead()).isNotSameAs(primary);
+    }
+
+    @Test
+    void testOnPrimary_ReadsPrimaryOutsideRequest() {
+        Jdbi inside = routing.onPrimary(() -> routing.onPrimary(routing::forRead));
+        List<Jdbi> nested = new ArrayList<>();
+        routing.runOnPrimary(() -> {
+            routing.runOnPrimary(() -> nested.add(routing.forRead()));
+            nested.add(routing.forRead());
+        });
+
+        assertThat(inside).isSameAs(primary);
+        assertThat(nested).containsOnly(primary);
+        assertThat(routing.forRead()).isNotSameAs(primary);
+    }
+
+    @Test
+    void testMarkWrite_OutsideRequestDoesNothing() {
+        routing.markWrite();
+
+        assertThat(routing.forRead()).isNotSameAs(primary);
+    }
+}
@@ -0,0 +1,57 @@
+package com.irusso.demoserver.db.dao;
+
+import com.irusso.demoserver.db.dao.TestDatabase.Note;
+import com.irusso.demoserver.db.dao.TestDatabase.NoteDao;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for StandardDao against an in-memory database.
+ */
+class StandardDaoTest {
+
+    private Jdbi jdbi;
+    private NoteDao noteDao;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbi = TestDatabase.create(true);
+        noteDao = new NoteDao(jdbi);
+        transactionTemplate = new TransactionTemplate(jdbi);
+        TestDatabase.insertNote(jdbi, 1L, "first");
+        TestDatabase.insertNote(jdbi, 1L, "second");
+    }
+
+    @Test
+    void testForEach_StreamsOutsideUnitOfWork() {
+        // Act
+        List<String> texts = new ArrayList<>();
+        noteDao.forEach(note -> texts.add(note.getText()));
+
+        // Assert
+        assertThat(texts).containsExactly("first", "second");
+    }
+
+    @Test
+    void testForEach_JoinsUnitOfWorkTransaction() {
+        // Act: stream the table, then write, in one transaction
+        List<String> texts = new ArrayList<>();
+        transactionTemplate.useTransaction(() -> {
+            noteDao.forEach(note -> texts.add(note.getText()));
+            Note note = noteDao.findById(1L).orElseThrow();
+            note.setText("edited");
+            noteDao.update(1L, note);
+        });
+
+        // Assert: the stream saw the rows and the transaction is still writable
+        assertThat(texts).containsExactly("first", "second");
+        assertThat(noteDao.findById(1L).orElseThrow().getText()).isEqualTo("edited");
+    }
+}
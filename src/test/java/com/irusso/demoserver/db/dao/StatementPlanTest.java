@@ -0,0 +1,74 @@
+package com.irusso.demoserver.db.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StatementPlan.
+ */
+class StatementPlanTest {
+
+    static class TestEntity {
+        private final String name;
+        private final String email;
+
+        TestEntity(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    private static TableDefinition<TestEntity> table() {
+        return TableDefinition.<TestEntity>builder()
+                .tableName("test_table")
+                .addColumn(ColumnDefinition.<TestEntity>builder()
+                        .columnName("name")
+                        .javaType(String.class)
+                        .getter(TestEntity::getName)
+                        .build())
+                .addColumn(ColumnDefinition.<TestEntity>builder()
+                        .columnName("email_address")
+                        .javaType(String.class)
+                        .updatable(false)
+                        .getter(TestEntity::getEmail)
+                        .build())
+                .build();
+    }
+
+    @Test
+    void testCompile_GeneratesSql() {
+        StatementPlan<TestEntity> plan = StatementPlan.compile(table());
+
+        assertThat(plan.getFindByIdSql()).isEqualTo("SELECT id, name, email_address FROM test_table WHERE id = :id");
+        assertThat(plan.getFindByIdsSql()).isEqualTo("SELECT id, name, email_address FROM test_table WHERE id = ANY(:ids)");
+        assertThat(plan.getFindAllSql()).isEqualTo("SELECT id, name, email_address FROM test_table ORDER BY id");
+        assertThat(plan.getFindPageAfterIdSql())
+                .isEqualTo("SELECT id, name, email_address FROM test_table WHERE id > :lastId ORDER BY id LIMIT :limit");
+        assertThat(plan.getInsertSql()).isEqualTo(
+                "INSERT INTO test_table (name, email_address) VALUES (:name, :emailAddress) RETURNING id");
+        assertThat(plan.getInsertBatchSql()).isEqualTo(
+                "INSERT INTO test_table (name, email_address) VALUES (:name, :emailAddress)");
+        assertThat(plan.getUpdateSql()).isEqualTo("UPDATE test_table SET name = :name WHERE id = :id");
+        assertThat(plan.getDeleteByIdsSql()).isEqualTo("DELETE FROM test_table WHERE id = ANY(:ids)");
+    }
+
+    @Test
+    void testCompile_AlignsColumnsWithParameters() {
+        StatementPlan<TestEntity> plan = StatementPlan.compile(table());
+        TestEntity entity = new TestEntity("Ada", "ada@example.com");
+
+        assertThat(plan.getInsertParameters()).containsExactly("name", "emailAddress");
+        assertThat(plan.getInsertColumns()[1].getValue(entity)).isEqualTo("ada@example.com");
+        assertThat(plan.getUpdateParameters()).containsExactly("name");
+        assertThat(plan.getUpdateColumns()).hasSize(1);
+    }
+}
@@ -209,6 +209,33 @@ class TableDefinitionTest {
         assertThat(columnNamesList).isEqualTo("id, name, email");
     }
 
+    @Test
+    void testGetSelectColumnsList() {
+        ColumnDefinition<TestEntity> idColumn = ColumnDefinition.<TestEntity>builder()
+                .columnName("id")
+                .javaType(Long.class)
+                .build();
+
+        ColumnDefinition<TestEntity> nameColumn = ColumnDefinition.<TestEntity>builder()
+                .columnName("name")
+                .javaType(String.class)
+                .build();
+
+        TableDefinition<TestEntity> withIdColumn = TableDefinition.<TestEntity>builder()
+                .tableName("test_table")
+                .addColumn(idColumn)
+                .addColumn(nameColumn)
+                .build();
+        TableDefinition<TestEntity> withoutIdColumn = TableDefinition.<TestEntity>builder()
+                .tableName("test_table")
+                .addColumn(nameColumn)
+                .build();
+
+        assertThat(withIdColumn.getSelectColumnsList()).isEqualTo("id, name");
+        assertThat(withoutIdColumn.getSelectColumnsList()).isEqualTo("id, name");
+        assertThat(withoutIdColumn.getSelectColumnsList("t")).isEqualTo("t.id, t.name");
+    }
+
     @Test
     void testGetInsertableColumnNamesList() {
         ColumnDefinition<TestEntity> idColumn = ColumnDefinition.<TestEntity>builder()
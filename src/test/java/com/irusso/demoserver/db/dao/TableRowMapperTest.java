@@ -0,0 +1,110 @@
+package com.irusso.demoserver.db.dao;
+
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TableRowMapper.
+ */
+class TableRowMapperTest {
+
+    static class TestEntity {
+        private Long id;
+        private String name;
+        private Integer age;
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+
+    private TableRowMapper<TestEntity> mapper;
+    private ResultSet rs;
+    private ResultSetMetaData metaData;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TableDefinition<TestEntity> table = TableDefinition.<TestEntity>builder()
+                .tableName("test_table")
+                .addColumn(ColumnDefinition.<TestEntity>builder()
+                        .columnName("name")
+                        .javaType(String.class)
+                        .setter((e, v) -> e.setName((String) v))
+                        .build())
+                .addColumn(ColumnDefinition.<TestEntity>builder()
+                        .columnName("age")
+                        .javaType(Integer.class)
+                        .setter((e, v) -> e.setAge((Integer) v))
+                        .build())
+                .build();
+        mapper = TableRowMapper.forTable(table, TestEntity::new, TestEntity::setId);
+
+        rs = mock(ResultSet.class);
+        metaData = mock(ResultSetMetaData.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        // Shape: id, extra column the definition does not know, name, age
+        when(metaData.getColumnCount()).thenReturn(4);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("location");
+        when(metaData.getColumnLabel(3)).thenReturn("name");
+        when(metaData.getColumnLabel(4)).thenReturn("AGE");
+    }
+
+    @Test
+    void testMap_ReadsByIndex() throws SQLException {
+        when(rs.getLong(1)).thenReturn(7L);
+        when(rs.getString(3)).thenReturn("Ada");
+        when(rs.getInt(4)).thenReturn(36);
+
+        TestEntity entity = mapper.specialize(rs, null).map(rs, null);
+
+        assertThat(entity.id).isEqualTo(7L);
+        assertThat(entity.name).isEqualTo("Ada");
+        assertThat(entity.age).isEqualTo(36);
+        verify(rs, never()).getString(anyString());
+        verify(rs, never()).getObject(2);
+    }
+
+    @Test
+    void testMap_NullLeavesFieldUnset() throws SQLException {
+        when(rs.getLong(1)).thenReturn(7L);
+        when(rs.getInt(4)).thenReturn(0);
+        when(rs.wasNull()).thenReturn(false, true);
+
+        TestEntity entity = mapper.specialize(rs, null).map(rs, null);
+
+        assertThat(entity.id).isEqualTo(7L);
+        assertThat(entity.age).isNull();
+    }
+
+    @Test
+    void testSpecialize_CachesPerShape() throws SQLException {
+        RowMapper<TestEntity> first = mapper.specialize(rs, null);
+        RowMapper<TestEntity> second = mapper.specialize(rs, null);
+
+        assertThat(second).isSameAs(first);
+
+        when(metaData.getColumnCount()).thenReturn(3);
+        assertThat(mapper.specialize(rs, null)).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,191 @@
+package com.irusso.demoserver.db.dao;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jdbi.v3.core.Jdbi;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * In-memory H2 database in PostgreSQL mode for DAO tests, holding one small
+ * {@code notes} table with {@link NoteDao} over it.
+ */
+final class TestDatabase {
+
+    private static final AtomicInteger NEXT = new AtomicInteger();
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Create a new, empty database.
+     */
+    static Jdbi create() {
+        return create(false);
+    }
+
+    /**
+     * Create a new, empty database.
+     *
+     * @param strictReadOnly Reject changing a connection's read-only flag while a
+     *                       transaction is open, as the PostgreSQL driver does
+     */
+    static Jdbi create(boolean strictReadOnly) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:test" + NEXT.incrementAndGet() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        Jdbi jdbi = Jdbi.create(strictReadOnly ? new StrictReadOnlyDataSource(h2) : h2);
+        jdbi.useHandle(handle -> handle.execute("""
+            CREATE TABLE notes (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                owner_id BIGINT,
+                text VARCHAR(255) NOT NULL
+            )
+            """));
+        return jdbi;
+    }
+
+    /**
+     * Insert a note directly, bypassing any DAO.
+     *
+     * @return The note's ID
+     */
+    static long insertNote(Jdbi jdbi, Long ownerId, String text) {
+        return jdbi.withHandle(handle ->
+            handle.createUpdate("INSERT INTO notes (owner_id, text) VALUES (:ownerId, :text)")
+                .bind("ownerId", ownerId)
+                .bind("text", text)
+                .executeAndReturnGeneratedKeys("id")
+                .mapTo(Long.class)
+                .one());
+    }
+
+    static class Note {
+        private Long id;
+        private Long ownerId;
+        private String text;
+
+        Long getId() {
+            return id;
+        }
+
+        void setId(Long id) {
+            this.id = id;
+        }
+
+        Long getOwnerId() {
+            return ownerId;
+        }
+
+        void setOwnerId(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        void setText(String text) {
+            this.text = text;
+        }
+    }
+
+    static class NoteDao extends StandardDao<Note, Long> {
+        NoteDao(Jdbi jdbi) {
+            super(jdbi, TableDefinition.<Note>builder()
+                .tableName("notes")
+                .idColumn("id")
+                .addColumn(ColumnDefinition.<Note>builder()
+                    .columnName("owner_id")
+                    .javaType(Long.class)
+                    .getter(Note::getOwnerId)
+                    .setter((note, value) -> note.setOwnerId((Long) value))
+                    .build())
+                .addColumn(ColumnDefinition.<Note>builder()
+                    .columnName("text")
+                    .javaType(String.class)
+                    .nullable(false)
+                    .getter(Note::getText)
+                    .setter((note, value) -> note.setText((String) value))
+                    .build())
+                .build(), Note::new, Note::setId);
+        }
+    }
+
+    /**
+     * Wraps connections so that setReadOnly fails inside a transaction, like pgjdbc's
+     * "Cannot change transaction read-only property in the middle of a transaction".
+     */
+    private static final class StrictReadOnlyDataSource implements DataSource {
+        private final DataSource delegate;
+
+        private StrictReadOnlyDataSource(DataSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return strict(delegate.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return strict(delegate.getConnection(username, password));
+        }
+
+        private static Connection strict(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(TestDatabase.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("setReadOnly") && !connection.getAutoCommit()) {
+                        throw new SQLException(
+                            "Cannot change transaction read-only property in the middle of a transaction.");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return delegate.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            delegate.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            delegate.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return delegate.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return delegate.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return delegate.isWrapperFor(iface);
+        }
+    }
+}
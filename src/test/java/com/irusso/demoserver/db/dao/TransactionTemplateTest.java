@@ -0,0 +1,142 @@
+package com.irusso.demoserver.db.dao;
+
+import com.irusso.demoserver.db.dao.TestDatabase.Note;
+import com.irusso.demoserver.db.dao.TestDatabase.NoteDao;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TransactionTemplate.
+ */
+class TransactionTemplateTest {
+
+    private Jdbi jdbi;
+    private Handle handle;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbi = mock(Jdbi.class);
+        handle = mock(Handle.class);
+        when(handle.isInTransaction()).thenReturn(true);
+        when(jdbi.inTransaction(any())).thenAnswer(invocation ->
+            invocation.<HandleCallback<?, ?>>getArgument(0).withHandle(handle));
+        transactionTemplate = new TransactionTemplate(jdbi);
+    }
+
+    @Test
+    void testInTransaction_ActiveOnlyInsideWork() throws Exception {
+        boolean active = transactionTemplate.inTransaction(TransactionTemplate::isActive);
+
+        assertThat(active).isTrue();
+        assertThat(TransactionTemplate.isActive()).isFalse();
+        verify(jdbi, times(1)).inTransaction(any());
+    }
+
+    @Test
+    void testInTransaction_NestedWorkJoinsOuter() throws Exception {
+        String result = transactionTemplate.inTransaction(() ->
+            transactionTemplate.inTransaction(() -> "inner"));
+
+        assertThat(result).isEqualTo("inner");
+        verify(jdbi, times(1)).inTransaction(any());
+    }
+
+    @Test
+    void testInTransaction_ExceptionPropagatesAndClearsUnitOfWork() {
+        assertThatThrownBy(() -> transactionTemplate.useTransaction(() -> {
+            throw new IllegalArgumentException("Email already registered");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(TransactionTemplate.isActive()).isFalse();
+    }
+
+    @Test
+    void testAfterCommit_DeferredInsideUnitOfWork() {
+        List<String> actions = new ArrayList<>();
+
+        transactionTemplate.useTransaction(() -> TransactionTemplate.afterCommit(() -> actions.add("evict")));
+
+        assertThat(actions).isEmpty();
+        verify(handle).afterCommit(any());
+    }
+
+    @Test
+    void testAfterCommit_ImmediateOutsideUnitOfWork() {
+        List<String> actions = new ArrayList<>();
+
+        TransactionTemplate.afterCommit(() -> actions.add("evict"));
+
+        assertThat(actions).containsExactly("evict");
+    }
+
+    @Test
+    void testInTransaction_DaosShareOneConnection() {
+        // Arrange: two DAOs over a real database, recording the connection of every statement
+        Jdbi database = TestDatabase.create();
+        NoteDao firstDao = new NoteDao(database);
+        NoteDao secondDao = new NoteDao(database);
+        long id = TestDatabase.insertNote(database, 1L, "draft");
+        List<Connection> connections = new ArrayList<>();
+        database.setSqlLogger(new SqlLogger() {
+            @Override
+            public void logBeforeExecution(StatementContext context) {
+                connections.add(context.getConnection());
+            }
+        });
+
+        // Act
+        new TransactionTemplate(database).useTransaction(() -> {
+            Note note = firstDao.findById(id).orElseThrow();
+            note.setText("final");
+            firstDao.update(id, note);
+            secondDao.findById(id).orElseThrow();
+            secondDao.count();
+        });
+
+        // Assert
+        assertThat(connections).hasSize(4);
+        assertThat(connections).allMatch(connection -> connection == connections.get(0));
+    }
+
+    @Test
+    void testInTransaction_ExceptionRollsBackEveryDao() {
+        // Arrange
+        Jdbi database = TestDatabase.create();
+        NoteDao firstDao = new NoteDao(database);
+        NoteDao secondDao = new NoteDao(database);
+        long editedId = TestDatabase.insertNote(database, 1L, "draft");
+        long deletedId = TestDatabase.insertNote(database, 1L, "keep");
+        TransactionTemplate template = new TransactionTemplate(database);
+
+        // Act: both writes succeed, then the unit of work fails
+        assertThatThrownBy(() -> template.useTransaction(() -> {
+            Note note = firstDao.findById(editedId).orElseThrow();
+            note.setText("final");
+            firstDao.update(editedId, note);
+            secondDao.delete(deletedId);
+            throw new IllegalStateException("validation failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Assert
+        assertThat(firstDao.findById(editedId).orElseThrow().getText()).isEqualTo("draft");
+        assertThat(secondDao.exists(deletedId)).isTrue();
+    }
+}
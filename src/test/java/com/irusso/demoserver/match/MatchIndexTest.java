@@ -0,0 +1,190 @@
+package com.irusso.demoserver.match;
+
+import com.irusso.demoserver.api.JobMatch;
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobRequirement;
+import com.irusso.demoserver.db.model.User;
+import com.irusso.demoserver.db.model.UserSkill;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.irusso.demoserver.match.MatchScorerTest.posting;
+import static com.irusso.demoserver.match.MatchScorerTest.requirement;
+import static com.irusso.demoserver.match.MatchScorerTest.skill;
+import static com.irusso.demoserver.match.MatchScorerTest.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchIndexTest {
+
+    private static final String[] SKILLS = {"Java", "Python", "SQL", "Go", "Rust", "Kotlin"};
+
+    @Test
+    void testBuild_RanksBothDirections() {
+        JobProfile javaJob = job(1L, "ACTIVE", "Java", "SQL");
+        JobProfile pythonJob = job(2L, "ACTIVE", "Python");
+        JobProfile closedJob = job(3L, "CLOSED", "Java");
+        CandidateProfile javaDev = candidate(10L, true, "Java", "SQL");
+        CandidateProfile pythonDev = candidate(11L, true, "Python");
+        CandidateProfile browsing = candidate(12L, false, "Java", "SQL");
+
+        MatchIndex index = MatchIndex.build(10, List.of(javaDev, pythonDev, browsing),
+            List.of(javaJob, pythonJob, closedJob));
+
+        assertThat(index.matchesForUser(10L).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(1L, 2L);
+        assertThat(index.matchesForUser(12L).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(1L, 2L);
+        // Users not seeking are never offered as candidates; closed postings have none
+        assertThat(index.candidatesForJob(1L).orElseThrow())
+            .extracting(JobMatch::getUserId).containsExactly(10L, 11L);
+        assertThat(index.candidatesForJob(3L).orElseThrow()).isEmpty();
+        assertThat(index.candidatesForJob(4L)).isEmpty();
+        assertThat(index.matchesForUser(13L)).isEmpty();
+    }
+
+    @Test
+    void testPutAndRemove_RefillFullLists() {
+        List<JobProfile> jobs = List.of(job(1L, "ACTIVE", "Java"), job(2L, "ACTIVE", "Java", "Go"),
+            job(3L, "ACTIVE", "Java", "Go", "Rust"));
+        MatchIndex index = MatchIndex.build(2, List.of(candidate(10L, true, "Java")), jobs);
+        assertThat(index.matchesForUser(10L).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(1L, 2L);
+
+        // Posting 1 is filled: posting 3, which was buffered but not served, moves up
+        JobPosting filled = posting(1L, "Job 1");
+        filled.setStatus("FILLED");
+        index.putJob(JobProfile.of(filled, List.of()));
+        assertThat(index.matchesForUser(10L).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(2L, 3L);
+
+        index.removeJob(2L);
+        assertThat(index.matchesForUser(10L).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(3L);
+        index.removeCandidate(10L);
+        assertThat(index.matchesForUser(10L)).isEmpty();
+        assertThat(index.candidatesForJob(3L).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void testRemove_RescansOnlyOnceBufferRunsOut() {
+        List<JobProfile> jobs = new ArrayList<>();
+        for (int i = 1; i <= SKILLS.length; i++) {
+            jobs.add(job(i, "ACTIVE", List.of(SKILLS).subList(0, i).toArray(new String[0])));
+        }
+        // Serves 2 matches per list and keeps 4 of the 6 postings
+        MatchIndex index = MatchIndex.build(2, List.of(candidate(10L, true, "Java")), jobs);
+
+        index.removeJob(1L);
+        index.removeJob(2L);
+        assertThat(index.matchesForUser(10L).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(3L, 4L);
+        assertThat(index.getRescans()).isZero();
+
+        // One buffered entry left: posting 5 was cut off, so the list is rescored
+        index.removeJob(3L);
+        assertThat(index.matchesForUser(10L).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(4L, 5L);
+        assertThat(index.getRescans()).isEqualTo(1);
+    }
+
+    @Test
+    void testIncrementalUpdates_MatchFullRebuild() {
+        Random random = new Random(42);
+        Map<Long, CandidateProfile> candidates = new HashMap<>();
+        Map<Long, JobProfile> jobs = new HashMap<>();
+        for (long id = 1; id <= 30; id++) {
+            candidates.put(id, randomCandidate(random, id));
+            jobs.put(id, randomJob(random, id));
+        }
+        MatchIndex index = MatchIndex.build(5, candidates.values(), jobs.values());
+
+        for (int step = 0; step < 500; step++) {
+            long id = 1 + random.nextInt(35);
+            int action = random.nextInt(4);
+            if (action == 0) {
+                candidates.put(id, randomCandidate(random, id));
+                index.putCandidate(candidates.get(id));
+            } else if (action == 1) {
+                candidates.remove(id);
+                index.removeCandidate(id);
+            } else if (action == 2) {
+                jobs.put(id, randomJob(random, id));
+                index.putJob(jobs.get(id));
+            } else {
+                jobs.remove(id);
+                index.removeJob(id);
+            }
+        }
+
+        MatchIndex rebuilt = MatchIndex.build(5, candidates.values(), jobs.values());
+        for (long id = 1; id <= 35; id++) {
+            assertThat(ids(index.matchesForUser(id).orElse(null), false))
+                .as("matches for user %d", id)
+                .isEqualTo(ids(rebuilt.matchesForUser(id).orElse(null), false));
+            assertThat(ids(index.candidatesForJob(id).orElse(null), true))
+                .as("candidates for posting %d", id)
+                .isEqualTo(ids(rebuilt.candidatesForJob(id).orElse(null), true));
+        }
+    }
+
+    private static List<Long> ids(List<JobMatch> matches, boolean users) {
+        if (matches == null) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JobMatch match : matches) {
+            ids.add(users ? match.getUserId() : match.getJobPostingId());
+        }
+        return ids;
+    }
+
+    private static CandidateProfile randomCandidate(Random random, long id) {
+        List<String> skills = new ArrayList<>();
+        for (String skill : SKILLS) {
+            if (random.nextBoolean()) {
+                skills.add(skill);
+            }
+        }
+        return candidate(id, random.nextInt(4) != 0, skills.toArray(new String[0]));
+    }
+
+    private static JobProfile randomJob(Random random, long id) {
+        List<JobRequirement> requirements = new ArrayList<>();
+        for (String skill : SKILLS) {
+            int pick = random.nextInt(6);
+            if (pick == 0) {
+                requirements.add(requirement("HARD", "SKILL", skill));
+            } else if (pick <= 2) {
+                requirements.add(requirement(pick == 1 ? "SOFT" : "PREFERENCE", "SKILL", skill));
+            }
+        }
+        JobPosting posting = posting(id, "Job " + id);
+        posting.setStatus(random.nextInt(5) == 0 ? "CLOSED" : "ACTIVE");
+        return JobProfile.of(posting, requirements);
+    }
+
+    private static CandidateProfile candidate(long id, boolean seeking, String... skillNames) {
+        User user = user(id);
+        user.setActivelySeeking(seeking);
+        List<UserSkill> skills = new ArrayList<>();
+        for (String name : skillNames) {
+            skills.add(skill(name, 3));
+        }
+        return CandidateProfile.of(user, skills, List.of(), List.of(), List.of());
+    }
+
+    private static JobProfile job(long id, String status, String... softSkills) {
+        List<JobRequirement> requirements = new ArrayList<>();
+        for (String skill : softSkills) {
+            requirements.add(requirement("SOFT", "SKILL", skill));
+        }
+        JobPosting posting = posting(id, "Job " + id);
+        posting.setStatus(status);
+        return JobProfile.of(posting, requirements);
+    }
+}
@@ -0,0 +1,155 @@
+package com.irusso.demoserver.match;
+
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobRequirement;
+import com.irusso.demoserver.db.model.User;
+import com.irusso.demoserver.db.model.UserFieldOfInterest;
+import com.irusso.demoserver.db.model.UserGeographicalInterest;
+import com.irusso.demoserver.db.model.UserJobTypeInterest;
+import com.irusso.demoserver.db.model.UserSkill;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MatchScorerTest {
+
+    @Test
+    void testScore_HardRequirementNeedsSkillAndYears() {
+        JobProfile job = JobProfile.of(posting(1L, "Backend Engineer"),
+            List.of(requirement("HARD", "SKILL", "5+ years of Java")));
+
+        assertThat(MatchScorer.score(candidate(List.of(skill("Java", 6)), List.of(), List.of()), job))
+            .isGreaterThan(0f);
+        assertThat(MatchScorer.score(candidate(List.of(skill("Java", 3)), List.of(), List.of()), job))
+            .isEqualTo(MatchScorer.NO_MATCH);
+        assertThat(MatchScorer.score(candidate(List.of(skill("Python", 10)), List.of(), List.of()), job))
+            .isEqualTo(MatchScorer.NO_MATCH);
+    }
+
+    @Test
+    void testScore_HardEducationRequirement() {
+        JobProfile job = JobProfile.of(posting(1L, "Research Scientist"),
+            List.of(requirement("HARD", "EDUCATION", "Master's degree in Statistics")));
+        User phd = user(1L);
+        phd.setEducationLevel("PhD");
+        User bachelor = user(2L);
+        bachelor.setEducationLevel("Bachelor's");
+
+        assertThat(MatchScorer.score(CandidateProfile.of(phd, List.of(), List.of(), List.of(), List.of()), job))
+            .isGreaterThan(0f);
+        assertThat(MatchScorer.score(CandidateProfile.of(bachelor, List.of(), List.of(), List.of(), List.of()), job))
+            .isEqualTo(MatchScorer.NO_MATCH);
+    }
+
+    @Test
+    void testScore_HardInterestsFilterPostings() {
+        JobProfile remoteJob = JobProfile.of(posting(1L, "Java Developer"), List.of());
+        CandidateProfile wantsBoston = candidate(List.of(), List.of(field("Technology", false)),
+            List.of(location("Boston, MA", true)));
+        CandidateProfile wantsBostonSoftly = candidate(List.of(), List.of(field("Technology", false)),
+            List.of(location("Boston, MA", false)));
+
+        assertThat(MatchScorer.score(wantsBoston, remoteJob)).isEqualTo(MatchScorer.NO_MATCH);
+        assertThat(MatchScorer.score(wantsBostonSoftly, remoteJob)).isGreaterThan(0f);
+    }
+
+    @Test
+    void testScore_SoftRequirementsAreWeighted() {
+        JobProfile job = JobProfile.of(posting(1L, "Data Engineer"), List.of(
+            requirement("SOFT", "SKILL", "Experience with Spark"),
+            requirement("PREFERENCE", "SKILL", "Kafka is a plus")));
+        CandidateProfile spark = candidate(List.of(skill("Spark", 2)), List.of(), List.of());
+        CandidateProfile kafka = candidate(List.of(skill("Kafka", 2)), List.of(), List.of());
+
+        // Spark meets 1.0 of 1.5 requirement weight, Kafka 0.5
+        float neutral = 0.5f * (MatchScorer.FIELD_WEIGHT + MatchScorer.LOCATION_WEIGHT
+            + MatchScorer.SALARY_WEIGHT + MatchScorer.JOB_TYPE_WEIGHT);
+        assertThat(MatchScorer.score(spark, job))
+            .isCloseTo(MatchScorer.REQUIREMENTS_WEIGHT * (2f / 3) + neutral, within(1e-5f));
+        assertThat(MatchScorer.score(kafka, job))
+            .isCloseTo(MatchScorer.REQUIREMENTS_WEIGHT * (1f / 3) + neutral, within(1e-5f));
+    }
+
+    @Test
+    void testScore_FieldLocationSalaryAndJobType() {
+        JobPosting posting = posting(1L, "Full-time Java Developer");
+        posting.setField("Technology");
+        posting.setLocation("Austin, TX");
+        posting.setSalaryMin(new BigDecimal("90000"));
+        posting.setSalaryMax(new BigDecimal("110000"));
+        JobProfile job = JobProfile.of(posting, List.of());
+
+        User user = user(1L);
+        user.setSalaryExpectationsMin(new BigDecimal("100000"));
+        UserJobTypeInterest fullTime = new UserJobTypeInterest();
+        fullTime.setJobType("FULL_TIME");
+        fullTime.setIsHardRequirement(true);
+        CandidateProfile candidate = CandidateProfile.of(user, List.of(skill("Java", 4)),
+            List.of(field("technology", false)), List.of(location("Austin, TX", false)), List.of(fullTime));
+
+        assertThat(MatchScorer.score(candidate, job)).isCloseTo(
+            MatchScorer.REQUIREMENTS_WEIGHT / 3 + MatchScorer.FIELD_WEIGHT + MatchScorer.LOCATION_WEIGHT
+                + MatchScorer.SALARY_WEIGHT + MatchScorer.JOB_TYPE_WEIGHT, within(1e-5f));
+
+        // Paying less than the user expects scores in proportion
+        user.setSalaryExpectationsMin(new BigDecimal("220000"));
+        CandidateProfile expensive = CandidateProfile.of(user, List.of(skill("Java", 4)),
+            List.of(field("technology", false)), List.of(location("Austin, TX", false)), List.of(fullTime));
+        assertThat(MatchScorer.score(candidate, job) - MatchScorer.score(expensive, job))
+            .isCloseTo(MatchScorer.SALARY_WEIGHT * 0.5f, within(1e-5f));
+    }
+
+    static CandidateProfile candidate(List<UserSkill> skills, List<UserFieldOfInterest> fields,
+                                      List<UserGeographicalInterest> locations) {
+        return CandidateProfile.of(user(1L), skills, fields, locations, List.of());
+    }
+
+    static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setActivelySeeking(true);
+        return user;
+    }
+
+    static JobPosting posting(Long id, String title) {
+        JobPosting posting = new JobPosting();
+        posting.setId(id);
+        posting.setTitle(title);
+        posting.setStatus("ACTIVE");
+        return posting;
+    }
+
+    static JobRequirement requirement(String type, String category, String text) {
+        JobRequirement requirement = new JobRequirement();
+        requirement.setRequirementType(type);
+        requirement.setRequirementCategory(category);
+        requirement.setRequirementText(text);
+        return requirement;
+    }
+
+    static UserSkill skill(String name, int years) {
+        UserSkill skill = new UserSkill();
+        skill.setSkillName(name);
+        skill.setYearsOfExperience(years);
+        return skill;
+    }
+
+    static UserFieldOfInterest field(String name, boolean hard) {
+        UserFieldOfInterest field = new UserFieldOfInterest();
+        field.setFieldName(name);
+        field.setIsHardRequirement(hard);
+        return field;
+    }
+
+    static UserGeographicalInterest location(String place, boolean hard) {
+        UserGeographicalInterest location = new UserGeographicalInterest();
+        location.setLocation(place);
+        location.setIsHardRequirement(hard);
+        return location;
+    }
+}
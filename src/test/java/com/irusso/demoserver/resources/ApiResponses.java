@@ -0,0 +1,24 @@
+package com.irusso.demoserver.resources;
+
+import com.irusso.demoserver.api.ApiResponse;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Reads the ApiResponse entity of a resource method's Response in tests.
+ */
+final class ApiResponses {
+
+    private ApiResponses() {
+    }
+
+    /**
+     * Get the response's ApiResponse entity, typed by the caller.
+     *
+     * @param response A response built by a resource method
+     * @return The entity
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ApiResponse<T> entity(Response response) {
+        return (ApiResponse<T>) response.getEntity();
+    }
+}
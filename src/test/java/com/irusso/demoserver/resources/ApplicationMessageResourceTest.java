@@ -46,11 +46,11 @@ class ApplicationMessageResourceTest {
         when(applicationMessageService.getAllApplicationMessages()).thenReturn(messages);
 
         // Act
-        Response response = applicationMessageResource.getAllApplicationMessages();
+        Response response = applicationMessageResource.getAllApplicationMessages(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<ApplicationMessage>> apiResponse = (ApiResponse<List<ApplicationMessage>>) response.getEntity();
+        ApiResponse<List<ApplicationMessage>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(applicationMessageService, times(1)).getAllApplicationMessages();
@@ -71,7 +71,7 @@ class ApplicationMessageResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<ApplicationMessage> apiResponse = (ApiResponse<ApplicationMessage>) response.getEntity();
+        ApiResponse<ApplicationMessage> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(msgId);
         verify(applicationMessageService, times(1)).getApplicationMessageById(msgId);
@@ -88,7 +88,7 @@ class ApplicationMessageResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<ApplicationMessage> apiResponse = (ApiResponse<ApplicationMessage>) response.getEntity();
+        ApiResponse<ApplicationMessage> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Application message not found");
         verify(applicationMessageService, times(1)).getApplicationMessageById(msgId);
@@ -109,7 +109,7 @@ class ApplicationMessageResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<ApplicationMessage> apiResponse = (ApiResponse<ApplicationMessage>) response.getEntity();
+        ApiResponse<ApplicationMessage> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Application message created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class ApplicationMessageResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<ApplicationMessage> apiResponse = (ApiResponse<ApplicationMessage>) response.getEntity();
+        ApiResponse<ApplicationMessage> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Application message updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(msgId);
@@ -157,7 +157,7 @@ class ApplicationMessageResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<ApplicationMessage> apiResponse = (ApiResponse<ApplicationMessage>) response.getEntity();
+        ApiResponse<ApplicationMessage> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Application message not found");
         verify(applicationMessageService, times(1)).getApplicationMessageById(msgId);
@@ -175,7 +175,7 @@ class ApplicationMessageResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Application message deleted successfully");
         verify(applicationMessageService, times(1)).deleteApplicationMessage(msgId);
@@ -192,7 +192,7 @@ class ApplicationMessageResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Application message not found");
         verify(applicationMessageService, times(1)).deleteApplicationMessage(msgId);
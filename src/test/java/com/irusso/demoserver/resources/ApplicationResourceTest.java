@@ -46,11 +46,11 @@ class ApplicationResourceTest {
         when(applicationService.getAllApplications()).thenReturn(applications);
 
         // Act
-        Response response = applicationResource.getAllApplications();
+        Response response = applicationResource.getAllApplications(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<Application>> apiResponse = (ApiResponse<List<Application>>) response.getEntity();
+        ApiResponse<List<Application>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(applicationService, times(1)).getAllApplications();
@@ -71,7 +71,7 @@ class ApplicationResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Application> apiResponse = (ApiResponse<Application>) response.getEntity();
+        ApiResponse<Application> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(appId);
         verify(applicationService, times(1)).getApplicationById(appId);
@@ -88,7 +88,7 @@ class ApplicationResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Application> apiResponse = (ApiResponse<Application>) response.getEntity();
+        ApiResponse<Application> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Application not found");
         verify(applicationService, times(1)).getApplicationById(appId);
@@ -109,7 +109,7 @@ class ApplicationResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<Application> apiResponse = (ApiResponse<Application>) response.getEntity();
+        ApiResponse<Application> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Application created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class ApplicationResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Application> apiResponse = (ApiResponse<Application>) response.getEntity();
+        ApiResponse<Application> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Application updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(appId);
@@ -157,7 +157,7 @@ class ApplicationResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Application> apiResponse = (ApiResponse<Application>) response.getEntity();
+        ApiResponse<Application> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Application not found");
         verify(applicationService, times(1)).getApplicationById(appId);
@@ -175,7 +175,7 @@ class ApplicationResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Application deleted successfully");
         verify(applicationService, times(1)).deleteApplication(appId);
@@ -192,7 +192,7 @@ class ApplicationResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Application not found");
         verify(applicationService, times(1)).deleteApplication(appId);
@@ -46,11 +46,11 @@ class EmployerHistoryResourceTest {
         when(employerHistoryService.getAllEmployerHistory()).thenReturn(histories);
 
         // Act
-        Response response = employerHistoryResource.getAllEmployerHistory();
+        Response response = employerHistoryResource.getAllEmployerHistory(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<EmployerHistory>> apiResponse = (ApiResponse<List<EmployerHistory>>) response.getEntity();
+        ApiResponse<List<EmployerHistory>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(employerHistoryService, times(1)).getAllEmployerHistory();
@@ -71,7 +71,7 @@ class EmployerHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<EmployerHistory> apiResponse = (ApiResponse<EmployerHistory>) response.getEntity();
+        ApiResponse<EmployerHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(histId);
         verify(employerHistoryService, times(1)).getEmployerHistoryById(histId);
@@ -88,7 +88,7 @@ class EmployerHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<EmployerHistory> apiResponse = (ApiResponse<EmployerHistory>) response.getEntity();
+        ApiResponse<EmployerHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer history not found");
         verify(employerHistoryService, times(1)).getEmployerHistoryById(histId);
@@ -109,7 +109,7 @@ class EmployerHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<EmployerHistory> apiResponse = (ApiResponse<EmployerHistory>) response.getEntity();
+        ApiResponse<EmployerHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer history created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class EmployerHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<EmployerHistory> apiResponse = (ApiResponse<EmployerHistory>) response.getEntity();
+        ApiResponse<EmployerHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer history updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(histId);
@@ -157,7 +157,7 @@ class EmployerHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<EmployerHistory> apiResponse = (ApiResponse<EmployerHistory>) response.getEntity();
+        ApiResponse<EmployerHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer history not found");
         verify(employerHistoryService, times(1)).getEmployerHistoryById(histId);
@@ -175,7 +175,7 @@ class EmployerHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer history deleted successfully");
         verify(employerHistoryService, times(1)).deleteEmployerHistory(histId);
@@ -192,7 +192,7 @@ class EmployerHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer history not found");
         verify(employerHistoryService, times(1)).deleteEmployerHistory(histId);
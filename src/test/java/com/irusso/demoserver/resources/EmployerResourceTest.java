@@ -46,11 +46,11 @@ class EmployerResourceTest {
         when(employerService.getAllEmployers()).thenReturn(employers);
 
         // Act
-        Response response = employerResource.getAllEmployers();
+        Response response = employerResource.getAllEmployers(null, null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<Employer>> apiResponse = (ApiResponse<List<Employer>>) response.getEntity();
+        ApiResponse<List<Employer>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(employerService, times(1)).getAllEmployers();
@@ -71,7 +71,7 @@ class EmployerResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Employer> apiResponse = (ApiResponse<Employer>) response.getEntity();
+        ApiResponse<Employer> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(empId);
         verify(employerService, times(1)).getEmployerById(empId);
@@ -88,7 +88,7 @@ class EmployerResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Employer> apiResponse = (ApiResponse<Employer>) response.getEntity();
+        ApiResponse<Employer> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer not found");
         verify(employerService, times(1)).getEmployerById(empId);
@@ -108,7 +108,7 @@ class EmployerResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<Employer> apiResponse = (ApiResponse<Employer>) response.getEntity();
+        ApiResponse<Employer> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -134,7 +134,7 @@ class EmployerResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Employer> apiResponse = (ApiResponse<Employer>) response.getEntity();
+        ApiResponse<Employer> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(empId);
@@ -156,7 +156,7 @@ class EmployerResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Employer> apiResponse = (ApiResponse<Employer>) response.getEntity();
+        ApiResponse<Employer> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer not found");
         verify(employerService, times(1)).getEmployerById(empId);
@@ -174,7 +174,7 @@ class EmployerResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer deleted successfully");
         verify(employerService, times(1)).deleteEmployer(empId);
@@ -191,7 +191,7 @@ class EmployerResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employer not found");
         verify(employerService, times(1)).deleteEmployer(empId);
@@ -46,11 +46,11 @@ class EmploymentHistoryResourceTest {
         when(employmentHistoryService.getAllEmploymentHistory()).thenReturn(histories);
 
         // Act
-        Response response = employmentHistoryResource.getAllEmploymentHistory();
+        Response response = employmentHistoryResource.getAllEmploymentHistory(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<EmploymentHistory>> apiResponse = (ApiResponse<List<EmploymentHistory>>) response.getEntity();
+        ApiResponse<List<EmploymentHistory>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(employmentHistoryService, times(1)).getAllEmploymentHistory();
@@ -71,7 +71,7 @@ class EmploymentHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<EmploymentHistory> apiResponse = (ApiResponse<EmploymentHistory>) response.getEntity();
+        ApiResponse<EmploymentHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(histId);
         verify(employmentHistoryService, times(1)).getEmploymentHistoryById(histId);
@@ -88,7 +88,7 @@ class EmploymentHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<EmploymentHistory> apiResponse = (ApiResponse<EmploymentHistory>) response.getEntity();
+        ApiResponse<EmploymentHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employment history not found");
         verify(employmentHistoryService, times(1)).getEmploymentHistoryById(histId);
@@ -109,7 +109,7 @@ class EmploymentHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<EmploymentHistory> apiResponse = (ApiResponse<EmploymentHistory>) response.getEntity();
+        ApiResponse<EmploymentHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employment history created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class EmploymentHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<EmploymentHistory> apiResponse = (ApiResponse<EmploymentHistory>) response.getEntity();
+        ApiResponse<EmploymentHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employment history updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(histId);
@@ -157,7 +157,7 @@ class EmploymentHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<EmploymentHistory> apiResponse = (ApiResponse<EmploymentHistory>) response.getEntity();
+        ApiResponse<EmploymentHistory> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employment history not found");
         verify(employmentHistoryService, times(1)).getEmploymentHistoryById(histId);
@@ -175,7 +175,7 @@ class EmploymentHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Employment history deleted successfully");
         verify(employmentHistoryService, times(1)).deleteEmploymentHistory(histId);
@@ -192,7 +192,7 @@ class EmploymentHistoryResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Employment history not found");
         verify(employmentHistoryService, times(1)).deleteEmploymentHistory(histId);
@@ -0,0 +1,121 @@
+package com.irusso.demoserver.resources;
+
+import com.codahale.metrics.MetricRegistry;
+import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.service.ImportJob;
+import com.irusso.demoserver.service.ImportJobManager;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportResourceTest {
+
+    @Mock
+    private ImportJobManager importJobManager;
+
+    private ImportResource importResource;
+
+    @BeforeEach
+    void setUp() {
+        importResource = new ImportResource(importJobManager);
+    }
+
+    @Test
+    void testGetAllImports() {
+        // Arrange
+        when(importJobManager.list()).thenReturn(List.of(job("a"), job("b")));
+
+        // Act
+        Response response = importResource.getAllImports();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        ApiResponse<List<ImportJob>> apiResponse = ApiResponses.entity(response);
+        assertThat(apiResponse.getData()).hasSize(2);
+    }
+
+    @Test
+    void testGetImportById_Found() {
+        // Arrange
+        ImportJob job = job("a");
+        job.addRowsImported(500);
+        when(importJobManager.get("a")).thenReturn(Optional.of(job));
+
+        // Act
+        Response response = importResource.getImportById("a");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        ApiResponse<ImportJob> apiResponse = ApiResponses.entity(response);
+        assertThat(apiResponse.getData().getRowsImported()).isEqualTo(500);
+        assertThat(apiResponse.getData().getStatus()).isEqualTo(ImportJob.Status.RUNNING);
+    }
+
+    @Test
+    void testGetImportById_NotFound() {
+        // Arrange
+        when(importJobManager.get("missing")).thenReturn(Optional.empty());
+
+        // Act
+        Response response = importResource.getImportById("missing");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    @Test
+    void testCancelImport_Running() {
+        // Arrange
+        ImportJob job = job("a");
+        when(importJobManager.cancel("a")).thenAnswer(invocation -> {
+            job.cancel();
+            return Optional.of(job);
+        });
+
+        // Act
+        Response response = importResource.cancelImport("a");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.ACCEPTED.getStatusCode());
+        assertThat(job.isCancelRequested()).isTrue();
+        verify(importJobManager, times(1)).cancel("a");
+    }
+
+    @Test
+    void testCancelImport_AlreadyFinished() {
+        // Arrange
+        when(importJobManager.cancel("a")).thenReturn(Optional.of(job("a")));
+
+        // Act
+        Response response = importResource.cancelImport("a");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.CONFLICT.getStatusCode());
+    }
+
+    @Test
+    void testCancelImport_NotFound() {
+        // Arrange
+        when(importJobManager.cancel("missing")).thenReturn(Optional.empty());
+
+        // Act
+        Response response = importResource.cancelImport("missing");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
+    }
+
+    private static ImportJob job(String id) {
+        return new ImportJob(id, "cities", "file:///cities.tar.gz", new MetricRegistry());
+    }
+}
@@ -3,6 +3,7 @@ package com.irusso.demoserver.resources;
 import com.irusso.demoserver.api.ApiResponse;
 import com.irusso.demoserver.db.model.JobPosting;
 import com.irusso.demoserver.service.JobPostingService;
+import com.irusso.demoserver.service.MatchService;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,11 +25,14 @@ class JobPostingResourceTest {
     @Mock
     private JobPostingService jobPostingService;
 
+    @Mock
+    private MatchService matchService;
+
     private JobPostingResource jobPostingResource;
 
     @BeforeEach
     void setUp() {
-        jobPostingResource = new JobPostingResource(jobPostingService);
+        jobPostingResource = new JobPostingResource(jobPostingService, matchService);
     }
 
     @Test
@@ -46,11 +50,11 @@ class JobPostingResourceTest {
         when(jobPostingService.getAllJobPostings()).thenReturn(jobPostings);
 
         // Act
-        Response response = jobPostingResource.getAllJobPostings();
+        Response response = jobPostingResource.getAllJobPostings(null, null, null, null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<JobPosting>> apiResponse = (ApiResponse<List<JobPosting>>) response.getEntity();
+        ApiResponse<List<JobPosting>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(jobPostingService, times(1)).getAllJobPostings();
@@ -71,7 +75,7 @@ class JobPostingResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<JobPosting> apiResponse = (ApiResponse<JobPosting>) response.getEntity();
+        ApiResponse<JobPosting> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(jobId);
         verify(jobPostingService, times(1)).getJobPostingById(jobId);
@@ -88,7 +92,7 @@ class JobPostingResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<JobPosting> apiResponse = (ApiResponse<JobPosting>) response.getEntity();
+        ApiResponse<JobPosting> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Job posting not found");
         verify(jobPostingService, times(1)).getJobPostingById(jobId);
@@ -108,7 +112,7 @@ class JobPostingResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<JobPosting> apiResponse = (ApiResponse<JobPosting>) response.getEntity();
+        ApiResponse<JobPosting> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Job posting created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -134,7 +138,7 @@ class JobPostingResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<JobPosting> apiResponse = (ApiResponse<JobPosting>) response.getEntity();
+        ApiResponse<JobPosting> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Job posting updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(jobId);
@@ -156,7 +160,7 @@ class JobPostingResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<JobPosting> apiResponse = (ApiResponse<JobPosting>) response.getEntity();
+        ApiResponse<JobPosting> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Job posting not found");
         verify(jobPostingService, times(1)).getJobPostingById(jobId);
@@ -174,7 +178,7 @@ class JobPostingResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Job posting deleted successfully");
         verify(jobPostingService, times(1)).deleteJobPosting(jobId);
@@ -191,7 +195,7 @@ class JobPostingResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Job posting not found");
         verify(jobPostingService, times(1)).deleteJobPosting(jobId);
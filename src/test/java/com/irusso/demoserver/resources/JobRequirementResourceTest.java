@@ -46,11 +46,11 @@ class JobRequirementResourceTest {
         when(jobRequirementService.getAllJobRequirements()).thenReturn(requirements);
 
         // Act
-        Response response = jobRequirementResource.getAllJobRequirements();
+        Response response = jobRequirementResource.getAllJobRequirements(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<JobRequirement>> apiResponse = (ApiResponse<List<JobRequirement>>) response.getEntity();
+        ApiResponse<List<JobRequirement>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(jobRequirementService, times(1)).getAllJobRequirements();
@@ -71,7 +71,7 @@ class JobRequirementResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<JobRequirement> apiResponse = (ApiResponse<JobRequirement>) response.getEntity();
+        ApiResponse<JobRequirement> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(reqId);
         verify(jobRequirementService, times(1)).getJobRequirementById(reqId);
@@ -88,7 +88,7 @@ class JobRequirementResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<JobRequirement> apiResponse = (ApiResponse<JobRequirement>) response.getEntity();
+        ApiResponse<JobRequirement> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Job requirement not found");
         verify(jobRequirementService, times(1)).getJobRequirementById(reqId);
@@ -108,7 +108,7 @@ class JobRequirementResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<JobRequirement> apiResponse = (ApiResponse<JobRequirement>) response.getEntity();
+        ApiResponse<JobRequirement> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Job requirement created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -134,7 +134,7 @@ class JobRequirementResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<JobRequirement> apiResponse = (ApiResponse<JobRequirement>) response.getEntity();
+        ApiResponse<JobRequirement> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Job requirement updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(reqId);
@@ -156,7 +156,7 @@ class JobRequirementResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<JobRequirement> apiResponse = (ApiResponse<JobRequirement>) response.getEntity();
+        ApiResponse<JobRequirement> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Job requirement not found");
         verify(jobRequirementService, times(1)).getJobRequirementById(reqId);
@@ -174,7 +174,7 @@ class JobRequirementResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Job requirement deleted successfully");
         verify(jobRequirementService, times(1)).deleteJobRequirement(reqId);
@@ -191,7 +191,7 @@ class JobRequirementResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Job requirement not found");
         verify(jobRequirementService, times(1)).deleteJobRequirement(reqId);
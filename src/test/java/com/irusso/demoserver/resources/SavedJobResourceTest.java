@@ -46,11 +46,11 @@ class SavedJobResourceTest {
         when(savedJobService.getAllSavedJobs()).thenReturn(savedJobs);
 
         // Act
-        Response response = savedJobResource.getAllSavedJobs();
+        Response response = savedJobResource.getAllSavedJobs(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<SavedJob>> apiResponse = (ApiResponse<List<SavedJob>>) response.getEntity();
+        ApiResponse<List<SavedJob>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(savedJobService, times(1)).getAllSavedJobs();
@@ -71,7 +71,7 @@ class SavedJobResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<SavedJob> apiResponse = (ApiResponse<SavedJob>) response.getEntity();
+        ApiResponse<SavedJob> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(savedId);
         verify(savedJobService, times(1)).getSavedJobById(savedId);
@@ -88,7 +88,7 @@ class SavedJobResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<SavedJob> apiResponse = (ApiResponse<SavedJob>) response.getEntity();
+        ApiResponse<SavedJob> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Saved job not found");
         verify(savedJobService, times(1)).getSavedJobById(savedId);
@@ -109,7 +109,7 @@ class SavedJobResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<SavedJob> apiResponse = (ApiResponse<SavedJob>) response.getEntity();
+        ApiResponse<SavedJob> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Saved job created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class SavedJobResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<SavedJob> apiResponse = (ApiResponse<SavedJob>) response.getEntity();
+        ApiResponse<SavedJob> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Saved job updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(savedId);
@@ -157,7 +157,7 @@ class SavedJobResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<SavedJob> apiResponse = (ApiResponse<SavedJob>) response.getEntity();
+        ApiResponse<SavedJob> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Saved job not found");
         verify(savedJobService, times(1)).getSavedJobById(savedId);
@@ -175,7 +175,7 @@ class SavedJobResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("Saved job deleted successfully");
         verify(savedJobService, times(1)).deleteSavedJob(savedId);
@@ -192,7 +192,7 @@ class SavedJobResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("Saved job not found");
         verify(savedJobService, times(1)).deleteSavedJob(savedId);
@@ -46,11 +46,11 @@ class UserExperienceResourceTest {
         when(userExperienceService.getAllUserExperiences()).thenReturn(experiences);
 
         // Act
-        Response response = userExperienceResource.getAllUserExperiences();
+        Response response = userExperienceResource.getAllUserExperiences(null, null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<List<UserExperience>> apiResponse = (ApiResponse<List<UserExperience>>) response.getEntity();
+        ApiResponse<List<UserExperience>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(userExperienceService).getAllUserExperiences();
@@ -62,11 +62,11 @@ class UserExperienceResourceTest {
         when(userExperienceService.getAllUserExperiences()).thenReturn(Collections.emptyList());
 
         // Act
-        Response response = userExperienceResource.getAllUserExperiences();
+        Response response = userExperienceResource.getAllUserExperiences(null, null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<List<UserExperience>> apiResponse = (ApiResponse<List<UserExperience>>) response.getEntity();
+        ApiResponse<List<UserExperience>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).isEmpty();
         verify(userExperienceService).getAllUserExperiences();
@@ -84,7 +84,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<UserExperience> apiResponse = (ApiResponse<UserExperience>) response.getEntity();
+        ApiResponse<UserExperience> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(id);
         verify(userExperienceService).getUserExperienceById(id);
@@ -101,7 +101,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(404);
-        ApiResponse<UserExperience> apiResponse = (ApiResponse<UserExperience>) response.getEntity();
+        ApiResponse<UserExperience> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).contains("not found");
         verify(userExperienceService).getUserExperienceById(id);
@@ -119,7 +119,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(201);
-        ApiResponse<UserExperience> apiResponse = (ApiResponse<UserExperience>) response.getEntity();
+        ApiResponse<UserExperience> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(expectedId);
         assertThat(apiResponse.getMessage()).contains("created successfully");
@@ -138,7 +138,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<Void> apiResponse = (ApiResponse<Void>) response.getEntity();
+        ApiResponse<Void> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).contains("updated successfully");
         verify(userExperienceService).updateUserExperience(id, experience);
@@ -156,7 +156,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(404);
-        ApiResponse<Void> apiResponse = (ApiResponse<Void>) response.getEntity();
+        ApiResponse<Void> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).contains("not found");
         verify(userExperienceService).updateUserExperience(id, experience);
@@ -173,7 +173,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<Void> apiResponse = (ApiResponse<Void>) response.getEntity();
+        ApiResponse<Void> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).contains("deleted successfully");
         verify(userExperienceService).deleteUserExperience(id);
@@ -190,7 +190,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(404);
-        ApiResponse<Void> apiResponse = (ApiResponse<Void>) response.getEntity();
+        ApiResponse<Void> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).contains("not found");
         verify(userExperienceService).deleteUserExperience(id);
@@ -210,7 +210,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<List<UserExperience>> apiResponse = (ApiResponse<List<UserExperience>>) response.getEntity();
+        ApiResponse<List<UserExperience>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(1);
         verify(userExperienceService).getUserExperiencesByUserId(userId);
@@ -232,7 +232,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<List<UserExperience>> apiResponse = (ApiResponse<List<UserExperience>>) response.getEntity();
+        ApiResponse<List<UserExperience>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(1);
         assertThat(apiResponse.getData().get(0).getExperienceType()).isEqualTo(type);
@@ -254,7 +254,7 @@ class UserExperienceResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(200);
-        ApiResponse<List<UserExperience>> apiResponse = (ApiResponse<List<UserExperience>>) response.getEntity();
+        ApiResponse<List<UserExperience>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(1);
         assertThat(apiResponse.getData().get(0).getIsCurrent()).isTrue();
@@ -46,11 +46,11 @@ class UserFieldOfInterestResourceTest {
         when(userFieldOfInterestService.getAllUserFieldsOfInterest()).thenReturn(fields);
 
         // Act
-        Response response = userFieldOfInterestResource.getAllUserFieldsOfInterest();
+        Response response = userFieldOfInterestResource.getAllUserFieldsOfInterest(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<UserFieldOfInterest>> apiResponse = (ApiResponse<List<UserFieldOfInterest>>) response.getEntity();
+        ApiResponse<List<UserFieldOfInterest>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(userFieldOfInterestService, times(1)).getAllUserFieldsOfInterest();
@@ -71,7 +71,7 @@ class UserFieldOfInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserFieldOfInterest> apiResponse = (ApiResponse<UserFieldOfInterest>) response.getEntity();
+        ApiResponse<UserFieldOfInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(fieldId);
         verify(userFieldOfInterestService, times(1)).getUserFieldOfInterestById(fieldId);
@@ -88,7 +88,7 @@ class UserFieldOfInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserFieldOfInterest> apiResponse = (ApiResponse<UserFieldOfInterest>) response.getEntity();
+        ApiResponse<UserFieldOfInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User field of interest not found");
         verify(userFieldOfInterestService, times(1)).getUserFieldOfInterestById(fieldId);
@@ -109,7 +109,7 @@ class UserFieldOfInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<UserFieldOfInterest> apiResponse = (ApiResponse<UserFieldOfInterest>) response.getEntity();
+        ApiResponse<UserFieldOfInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User field of interest created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class UserFieldOfInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserFieldOfInterest> apiResponse = (ApiResponse<UserFieldOfInterest>) response.getEntity();
+        ApiResponse<UserFieldOfInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User field of interest updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(fieldId);
@@ -157,7 +157,7 @@ class UserFieldOfInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserFieldOfInterest> apiResponse = (ApiResponse<UserFieldOfInterest>) response.getEntity();
+        ApiResponse<UserFieldOfInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User field of interest not found");
         verify(userFieldOfInterestService, times(1)).getUserFieldOfInterestById(fieldId);
@@ -175,7 +175,7 @@ class UserFieldOfInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User field of interest deleted successfully");
         verify(userFieldOfInterestService, times(1)).deleteUserFieldOfInterest(fieldId);
@@ -192,7 +192,7 @@ class UserFieldOfInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User field of interest not found");
         verify(userFieldOfInterestService, times(1)).deleteUserFieldOfInterest(fieldId);
@@ -46,11 +46,11 @@ class UserGeographicalInterestResourceTest {
         when(userGeographicalInterestService.getAllUserGeographicalInterests()).thenReturn(geos);
 
         // Act
-        Response response = userGeographicalInterestResource.getAllUserGeographicalInterests();
+        Response response = userGeographicalInterestResource.getAllUserGeographicalInterests(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<UserGeographicalInterest>> apiResponse = (ApiResponse<List<UserGeographicalInterest>>) response.getEntity();
+        ApiResponse<List<UserGeographicalInterest>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(userGeographicalInterestService, times(1)).getAllUserGeographicalInterests();
@@ -71,7 +71,7 @@ class UserGeographicalInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserGeographicalInterest> apiResponse = (ApiResponse<UserGeographicalInterest>) response.getEntity();
+        ApiResponse<UserGeographicalInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(geoId);
         verify(userGeographicalInterestService, times(1)).getUserGeographicalInterestById(geoId);
@@ -88,7 +88,7 @@ class UserGeographicalInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserGeographicalInterest> apiResponse = (ApiResponse<UserGeographicalInterest>) response.getEntity();
+        ApiResponse<UserGeographicalInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User geographical interest not found");
         verify(userGeographicalInterestService, times(1)).getUserGeographicalInterestById(geoId);
@@ -109,7 +109,7 @@ class UserGeographicalInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<UserGeographicalInterest> apiResponse = (ApiResponse<UserGeographicalInterest>) response.getEntity();
+        ApiResponse<UserGeographicalInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User geographical interest created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class UserGeographicalInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserGeographicalInterest> apiResponse = (ApiResponse<UserGeographicalInterest>) response.getEntity();
+        ApiResponse<UserGeographicalInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User geographical interest updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(geoId);
@@ -157,7 +157,7 @@ class UserGeographicalInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserGeographicalInterest> apiResponse = (ApiResponse<UserGeographicalInterest>) response.getEntity();
+        ApiResponse<UserGeographicalInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User geographical interest not found");
         verify(userGeographicalInterestService, times(1)).getUserGeographicalInterestById(geoId);
@@ -175,7 +175,7 @@ class UserGeographicalInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User geographical interest deleted successfully");
         verify(userGeographicalInterestService, times(1)).deleteUserGeographicalInterest(geoId);
@@ -192,7 +192,7 @@ class UserGeographicalInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User geographical interest not found");
         verify(userGeographicalInterestService, times(1)).deleteUserGeographicalInterest(geoId);
@@ -46,11 +46,11 @@ class UserJobTypeInterestResourceTest {
         when(userJobTypeInterestService.getAllUserJobTypeInterests()).thenReturn(jobTypes);
 
         // Act
-        Response response = userJobTypeInterestResource.getAllUserJobTypeInterests();
+        Response response = userJobTypeInterestResource.getAllUserJobTypeInterests(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<UserJobTypeInterest>> apiResponse = (ApiResponse<List<UserJobTypeInterest>>) response.getEntity();
+        ApiResponse<List<UserJobTypeInterest>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(userJobTypeInterestService, times(1)).getAllUserJobTypeInterests();
@@ -71,7 +71,7 @@ class UserJobTypeInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserJobTypeInterest> apiResponse = (ApiResponse<UserJobTypeInterest>) response.getEntity();
+        ApiResponse<UserJobTypeInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(jobTypeId);
         verify(userJobTypeInterestService, times(1)).getUserJobTypeInterestById(jobTypeId);
@@ -88,7 +88,7 @@ class UserJobTypeInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserJobTypeInterest> apiResponse = (ApiResponse<UserJobTypeInterest>) response.getEntity();
+        ApiResponse<UserJobTypeInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User job type interest not found");
         verify(userJobTypeInterestService, times(1)).getUserJobTypeInterestById(jobTypeId);
@@ -109,7 +109,7 @@ class UserJobTypeInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<UserJobTypeInterest> apiResponse = (ApiResponse<UserJobTypeInterest>) response.getEntity();
+        ApiResponse<UserJobTypeInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User job type interest created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -135,7 +135,7 @@ class UserJobTypeInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserJobTypeInterest> apiResponse = (ApiResponse<UserJobTypeInterest>) response.getEntity();
+        ApiResponse<UserJobTypeInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User job type interest updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(jobTypeId);
@@ -157,7 +157,7 @@ class UserJobTypeInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserJobTypeInterest> apiResponse = (ApiResponse<UserJobTypeInterest>) response.getEntity();
+        ApiResponse<UserJobTypeInterest> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User job type interest not found");
         verify(userJobTypeInterestService, times(1)).getUserJobTypeInterestById(jobTypeId);
@@ -175,7 +175,7 @@ class UserJobTypeInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User job type interest deleted successfully");
         verify(userJobTypeInterestService, times(1)).deleteUserJobTypeInterest(jobTypeId);
@@ -192,7 +192,7 @@ class UserJobTypeInterestResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User job type interest not found");
         verify(userJobTypeInterestService, times(1)).deleteUserJobTypeInterest(jobTypeId);
@@ -1,7 +1,10 @@
 package com.irusso.demoserver.resources;
 
 import com.irusso.demoserver.api.ApiResponse;
+import com.irusso.demoserver.api.JobMatch;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.User;
+import com.irusso.demoserver.service.MatchService;
 import com.irusso.demoserver.service.UserService;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,11 +30,14 @@ class UserResourceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private MatchService matchService;
+
     private UserResource userResource;
 
     @BeforeEach
     void setUp() {
-        userResource = new UserResource(userService);
+        userResource = new UserResource(userService, matchService);
     }
 
     @Test
@@ -49,16 +55,78 @@ class UserResourceTest {
         when(userService.getAllUsers()).thenReturn(users);
 
         // Act
-        Response response = userResource.getAllUsers();
+        Response response = userResource.getAllUsers(null, null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<User>> apiResponse = (ApiResponse<List<User>>) response.getEntity();
+        ApiResponse<List<User>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(userService, times(1)).getAllUsers();
     }
 
+    @Test
+    void testGetAllUsers_Paged() {
+        // Arrange
+        User user = new User();
+        user.setId(1L);
+        user.setName("John Doe");
+
+        Page<User> page = new Page<>(List.of(user), "next-cursor");
+        when(userService.getUsersPage(null, 1)).thenReturn(page);
+
+        // Act
+        Response response = userResource.getAllUsers(null, 1, null);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        ApiResponse<List<User>> apiResponse = ApiResponses.entity(response);
+        assertThat(apiResponse.getData()).hasSize(1);
+        assertThat(apiResponse.getNextCursor()).isEqualTo("next-cursor");
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void testGetAllUsers_InvalidCursor() {
+        // Arrange
+        when(userService.getUsersPage("bogus", null)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // Act
+        Response response = userResource.getAllUsers("bogus", null, null);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Test
+    void testGetAllUsers_ByIds() {
+        // Arrange
+        User user = new User();
+        user.setId(2L);
+        user.setName("Jane Smith");
+
+        when(userService.getUsersByIds(List.of(2L, 1L))).thenReturn(List.of(user));
+
+        // Act
+        Response response = userResource.getAllUsers(null, null, "2, 1,2");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        ApiResponse<List<User>> apiResponse = ApiResponses.entity(response);
+        assertThat(apiResponse.getData()).hasSize(1);
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void testGetAllUsers_InvalidIds() {
+        // Act
+        Response response = userResource.getAllUsers(null, null, "1,abc");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+        verifyNoInteractions(userService);
+    }
+
     @Test
     void testGetUser_Found() {
         // Arrange
@@ -74,7 +142,7 @@ class UserResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<User> apiResponse = (ApiResponse<User>) response.getEntity();
+        ApiResponse<User> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(userId);
         verify(userService, times(1)).getUserById(userId);
@@ -91,7 +159,7 @@ class UserResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<User> apiResponse = (ApiResponse<User>) response.getEntity();
+        ApiResponse<User> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User not found");
         verify(userService, times(1)).getUserById(userId);
@@ -112,7 +180,7 @@ class UserResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<User> apiResponse = (ApiResponse<User>) response.getEntity();
+        ApiResponse<User> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
@@ -139,7 +207,7 @@ class UserResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<User> apiResponse = (ApiResponse<User>) response.getEntity();
+        ApiResponse<User> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(userId);
@@ -161,7 +229,7 @@ class UserResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<User> apiResponse = (ApiResponse<User>) response.getEntity();
+        ApiResponse<User> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User not found");
         verify(userService, times(1)).getUserById(userId);
@@ -179,7 +247,7 @@ class UserResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User deleted successfully");
         verify(userService, times(1)).deleteUser(userId);
@@ -196,10 +264,27 @@ class UserResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User not found");
         verify(userService, times(1)).deleteUser(userId);
     }
-}
 
+    @Test
+    void testGetUserMatches() {
+        // Arrange
+        List<JobMatch> matches = List.of(new JobMatch(1L, "John Doe", 10L, "Java Developer", 0.9f));
+        when(matchService.getMatches(1L, 5)).thenReturn(Optional.of(matches));
+        when(matchService.getMatches(999L, 5)).thenReturn(Optional.empty());
+        when(matchService.getMatches(2L, 5)).thenThrow(new IllegalStateException("Matches are still being computed"));
+
+        // Act & Assert
+        Response response = userResource.getUserMatches(1L, 5);
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        assertThat((ApiResponses.entity(response)).getData()).isEqualTo(matches);
+        assertThat(userResource.getUserMatches(999L, 5).getStatus())
+            .isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
+        assertThat(userResource.getUserMatches(2L, 5).getStatus())
+            .isEqualTo(Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
+    }
+}
@@ -46,11 +46,11 @@ class UserSkillResourceTest {
         when(userSkillService.getAllUserSkills()).thenReturn(skills);
 
         // Act
-        Response response = userSkillResource.getAllUserSkills();
+        Response response = userSkillResource.getAllUserSkills(null, null);
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<List<UserSkill>> apiResponse = (ApiResponse<List<UserSkill>>) response.getEntity();
+        ApiResponse<List<UserSkill>> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData()).hasSize(2);
         verify(userSkillService, times(1)).getAllUserSkills();
@@ -71,7 +71,7 @@ class UserSkillResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserSkill> apiResponse = (ApiResponse<UserSkill>) response.getEntity();
+        ApiResponse<UserSkill> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getData().getId()).isEqualTo(skillId);
         verify(userSkillService, times(1)).getUserSkillById(skillId);
@@ -88,7 +88,7 @@ class UserSkillResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserSkill> apiResponse = (ApiResponse<UserSkill>) response.getEntity();
+        ApiResponse<UserSkill> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User skill not found");
         verify(userSkillService, times(1)).getUserSkillById(skillId);
@@ -109,13 +109,47 @@ class UserSkillResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
-        ApiResponse<UserSkill> apiResponse = (ApiResponse<UserSkill>) response.getEntity();
+        ApiResponse<UserSkill> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User skill created successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(generatedId);
         verify(userSkillService, times(1)).createUserSkill(newSkill);
     }
 
+    @Test
+    void testCreateUserSkills_Bulk() {
+        // Arrange
+        UserSkill java = new UserSkill();
+        java.setUserId(100L);
+        java.setSkillName("Java");
+
+        UserSkill sql = new UserSkill();
+        sql.setUserId(100L);
+        sql.setSkillName("SQL");
+
+        List<UserSkill> skills = Arrays.asList(java, sql);
+        when(userSkillService.createUserSkills(skills)).thenReturn(Arrays.asList(10L, 11L));
+
+        // Act
+        Response response = userSkillResource.createUserSkills(skills);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
+        ApiResponse<List<UserSkill>> apiResponse = ApiResponses.entity(response);
+        assertThat(apiResponse.getData()).extracting(UserSkill::getId).containsExactly(10L, 11L);
+        verify(userSkillService, times(1)).createUserSkills(skills);
+    }
+
+    @Test
+    void testCreateUserSkills_Empty() {
+        // Act
+        Response response = userSkillResource.createUserSkills(List.of());
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+        verify(userSkillService, never()).createUserSkills(any());
+    }
+
     @Test
     void testUpdateUserSkill_Success() {
         // Arrange
@@ -135,7 +169,7 @@ class UserSkillResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<UserSkill> apiResponse = (ApiResponse<UserSkill>) response.getEntity();
+        ApiResponse<UserSkill> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User skill updated successfully");
         assertThat(apiResponse.getData().getId()).isEqualTo(skillId);
@@ -157,7 +191,7 @@ class UserSkillResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<UserSkill> apiResponse = (ApiResponse<UserSkill>) response.getEntity();
+        ApiResponse<UserSkill> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User skill not found");
         verify(userSkillService, times(1)).getUserSkillById(skillId);
@@ -175,7 +209,7 @@ class UserSkillResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isTrue();
         assertThat(apiResponse.getMessage()).isEqualTo("User skill deleted successfully");
         verify(userSkillService, times(1)).deleteUserSkill(skillId);
@@ -192,7 +226,7 @@ class UserSkillResourceTest {
 
         // Assert
         assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
-        ApiResponse<Object> apiResponse = (ApiResponse<Object>) response.getEntity();
+        ApiResponse<Object> apiResponse = ApiResponses.entity(response);
         assertThat(apiResponse.isSuccess()).isFalse();
         assertThat(apiResponse.getMessage()).isEqualTo("User skill not found");
         verify(userSkillService, times(1)).deleteUserSkill(skillId);
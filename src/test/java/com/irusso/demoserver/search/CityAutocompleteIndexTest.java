@@ -0,0 +1,128 @@
+package com.irusso.demoserver.search;
+
+import com.irusso.demoserver.api.CitySuggestion;
+import com.irusso.demoserver.db.model.City;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CityAutocompleteIndex.
+ */
+class CityAutocompleteIndexTest {
+
+    @Test
+    void testSearch_RanksByPopulation() {
+        CityAutocompleteIndex index = CityAutocompleteIndex.builder()
+            .add(city(1L, "Springfield", "Springfield", 150_000L))
+            .add(city(2L, "Spring", "Spring", 60_000L))
+            .add(city(3L, "Split", "Split", 180_000L))
+            .add(city(4L, "Berlin", "Berlin", 3_600_000L))
+            .build();
+
+        List<CitySuggestion> results = index.search("sp", 10);
+
+        assertThat(results).extracting(CitySuggestion::getId).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void testSearch_IgnoresCaseAndAccents() {
+        CityAutocompleteIndex index = CityAutocompleteIndex.builder()
+            .add(city(1L, "Zürich", "Zurich", 420_000L))
+            .build();
+
+        assertThat(index.search("ZUR", 10)).extracting(CitySuggestion::getName).containsExactly("Zürich");
+        assertThat(index.search("zü", 10)).extracting(CitySuggestion::getName).containsExactly("Zürich");
+    }
+
+    @Test
+    void testSearch_MatchesAsciiNameOnceWhenNamesDiffer() {
+        CityAutocompleteIndex index = CityAutocompleteIndex.builder()
+            .add(city(1L, "Kraków", "Krakow", 800_000L))
+            .add(city(2L, "Ōsaka", "Osaka", 2_700_000L))
+            .add(city(3L, "Łódź", "Lodz", 670_000L))
+            .build();
+
+        assertThat(index.search("krak", 10)).extracting(CitySuggestion::getId).containsExactly(1L);
+        assertThat(index.search("lod", 10)).extracting(CitySuggestion::getId).containsExactly(3L);
+        assertThat(index.search("o", 10)).extracting(CitySuggestion::getId).containsExactly(2L);
+    }
+
+    @Test
+    void testSearch_CopiesSuggestionFields() {
+        City city = city(7L, "Lyon", "Lyon", 520_000L);
+        city.setCountryCode("FR");
+        city.setAdmin1Code("84");
+        city.setLatitude(new BigDecimal("45.75"));
+        city.setLongitude(new BigDecimal("4.85"));
+
+        CitySuggestion suggestion = CityAutocompleteIndex.builder().add(city).build().search("ly", 1).get(0);
+
+        assertThat(suggestion.getCountryCode()).isEqualTo("FR");
+        assertThat(suggestion.getAdmin1Code()).isEqualTo("84");
+        assertThat(suggestion.getPopulation()).isEqualTo(520_000L);
+        assertThat(suggestion.getLatitude()).isEqualTo(45.75);
+        assertThat(suggestion.getLongitude()).isEqualTo(4.85);
+    }
+
+    @Test
+    void testSearch_HeavyPrefixReturnsSameResultsAsScan() {
+        CityAutocompleteIndex.Builder builder = CityAutocompleteIndex.builder();
+        int count = CityAutocompleteIndex.HEAVY_PREFIX_THRESHOLD * 4;
+        for (int i = 0; i < count; i++) {
+            // Populations are a permutation of 0..count-1, so the ranking is unambiguous
+            builder.add(city((long) i, "San " + i, "San " + i, (long) ((i * 7919L) % count)));
+        }
+        CityAutocompleteIndex index = builder.build();
+
+        List<CitySuggestion> results = index.search("sa", 5);
+
+        assertThat(results).extracting(CitySuggestion::getPopulation)
+            .containsExactly((long) count - 1, (long) count - 2, (long) count - 3, (long) count - 4, (long) count - 5);
+        assertThat(index.search("SAN ", 5)).extracting(CitySuggestion::getId)
+            .containsExactlyElementsOf(results.stream().map(CitySuggestion::getId).toList());
+    }
+
+    @Test
+    void testSearch_CapsLimit() {
+        CityAutocompleteIndex.Builder builder = CityAutocompleteIndex.builder();
+        for (int i = 0; i < CityAutocompleteIndex.MAX_LIMIT + 10; i++) {
+            builder.add(city((long) i, "Town " + i, "Town " + i, (long) i));
+        }
+        CityAutocompleteIndex index = builder.build();
+
+        assertThat(index.search("town", 3)).hasSize(3);
+        assertThat(index.search("town", 1000)).hasSize(CityAutocompleteIndex.MAX_LIMIT);
+    }
+
+    @Test
+    void testSearch_BlankOrUnknownPrefixReturnsNothing() {
+        CityAutocompleteIndex index = CityAutocompleteIndex.builder()
+            .add(city(1L, "Oslo", "Oslo", 700_000L))
+            .build();
+
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(index.search("oslox", 10)).isEmpty();
+        assertThat(index.search("zz", 10)).isEmpty();
+        assertThat(CityAutocompleteIndex.empty().search("oslo", 10)).isEmpty();
+    }
+
+    @Test
+    void testNormalize() {
+        assertThat(CityAutocompleteIndex.normalize("  São Paulo ")).isEqualTo("sao paulo");
+        assertThat(CityAutocompleteIndex.normalize("NEW YORK")).isEqualTo("new york");
+        assertThat(CityAutocompleteIndex.normalize(null)).isEmpty();
+    }
+
+    private static City city(Long id, String name, String asciiName, Long population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setAsciiName(asciiName);
+        city.setPopulation(population);
+        return city;
+    }
+}
@@ -0,0 +1,108 @@
+package com.irusso.demoserver.search;
+
+import com.irusso.demoserver.db.model.City;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for CityLocationIndex.
+ */
+class CityLocationIndexTest {
+
+    @Test
+    void testNearest_FindsClosestCityWithDistance() {
+        CityLocationIndex index = CityLocationIndex.builder()
+            .add(city(1L, "Paris", 48.8566, 2.3522))
+            .add(city(2L, "London", 51.5074, -0.1278))
+            .add(city(3L, "Berlin", 52.52, 13.405))
+            .build();
+
+        CityLocationIndex.Match match = index.nearest(48.80, 2.13);
+
+        assertThat(match.getCity().getName()).isEqualTo("Paris");
+        // Versailles to central Paris
+        assertThat(match.getDistanceKm()).isCloseTo(17.3, within(0.5));
+    }
+
+    @Test
+    void testNearest_AcrossAntimeridian() {
+        CityLocationIndex index = CityLocationIndex.builder()
+            .add(city(1L, "Suva", -18.1416, 178.4419))
+            .add(city(2L, "Apia", -13.8333, -171.7667))
+            .add(city(3L, "Auckland", -36.8485, 174.7633))
+            .build();
+
+        assertThat(index.nearest(-17.0, -179.9).getCity().getName()).isEqualTo("Suva");
+        assertThat(index.nearest(-14.0, 179.5).getCity().getName()).isEqualTo("Suva");
+        assertThat(index.nearest(-13.9, -172.0).getCity().getName()).isEqualTo("Apia");
+    }
+
+    @Test
+    void testNearest_MatchesLinearScan() {
+        Random random = new Random(7);
+        CityLocationIndex.Builder builder = CityLocationIndex.builder();
+        double[][] points = new double[5000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[] {random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180};
+            builder.add(city(i, "City " + i, points[i][0], points[i][1]));
+        }
+        CityLocationIndex index = builder.build();
+
+        for (int q = 0; q < 500; q++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            long expected = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < points.length; i++) {
+                double distance = haversineKm(lat, lon, points[i][0], points[i][1]);
+                if (distance < best) {
+                    best = distance;
+                    expected = i;
+                }
+            }
+
+            CityLocationIndex.Match match = index.nearest(lat, lon);
+            assertThat(match.getCity().getId()).isEqualTo(expected);
+            assertThat(match.getDistanceKm()).isCloseTo(best, within(1e-6));
+        }
+    }
+
+    @Test
+    void testBuilder_SkipsCitiesWithoutCoordinates() {
+        City unknown = new City();
+        unknown.setId(9L);
+        unknown.setName("Nowhere");
+
+        CityLocationIndex index = CityLocationIndex.builder()
+            .add(unknown)
+            .add(city(1L, "Rome", 41.9, 12.5))
+            .build();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(CityLocationIndex.empty().nearest(0, 0)).isNull();
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * Math.asin(Math.sqrt(a)) * CityLocationIndex.EARTH_RADIUS_KM;
+    }
+
+    private static City city(long id, String name, double latitude, double longitude) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setAsciiName(name);
+        city.setPopulation(100_000L);
+        city.setLatitude(BigDecimal.valueOf(latitude));
+        city.setLongitude(BigDecimal.valueOf(longitude));
+        return city;
+    }
+}
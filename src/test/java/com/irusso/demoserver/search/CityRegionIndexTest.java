@@ -0,0 +1,98 @@
+package com.irusso.demoserver.search;
+
+import com.irusso.demoserver.api.CitySuggestion;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.model.City;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CityRegionIndex.
+ */
+class CityRegionIndexTest {
+
+    private final CityRegionIndex index = CityRegionIndex.builder()
+        .add(city(1L, "Los Angeles", "US", "CA", 3_900_000L))
+        .add(city(2L, "New York City", "US", "NY", 8_800_000L))
+        .add(city(3L, "San Diego", "US", "CA", 1_400_000L))
+        .add(city(4L, "San Jose", "US", "CA", 1_000_000L))
+        .add(city(5L, "Buffalo", "US", "NY", 280_000L))
+        .add(city(6L, "Toronto", "CA", "08", 2_800_000L))
+        .add(city(7L, "Unknown", "US", "CA", null))
+        .build();
+
+    @Test
+    void testPage_TopNOfCountry() {
+        Page<CitySuggestion> page = index.page("us", null, null, 3);
+
+        assertThat(page.getItems()).extracting(CitySuggestion::getName)
+            .containsExactly("New York City", "Los Angeles", "San Diego");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(index.count("US", null)).isEqualTo(6);
+    }
+
+    @Test
+    void testPage_Admin1() {
+        Page<CitySuggestion> page = index.page("US", "NY", null, 10);
+
+        assertThat(page.getItems()).extracting(CitySuggestion::getName)
+            .containsExactly("New York City", "Buffalo");
+        assertThat(page.hasNext()).isFalse();
+        // "CA" is an admin1 code in the US and a country of its own
+        assertThat(index.count("US", "CA")).isEqualTo(4);
+        assertThat(index.count("CA", null)).isEqualTo(1);
+    }
+
+    @Test
+    void testPage_CursorWalksWholeCountry() {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<CitySuggestion> page = index.page("US", null, cursor, 2);
+            page.getItems().forEach(city -> names.add(city.getName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(names).containsExactly(
+            "New York City", "Los Angeles", "San Diego", "San Jose", "Buffalo", "Unknown");
+    }
+
+    @Test
+    void testPage_CursorSurvivesRebuild() {
+        String cursor = index.page("US", null, null, 2).getNextCursor();
+        CityRegionIndex rebuilt = CityRegionIndex.builder()
+            .add(city(1L, "Los Angeles", "US", "CA", 3_900_000L))
+            .add(city(2L, "New York City", "US", "NY", 8_800_000L))
+            .add(city(8L, "Houston", "US", "TX", 2_300_000L))
+            .add(city(3L, "San Diego", "US", "CA", 1_400_000L))
+            .build();
+
+        assertThat(rebuilt.page("US", null, cursor, 10).getItems()).extracting(CitySuggestion::getName)
+            .containsExactly("Houston", "San Diego");
+    }
+
+    @Test
+    void testPage_UnknownRegionAndInvalidCursor() {
+        assertThat(index.page("ZZ", null, null, 10).getItems()).isEmpty();
+        assertThat(index.page("US", "ZZ", null, 10).getItems()).isEmpty();
+        assertThat(CityRegionIndex.empty().page("US", null, null, 10).getItems()).isEmpty();
+        assertThatThrownBy(() -> index.page("US", null, "not a cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static City city(Long id, String name, String countryCode, String admin1Code, Long population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setAsciiName(name);
+        city.setCountryCode(countryCode);
+        city.setAdmin1Code(admin1Code);
+        city.setPopulation(population);
+        return city;
+    }
+}
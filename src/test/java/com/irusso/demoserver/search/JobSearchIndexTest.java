@@ -0,0 +1,241 @@
+package com.irusso.demoserver.search;
+
+import com.irusso.demoserver.api.FacetCount;
+import com.irusso.demoserver.api.JobSearchHit;
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.model.JobPosting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for JobSearchIndex.
+ */
+class JobSearchIndexTest {
+
+    private static final JobSearchIndex.Filters NONE = JobSearchIndex.Filters.none();
+    private static final JobSearchIndex.Filters ACTIVE = JobSearchIndex.Filters.builder().status("active").build();
+
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new JobSearchIndex();
+        JobPosting javaDeveloper = posting(1L, "Java Developer", "Engineering", "ACTIVE", "SENIOR",
+            "Build backend services for our payments platform.");
+        javaDeveloper.setSalaryMin(new BigDecimal("90000"));
+        javaDeveloper.setSalaryMax(new BigDecimal("120000"));
+        index.upsert(javaDeveloper, List.of("Five years of Spring"));
+        JobPosting dataAnalyst = posting(2L, "Data Analyst", "Analytics", "ACTIVE", "MID",
+            "Analyse data; some Java scripting is a plus.");
+        dataAnalyst.setSalaryMin(new BigDecimal("60000"));
+        index.upsert(dataAnalyst, List.of("SQL"));
+        index.upsert(posting(3L, "Frontend Developer", "Engineering", "CLOSED", "JUNIOR",
+            "React and TypeScript user interfaces."), List.of());
+        JobPosting platformEngineer = posting(4L, "Platform Engineer", "Engineering", "ACTIVE", "SENIOR",
+            "Kubernetes, Terraform and Java tooling.");
+        platformEngineer.setLocation("Berlin");
+        platformEngineer.setSalaryMax(new BigDecimal("160000"));
+        index.upsert(platformEngineer, List.of("Kubernetes certification"));
+    }
+
+    @Test
+    void testSearch_TitleMatchOutranksBodyMatch() {
+        Page<JobSearchHit> page = index.search("java", NONE, null, 10);
+
+        // Posting 4 outranks 2 because its one body match is in a shorter document
+        assertThat(page.getItems()).extracting(JobSearchHit::getId).containsExactly(1L, 4L, 2L);
+        assertThat(page.getItems().get(0).getTitle()).isEqualTo("Java Developer");
+        assertThat(page.getItems().get(0).getScore()).isGreaterThan(page.getItems().get(1).getScore());
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void testSearch_AllWordsMustMatchIncludingRequirements() {
+        assertThat(index.search("java spring", NONE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(1L);
+        assertThat(index.search("java cobol", NONE, null, 10).getItems()).isEmpty();
+        assertThat(index.search("the and", NONE, null, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    void testSearch_ToleratesTypos() {
+        assertThat(index.search("kubernets", NONE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(4L);
+        assertThat(index.search("devloper", NONE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactlyInAnyOrder(1L, 3L);
+        // Short words must match exactly
+        assertThat(index.search("sq", NONE, null, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    void testSearch_ToleratesTransposedLetters() {
+        index.upsert(posting(5L, "Javascript Tutor", "Education", "ACTIVE", "JUNIOR", null), List.of());
+
+        assertThat(JobSearchIndex.editDistance("javascript", "javascirpt", 2)).isEqualTo(1);
+        assertThat(index.search("javascirpt", NONE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(5L);
+    }
+
+    @Test
+    void testSearch_Filters() {
+        assertThat(index.search("developer", ACTIVE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(1L);
+        assertThat(index.search("java", JobSearchIndex.Filters.builder()
+                .status("ACTIVE").field("engineering").experienceLevel("SENIOR").build(), null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(1L, 4L);
+        assertThat(index.search("java", JobSearchIndex.Filters.builder()
+                .status("ACTIVE").field("Marketing").build(), null, 10).getItems()).isEmpty();
+        assertThat(index.search("java", JobSearchIndex.Filters.builder()
+                .location("berlin").build(), null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(4L);
+        // Salary filters match JobPostingDao.SearchFilters; posting 3 has no salary
+        assertThat(index.search("developer", JobSearchIndex.Filters.builder()
+                .minSalary(new BigDecimal("100000")).build(), null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(1L);
+        assertThat(index.search("java", JobSearchIndex.Filters.builder()
+                .maxSalary(new BigDecimal("80000")).build(), null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(2L);
+    }
+
+    @Test
+    void testSearch_CursorWalksAllHits() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<JobSearchHit> page = index.search("java", NONE, cursor, 1);
+            page.getItems().forEach(hit -> ids.add(hit.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly(1L, 4L, 2L);
+        assertThatThrownBy(() -> index.search("java", NONE, "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testUpsertAndRemove() {
+        index.upsert(posting(3L, "Frontend Developer", "Engineering", "ACTIVE", "JUNIOR",
+            "React and TypeScript user interfaces."), List.of());
+        assertThat(index.search("react", ACTIVE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(3L);
+
+        index.upsert(posting(1L, "Go Developer", "Engineering", "ACTIVE", "SENIOR", null), List.of());
+        assertThat(index.search("java", NONE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(4L, 2L);
+
+        assertThat(index.remove(4L)).isTrue();
+        assertThat(index.remove(4L)).isFalse();
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.ids()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.search("kubernetes", NONE, null, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    void testCompaction_KeepsResults() {
+        for (int i = 0; i < JobSearchIndex.MIN_DELETED_BEFORE_COMPACTION + 10; i++) {
+            index.upsert(posting(2L, "Data Analyst " + i, "Analytics", "ACTIVE", "MID", "Java"), List.of());
+        }
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.search("java", NONE, null, 10).getItems())
+            .extracting(JobSearchHit::getId).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(index.search("analyst", NONE, null, 10).getItems())
+            .extracting(JobSearchHit::getTitle)
+            .containsExactly("Data Analyst " + (JobSearchIndex.MIN_DELETED_BEFORE_COMPACTION + 9));
+    }
+
+    @Test
+    void testFacets_CountsAllMatches() {
+        Map<String, List<FacetCount>> facets = index.facets("java", ACTIVE);
+
+        assertThat(facets).containsOnlyKeys(JobSearchIndex.FIELD_FACET, JobSearchIndex.EXPERIENCE_LEVEL_FACET,
+            JobSearchIndex.LOCATION_FACET, JobSearchIndex.SALARY_BAND_FACET);
+        assertThat(facets.get(JobSearchIndex.FIELD_FACET))
+            .extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("Engineering", 2), tuple("Analytics", 1));
+        assertThat(facets.get(JobSearchIndex.LOCATION_FACET))
+            .extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("Remote", 2), tuple("Berlin", 1));
+        // 90000-120000 spans two bands; a lone minimum or maximum is a single salary
+        assertThat(facets.get(JobSearchIndex.SALARY_BAND_FACET))
+            .extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("50000-75000", 1), tuple("75000-100000", 1),
+                tuple("100000-150000", 1), tuple("150000+", 1));
+
+        Map<String, List<FacetCount>> senior = index.facets("java", JobSearchIndex.Filters.builder()
+            .status("ACTIVE").experienceLevel("senior").build());
+        assertThat(senior.get(JobSearchIndex.EXPERIENCE_LEVEL_FACET))
+            .extracting(FacetCount::getValue, FacetCount::getCount)
+            .containsExactly(tuple("SENIOR", 2));
+        assertThat(index.facets("cobol", NONE).get(JobSearchIndex.FIELD_FACET)).isEmpty();
+    }
+
+    @Test
+    void testFacets_CachedUntilIndexChanges() {
+        Map<String, List<FacetCount>> first = index.facets("Java  SPRING", ACTIVE);
+
+        // Same words in another order and case, and equivalent filters
+        assertThat(index.facets("spring java", JobSearchIndex.Filters.builder().status(" Active ").build()))
+            .isSameAs(first);
+
+        index.upsert(posting(5L, "Spring Java Consultant", "Consulting", "ACTIVE", "MID", null), List.of());
+        Map<String, List<FacetCount>> updated = index.facets("spring java", ACTIVE);
+        assertThat(updated).isNotSameAs(first);
+        assertThat(updated.get(JobSearchIndex.FIELD_FACET)).extracting(FacetCount::getValue)
+            .containsExactly("Consulting", "Engineering");
+
+        index.remove(5L);
+        assertThat(index.facets("spring java", ACTIVE).get(JobSearchIndex.FIELD_FACET))
+            .extracting(FacetCount::getValue).containsExactly("Engineering");
+    }
+
+    @Test
+    void testSnapshot_RoundTrip() throws IOException {
+        index.remove(2L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeSnapshot(out);
+
+        JobSearchIndex restored = JobSearchIndex.readSnapshot(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(restored.size()).isEqualTo(3);
+        assertThat(restored.facets("java", NONE).get(JobSearchIndex.SALARY_BAND_FACET))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(index.facets("java", NONE).get(JobSearchIndex.SALARY_BAND_FACET));
+        assertThat(restored.getWatermark()).isEqualTo(index.getWatermark()).isEqualTo(4_000L);
+        Page<JobSearchHit> expected = index.search("java", ACTIVE, null, 10);
+        Page<JobSearchHit> actual = restored.search("java", ACTIVE, null, 10);
+        assertThat(actual.getItems()).extracting(JobSearchHit::getId)
+            .containsExactlyElementsOf(expected.getItems().stream().map(JobSearchHit::getId).toList());
+        assertThat(actual.getItems()).extracting(JobSearchHit::getScore)
+            .containsExactlyElementsOf(expected.getItems().stream().map(JobSearchHit::getScore).toList());
+        assertThatThrownBy(() -> JobSearchIndex.readSnapshot(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})))
+            .isInstanceOf(IOException.class);
+    }
+
+    private static JobPosting posting(Long id, String title, String field, String status, String experienceLevel,
+                                      String description) {
+        JobPosting posting = new JobPosting();
+        posting.setId(id);
+        posting.setTitle(title);
+        posting.setField(field);
+        posting.setStatus(status);
+        posting.setExperienceLevel(experienceLevel);
+        posting.setDescription(description);
+        posting.setLocation("Remote");
+        posting.setUpdatedAt(new Timestamp(id * 1000));
+        return posting;
+    }
+}
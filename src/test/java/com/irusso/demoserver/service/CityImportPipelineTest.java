@@ -0,0 +1,182 @@
+package com.irusso.demoserver.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.irusso.demoserver.db.dao.CityDao;
+import com.irusso.demoserver.db.model.City;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CityImportPipeline.
+ */
+@ExtendWith(MockitoExtension.class)
+class CityImportPipelineTest {
+
+    @Mock
+    private CityDao cityDao;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(10)
+    void testRun_ParsesAndWritesEveryBatch() throws Exception {
+        // Arrange
+        Set<Long> written = ConcurrentHashMap.newKeySet();
+        when(cityDao.copyUpsert(anyList())).thenAnswer(invocation -> {
+            List<City> cities = invocation.getArgument(0);
+            cities.forEach(city -> written.add(city.getGeonameId()));
+            return (long) cities.size();
+        });
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 25; i++) {
+            text.append(line(i)).append('\n');
+        }
+        text.append("not\ta\tcity\n");
+        text.append(line(26));
+        CityImportPipeline pipeline = new CityImportPipeline(cityDao, executor, 2, 3, 4, 1);
+        ImportJob job = job();
+
+        // Act
+        pipeline.run(archive(text.toString()), job);
+
+        // Assert
+        assertThat(job.getRowsImported()).isEqualTo(26);
+        assertThat(job.getRowsSkipped()).isEqualTo(1);
+        assertThat(job.getBatchesCommitted()).isEqualTo(7);
+        assertThat(written).hasSize(26).contains(1L, 26L);
+        assertThat(job.getStages()).extracting(ImportJob.StageStats::getName)
+            .containsExactly("read", "parse", "write");
+        assertThat(job.getStages()).extracting(ImportJob.StageStats::getItems)
+            .containsExactly(27L, 27L, 26L);
+    }
+
+    @Test
+    @Timeout(10)
+    void testRun_WriterFailureStopsPipeline() throws Exception {
+        // Arrange
+        when(cityDao.copyUpsert(anyList())).thenThrow(new IllegalStateException("database down"));
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            text.append(line(i)).append('\n');
+        }
+        CityImportPipeline pipeline = new CityImportPipeline(cityDao, executor, 1, 1, 10, 1);
+
+        // Act / Assert
+        assertThatThrownBy(() -> pipeline.run(archive(text.toString()), job()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("database down");
+    }
+
+    @Test
+    @Timeout(10)
+    void testRun_CancelledJobStopsBeforeNextBatch() throws Exception {
+        // Arrange
+        ImportJob job = job();
+        when(cityDao.copyUpsert(anyList())).thenAnswer(invocation -> {
+            job.cancel();
+            return (long) invocation.<List<City>>getArgument(0).size();
+        });
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            text.append(line(i)).append('\n');
+        }
+        CityImportPipeline pipeline = new CityImportPipeline(cityDao, executor, 1, 1, 10, 1);
+
+        // Act / Assert
+        assertThatThrownBy(() -> pipeline.run(job.track(archive(text.toString())), job))
+            .isInstanceOf(CancellationException.class);
+        assertThat(job.getRowsImported()).isEqualTo(10);
+        assertThat(job.getBatchesCommitted()).isEqualTo(1);
+    }
+
+    @Test
+    @Timeout(10)
+    void testRunText_FiltersRowsAndCountsUnchanged() throws Exception {
+        // Arrange
+        when(cityDao.copyUpsert(anyList())).thenAnswer(invocation -> {
+            List<City> cities = invocation.getArgument(0);
+            // Pretend every odd city is already stored with the same values
+            return cities.stream().filter(city -> city.getGeonameId() % 2 == 0).count();
+        });
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            text.append(line(i)).append('\n');
+        }
+        CityImportPipeline pipeline = new CityImportPipeline(cityDao, executor, 2, 2, 3, 1);
+        ImportJob job = job();
+
+        // Act
+        pipeline.runText(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)),
+            row -> row.population >= 3000, job);
+
+        // Assert
+        assertThat(job.getRowsSkipped()).isEqualTo(2);
+        assertThat(job.getRowsImported()).isEqualTo(4);
+        assertThat(job.getRowsUnchanged()).isEqualTo(4);
+    }
+
+    private static ImportJob job() {
+        return new ImportJob("job-1", "cities", "file:///cities.tar.gz", new MetricRegistry());
+    }
+
+    private static String line(int id) {
+        return String.join("\t", String.valueOf(id), "Città " + id, "Citta " + id, "", "45.5", "9.19",
+            "P", "PPL", "IT", "", "09", "MI", "", "", String.valueOf(id * 1000), "", "120",
+            "Europe/Rome", "2024-01-15");
+    }
+
+    private static ByteArrayInputStream archive(String text) throws IOException {
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            // macOS resource fork, which the import must ignore
+            byte[] resourceFork = {0, 5, 22, 7, 0, 2, 0, 0, '\n', 'x'};
+            TarArchiveEntry fork = new TarArchiveEntry("._cities.txt");
+            fork.setSize(resourceFork.length);
+            tar.putArchiveEntry(fork);
+            tar.write(resourceFork);
+            tar.closeArchiveEntry();
+
+            TarArchiveEntry entry = new TarArchiveEntry("cities.txt");
+            entry.setSize(content.length);
+            tar.putArchiveEntry(entry);
+            tar.write(content);
+            tar.closeArchiveEntry();
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
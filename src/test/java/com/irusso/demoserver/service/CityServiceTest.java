@@ -0,0 +1,215 @@
+package com.irusso.demoserver.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.irusso.demoserver.db.dao.CityDao;
+import com.irusso.demoserver.db.dao.ReadRouting;
+import com.irusso.demoserver.db.model.City;
+import com.irusso.demoserver.db.model.NearbyCity;
+import com.irusso.demoserver.search.CityLocationIndex;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CityService.
+ */
+@ExtendWith(MockitoExtension.class)
+class CityServiceTest {
+
+    @Mock
+    private CityDao cityDao;
+
+    @Mock
+    private ExecutorService executor;
+
+    @Mock
+    private CityImportPipeline importPipeline;
+
+    @Mock
+    private ImportJobManager importJobManager;
+
+    private final Jdbi primary = Jdbi.create("jdbc:postgresql://localhost/primary");
+    private final ReadRouting readRouting = new ReadRouting(primary,
+        List.of(Jdbi.create("jdbc:postgresql://localhost/replica")), Duration.ofSeconds(5));
+
+    private CityService cityService;
+
+    @BeforeEach
+    void setUp() {
+        cityService = new CityService(cityDao, executor, importPipeline, importJobManager, readRouting);
+    }
+
+    @Test
+    void testFindNearby_ConvertsRadiusAndDefaultsLimit() {
+        // Arrange
+        City city = new City();
+        city.setId(1L);
+        List<NearbyCity> expected = List.of(new NearbyCity(city, 1.5));
+        when(cityDao.findNearby(48.85, 2.35, 25_000.0, 100_000L, null, CityService.DEFAULT_NEARBY_LIMIT))
+            .thenReturn(expected);
+
+        // Act
+        List<NearbyCity> actual = cityService.findNearby(48.85, 2.35, 25.0, 100_000L, null, null);
+
+        // Assert
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testFindNearby_WithoutRadius() {
+        // Act
+        cityService.findNearby(0.0, 0.0, null, null, null, 5);
+
+        // Assert
+        verify(cityDao).findNearby(0.0, 0.0, null, null, null, 5);
+    }
+
+    @Test
+    void testFindNearby_RejectsInvalidParameters() {
+        assertThatThrownBy(() -> cityService.findNearby(null, 2.0, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cityService.findNearby(91.0, 2.0, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cityService.findNearby(1.0, -181.0, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cityService.findNearby(1.0, 2.0, 0.0, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cityService.findNearby(1.0, 2.0, null, 500L, 100L, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cityService.findNearby(1.0, 2.0, null, null, null, CityService.MAX_NEARBY_LIMIT + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(cityDao);
+    }
+
+    @Test
+    void testAutocomplete_ServesRefreshedIndex() {
+        // Arrange
+        City city = new City();
+        city.setId(3L);
+        city.setName("Lisbon");
+        city.setAsciiName("Lisbon");
+        city.setPopulation(500_000L);
+        doAnswer(invocation -> {
+            invocation.<Consumer<City>>getArgument(0).accept(city);
+            return null;
+        }).when(cityDao).forEach(any());
+
+        // Act
+        assertThat(cityService.autocomplete("lis", 10)).isEmpty();
+        cityService.refreshIndexes();
+
+        // Assert
+        assertThat(cityService.autocomplete("lis", 10)).hasSize(1);
+    }
+
+    @Test
+    void testReverseGeocode_ServesRefreshedIndex() {
+        // Arrange
+        City city = new City();
+        city.setId(4L);
+        city.setName("Lisbon");
+        city.setLatitude(new BigDecimal("38.71667"));
+        city.setLongitude(new BigDecimal("-9.13333"));
+        doAnswer(invocation -> {
+            invocation.<Consumer<City>>getArgument(0).accept(city);
+            return null;
+        }).when(cityDao).forEach(any());
+
+        // Act
+        assertThat(cityService.reverseGeocode(38.7, -9.1)).isEmpty();
+        cityService.refreshIndexes();
+        Optional<CityLocationIndex.Match> match = cityService.reverseGeocode(38.7, -9.1);
+
+        // Assert
+        assertThat(match).isPresent();
+        assertThat(match.get().getCity().getName()).isEqualTo("Lisbon");
+        assertThat(match.get().getDistanceKm()).isBetween(3.0, 4.0);
+    }
+
+    @Test
+    void testReverseGeocode_RejectsInvalidCoordinates() {
+        assertThatThrownBy(() -> cityService.reverseGeocode(null, 10.0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cityService.reverseGeocode(91.0, 10.0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cityService.reverseGeocode(10.0, -181.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testImportCityChanges_AppliesDeletesFile(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path deletes = Files.writeString(dir.resolve("deletes-2024-01-15.txt"),
+            "3173435\tMilano\tduplicate\nnot-an-id\tX\t\n2643743\tLondon\t\n");
+        String url = deletes.toUri().toString();
+        ImportJob job = new ImportJob("job-1", CityService.IMPORT_TYPE, url, new MetricRegistry());
+        when(importJobManager.submit(eq(CityService.IMPORT_TYPE), eq(url), any())).thenAnswer(invocation -> {
+            invocation.<ImportJobManager.ImportTask>getArgument(2).run(job);
+            return job;
+        });
+        when(cityDao.deleteByGeonameIds(List.of(3173435L, 2643743L))).thenReturn(2);
+
+        // Act
+        ImportJob started = cityService.importCityChangesFromUrls(null, url, null);
+
+        // Assert
+        assertThat(started).isSameAs(job);
+        assertThat(job.getRowsDeleted()).isEqualTo(2);
+        assertThat(job.getRowsSkipped()).isEqualTo(1);
+        verify(cityDao).forEach(any());
+        verifyNoInteractions(importPipeline);
+    }
+
+    @Test
+    void testImportCityChanges_RebuildsIndexesFromPrimary(@TempDir Path dir) throws Exception {
+        // Arrange: Lisbon was just written, and the replica does not have it yet
+        Path deletes = Files.writeString(dir.resolve("deletes-2024-01-15.txt"), "3173435\tMilano\t\n");
+        String url = deletes.toUri().toString();
+        ImportJob job = new ImportJob("job-1", CityService.IMPORT_TYPE, url, new MetricRegistry());
+        when(importJobManager.submit(eq(CityService.IMPORT_TYPE), eq(url), any())).thenAnswer(invocation -> {
+            invocation.<ImportJobManager.ImportTask>getArgument(2).run(job);
+            return job;
+        });
+        City city = new City();
+        city.setId(1L);
+        city.setName("Lisbon");
+        city.setAsciiName("Lisbon");
+        doAnswer(invocation -> {
+            if (readRouting.forRead() == primary) {
+                invocation.<Consumer<City>>getArgument(0).accept(city);
+            }
+            return null;
+        }).when(cityDao).forEach(any());
+
+        // Act
+        cityService.importCityChangesFromUrls(null, url, null);
+
+        // Assert
+        assertThat(cityService.autocomplete("lis", 10)).hasSize(1);
+    }
+
+    @Test
+    void testImportCityChanges_RequiresAFile() {
+        assertThatThrownBy(() -> cityService.importCityChangesFromUrls(null, null, 15000L))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(importJobManager);
+    }
+}
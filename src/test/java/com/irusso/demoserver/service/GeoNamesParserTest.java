@@ -0,0 +1,104 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.db.model.City;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GeoNamesParser.
+ */
+class GeoNamesParserTest {
+
+    private final GeoNamesParser parser = new GeoNamesParser();
+    private final GeoNamesRow row = new GeoNamesRow();
+
+    @Test
+    void testParse_AllColumns() {
+        City city = parse("3173435\tMilano\tMilan\tMailand,Milán\t45.46427\t9.18951\tP\tPPLA\tIT\t\t09\tMI\t015146\t\t"
+            + "1236837\t\t120\tEurope/Rome\t2024-01-15");
+
+        assertThat(city.getGeonameId()).isEqualTo(3173435L);
+        assertThat(city.getName()).isEqualTo("Milano");
+        assertThat(city.getAsciiName()).isEqualTo("Milan");
+        assertThat(city.getLatitude()).isEqualTo(new BigDecimal("45.46427"));
+        assertThat(city.getLongitude()).isEqualTo(new BigDecimal("9.18951"));
+        assertThat(city.getFeatureClass()).isEqualTo("P");
+        assertThat(city.getFeatureCode()).isEqualTo("PPLA");
+        assertThat(city.getCountryCode()).isEqualTo("IT");
+        assertThat(city.getCc2()).isEmpty();
+        assertThat(city.getAdmin1Code()).isEqualTo("09");
+        assertThat(city.getAdmin2Code()).isEqualTo("MI");
+        assertThat(city.getAdmin3Code()).isEqualTo("015146");
+        assertThat(city.getAdmin4Code()).isEmpty();
+        assertThat(city.getPopulation()).isEqualTo(1236837L);
+        assertThat(city.getElevation()).isNull();
+        assertThat(city.getDem()).isEqualTo(120);
+        assertThat(city.getTimezone()).isEqualTo("Europe/Rome");
+        assertThat(city.getModificationDate()).hasToString("2024-01-15");
+    }
+
+    @Test
+    void testParse_MatchesStringParsingForEdgeCases() {
+        City city = parse("7\tSão Tomé\tSao Tome\t\t-0.33654\t 6.72732 \tP\tPPLC\tST\t\t22\t\t\t\t"
+            + "+71868\t-5\tabc\tAfrica/Sao_Tome\t2024-02-30");
+
+        assertThat(city.getName()).isEqualTo("São Tomé");
+        assertThat(city.getLatitude()).isEqualTo(new BigDecimal("-0.33654"));
+        assertThat(city.getLongitude()).isEqualTo(new BigDecimal("6.72732"));
+        assertThat(city.getPopulation()).isEqualTo(71868L);
+        assertThat(city.getElevation()).isEqualTo(-5);
+        assertThat(city.getDem()).isNull();
+        assertThat(city.getModificationDate()).isNull();
+    }
+
+    @Test
+    void testParse_OutOfRangeNumbersAreAbsent() {
+        City city = parse("99999999999999999999\tX\tX\t\t1.2.3\t-\tP\tPPL\tXX\t\t\t\t\t\t"
+            + "12\t3000000000\t\tUTC\t2024-1-1");
+
+        assertThat(city.getGeonameId()).isNull();
+        assertThat(city.getLatitude()).isNull();
+        assertThat(city.getLongitude()).isNull();
+        assertThat(city.getElevation()).isNull();
+        assertThat(city.getModificationDate()).isNull();
+    }
+
+    @Test
+    void testParse_RejectsShortLine() {
+        byte[] bytes = "1\tonly\tthree".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(parser.parse(bytes, 0, bytes.length, row)).isFalse();
+        assertThat(parser.fieldCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testParse_ReusesCachedCodes() {
+        City first = parse("1\tA\tA\t\t1\t1\tP\tPPL\tFR\t\t11\t\t\t\t1\t\t\tEurope/Paris\t2023-05-01");
+        City second = parse("2\tB\tB\t\t2\t2\tP\tPPL\tFR\t\t11\t\t\t\t2\t\t\tEurope/Paris\t2023-05-01");
+
+        assertThat(second.getTimezone()).isSameAs(first.getTimezone());
+        assertThat(second.getModificationDate()).isSameAs(first.getModificationDate());
+        assertThat(second.getName()).isEqualTo("B");
+    }
+
+    @Test
+    void testParse_LineWithinLargerBuffer() {
+        byte[] bytes = ("junk\n5\tRoma\tRome\t\t41.9\t12.5\tP\tPPLC\tIT\t\t07\tRM\t\t\t2800000\t\t21\tEurope/Rome\t2024-01-01\nmore")
+            .getBytes(StandardCharsets.UTF_8);
+        int start = 5;
+        int end = bytes.length - 5;
+
+        assertThat(parser.parse(bytes, start, end, row)).isTrue();
+        assertThat(row.toCity().getModificationDate()).hasToString("2024-01-01");
+    }
+
+    private City parse(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        assertThat(parser.parse(bytes, 0, bytes.length, row)).isTrue();
+        return row.toCity();
+    }
+}
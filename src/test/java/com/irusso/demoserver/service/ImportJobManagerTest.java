@@ -0,0 +1,156 @@
+package com.irusso.demoserver.service;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ImportJobManager and ImportJob.
+ */
+class ImportJobManagerTest {
+
+    private ExecutorService executor;
+    private MetricRegistry metrics;
+    private ImportJobManager manager;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        metrics = new MetricRegistry();
+        manager = new ImportJobManager(executor, metrics, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(10)
+    void testSubmit_TracksCountersUntilSuccess() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        ImportJob job = manager.submit("industries", "file:///a.csv", j -> {
+            try (InputStream in = j.track(new ByteArrayInputStream(new byte[100]))) {
+                in.readAllBytes();
+            }
+            j.addRowsImported(40);
+            j.addRowsImported(2);
+            j.incrementSkipped();
+            release.await();
+        });
+
+        // Assert
+        assertThat(manager.get(job.getId())).containsSame(job);
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.RUNNING);
+        release.countDown();
+        awaitFinished(job);
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.SUCCEEDED);
+        assertThat(job.getRowsImported()).isEqualTo(42);
+        assertThat(job.getBatchesCommitted()).isEqualTo(2);
+        assertThat(job.getRowsSkipped()).isEqualTo(1);
+        assertThat(job.getBytesRead()).isEqualTo(100);
+        assertThat(job.getEndTime()).isGreaterThanOrEqualTo(job.getStartTime());
+        assertThat(metrics.meter(MetricRegistry.name(ImportJob.class, "industries", "rows")).getCount()).isEqualTo(42);
+    }
+
+    @Test
+    @Timeout(10)
+    void testSubmit_RejectsDuplicateSourceWhileRunning() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ImportJob first = manager.submit("cities", "file:///c.tar.gz", j -> release.await());
+
+        // Act / Assert
+        assertThatThrownBy(() -> manager.submit("cities", "file:///c.tar.gz", j -> { }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(first.getId());
+        ImportJob otherType = manager.submit("professions", "file:///c.tar.gz", j -> { });
+
+        release.countDown();
+        awaitFinished(first);
+        awaitFinished(otherType);
+        ImportJob again = manager.submit("cities", "file:///c.tar.gz", j -> { });
+        awaitFinished(again);
+        assertThat(again.getStatus()).isEqualTo(ImportJob.Status.SUCCEEDED);
+    }
+
+    @Test
+    @Timeout(10)
+    void testSubmit_RejectsBeyondMaxConcurrentJobs() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        manager.submit("cities", "file:///1", j -> release.await());
+        manager.submit("cities", "file:///2", j -> release.await());
+
+        // Act / Assert
+        assertThatThrownBy(() -> manager.submit("cities", "file:///3", j -> { }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Too many imports");
+        release.countDown();
+    }
+
+    @Test
+    @Timeout(10)
+    void testCancel_StopsAtNextCheckpoint() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        ImportJob job = manager.submit("professions", "file:///p.csv", j -> {
+            started.countDown();
+            while (true) {
+                j.checkCancelled();
+                Thread.sleep(5);
+            }
+        });
+        started.await();
+
+        // Act
+        manager.cancel(job.getId());
+
+        // Assert
+        awaitFinished(job);
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.CANCELLED);
+        assertThat(job.cancel()).isFalse();
+    }
+
+    @Test
+    @Timeout(10)
+    void testFailure_RecordsErrorAndEvictsOldJobs() throws Exception {
+        // Act
+        ImportJob failed = manager.submit("cities", "file:///1", j -> {
+            throw new IllegalStateException("database down");
+        });
+        awaitFinished(failed);
+        ImportJob second = manager.submit("cities", "file:///2", j -> { });
+        awaitFinished(second);
+        ImportJob third = manager.submit("cities", "file:///3", j -> { });
+        awaitFinished(third);
+
+        // Assert
+        assertThat(failed.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(failed.getErrorMessage()).isEqualTo("database down");
+        assertThat(manager.get(failed.getId())).isEmpty();
+        assertThat(manager.list()).extracting(ImportJob::getId)
+            .containsExactlyInAnyOrder(second.getId(), third.getId());
+    }
+
+    private static void awaitFinished(ImportJob job) throws InterruptedException {
+        while (job.isActive()) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+}
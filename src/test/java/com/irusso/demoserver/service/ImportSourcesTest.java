@@ -0,0 +1,102 @@
+package com.irusso.demoserver.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ImportSources.
+ */
+class ImportSourcesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testIsPlainText() {
+        assertThat(ImportSources.isPlainText("file:///data/cities15000.txt")).isTrue();
+        assertThat(ImportSources.isPlainText("file:///data/Industries.CSV")).isTrue();
+        assertThat(ImportSources.isPlainText("https://example.com/export.tsv?date=2024")).isTrue();
+        assertThat(ImportSources.isPlainText("file:///data/cities15000.tar")).isFalse();
+        assertThat(ImportSources.isPlainText("https://example.com/cities.tar.gz")).isFalse();
+    }
+
+    @Test
+    void testMappedFileInputStream_ReadsAcrossMappings() throws IOException {
+        // Arrange
+        byte[] content = randomBytes(10_000);
+        Path file = Files.write(dir.resolve("cities.txt"), content);
+
+        // Act
+        byte[] read;
+        try (InputStream in = new ImportSources.MappedFileInputStream(file, 4096)) {
+            read = readInOddChunks(in);
+        }
+
+        // Assert
+        assertThat(read).isEqualTo(content);
+    }
+
+    @Test
+    void testChannelInputStream_ReadsAcrossRefills() throws IOException {
+        // Arrange
+        byte[] content = randomBytes(10_000);
+        Path file = Files.write(dir.resolve("cities.tar.gz"), content);
+
+        // Act
+        byte[] read;
+        try (InputStream in = new ImportSources.ChannelInputStream(file, 4096)) {
+            read = readInOddChunks(in);
+        }
+
+        // Assert
+        assertThat(read).isEqualTo(content);
+    }
+
+    @Test
+    void testOpen_LocalFiles() throws IOException {
+        // Arrange
+        Path text = Files.writeString(dir.resolve("industries.csv"), "ID,Industry\n1,Mining\n");
+        Path empty = Files.write(dir.resolve("empty.gz"), new byte[0]);
+
+        // Act / Assert
+        try (InputStream in = ImportSources.open(text.toUri().toString())) {
+            assertThat(in).isInstanceOf(ImportSources.MappedFileInputStream.class);
+            assertThat(in.readAllBytes()).asString().isEqualTo("ID,Industry\n1,Mining\n");
+        }
+        try (InputStream in = ImportSources.open(empty.toUri().toString())) {
+            assertThat(in).isInstanceOf(ImportSources.ChannelInputStream.class);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    // Chunks that never line up with the mapping or buffer size, plus single-byte reads
+    private static byte[] readInOddChunks(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[777];
+        int read;
+        while ((read = in.read(chunk, 0, chunk.length)) >= 0) {
+            out.write(chunk, 0, read);
+            int b = in.read();
+            if (b < 0) {
+                break;
+            }
+            out.write(b);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,19 +1,28 @@
 package com.irusso.demoserver.service;
 
+import com.irusso.demoserver.api.FacetCount;
 import com.irusso.demoserver.db.dao.JobPostingDao;
+import com.irusso.demoserver.db.dao.Page;
 import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobPostingSearchResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,11 +31,17 @@ class JobPostingServiceTest {
     @Mock
     private JobPostingDao jobPostingDao;
 
+    @Mock
+    private JobSearchService jobSearchService;
+
+    @Mock
+    private MatchService matchService;
+
     private JobPostingService jobPostingService;
 
     @BeforeEach
     void setUp() {
-        jobPostingService = new JobPostingService(jobPostingDao);
+        jobPostingService = new JobPostingService(jobPostingDao, jobSearchService, matchService);
     }
 
     @Test
@@ -102,6 +117,7 @@ class JobPostingServiceTest {
         // Assert
         assertThat(jobId).isEqualTo(1L);
         verify(jobPostingDao, times(1)).insert(newJob);
+        verify(jobSearchService).index(1L);
     }
 
     @Test
@@ -119,6 +135,7 @@ class JobPostingServiceTest {
         // Assert
         assertThat(result).isTrue();
         verify(jobPostingDao, times(1)).update(1L, job);
+        verify(jobSearchService).index(1L);
     }
 
     @Test
@@ -136,6 +153,7 @@ class JobPostingServiceTest {
         // Assert
         assertThat(result).isFalse();
         verify(jobPostingDao, times(1)).update(999L, job);
+        verifyNoInteractions(jobSearchService);
     }
 
     @Test
@@ -149,6 +167,7 @@ class JobPostingServiceTest {
         // Assert
         assertThat(result).isTrue();
         verify(jobPostingDao, times(1)).delete(1L);
+        verify(jobSearchService).remove(1L);
     }
 
     @Test
@@ -162,6 +181,134 @@ class JobPostingServiceTest {
         // Assert
         assertThat(result).isFalse();
         verify(jobPostingDao, times(1)).delete(999L);
+        verifyNoInteractions(jobSearchService);
     }
-}
 
+    @Test
+    void testUpdateJobPostingStatus_ReindexesPosting() {
+        // Arrange
+        when(jobPostingDao.updateStatus(1L, "CLOSED")).thenReturn(true);
+
+        // Act
+        boolean result = jobPostingService.updateJobPostingStatus(1L, "closed");
+
+        // Assert
+        assertThat(result).isTrue();
+        verify(jobPostingDao).updateStatus(1L, "CLOSED");
+        verify(jobSearchService).index(1L);
+    }
+
+    @Test
+    void testUpdateJobPostingStatus_RejectsUnknownStatus() {
+        assertThatThrownBy(() -> jobPostingService.updateJobPostingStatus(1L, "OPEN"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobPostingService.updateJobPostingStatus(1L, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jobPostingDao, jobSearchService);
+    }
+
+    @Test
+    void testSearchJobPostings_DefaultsToActiveAndPassesFilters() {
+        // Arrange
+        Page<JobPostingSearchResult> expected = new Page<>(List.of(), null);
+        when(jobPostingDao.search(eq("java developer"), any(), eq(null), eq(20))).thenReturn(expected);
+
+        // Act
+        Page<JobPostingSearchResult> actual = jobPostingService.searchJobPostings(
+            " java developer ", null, " senior ", new BigDecimal("80000"), null, null, 20);
+
+        // Assert
+        assertThat(actual).isSameAs(expected);
+        ArgumentCaptor<JobPostingDao.SearchFilters> filters = ArgumentCaptor.forClass(JobPostingDao.SearchFilters.class);
+        verify(jobPostingDao).search(eq("java developer"), filters.capture(), eq(null), eq(20));
+        assertThat(filters.getValue().getStatus()).isEqualTo("ACTIVE");
+        assertThat(filters.getValue().getExperienceLevel()).isEqualTo("senior");
+        assertThat(filters.getValue().getMinSalary()).isEqualByComparingTo("80000");
+        assertThat(filters.getValue().getMaxSalary()).isNull();
+    }
+
+    @Test
+    void testSearchJobPostings_RejectsInvalidParameters() {
+        assertThatThrownBy(() -> jobPostingService.searchJobPostings(" ", null, null, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobPostingService.searchJobPostings("java", "OPEN", null, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobPostingService.searchJobPostings("java", null, null,
+                new BigDecimal("90000"), new BigDecimal("50000"), null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jobPostingDao);
+    }
+
+    private static Map<String, Map<String, Integer>> facetRows() {
+        Map<String, Map<String, Integer>> rows = new LinkedHashMap<>();
+        rows.put(JobPostingDao.FIELD_FACET, Map.of("Design", 1, "Engineering", 3));
+        rows.put(JobPostingDao.EXPERIENCE_LEVEL_FACET, Map.of("SENIOR", 4));
+        rows.put(JobPostingDao.LOCATION_FACET, Map.of());
+        rows.put(JobPostingDao.SALARY_BAND_FACET, Map.of("150000+", 1, "50000-75000", 2));
+        return rows;
+    }
+
+    @Test
+    void testGetSearchFacets_CountsSearchMatchesWithSameFilters() {
+        // Arrange
+        ArgumentCaptor<JobPostingDao.SearchFilters> filters = ArgumentCaptor.forClass(JobPostingDao.SearchFilters.class);
+        when(jobPostingDao.countSearchFacets(eq("java"), filters.capture())).thenReturn(facetRows());
+
+        // Act
+        Map<String, List<FacetCount>> result = jobPostingService.getSearchFacets(" java ", null, "SENIOR",
+                new BigDecimal("50000"), null);
+
+        // Assert
+        assertThat(filters.getValue()).usingRecursiveComparison().isEqualTo(JobPostingDao.SearchFilters.builder()
+                .status("ACTIVE").experienceLevel("SENIOR").minSalary(new BigDecimal("50000")).build());
+        assertThat(result).containsOnlyKeys(JobPostingDao.FIELD_FACET, JobPostingDao.EXPERIENCE_LEVEL_FACET,
+                JobPostingDao.LOCATION_FACET, JobPostingDao.SALARY_BAND_FACET);
+        assertThat(result.get(JobPostingDao.FIELD_FACET)).extracting(FacetCount::getValue)
+                .containsExactly("Engineering", "Design");
+        assertThat(result.get(JobPostingDao.SALARY_BAND_FACET)).extracting(FacetCount::getValue)
+                .containsExactly("50000-75000", "150000+");
+        assertThat(result.get(JobPostingDao.LOCATION_FACET)).isEmpty();
+        assertThatThrownBy(() -> jobPostingService.getSearchFacets("java", "OPEN", null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testGetSearchFacets_CachedPerNormalizedQueryUntilWrite() {
+        // Arrange
+        when(jobPostingDao.countSearchFacets(any(), any())).thenReturn(facetRows());
+        when(jobPostingDao.updateStatus(1L, "CLOSED")).thenReturn(true);
+
+        // Act
+        Map<String, List<FacetCount>> first = jobPostingService.getSearchFacets("java  developer", null, null, null, null);
+        Map<String, List<FacetCount>> repeated = jobPostingService.getSearchFacets(" Java developer ", "active", null,
+                null, null);
+        jobPostingService.updateJobPostingStatus(1L, "CLOSED");
+        jobPostingService.getSearchFacets("java developer", null, null, null, null);
+
+        // Assert
+        assertThat(repeated).isSameAs(first);
+        verify(jobPostingDao, times(2)).countSearchFacets(any(), any());
+    }
+
+    @Test
+    void testGetJobPostingsBySalary_DefaultsToActive() {
+        // Arrange
+        Page<JobPosting> page = new Page<>(List.of(new JobPosting()), null);
+        when(jobPostingDao.findBySalaryOverlap(new BigDecimal("80000"), null, "ACTIVE", null, 20)).thenReturn(page);
+
+        // Act
+        Page<JobPosting> result = jobPostingService.getJobPostingsBySalary(new BigDecimal("80000"), null, null,
+                null, 20);
+
+        // Assert
+        assertThat(result).isSameAs(page);
+        assertThatThrownBy(() -> jobPostingService.getJobPostingsBySalary(null, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobPostingService.getJobPostingsBySalary(new BigDecimal("90000"),
+                new BigDecimal("50000"), null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobPostingService.getJobPostingsBySalary(new BigDecimal("50000"), null, "OPEN",
+                null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
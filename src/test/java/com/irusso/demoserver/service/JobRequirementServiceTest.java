@@ -21,11 +21,17 @@ class JobRequirementServiceTest {
     @Mock
     private JobRequirementDao jobRequirementDao;
 
+    @Mock
+    private JobSearchService jobSearchService;
+
+    @Mock
+    private MatchService matchService;
+
     private JobRequirementService jobRequirementService;
 
     @BeforeEach
     void setUp() {
-        jobRequirementService = new JobRequirementService(jobRequirementDao);
+        jobRequirementService = new JobRequirementService(jobRequirementDao, jobSearchService, matchService);
     }
 
     @Test
@@ -95,6 +101,7 @@ class JobRequirementServiceTest {
         // Assert
         assertThat(requirementId).isEqualTo(1L);
         verify(jobRequirementDao, times(1)).insert(newRequirement);
+        verify(jobSearchService).index(100L);
     }
 
     @Test
@@ -132,6 +139,10 @@ class JobRequirementServiceTest {
     @Test
     void testDeleteJobRequirement_Success() {
         // Arrange
+        JobRequirement requirement = new JobRequirement();
+        requirement.setId(1L);
+        requirement.setJobPostingId(100L);
+        when(jobRequirementDao.findById(1L)).thenReturn(Optional.of(requirement));
         when(jobRequirementDao.delete(1L)).thenReturn(true);
 
         // Act
@@ -140,6 +151,7 @@ class JobRequirementServiceTest {
         // Assert
         assertThat(result).isTrue();
         verify(jobRequirementDao, times(1)).delete(1L);
+        verify(jobSearchService).index(100L);
     }
 
     @Test
@@ -153,6 +165,7 @@ class JobRequirementServiceTest {
         // Assert
         assertThat(result).isFalse();
         verify(jobRequirementDao, times(1)).delete(999L);
+        verifyNoInteractions(jobSearchService);
     }
 }
 
@@ -0,0 +1,166 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.api.JobSearchHit;
+import com.irusso.demoserver.db.dao.DataLoader;
+import com.irusso.demoserver.db.dao.JobPostingDao;
+import com.irusso.demoserver.db.dao.JobRequirementDao;
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobRequirement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobSearchServiceTest {
+
+    @Mock
+    private JobPostingDao jobPostingDao;
+
+    @Mock
+    private JobRequirementDao jobRequirementDao;
+
+    @Mock
+    private ExecutorService executor;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoad_BuildsFromDatabaseAndSavesSnapshot() {
+        // Arrange
+        Path snapshot = tempDir.resolve("job-search.snapshot");
+        stubDatabase(posting(1L, "Java Developer", 1_000L), posting(2L, "Data Analyst", 2_000L));
+        JobSearchService service = new JobSearchService(jobPostingDao, jobRequirementDao, executor, snapshot);
+
+        // Act
+        service.load();
+
+        // Assert
+        assertThat(service.size()).isEqualTo(2);
+        assertThat(service.search("spring", null, null, null, null, null).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(1L);
+        assertThat(Files.exists(snapshot)).isTrue();
+        verify(jobPostingDao, never()).findUpdatedSince(any());
+    }
+
+    @Test
+    void testLoad_RestoresSnapshotAndCatchesUp() {
+        // Arrange
+        Path snapshot = tempDir.resolve("job-search.snapshot");
+        stubDatabase(posting(1L, "Java Developer", 1_000L), posting(2L, "Data Analyst", 2_000L));
+        new JobSearchService(jobPostingDao, jobRequirementDao, executor, snapshot).load();
+
+        // Posting 1 was retitled and posting 2 deleted while the server was down
+        JobPosting retitled = posting(1L, "Kotlin Developer", 90_000L);
+        when(jobPostingDao.findUpdatedSince(new Timestamp(2_000L - JobSearchService.CATCH_UP_MARGIN_MILLIS)))
+            .thenReturn(List.of(retitled));
+        when(jobRequirementDao.findJobPostingIdsCreatedSince(any())).thenReturn(List.of());
+        when(jobPostingDao.findAllIds()).thenReturn(List.of(1L));
+        List<Collection<Long>> lookups = new ArrayList<>();
+        stubLookups(ids -> {
+            lookups.add(List.copyOf(ids));
+            return Map.of(1L, retitled);
+        });
+        when(jobRequirementDao.findByJobPostingId(1L)).thenReturn(List.of(requirement(1L, "Spring Boot")));
+        JobSearchService service = new JobSearchService(jobPostingDao, jobRequirementDao, executor, snapshot);
+
+        // Act
+        service.load();
+
+        // Assert
+        assertThat(service.size()).isEqualTo(1);
+        assertThat(service.search("kotlin", null, null, null, null, null).getItems())
+            .extracting(JobSearchHit::getTitle).containsExactly("Kotlin Developer");
+        assertThat(service.search("java", null, null, null, null, null).getItems()).isEmpty();
+        assertThat(service.search("analyst", null, null, null, null, null).getItems()).isEmpty();
+        // Only the first service built from the tables, and both postings were read together
+        verify(jobPostingDao, times(1)).forEach(any());
+        assertThat(lookups).hasSize(1);
+        assertThat(lookups.get(0)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void testIndex_FollowsWritesAndSwallowsFailures() {
+        // Arrange
+        JobSearchService service = new JobSearchService(jobPostingDao, jobRequirementDao, executor, null);
+        stubLookups(ids -> {
+            if (ids.contains(6L)) {
+                throw new IllegalStateException("connection refused");
+            }
+            return Map.of(5L, posting(5L, "Rust Engineer", 1_000L));
+        });
+
+        // Act
+        service.index(5L);
+        service.index(6L);
+
+        // Assert
+        assertThat(service.search("rust", "active", null, null, null, null).getItems())
+            .extracting(JobSearchHit::getId).containsExactly(5L);
+        assertThat(service.search("rust", "CLOSED", null, null, null, null).getItems()).isEmpty();
+        service.remove(5L);
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    void testSearch_RequiresQuery() {
+        JobSearchService service = new JobSearchService(jobPostingDao, jobRequirementDao, executor, null);
+
+        assertThatThrownBy(() -> service.search(" ", null, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(null, null, null, null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void stubLookups(Function<Collection<Long>, Map<Long, JobPosting>> findByIds) {
+        when(jobPostingDao.loader()).thenAnswer(invocation -> new DataLoader<>(findByIds));
+    }
+
+    private void stubDatabase(JobPosting... postings) {
+        doAnswer(invocation -> {
+            Consumer<JobPosting> consumer = invocation.getArgument(0);
+            for (JobPosting posting : postings) {
+                consumer.accept(posting);
+            }
+            return null;
+        }).when(jobPostingDao).forEach(any());
+        doAnswer(invocation -> {
+            invocation.<Consumer<JobRequirement>>getArgument(0).accept(requirement(1L, "Five years of Spring"));
+            return null;
+        }).when(jobRequirementDao).forEach(any());
+    }
+
+    private static JobPosting posting(Long id, String title, long updatedAt) {
+        JobPosting posting = new JobPosting();
+        posting.setId(id);
+        posting.setTitle(title);
+        posting.setStatus("ACTIVE");
+        posting.setUpdatedAt(new Timestamp(updatedAt));
+        return posting;
+    }
+
+    private static JobRequirement requirement(Long jobPostingId, String text) {
+        JobRequirement requirement = new JobRequirement();
+        requirement.setJobPostingId(jobPostingId);
+        requirement.setRequirementText(text);
+        return requirement;
+    }
+}
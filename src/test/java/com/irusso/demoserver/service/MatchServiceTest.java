@@ -0,0 +1,231 @@
+package com.irusso.demoserver.service;
+
+import com.irusso.demoserver.api.JobMatch;
+import com.irusso.demoserver.db.dao.JobPostingDao;
+import com.irusso.demoserver.db.dao.JobRequirementDao;
+import com.irusso.demoserver.db.dao.ReadRouting;
+import com.irusso.demoserver.db.dao.StandardDao;
+import com.irusso.demoserver.db.dao.UserDao;
+import com.irusso.demoserver.db.dao.UserFieldOfInterestDao;
+import com.irusso.demoserver.db.dao.UserGeographicalInterestDao;
+import com.irusso.demoserver.db.dao.UserJobTypeInterestDao;
+import com.irusso.demoserver.db.dao.UserSkillDao;
+import com.irusso.demoserver.db.model.JobPosting;
+import com.irusso.demoserver.db.model.JobRequirement;
+import com.irusso.demoserver.db.model.User;
+import com.irusso.demoserver.db.model.UserSkill;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MatchServiceTest {
+
+    @Mock
+    private UserDao userDao;
+
+    @Mock
+    private UserSkillDao userSkillDao;
+
+    @Mock
+    private UserFieldOfInterestDao userFieldOfInterestDao;
+
+    @Mock
+    private UserGeographicalInterestDao userGeographicalInterestDao;
+
+    @Mock
+    private UserJobTypeInterestDao userJobTypeInterestDao;
+
+    @Mock
+    private JobPostingDao jobPostingDao;
+
+    @Mock
+    private JobRequirementDao jobRequirementDao;
+
+    @Mock
+    private ExecutorService executor;
+
+    @Mock
+    private ExecutorService rescoreExecutor;
+
+    private final Jdbi primary = Jdbi.create("jdbc:postgresql://localhost/primary");
+    private final ReadRouting readRouting = new ReadRouting(primary,
+        List.of(Jdbi.create("jdbc:postgresql://localhost/replica")), Duration.ofSeconds(5));
+
+    private MatchService matchService;
+
+    @BeforeEach
+    void setUp() {
+        matchService = new MatchService(userDao, userSkillDao, userFieldOfInterestDao, userGeographicalInterestDao,
+            userJobTypeInterestDao, jobPostingDao, jobRequirementDao, executor, rescoreExecutor, readRouting, 10);
+    }
+
+    @Test
+    void testGetMatches_NotReadyUntilLoaded() {
+        assertThat(matchService.isReady()).isFalse();
+        assertThatThrownBy(() -> matchService.getMatches(1L, null))
+            .isInstanceOf(IllegalStateException.class);
+
+        // Writes before the first load are picked up by it
+        matchService.userChanged(1L);
+        verifyNoInteractions(userDao);
+    }
+
+    @Test
+    void testLoad_MatchesUsersAndPostingsFromTables() {
+        // Arrange
+        stubTables(List.of(user(1L)), List.of(skill(1L, "Java")),
+            List.of(posting(10L, "Java Developer"), posting(11L, "Python Developer")),
+            List.of(requirement(10L, "Java"), requirement(11L, "Python")));
+
+        // Act
+        matchService.load();
+
+        // Assert
+        assertThat(matchService.isReady()).isTrue();
+        assertThat(matchService.getMatches(1L, null).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(10L, 11L);
+        assertThat(matchService.getMatches(1L, 1).orElseThrow())
+            .extracting(JobMatch::getJobTitle).containsExactly("Java Developer");
+        assertThat(matchService.getCandidates(10L, null).orElseThrow())
+            .extracting(JobMatch::getUserName).containsExactly("User 1");
+        assertThat(matchService.getMatches(2L, null)).isEmpty();
+        assertThatThrownBy(() -> matchService.getMatches(1L, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testChanges_RescoreFromDatabase() {
+        // Arrange
+        stubTables(List.of(user(1L)), List.of(skill(1L, "Java")),
+            List.of(posting(10L, "Java Developer"), posting(11L, "Python Developer")),
+            List.of(requirement(10L, "Java"), requirement(11L, "Python")));
+        matchService.load();
+        runTasksInline();
+
+        // The user learns Python, posting 10 closes and posting 12 fails to load; the
+        // replica has not received the new skill yet
+        when(userDao.findById(1L)).thenReturn(Optional.of(user(1L)));
+        when(userSkillDao.findByUserId(1L)).thenAnswer(invocation -> readRouting.forRead() == primary
+            ? List.of(skill(1L, "Java"), skill(1L, "Python"))
+            : List.of(skill(1L, "Java")));
+        JobPosting closed = posting(10L, "Java Developer");
+        closed.setStatus("CLOSED");
+        when(jobPostingDao.findById(10L)).thenReturn(Optional.of(closed));
+        when(jobPostingDao.findById(12L)).thenThrow(new IllegalStateException("connection refused"));
+
+        // Act
+        matchService.userChanged(1L);
+        matchService.jobPostingChanged(10L);
+        matchService.jobPostingChanged(12L);
+
+        // Assert
+        assertThat(matchService.getMatches(1L, null).orElseThrow())
+            .extracting(JobMatch::getJobPostingId).containsExactly(11L);
+        assertThat(matchService.getCandidates(10L, null).orElseThrow()).isEmpty();
+        assertThat(matchService.getCandidates(11L, null).orElseThrow())
+            .extracting(JobMatch::getUserId).containsExactly(1L);
+
+        when(userDao.findById(1L)).thenReturn(Optional.empty());
+        matchService.userChanged(1L);
+        assertThat(matchService.getMatches(1L, null)).isEmpty();
+        assertThat(matchService.getCandidates(11L, null).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void testChanges_CoalescedUntilRescored() {
+        // Arrange
+        stubTables(List.of(user(1L)), List.of(), List.of(posting(10L, "Java Developer")), List.of());
+        matchService.load();
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doNothing().when(rescoreExecutor).execute(task.capture());
+        when(userDao.findById(1L)).thenReturn(Optional.of(user(1L)));
+
+        // Act: three writes to the same user before the rescoring task runs
+        matchService.userChanged(1L);
+        matchService.userChanged(1L);
+        matchService.userChanged(1L);
+
+        // Assert: one task, and nothing read on the calling thread
+        verify(rescoreExecutor, times(1)).execute(any());
+        verify(userDao, never()).findById(any());
+
+        task.getValue().run();
+        verify(userDao, times(1)).findById(1L);
+    }
+
+    private void runTasksInline() {
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(rescoreExecutor).execute(any());
+    }
+
+    private void stubTables(List<User> users, List<UserSkill> skills, List<JobPosting> postings,
+                            List<JobRequirement> requirements) {
+        stubForEach(userDao, users);
+        stubForEach(userSkillDao, skills);
+        stubForEach(userFieldOfInterestDao, List.of());
+        stubForEach(userGeographicalInterestDao, List.of());
+        stubForEach(userJobTypeInterestDao, List.of());
+        stubForEach(jobPostingDao, postings);
+        stubForEach(jobRequirementDao, requirements);
+    }
+
+    private static <T> void stubForEach(StandardDao<T, Long> dao, List<T> rows) {
+        doAnswer(invocation -> {
+            Consumer<T> consumer = invocation.getArgument(0);
+            rows.forEach(consumer);
+            return null;
+        }).when(dao).forEach(any());
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setActivelySeeking(true);
+        return user;
+    }
+
+    private static UserSkill skill(Long userId, String name) {
+        UserSkill skill = new UserSkill();
+        skill.setUserId(userId);
+        skill.setSkillName(name);
+        skill.setYearsOfExperience(3);
+        return skill;
+    }
+
+    private static JobPosting posting(Long id, String title) {
+        JobPosting posting = new JobPosting();
+        posting.setId(id);
+        posting.setTitle(title);
+        posting.setStatus("ACTIVE");
+        return posting;
+    }
+
+    private static JobRequirement requirement(Long jobPostingId, String text) {
+        JobRequirement requirement = new JobRequirement();
+        requirement.setJobPostingId(jobPostingId);
+        requirement.setRequirementType("SOFT");
+        requirement.setRequirementCategory("SKILL");
+        requirement.setRequirementText(text);
+        return requirement;
+    }
+}
@@ -21,11 +21,14 @@ class UserFieldOfInterestServiceTest {
     @Mock
     private UserFieldOfInterestDao userFieldOfInterestDao;
 
+    @Mock
+    private MatchService matchService;
+
     private UserFieldOfInterestService userFieldOfInterestService;
 
     @BeforeEach
     void setUp() {
-        userFieldOfInterestService = new UserFieldOfInterestService(userFieldOfInterestDao);
+        userFieldOfInterestService = new UserFieldOfInterestService(userFieldOfInterestDao, matchService);
     }
 
     @Test
@@ -21,11 +21,14 @@ class UserGeographicalInterestServiceTest {
     @Mock
     private UserGeographicalInterestDao userGeographicalInterestDao;
 
+    @Mock
+    private MatchService matchService;
+
     private UserGeographicalInterestService userGeographicalInterestService;
 
     @BeforeEach
     void setUp() {
-        userGeographicalInterestService = new UserGeographicalInterestService(userGeographicalInterestDao);
+        userGeographicalInterestService = new UserGeographicalInterestService(userGeographicalInterestDao, matchService);
     }
 
     @Test
@@ -21,11 +21,14 @@ class UserJobTypeInterestServiceTest {
     @Mock
     private UserJobTypeInterestDao userJobTypeInterestDao;
 
+    @Mock
+    private MatchService matchService;
+
     private UserJobTypeInterestService userJobTypeInterestService;
 
     @BeforeEach
     void setUp() {
-        userJobTypeInterestService = new UserJobTypeInterestService(userJobTypeInterestDao);
+        userJobTypeInterestService = new UserJobTypeInterestService(userJobTypeInterestDao, matchService);
     }
 
     @Test
@@ -1,5 +1,7 @@
 package com.irusso.demoserver.service;
 
+import com.irusso.demoserver.db.dao.Page;
+import com.irusso.demoserver.db.dao.TransactionTemplate;
 import com.irusso.demoserver.db.dao.UserDao;
 import com.irusso.demoserver.db.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,11 +10,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -26,11 +31,50 @@ class UserServiceTest {
     @Mock
     private UserDao userDao;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MatchService matchService;
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(userDao);
+        lenient().when(transactionTemplate.inTransaction(any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        userService = new UserService(userDao, transactionTemplate, matchService);
+    }
+
+    @Test
+    void testRegisterUser_ChecksEmailAndInsertsInOneTransaction() {
+        // Arrange
+        User user = new User();
+        user.setEmail("new@example.com");
+        when(userDao.findByEmail("new@example.com")).thenReturn(List.of());
+        when(userDao.insert(user)).thenReturn(7L);
+
+        // Act
+        Long id = userService.registerUser(user, "Password123!");
+
+        // Assert
+        assertThat(id).isEqualTo(7L);
+        assertThat(user.getPasswordHash()).isNotNull();
+        verify(transactionTemplate, times(1)).inTransaction(any());
+    }
+
+    @Test
+    void testRegisterUser_DuplicateEmail() {
+        // Arrange
+        User user = new User();
+        user.setEmail("taken@example.com");
+        when(userDao.findByEmail("taken@example.com")).thenReturn(List.of(new User()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.registerUser(user, "Password123!"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Email already registered");
+        verify(userDao, never()).insert(any());
     }
 
     @Test
@@ -173,5 +217,22 @@ class UserServiceTest {
         assertThat(result).isFalse();
         verify(userDao, times(1)).delete(userId);
     }
-}
 
+    @Test
+    void testGetCandidatesBySalary_DefaultsToActivelySeeking() {
+        // Arrange
+        Page<User> page = new Page<>(List.of(new User()), null);
+        when(userDao.findBySalaryExpectationOverlap(null, new BigDecimal("100000"), true, null, null)).thenReturn(page);
+
+        // Act
+        Page<User> result = userService.getCandidatesBySalary(null, new BigDecimal("100000"), null, null, null);
+
+        // Assert
+        assertThat(result).isSameAs(page);
+        assertThatThrownBy(() -> userService.getCandidatesBySalary(null, null, false, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> userService.getCandidatesBySalary(new BigDecimal("90000"),
+                new BigDecimal("50000"), null, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
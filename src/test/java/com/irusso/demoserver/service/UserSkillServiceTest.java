@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,11 +22,14 @@ class UserSkillServiceTest {
     @Mock
     private UserSkillDao userSkillDao;
 
+    @Mock
+    private MatchService matchService;
+
     private UserSkillService userSkillService;
 
     @BeforeEach
     void setUp() {
-        userSkillService = new UserSkillService(userSkillDao);
+        userSkillService = new UserSkillService(userSkillDao, matchService);
     }
 
     @Test
@@ -97,6 +101,26 @@ class UserSkillServiceTest {
         verify(userSkillDao, times(1)).insert(newSkill);
     }
 
+    @Test
+    void testCreateUserSkills() {
+        // Arrange
+        UserSkill skill1 = new UserSkill();
+        skill1.setUserId(100L);
+        UserSkill skill2 = new UserSkill();
+        skill2.setUserId(100L);
+
+        List<UserSkill> skills = Arrays.asList(skill1, skill2);
+        when(userSkillDao.insertAll(skills)).thenReturn(Arrays.asList(1L, 2L));
+
+        // Act
+        List<Long> ids = userSkillService.createUserSkills(skills);
+
+        // Assert
+        assertThat(ids).containsExactly(1L, 2L);
+        verify(userSkillDao, times(1)).insertAll(skills);
+        verify(userSkillDao, never()).insert(any());
+    }
+
     @Test
     void testUpdateUserSkill_Success() {
         // Arrange
@@ -132,6 +156,10 @@ class UserSkillServiceTest {
     @Test
     void testDeleteUserSkill_Success() {
         // Arrange
+        UserSkill skill = new UserSkill();
+        skill.setId(1L);
+        skill.setUserId(100L);
+        when(userSkillDao.findById(1L)).thenReturn(Optional.of(skill));
         when(userSkillDao.delete(1L)).thenReturn(true);
 
         // Act
@@ -140,6 +168,7 @@ class UserSkillServiceTest {
         // Assert
         assertThat(result).isTrue();
         verify(userSkillDao, times(1)).delete(1L);
+        verify(matchService).userChanged(100L);
     }
 
     @Test
@@ -153,6 +182,7 @@ class UserSkillServiceTest {
         // Assert
         assertThat(result).isFalse();
         verify(userSkillDao, times(1)).delete(999L);
+        verifyNoInteractions(matchService);
     }
 }
 
@@ -0,0 +1,22 @@
+// Header carrying the end of the server's sticky-primary window (epoch millis).
+// After a write the server returns it; echoing it back makes our following reads
+// go to the primary database, so we see our own writes while the replicas catch up.
+const READ_PRIMARY_HEADER = 'X-Read-Primary-Until';
+
+let readPrimaryUntil = 0;
+
+// fetch() for the API server that carries the sticky-primary window between requests
+export const apiFetch = async (url: string, init: RequestInit = {}): Promise<Response> => {
+  const headers = new Headers(init.headers);
+  if (readPrimaryUntil > Date.now()) {
+    headers.set(READ_PRIMARY_HEADER, String(readPrimaryUntil));
+  }
+
+  const response = await fetch(url, { ...init, headers });
+
+  const until = Number(response.headers.get(READ_PRIMARY_HEADER));
+  if (until > readPrimaryUntil) {
+    readPrimaryUntil = until;
+  }
+  return response;
+};
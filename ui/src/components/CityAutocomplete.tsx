@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Autocomplete, TextField, CircularProgress } from '@mui/material';
 import { debounce } from '@mui/material/utils';
+import { apiFetch } from '../api';
 
 interface City {
   id: number;
@@ -48,8 +49,8 @@ const CityAutocomplete: React.FC<CityAutocompleteProps> = ({
 
     setLoading(true);
     try {
-      const response = await fetch(
-        `http://localhost:8080/api/cities/search?name=${encodeURIComponent(searchTerm)}`
+      const response = await apiFetch(
+        `http://localhost:8080/api/cities/autocomplete?q=${encodeURIComponent(searchTerm)}&limit=10`
       );
       const result = await response.json();
 
@@ -18,6 +18,7 @@ import {
 } from '@mui/material';
 import { PersonAdd as PersonAddIcon, Login as LoginIcon } from '@mui/icons-material';
 import { colors } from '../theme';
+import { apiFetch } from '../api';
 
 interface UserFormData {
   name: string;
@@ -114,7 +115,7 @@ const CreateUser: React.FC<CreateUserProps> = ({ onRegister }) => {
         password: formData.password,
       };
 
-      const response = await fetch('http://localhost:8080/api/auth/register', {
+      const response = await apiFetch('http://localhost:8080/api/auth/register', {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json',
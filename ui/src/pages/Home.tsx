@@ -38,6 +38,7 @@ import {
   Close as CloseIcon,
 } from '@mui/icons-material';
 import { colors } from '../theme';
+import { apiFetch } from '../api';
 
 interface User {
   id: number;
@@ -96,6 +97,25 @@ interface FeedItem {
   data: JobPosting | UserExperience;
 }
 
+// The multi-get endpoints accept at most this many IDs per request (IdList.MAX_IDS on the server)
+const MAX_IDS_PER_REQUEST = 500;
+
+// Fetch rows from a multi-get endpoint such as /api/users?ids=, one request per chunk of IDs
+const fetchByIds = async <T,>(url: string, param: string, ids: number[]): Promise<T[]> => {
+  const chunks: number[][] = [];
+  for (let i = 0; i < ids.length; i += MAX_IDS_PER_REQUEST) {
+    chunks.push(ids.slice(i, i + MAX_IDS_PER_REQUEST));
+  }
+  const pages = await Promise.all(
+    chunks.map(async (chunk) => {
+      const response = await apiFetch(`${url}?${param}=${chunk.join(',')}`);
+      const result = await response.json();
+      return result.success && Array.isArray(result.data) ? (result.data as T[]) : [];
+    })
+  );
+  return ([] as T[]).concat(...pages);
+};
+
 const Home: React.FC<HomeProps> = ({ user }) => {
   const [jobPostings, setJobPostings] = useState<JobPosting[]>([]);
   const [experiences, setExperiences] = useState<UserExperience[]>([]);
@@ -124,7 +144,7 @@ const Home: React.FC<HomeProps> = ({ user }) => {
 
     try {
       // Fetch job postings
-      const jobsResponse = await fetch('http://localhost:8080/api/job-postings');
+      const jobsResponse = await apiFetch('http://localhost:8080/api/job-postings');
       const jobsResult = await jobsResponse.json();
       
       if (jobsResult.success && Array.isArray(jobsResult.data)) {
@@ -135,62 +155,51 @@ const Home: React.FC<HomeProps> = ({ user }) => {
         const employerIds = [...new Set(activeJobs.map((job: JobPosting) => job.employer_id))] as number[];
         const employerMap = new Map<number, Employer>();
 
-        await Promise.all(
-          employerIds.map(async (employerId: number) => {
-            try {
-              const empResponse = await fetch(`http://localhost:8080/api/employers/${employerId}`);
-              const empResult = await empResponse.json();
-              if (empResult.success && empResult.data) {
-                employerMap.set(employerId, empResult.data);
-              }
-            } catch (err) {
-              console.error(`Error fetching employer ${employerId}:`, err);
-            }
-          })
-        );
+        if (employerIds.length > 0) {
+          try {
+            const employerList = await fetchByIds<Employer>(
+              'http://localhost:8080/api/employers', 'ids', employerIds
+            );
+            employerList.forEach((employer) => employerMap.set(employer.id, employer));
+          } catch (err) {
+            console.error('Error fetching employers:', err);
+          }
+        }
         setEmployers(employerMap);
       }
 
       // Fetch experiences from connected users
       if (user) {
-        const connectionsResponse = await fetch(
+        const connectionsResponse = await apiFetch(
           `http://localhost:8080/api/user-connections/user/${user.id}/accepted`
         );
         const connectionsResult = await connectionsResponse.json();
 
         if (connectionsResult.success && Array.isArray(connectionsResult.data)) {
           const connections: UserConnection[] = connectionsResult.data;
-          const connectedUserIds = connections.map((conn) =>
+          const connectedUserIds = [...new Set(connections.map((conn) =>
             conn.user_id === user.id ? conn.connected_user_id : conn.user_id
-          );
+          ))];
 
           // Fetch experiences for all connected users
           const allExperiences: UserExperience[] = [];
           const userMap = new Map<number, User>();
 
-          await Promise.all(
-            connectedUserIds.map(async (userId) => {
-              try {
-                const expResponse = await fetch(
-                  `http://localhost:8080/api/user-experiences/user/${userId}`
-                );
-                const expResult = await expResponse.json();
-                
-                if (expResult.success && Array.isArray(expResult.data)) {
-                  allExperiences.push(...expResult.data);
-                }
-
-                // Fetch user details
-                const userResponse = await fetch(`http://localhost:8080/api/users/${userId}`);
-                const userResult = await userResponse.json();
-                if (userResult.success && userResult.data) {
-                  userMap.set(userId, userResult.data);
-                }
-              } catch (err) {
-                console.error(`Error fetching data for user ${userId}:`, err);
-              }
-            })
-          );
+          if (connectedUserIds.length > 0) {
+            try {
+              const [experienceList, userList] = await Promise.all([
+                fetchByIds<UserExperience>(
+                  'http://localhost:8080/api/user-experiences', 'userIds', connectedUserIds
+                ),
+                fetchByIds<User>('http://localhost:8080/api/users', 'ids', connectedUserIds),
+              ]);
+
+              allExperiences.push(...experienceList);
+              userList.forEach((connectedUser) => userMap.set(connectedUser.id, connectedUser));
+            } catch (err) {
+              console.error('Error fetching connected user data:', err);
+            }
+          }
 
           // Sort by recency (created_at or updated_at)
           allExperiences.sort((a, b) => b.updated_at - a.updated_at);
@@ -14,6 +14,7 @@ import {
 } from '@mui/material';
 import { Login as LoginIcon, PersonAdd as PersonAddIcon } from '@mui/icons-material';
 import { colors } from '../theme';
+import { apiFetch } from '../api';
 
 interface LoginFormData {
   email: string;
@@ -50,7 +51,7 @@ const Login: React.FC<LoginProps> = ({ onLogin }) => {
     setSuccess(false);
 
     try {
-      const response = await fetch('http://localhost:8080/api/auth/login', {
+      const response = await apiFetch('http://localhost:8080/api/auth/login', {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json',
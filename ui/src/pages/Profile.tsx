@@ -37,6 +37,7 @@ import {
 import { colors } from '../theme';
 import CityAutocomplete from '../components/CityAutocomplete';
 import MonthYearPicker from '../components/MonthYearPicker';
+import { apiFetch } from '../api';
 
 interface User {
   id: number;
@@ -115,7 +116,7 @@ const Profile: React.FC<ProfileProps> = ({ user, onLogout, onUpdateUser }) => {
     setSuccess(null);
 
     try {
-      const response = await fetch(`http://localhost:8080/api/users/${editedUser.id}`, {
+      const response = await apiFetch(`http://localhost:8080/api/users/${editedUser.id}`, {
         method: 'PUT',
         headers: {
           'Content-Type': 'application/json',